@@ -12,11 +12,19 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat;
 
+import static org.eclipselabs.garbagecat.OptionsParser.getVersion;
 import static org.eclipselabs.garbagecat.OptionsParser.options;
 import static org.eclipselabs.garbagecat.OptionsParser.parseOptions;
 import static org.eclipselabs.garbagecat.util.Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
 import static org.eclipselabs.garbagecat.util.Constants.LINE_SEPARATOR;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CACHE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CACHE_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CACHE_SIZE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CACHE_SIZE_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EXPORT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EXPORT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_IMPORT_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
@@ -24,11 +32,19 @@ import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REPORT_CONSOLE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_ROLLUP_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_ROLLUP_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SLO_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SLO_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERBOSE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_WORST_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_WORST_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OUTPUT_FILE_NAME;
 import static org.eclipselabs.garbagecat.util.GcUtil.parseStartDateTime;
 import static org.eclipselabs.garbagecat.util.Memory.ZERO;
@@ -36,11 +52,20 @@ import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.MEGABYTES;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.INFO_PERM_GEN;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.net.URI;
@@ -50,14 +75,26 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.MissingResourceException;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.ParseException;
+import org.eclipselabs.garbagecat.dao.Rollup;
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
+import org.eclipselabs.garbagecat.service.AnalysisCache;
 import org.eclipselabs.garbagecat.service.GcManager;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.MutatorUtilization;
+import org.eclipselabs.garbagecat.util.PauseHistogram;
+import org.eclipselabs.garbagecat.util.PauseSlo;
+import org.eclipselabs.garbagecat.util.SafepointJoin;
+import org.eclipselabs.garbagecat.util.TopEvents;
+import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
@@ -92,6 +129,11 @@ public class Main {
      */
     public static final int REJECT_LIMIT = 1000;
 
+    /**
+     * The pause duration percentiles in the report.
+     */
+    private static final String[] REPORT_PERCENTILES = { "50", "90", "99", "99.9", "99.99" };
+
     public static void createReport(CommandLine cmd) throws IOException {
         String logFileName = (String) cmd.getArgList().get(cmd.getArgList().size() - 1);
         File logFile = new File(logFileName);
@@ -101,6 +143,10 @@ public class Main {
         if (logFile.equals(reportFile)) {
             throw new IllegalArgumentException("Log file and report are the same file.");
         }
+        File exportFile = cmd.hasOption(OPTION_EXPORT_LONG) ? new File(cmd.getOptionValue(OPTION_EXPORT_SHORT)) : null;
+        if (logFile.equals(exportFile)) {
+            throw new IllegalArgumentException("Log file and export are the same file.");
+        }
 
         // Determine JVM environment information.
         Date jvmStartDate = cmd.hasOption(OPTION_STARTDATETIME_LONG)
@@ -112,45 +158,203 @@ public class Main {
 
         boolean verbose = cmd.hasOption(OPTION_VERBOSE_LONG);
         if (verbose) {
+            // JVM uptime at this point is the cost of JVM startup and option parsing, before any event classes load.
+            System.out.println("startup: " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
             System.out.println("reading gc logging...");
         }
-        List<String> logLines = Files.readAllLines(Paths.get(logFileUri));
-
-        GcManager gcManager = new GcManager(jvmStartDate);
-
-        // Do preprocessing
-        if (cmd.hasOption(OPTION_PREPROCESS_LONG) || cmd.hasOption(OPTION_STARTDATETIME_LONG)) {
-            /*
-             * Requiring the JVM start date/time for preprocessing is a hack to handle datestamps. When garbagecat was
-             * started there was no <code>-XX:+PrintGCDateStamps</code> option. When it was introduced in JDK 1.6 update
-             * 4, the easiest thing to do to handle datestamps was to preprocess the datestamps and convert them to
-             * timestamps.
-             *
-             * TODO: Handle datetimes separately from preprocessing so preprocessing doesn't require passing in the JVM
-             * start date/time.
-             */
+
+        // Determine report options
+        int throughputThreshold = cmd.hasOption(OPTION_THRESHOLD_LONG)
+                ? Integer.parseInt(cmd.getOptionValue(OPTION_THRESHOLD_SHORT))
+                : DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
+
+        // Check pauses against a pause time budget?
+        PauseSlo.Budget pauseSloBudget = cmd.hasOption(OPTION_SLO_LONG)
+                ? PauseSlo.Budget.fromLiteral(cmd.getOptionValue(OPTION_SLO_SHORT))
+                : null;
+
+        // Reuse parsed logging from an export or the analysis cache?
+        GcManager gcManager = null;
+        AnalysisCache analysisCache = null;
+        String cacheKey = null;
+        String cacheIgnored = null;
+        if (cmd.hasOption(OPTION_IMPORT_LONG)) {
+            gcManager = new GcManager(jvmStartDate);
+            try (InputStream in = new BufferedInputStream(new FileInputStream(logFile))) {
+                gcManager.read(in);
+            }
+            cacheIgnored = "logging is imported";
+        } else if (exportFile != null) {
+            // An export keeps every log entry, and the export file is itself reused with --import.
+            cacheIgnored = "logging is exported";
+        } else if (cmd.hasOption(OPTION_CACHE_LONG)) {
+            String parserVersion = null;
+            try {
+                parserVersion = getVersion();
+            } catch (MissingResourceException e) {
+                // Not a packaged build: parsing could differ from build to build, so do not cache.
+                cacheIgnored = "unknown garbagecat version";
+            }
+            if (parserVersion != null) {
+                long cacheSize = cmd.hasOption(OPTION_CACHE_SIZE_LONG)
+                        ? Long.parseLong(cmd.getOptionValue(OPTION_CACHE_SIZE_SHORT)) << 20
+                        : AnalysisCache.DEFAULT_MAX_SIZE;
+                analysisCache = new AnalysisCache(new File(cmd.getOptionValue(OPTION_CACHE_SHORT)), cacheSize);
+                // Bottleneck and pause time budget events keep their log entries, so they are part of the key
+                String parseOptions = "preprocess=" + cmd.hasOption(OPTION_PREPROCESS_LONG) + ",startdatetime="
+                        + cmd.getOptionValue(OPTION_STARTDATETIME_SHORT) + ",reorder="
+                        + cmd.hasOption(OPTION_REORDER_LONG) + ",worst=" + cmd.getOptionValue(OPTION_WORST_SHORT)
+                        + ",threshold=" + throughputThreshold + ",slo=" + cmd.getOptionValue(OPTION_SLO_SHORT);
+                cacheKey = analysisCache.key(logFile, parserVersion, parseOptions);
+                gcManager = analysisCache.load(cacheKey, jvmStartDate);
+                if (verbose) {
+                    System.out.println("analysis cache " + (gcManager == null ? "miss" : "hit") + ": " + cacheKey);
+                }
+            }
+        }
+        if (cacheIgnored != null && cmd.hasOption(OPTION_CACHE_LONG)) {
+            System.err.println("WARNING: --" + OPTION_CACHE_LONG + " ignored: " + cacheIgnored + ".");
+        }
+
+        if (gcManager == null) {
+            List<String> logLines = null;
+
+            gcManager = new GcManager(jvmStartDate);
+
+            // Do preprocessing
+            if (cmd.hasOption(OPTION_PREPROCESS_LONG) || cmd.hasOption(OPTION_STARTDATETIME_LONG)) {
+                /*
+                 * Requiring the JVM start date/time for preprocessing is a hack to handle datestamps. When garbagecat
+                 * was started there was no <code>-XX:+PrintGCDateStamps</code> option. When it was introduced in JDK
+                 * 1.6 update 4, the easiest thing to do to handle datestamps was to preprocess the datestamps and
+                 * convert them to timestamps.
+                 *
+                 * TODO: Handle datetimes separately from preprocessing so preprocessing doesn't require passing in the
+                 * JVM start date/time.
+                 */
+                if (verbose) {
+                    System.out.println("preprocessing...");
+                }
+                logLines = gcManager.preprocess(Files.readAllLines(Paths.get(logFileUri)), jvmStartDate);
+            }
+
+            // Allow logging to be reordered?
+            boolean reorder = cmd.hasOption(OPTION_REORDER_LONG);
+
+            // Spill events to disk above a heap fraction?
+            if (cmd.hasOption(OPTION_SPILL_LONG)) {
+                gcManager.setSpillHeapFraction(Double.parseDouble(cmd.getOptionValue(OPTION_SPILL_SHORT)));
+            }
+
+            // Keep a different number of worst events?
+            if (cmd.hasOption(OPTION_WORST_LONG)) {
+                gcManager.setWorstEventsSize(Integer.parseInt(cmd.getOptionValue(OPTION_WORST_SHORT)));
+            }
+
+            // Keep every log entry for an export, not only the reported ones
+            gcManager.setRetainLogEntries(exportFile != null);
+
+            // Find bottlenecks and check pauses against the pause time budget while storing
+            gcManager.setThroughputThreshold(throughputThreshold);
+            gcManager.setPauseSloBudget(pauseSloBudget);
+
+            // Event classes load, and compile their patterns, on first use during store. Count them without forcing it.
+            long storeStart = System.nanoTime();
+            long classesLoaded = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+
+            // Store garbage collection logging in data store.
+            if (logLines != null) {
+                gcManager.store(logLines, reorder);
+            } else {
+                // Parse lines as they are read, so logging larger than the heap is not held in memory.
+                try (BufferedReader reader = Files.newBufferedReader(Paths.get(logFileUri))) {
+                    gcManager.store(reader.lines().iterator(), reorder);
+                }
+            }
+            if (verbose) {
+                System.out.println("store: " + (System.nanoTime() - storeStart) / 1000000 + " ms, "
+                        + (ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() - classesLoaded)
+                        + " classes loaded");
+                System.out.println("unknown line cache: " + gcManager.getUnknownLineCache().getHits() + " hits, "
+                        + gcManager.getUnknownLineCache().getMisses() + " misses");
+            }
+            if (analysisCache != null) {
+                analysisCache.store(cacheKey, gcManager);
+            }
+        } else {
+            gcManager.setPauseSloBudget(pauseSloBudget);
+        }
+
+        // Export instead of report?
+        if (exportFile != null) {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(exportFile))) {
+                gcManager.write(out);
+            }
             if (verbose) {
-                System.out.println("preprocessing...");
+                System.out.println("export: " + exportFile.length() + " bytes");
+                System.out.println("done: " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
             }
-            logLines = gcManager.preprocess(logLines, jvmStartDate);
+            return;
         }
 
-        // Allow logging to be reordered?
-        boolean reorder = cmd.hasOption(OPTION_REORDER_LONG);
+        boolean reportConsole = cmd.hasOption(OPTION_REPORT_CONSOLE_LONG);
 
-        // Store garbage collection logging in data store.
-        gcManager.store(logLines, reorder);
+        // Rollup instead of report?
+        if (cmd.hasOption(OPTION_ROLLUP_LONG)) {
+            Rollup.Resolution resolution = Rollup.Resolution.fromLiteral(cmd.getOptionValue(OPTION_ROLLUP_SHORT));
+            createRollup(gcManager.getRollup(resolution), reportConsole, reportFile);
+            if (verbose) {
+                System.out.println("done: " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+            }
+            return;
+        }
 
         // Create report
-        // Determine report options
-        int throughputThreshold = cmd.hasOption(OPTION_THRESHOLD_LONG)
-                ? Integer.parseInt(cmd.getOptionValue(OPTION_THRESHOLD_SHORT))
-                : DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
         JvmRun jvmRun = gcManager.getJvmRun(jvmOptions, throughputThreshold);
-        boolean reportConsole = cmd.hasOption(OPTION_REPORT_CONSOLE_LONG);
         createReport(jvmRun, reportConsole, reportFile, logFileName);
         if (verbose) {
-            System.out.println("done");
+            System.out.println("done: " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+        }
+    }
+
+    /**
+     * Output time-bucketed event aggregates as CSV, one line per bucket with events. Durations are microseconds and
+     * memory kilobytes. Trigger counts are "TRIGGER=count" pairs separated by spaces.
+     *
+     * @param rollup
+     *            The event aggregates.
+     * @param reportConsole
+     *            Whether print the output to the console or to a file.
+     * @param reportFile
+     *            Output file.
+     * @throws IOException
+     *             if the output file cannot be written.
+     */
+    public static void createRollup(Rollup rollup, boolean reportConsole, File reportFile) throws IOException {
+        PrintWriter printWriter = reportConsole ? new PrintWriter(System.out)
+                : new PrintWriter(new BufferedWriter(new FileWriter(reportFile)));
+        try {
+            printWriter.write("timestamp,pause_count,pause_total,pause_max,safepoint_total,heap_after_gc_min,"
+                    + "heap_after_gc_max,allocation,triggers" + LINE_SEPARATOR);
+            for (Rollup.Bucket bucket : rollup.getBuckets()) {
+                StringBuilder triggers = new StringBuilder();
+                for (Map.Entry<GcTrigger, Integer> entry : bucket.getTriggerCounts().entrySet()) {
+                    if (triggers.length() > 0) {
+                        triggers.append(' ');
+                    }
+                    triggers.append(entry.getKey()).append('=').append(entry.getValue());
+                }
+                printWriter.write(bucket.getTimestamp() + "," + bucket.getPauseCount() + "," + bucket.getPauseTotal()
+                        + "," + bucket.getPauseMax() + "," + bucket.getSafepointTotal() + ","
+                        + bucket.getHeapAfterGcMin() + "," + bucket.getHeapAfterGcMax() + ","
+                        + bucket.getAllocation() + "," + triggers + LINE_SEPARATOR);
+            }
+        } finally {
+            if (reportConsole) {
+                printWriter.flush();
+            } else {
+                printWriter.close();
+            }
         }
     }
 
@@ -373,15 +577,30 @@ public class Main {
                 }
                 printWriter.write(jvmRun.getGcThroughput() + "%" + LINE_SEPARATOR);
 
-                // As of now the allocation rate is only implemented for G1GC collector.
-                if (jvmRun.getJvmOptions().getUseG1Gc() != null
-                        || jvmRun.getEventTypes().contains(LogEventType.G1_YOUNG_PAUSE)) {
-                    BigDecimal allocationRate = jvmRun.getAllocationRate();
-                    if (allocationRate.longValue() > 0) {
-                        Memory gbPerSec = Memory.memory(allocationRate.longValue(), KILOBYTES);
-                        printWriter.write("Allocation Rate: " + Long.toString(gbPerSec.getValue(MEGABYTES)) + " MB/sec"
-                                + LINE_SEPARATOR);
+                // Allocation, promotion, and old generation growth rates
+                if (jvmRun.getAllocationRate() != null && jvmRun.getAllocationRate().longValue() > 0) {
+                    printWriter.write("Allocation Rate: " + formatRate(jvmRun.getAllocationRate()) + LINE_SEPARATOR);
+                    printWriter.write("Allocation Rate Peak: " + formatRate(jvmRun.getAllocationRatePeak()) + " at "
+                            + JdkMath.convertMillisToSecs(jvmRun.getAllocationRatePeakTimestamp()) + " secs"
+                            + LINE_SEPARATOR);
+                }
+                if (jvmRun.getPromotionRate() != null) {
+                    printWriter.write("Promotion Rate: " + formatRate(jvmRun.getPromotionRate()) + LINE_SEPARATOR);
+                    printWriter.write(
+                            "Promotion Rate Peak: " + formatRate(jvmRun.getPromotionRatePeak()) + LINE_SEPARATOR);
+                }
+                if (jvmRun.getOldGrowthRate() != null) {
+                    printWriter
+                            .write("Old Gen Growth Rate: " + formatRate(jvmRun.getOldGrowthRate()) + LINE_SEPARATOR);
+                    printWriter.write(
+                            "Old Gen Growth Rate Peak: " + formatRate(jvmRun.getOldGrowthRatePeak()) + LINE_SEPARATOR);
+                }
+                if (jvmRun.isHeapLeakTrend()) {
+                    printWriter.write("Heap Leak Trend: " + formatRate(jvmRun.getHeapLeakRate()));
+                    if (jvmRun.getHeapLeakTimeToMaxHeap() >= 0) {
+                        printWriter.write(", max heap in ~" + jvmRun.getHeapLeakTimeToMaxHeap() + " secs");
                     }
+                    printWriter.write(LINE_SEPARATOR);
                 }
 
                 // GC max pause
@@ -424,6 +643,8 @@ public class Main {
                     printWriter.write(extRootScanningTotal.toString());
                     printWriter.write(" secs" + LINE_SEPARATOR);
                 }
+                // GC pause percentiles
+                printPercentiles(printWriter, "GC Pause Percentiles: ", jvmRun.getGcPauseHistogram());
                 // G1 "Other"
                 if (jvmRun.getOtherTimeTotal() > 0) {
                     // max
@@ -460,9 +681,12 @@ public class Main {
                 // Total stopped time
                 BigDecimal totalStoppedTime = JdkMath.convertMicrosToSecs(jvmRun.getStoppedTimeTotal());
                 printWriter.write("Stopped Time Total: " + totalStoppedTime.toString() + " secs" + LINE_SEPARATOR);
+                // Stopped time percentiles
+                printPercentiles(printWriter, "Stopped Time Percentiles: ", jvmRun.getStoppedTimeHistogram());
                 // Ratio of GC vs. stopped time. 100 means all stopped time due to GC.
                 if (jvmRun.getBlockingEventCount() > 0) {
                     printWriter.write("GC/Stopped Ratio: " + jvmRun.getGcStoppedRatio() + "%" + LINE_SEPARATOR);
+                    printSafepointJoin(printWriter, jvmRun.getSafepointJoin());
                 }
             }
 
@@ -486,10 +710,13 @@ public class Main {
                 // Total safepoint time
                 BigDecimal totalSafepointTime = JdkMath.convertNanosToSecs(jvmRun.getUnifiedSafepointTimeTotal());
                 printWriter.write("Safepoint Pause Total: " + totalSafepointTime.toString() + " secs" + LINE_SEPARATOR);
+                // Safepoint time percentiles
+                printPercentiles(printWriter, "Safepoint Pause Percentiles: ", jvmRun.getUnifiedSafepointHistogram());
                 // Ratio of GC vs. safepoint time. 100 means all stopped time due to GC.
                 if (jvmRun.getBlockingEventCount() > 0) {
                     printWriter
                             .write("GC/Safepoint Ratio: " + jvmRun.getGcUnifiedSafepointRatio() + "%" + LINE_SEPARATOR);
+                    printSafepointJoin(printWriter, jvmRun.getSafepointJoin());
                 }
                 // Safepoint summary
                 printWriter.write(LINEBREAK_DOUBLE);
@@ -535,6 +762,34 @@ public class Main {
                             UnifiedSafepoint.getTriggerLiteral(summary.getTrigger()), summary.getCount(),
                             pauseTotalString, percentString, pauseMaxString);
                 }
+                printTimeToSafepoint(printWriter, summaries);
+            }
+
+            // Minimum mutator utilization
+            if (jvmRun.getMmu() != null && !jvmRun.getMmu().isEmpty()) {
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.printf("%-30s%12s%18s%n", "MMU:", "Utilization", "Worst Window (s)");
+                printWriter.write(LINEBREAK_SINGLE);
+                for (MutatorUtilization.Window window : jvmRun.getMmu()) {
+                    printWriter.printf("%-30s%11s%%%18s%n", window.getWindowMillis() + " ms",
+                            window.getUtilization(), JdkMath.convertMillisToSecs(window.getTimestamp()));
+                }
+            }
+
+            // Worst pauses
+            if (jvmRun.getWorstPauseEvents() != null && !jvmRun.getWorstPauseEvents().isEmpty()) {
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.write("WORST PAUSES:" + LINE_SEPARATOR);
+                printWriter.write(LINEBREAK_SINGLE);
+                for (TopEvents.Entry<BlockingEvent> entry : jvmRun.getWorstPauseEvents()) {
+                    if (jvmRun.getStartDate() != null) {
+                        printWriter.write(JdkUtil.convertLogEntryTimestampsToDateStamp(entry.getEvent().getLogEntry(),
+                                jvmRun.getStartDate()));
+                    } else {
+                        printWriter.write(entry.getEvent().getLogEntry());
+                    }
+                    printWriter.write(LINE_SEPARATOR);
+                }
             }
 
             // Analysis
@@ -610,13 +865,7 @@ public class Main {
                 printWriter.write("GC throughput less than " + jvmRun.getThroughputThreshold() + "%" + LINE_SEPARATOR);
                 printWriter.write(LINEBREAK_SINGLE);
                 for (String gcBottleneck : gcBottlenecks) {
-                    if (jvmRun.getStartDate() != null) {
-                        printWriter
-                                .write(JdkUtil.convertLogEntryTimestampsToDateStamp(gcBottleneck, jvmRun.getStartDate())
-                                        + LINE_SEPARATOR);
-                    } else {
-                        printWriter.write(gcBottleneck + LINE_SEPARATOR);
-                    }
+                    printWriter.write(gcBottleneck + LINE_SEPARATOR);
                 }
             }
 
@@ -628,16 +877,14 @@ public class Main {
                         "Safepoint throughput less than " + jvmRun.getThroughputThreshold() + "%" + LINE_SEPARATOR);
                 printWriter.write(LINEBREAK_SINGLE);
                 for (String safepointBottleneck : safepointBottlenecks) {
-                    if (jvmRun.getStartDate() != null) {
-                        printWriter.write(
-                                JdkUtil.convertLogEntryTimestampsToDateStamp(safepointBottleneck, jvmRun.getStartDate())
-                                        + LINE_SEPARATOR);
-                    } else {
-                        printWriter.write(safepointBottleneck + LINE_SEPARATOR);
-                    }
+                    printWriter.write(safepointBottleneck + LINE_SEPARATOR);
                 }
             }
 
+            // Pause time budget
+            printPauseSlo(printWriter, "GC PAUSE SLO", jvmRun.getGcPauseSlo(), jvmRun.getStartDate());
+            printPauseSlo(printWriter, "SAFEPOINT PAUSE SLO", jvmRun.getSafepointPauseSlo(), jvmRun.getStartDate());
+
             // Unidentified log lines
             List<String> unidentifiedLogLines = jvmRun.getUnidentifiedLogLines();
             if (!unidentifiedLogLines.isEmpty()) {
@@ -695,6 +942,182 @@ public class Main {
         }
     }
 
+    /**
+     * @param kilobytesPerSecond
+     *            The rate (kilobytes per second).
+     * @return The rate in MB/sec, or KB/sec if less than 1 MB/sec.
+     */
+    private static String formatRate(BigDecimal kilobytesPerSecond) {
+        Memory rate = Memory.memory(Math.abs(kilobytesPerSecond.longValue()), KILOBYTES);
+        String sign = kilobytesPerSecond.signum() < 0 ? "-" : "";
+        if (rate.getValue(MEGABYTES) > 0) {
+            return sign + rate.getValue(MEGABYTES) + " MB/sec";
+        }
+        return sign + rate.getValue(KILOBYTES) + " KB/sec";
+    }
+
+    /**
+     * @param micros
+     *            The duration (microseconds).
+     * @return The duration in seconds, with a rounding hint if it rounds to 0.
+     */
+    private static String formatSecs(long micros) {
+        BigDecimal secs = JdkMath.convertMicrosToSecs(micros);
+        return secs.signum() == 0 && micros > 0 ? "~" + secs : secs.toString();
+    }
+
+    /**
+     * Output the time windows over a pause time budget, with the pause triggers and offending pauses.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param label
+     *            The report section label.
+     * @param pauseSlo
+     *            The windows over the budget, or null if no budget.
+     * @param jvmStartDate
+     *            The date/time the JVM started, to convert timestamps to datestamps, or null to keep timestamps.
+     */
+    private static void printPauseSlo(PrintWriter printWriter, String label, PauseSlo<? extends LogEvent> pauseSlo,
+            Date jvmStartDate) {
+        if (pauseSlo == null || pauseSlo.getCount() == 0) {
+            return;
+        }
+        PauseSlo.Budget budget = pauseSlo.getBudget();
+        printWriter.write(LINEBREAK_DOUBLE);
+        printWriter.write(label + ":");
+        if (budget.getP99Micros() > 0) {
+            printWriter.write(" p99 " + JdkMath.convertMicrosToSecs(budget.getP99Micros()) + " secs");
+        }
+        if (budget.getMaxMicros() > 0) {
+            printWriter.write((budget.getP99Micros() > 0 ? "," : "") + " max "
+                    + JdkMath.convertMicrosToSecs(budget.getMaxMicros()) + " secs");
+        }
+        if (budget.getTotalMicros() > 0) {
+            printWriter.write((budget.getP99Micros() > 0 || budget.getMaxMicros() > 0 ? "," : "") + " total "
+                    + JdkMath.convertMicrosToSecs(budget.getTotalMicros()) + " secs");
+        }
+        printWriter.write(" per " + JdkMath.convertMillisToSecs(budget.getWindowMillis()) + " secs" + LINE_SEPARATOR);
+        printWriter.write(LINEBREAK_SINGLE);
+        printWriter.write("p99: " + formatSecs(pauseSlo.getP99()) + " secs"
+                + (pauseSlo.isP99Exceeded() ? " (over budget)" : "") + LINE_SEPARATOR);
+        printWriter.write("Windows over budget: " + pauseSlo.getViolations().size() + " of "
+                + pauseSlo.getWindowCount() + LINE_SEPARATOR);
+        for (PauseSlo.Window<? extends LogEvent> window : pauseSlo.getViolations()) {
+            printWriter.write(LINEBREAK_SINGLE);
+            printWriter.write(JdkMath.convertMillisToSecs(window.getTimestamp()) + "-"
+                    + JdkMath.convertMillisToSecs(window.getTimestamp() + budget.getWindowMillis()) + " secs: "
+                    + window.getCount() + " pauses, p99 " + formatSecs(window.getP99()) + ", max "
+                    + formatSecs(window.getPauseMax()) + ", total " + formatSecs(window.getPauseTotal()) + " secs (");
+            List<String> exceeded = new ArrayList<String>();
+            if (window.isP99Exceeded()) {
+                exceeded.add("p99");
+            }
+            if (window.isMaxExceeded()) {
+                exceeded.add("max");
+            }
+            if (window.isTotalExceeded()) {
+                exceeded.add("total");
+            }
+            printWriter.write(String.join(", ", exceeded) + " over budget)" + LINE_SEPARATOR);
+            if (!window.getTriggerCounts().isEmpty()) {
+                printWriter.write("Triggers:");
+                Iterator<Map.Entry<String, Integer>> iterator = window.getTriggerCounts().entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, Integer> entry = iterator.next();
+                    printWriter.write(" " + entry.getKey() + " " + entry.getValue() + (iterator.hasNext() ? "," : ""));
+                }
+                printWriter.write(LINE_SEPARATOR);
+            }
+            for (LogEvent event : window.getEvents()) {
+                printWriter.write((jvmStartDate == null ? event.getLogEntry()
+                        : JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate))
+                        + LINE_SEPARATOR);
+            }
+        }
+    }
+
+    /**
+     * Output pause duration percentiles.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param label
+     *            The report line label.
+     * @param histogram
+     *            The pause duration histogram, or null if not available.
+     */
+    private static void printPercentiles(PrintWriter printWriter, String label, PauseHistogram histogram) {
+        if (histogram == null || histogram.getCount() == 0) {
+            return;
+        }
+        printWriter.write(label);
+        for (int i = 0; i < REPORT_PERCENTILES.length; i++) {
+            if (i > 0) {
+                printWriter.write(", ");
+            }
+            printWriter.write("p" + REPORT_PERCENTILES[i] + " "
+                    + JdkMath.convertMicrosToSecs(histogram.getPercentile(Double.parseDouble(REPORT_PERCENTILES[i]))));
+        }
+        printWriter.write(" secs" + LINE_SEPARATOR);
+    }
+
+    /**
+     * Output GC pauses joined with the safepoints enclosing them.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param safepointJoin
+     *            The GC pauses joined with the safepoints, or null if not available.
+     */
+    private static void printSafepointJoin(PrintWriter printWriter, SafepointJoin safepointJoin) {
+        if (safepointJoin == null || safepointJoin.getMatchedCount() == 0) {
+            return;
+        }
+        printWriter.write("GC Safepoint Non-GC Max: " + JdkMath.convertMicrosToSecs(safepointJoin.getNonGcMax())
+                + " secs" + LINE_SEPARATOR);
+        printWriter.write("GC Safepoint Non-GC Total: " + JdkMath.convertMicrosToSecs(safepointJoin.getNonGcTotal())
+                + " secs" + LINE_SEPARATOR);
+        printWriter.write("GC Time To Safepoint Max: "
+                + JdkMath.convertMicrosToSecs(safepointJoin.getTimeToSafepointMax()) + " secs" + LINE_SEPARATOR);
+        printWriter.write("Non-GC Safepoints: " + safepointJoin.getUnmatched().size() + " ("
+                + JdkMath.convertMicrosToSecs(safepointJoin.getUnmatchedTotal()) + " secs)" + LINE_SEPARATOR);
+    }
+
+    /**
+     * Output time to safepoint by trigger.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param summaries
+     *            The safepoint summaries.
+     */
+    private static void printTimeToSafepoint(PrintWriter printWriter, List<SafepointEventSummary> summaries) {
+        boolean hasTimeToSafepoint = false;
+        for (SafepointEventSummary summary : summaries) {
+            if (summary.getTimeToSafepointHistogram() != null
+                    && summary.getTimeToSafepointHistogram().getCount() > 0) {
+                hasTimeToSafepoint = true;
+                break;
+            }
+        }
+        if (!hasTimeToSafepoint) {
+            return;
+        }
+        printWriter.write(LINEBREAK_DOUBLE);
+        printWriter.printf("%-30s%10s%12s%12s%12s%n", "TIME TO SAFEPOINT:", "#", "Time (s)", "p99 (s)", "Max (s)");
+        printWriter.write(LINEBREAK_SINGLE);
+        for (SafepointEventSummary summary : summaries) {
+            PauseHistogram histogram = summary.getTimeToSafepointHistogram();
+            if (histogram == null || histogram.getCount() == 0) {
+                continue;
+            }
+            printWriter.printf("%-30s%10s%12s%12s%12s%n", UnifiedSafepoint.getTriggerLiteral(summary.getTrigger()),
+                    histogram.getCount(), formatSecs(histogram.getTotal()),
+                    formatSecs(histogram.getPercentile(99)), formatSecs(histogram.getMax()));
+        }
+    }
+
     /**
      * Output usage help.
      */
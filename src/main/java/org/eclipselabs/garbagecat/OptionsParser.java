@@ -12,8 +12,17 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat;
 
+import static org.eclipselabs.garbagecat.service.AnalysisCache.DEFAULT_MAX_SIZE;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CACHE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CACHE_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CACHE_SIZE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CACHE_SIZE_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EXPORT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EXPORT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_IMPORT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_IMPORT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
@@ -24,12 +33,20 @@ import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REPORT_CONSOLE_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REPORT_CONSOLE_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_ROLLUP_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_ROLLUP_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SLO_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SLO_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERBOSE_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERBOSE_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_WORST_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_WORST_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OUTPUT_FILE_NAME;
 import static org.eclipselabs.garbagecat.util.GcUtil.isValidStartDateTime;
 
@@ -43,6 +60,9 @@ import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.eclipselabs.garbagecat.dao.Rollup;
+import org.eclipselabs.garbagecat.util.PauseSlo;
+import org.eclipselabs.garbagecat.util.TopEvents;
 
 /**
  * @author <a href="https://github.com/pfichtner">Peter Fichtner</a>
@@ -66,7 +86,25 @@ public class OptionsParser {
                 "output file name (default " + OUTPUT_FILE_NAME + ")");
         options.addOption(OPTION_REPORT_CONSOLE_SHORT, OPTION_REPORT_CONSOLE_LONG, false,
                 "print report to stdout instead of file");
+        options.addOption(OPTION_SPILL_SHORT, OPTION_SPILL_LONG, true,
+                "spill events to temporary files when heap use exceeds fraction (0-1) of max heap (0 to always spill)");
+        options.addOption(OPTION_CACHE_SHORT, OPTION_CACHE_LONG, true,
+                "analysis cache directory to reuse parsed logging across runs");
+        options.addOption(OPTION_CACHE_SIZE_SHORT, OPTION_CACHE_SIZE_LONG, true,
+                "analysis cache maximum size in megabytes (default " + (DEFAULT_MAX_SIZE >> 20) + ")");
+        options.addOption(OPTION_EXPORT_SHORT, OPTION_EXPORT_LONG, true,
+                "export parsed logging to a binary file (instead of a report) for a later --" + OPTION_IMPORT_LONG);
+        options.addOption(OPTION_IMPORT_SHORT, OPTION_IMPORT_LONG, false,
+                "input is a binary file written by --" + OPTION_EXPORT_LONG + " instead of gc logging");
+        options.addOption(OPTION_ROLLUP_SHORT, OPTION_ROLLUP_LONG, true,
+                "output time-bucketed aggregates (1s, 1m, or 1h buckets) as CSV instead of a report");
+        options.addOption(OPTION_SLO_SHORT, OPTION_SLO_LONG, true,
+                "report time windows over a pause time budget: p99=<ms>,max=<ms>,total=<ms>[,window=<secs>] (p99 "
+                        + "pause, longest pause, and total pause time per window, default window 60)");
         options.addOption(OPTION_VERBOSE_SHORT, OPTION_VERBOSE_LONG, false, "verbose output");
+        options.addOption(OPTION_WORST_SHORT, OPTION_WORST_LONG, true,
+                "number of worst pauses, safepoints, and parallelism events to keep (default "
+                        + TopEvents.DEFAULT_SIZE + ")");
     }
 
     /**
@@ -133,6 +171,61 @@ public class OptionsParser {
                 throw new ParseException("Invalid threshold: '" + thresholdOptionValue + "'");
             }
         }
+        // cache
+        if (cmd.hasOption(OPTION_CACHE_LONG)) {
+            File cacheDirectory = new File(cmd.getOptionValue(OPTION_CACHE_SHORT));
+            if (cacheDirectory.exists() && !cacheDirectory.isDirectory()) {
+                throw new ParseException("Invalid cache: '" + cacheDirectory + "'");
+            }
+        }
+        // cachesize
+        if (cmd.hasOption(OPTION_CACHE_SIZE_LONG)) {
+            String cacheSizeRegEx = "^\\d{1,9}$";
+            String cacheSizeOptionValue = cmd.getOptionValue(OPTION_CACHE_SIZE_SHORT);
+            Pattern pattern = Pattern.compile(cacheSizeRegEx);
+            Matcher matcher = pattern.matcher(cacheSizeOptionValue);
+            if (!matcher.find()) {
+                throw new ParseException("Invalid cachesize: '" + cacheSizeOptionValue + "'");
+            }
+        }
+        // export
+        if (cmd.hasOption(OPTION_EXPORT_LONG)) {
+            if (cmd.hasOption(OPTION_IMPORT_LONG)) {
+                throw new ParseException("Invalid export: '" + cmd.getOptionValue(OPTION_EXPORT_SHORT)
+                        + "' (input is already an export)");
+            }
+            File exportFile = new File(cmd.getOptionValue(OPTION_EXPORT_SHORT));
+            if (exportFile.isDirectory()) {
+                throw new ParseException("Invalid export: '" + exportFile + "'");
+            }
+        }
+        // rollup
+        if (cmd.hasOption(OPTION_ROLLUP_LONG)) {
+            String rollupOptionValue = cmd.getOptionValue(OPTION_ROLLUP_SHORT);
+            if (Rollup.Resolution.fromLiteral(rollupOptionValue) == null) {
+                throw new ParseException("Invalid rollup: '" + rollupOptionValue + "'");
+            }
+            if (cmd.hasOption(OPTION_EXPORT_LONG)) {
+                throw new ParseException("Invalid rollup: '" + rollupOptionValue + "' (output is an export)");
+            }
+        }
+        // slo
+        if (cmd.hasOption(OPTION_SLO_LONG)) {
+            String sloOptionValue = cmd.getOptionValue(OPTION_SLO_SHORT);
+            if (PauseSlo.Budget.fromLiteral(sloOptionValue) == null) {
+                throw new ParseException("Invalid slo: '" + sloOptionValue + "'");
+            }
+        }
+        // spill
+        if (cmd.hasOption(OPTION_SPILL_LONG)) {
+            String spillRegEx = "^(0(\\.\\d+)?|1(\\.0+)?)$";
+            String spillOptionValue = cmd.getOptionValue(OPTION_SPILL_SHORT);
+            Pattern pattern = Pattern.compile(spillRegEx);
+            Matcher matcher = pattern.matcher(spillOptionValue);
+            if (!matcher.find()) {
+                throw new ParseException("Invalid spill: '" + spillOptionValue + "'");
+            }
+        }
         // startdatetime
         if (cmd.hasOption(OPTION_STARTDATETIME_LONG)) {
             String startdatetimeOptionValue = cmd.getOptionValue(OPTION_STARTDATETIME_SHORT);
@@ -140,6 +233,16 @@ public class OptionsParser {
                 throw new ParseException("Invalid startdatetime: '" + startdatetimeOptionValue + "'");
             }
         }
+        // worst
+        if (cmd.hasOption(OPTION_WORST_LONG)) {
+            String worstRegEx = "^\\d{1,4}$";
+            String worstOptionValue = cmd.getOptionValue(OPTION_WORST_SHORT);
+            Pattern pattern = Pattern.compile(worstRegEx);
+            Matcher matcher = pattern.matcher(worstOptionValue);
+            if (!matcher.find()) {
+                throw new ParseException("Invalid worst: '" + worstOptionValue + "'");
+            }
+        }
     }
 
 }
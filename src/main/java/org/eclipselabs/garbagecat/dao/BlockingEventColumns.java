@@ -0,0 +1,1322 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.ClassData;
+import org.eclipselabs.garbagecat.domain.CombinedData;
+import org.eclipselabs.garbagecat.domain.OldData;
+import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.domain.TriggerData;
+import org.eclipselabs.garbagecat.domain.YoungData;
+import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * <code>BlockingEvent</code> data stored as primitive columns (struct of arrays), one row per event, so aggregates and
+ * scans run as tight loops without <code>instanceof</code> checks or <code>Memory</code> unboxing.
+ * </p>
+ *
+ * <p>
+ * Sizes are in kilobytes, <code>NO_DATA</code> when the event does not have the data. Times are in centiseconds,
+ * <code>TimesData.NO_DATA</code> when the event does not have times data.
+ * </p>
+ *
+ * <p>
+ * The log entry column is optional. When it is not kept, the log entries of the few rows that are reported (e.g.
+ * bottlenecks) are kept with <code>pin</code>, so the raw logging is not held in memory.
+ * </p>
+ *
+ * <p>
+ * When spilling is enabled, every <code>SEGMENT_SIZE</code> rows the active rows are sealed: written column by column
+ * to a temporary file that is memory mapped, so only the active segment is on heap. Sealed rows are read from the
+ * mapping, and are best read sequentially. Spilling is enabled when the store is created, with <code>spill</code>, or
+ * once heap use exceeds <code>setSpillHeapFraction</code>.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class BlockingEventColumns {
+
+    /**
+     * A read-only view of <code>BlockingEvent</code>s recreated from rows with <code>getEvent</code>.
+     */
+    private static final class Events extends AbstractList<BlockingEvent> implements RandomAccess {
+
+        /**
+         * The events already recreated, or null if events are recreated on every <code>get</code>.
+         */
+        private final BlockingEvent[] cache;
+
+        private final BlockingEventColumns columns;
+
+        /**
+         * The rows in the view, or null for all rows.
+         */
+        private final int[] rows;
+
+        private Events(BlockingEventColumns columns, int[] rows, boolean cached) {
+            this.cache = cached ? new BlockingEvent[rows.length] : null;
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        @Override
+        public BlockingEvent get(int index) {
+            if (cache == null) {
+                return columns.getEvent(rows == null ? index : rows[index]);
+            }
+            if (cache[index] == null) {
+                cache[index] = columns.getEvent(rows[index]);
+            }
+            return cache[index];
+        }
+
+        @Override
+        public int size() {
+            return rows == null ? columns.size() : rows.length;
+        }
+    }
+
+    /**
+     * A sealed segment of <code>SEGMENT_SIZE</code> rows in a memory mapped temporary file.
+     */
+    private static final class Segment {
+
+        /**
+         * The column data, followed by the log entry offsets (<code>SEGMENT_SIZE + 1</code> ints, -offset - 1 for a
+         * null log entry) and UTF-8 bytes if log entries are retained.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The temporary file.
+         */
+        private final File file;
+
+        private Segment(File file, ByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        private int getInt(int column, int index) {
+            return buffer.getInt(INT_COLUMNS_OFFSET + (column * SEGMENT_SIZE + (index & SEGMENT_MASK)) * 4);
+        }
+
+        private String getLogEntry(int index) {
+            int row = index & SEGMENT_MASK;
+            int start = buffer.getInt(LOG_ENTRIES_OFFSET + row * 4);
+            if (start < 0) {
+                return null;
+            }
+            int end = buffer.getInt(LOG_ENTRIES_OFFSET + (row + 1) * 4);
+            if (end < 0) {
+                end = -end - 1;
+            }
+            byte[] bytes = new byte[end - start];
+            ByteBuffer entry = buffer.duplicate();
+            entry.position(start);
+            entry.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+
+        private long getLong(int column, int index) {
+            return buffer.getLong((column * SEGMENT_SIZE + (index & SEGMENT_MASK)) * 8);
+        }
+
+        private short getShort(int column, int index) {
+            return buffer.getShort(SHORT_COLUMNS_OFFSET + (column * SEGMENT_SIZE + (index & SEGMENT_MASK)) * 2);
+        }
+    }
+
+    /**
+     * A read-only view of the rows.
+     */
+    private static final class View implements BlockingEventColumnsView {
+
+        private final BlockingEventColumns columns;
+
+        private View(BlockingEventColumns columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public int getClassOccupancyEnd(int index) {
+            return columns.getClassOccupancyEnd(index);
+        }
+
+        @Override
+        public int getClassOccupancyInit(int index) {
+            return columns.getClassOccupancyInit(index);
+        }
+
+        @Override
+        public int getClassSpace(int index) {
+            return columns.getClassSpace(index);
+        }
+
+        @Override
+        public long getDurationMicros(int index) {
+            return columns.getDurationMicros(index);
+        }
+
+        @Override
+        public LogEventType getEventType(int index) {
+            return columns.getEventType(index);
+        }
+
+        @Override
+        public int getHeapOccupancyEnd(int index) {
+            return columns.getHeapOccupancyEnd(index);
+        }
+
+        @Override
+        public int getHeapOccupancyInit(int index) {
+            return columns.getHeapOccupancyInit(index);
+        }
+
+        @Override
+        public int getHeapSpace(int index) {
+            return columns.getHeapSpace(index);
+        }
+
+        @Override
+        public String getLogEntry(int index) {
+            return columns.getLogEntry(index);
+        }
+
+        @Override
+        public int getOldOccupancyEnd(int index) {
+            return columns.getOldOccupancyEnd(index);
+        }
+
+        @Override
+        public int getOldOccupancyInit(int index) {
+            return columns.getOldOccupancyInit(index);
+        }
+
+        @Override
+        public int getOldSpace(int index) {
+            return columns.getOldSpace(index);
+        }
+
+        @Override
+        public int getTimeReal(int index) {
+            return columns.getTimeReal(index);
+        }
+
+        @Override
+        public long getTimestamp(int index) {
+            return columns.getTimestamp(index);
+        }
+
+        @Override
+        public int getTimeSys(int index) {
+            return columns.getTimeSys(index);
+        }
+
+        @Override
+        public int getTimeUser(int index) {
+            return columns.getTimeUser(index);
+        }
+
+        @Override
+        public GcTrigger getTrigger(int index) {
+            return columns.getTrigger(index);
+        }
+
+        @Override
+        public int getYoungOccupancyEnd(int index) {
+            return columns.getYoungOccupancyEnd(index);
+        }
+
+        @Override
+        public int getYoungOccupancyInit(int index) {
+            return columns.getYoungOccupancyInit(index);
+        }
+
+        @Override
+        public int getYoungSpace(int index) {
+            return columns.getYoungSpace(index);
+        }
+
+        @Override
+        public int size() {
+            return columns.size();
+        }
+    }
+
+    /**
+     * Size value when the event does not have the data.
+     */
+    public static final int NO_DATA = -1;
+
+    /**
+     * The number of rows in a sealed (spilled) segment.
+     */
+    public static final int SEGMENT_SIZE = 1 << 16;
+
+    /**
+     * <code>GcTrigger</code>s by ordinal.
+     */
+    private static final GcTrigger[] GC_TRIGGERS = GcTrigger.values();
+
+    /**
+     * Initial column capacity.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Sealed segment int column numbers.
+     */
+    private static final int INT_CLASS_OCCUPANCY_END = 0;
+
+    private static final int INT_CLASS_OCCUPANCY_INIT = 1;
+
+    private static final int INT_CLASS_SPACE = 2;
+
+    private static final int INT_HEAP_OCCUPANCY_END = 3;
+
+    private static final int INT_HEAP_OCCUPANCY_INIT = 4;
+
+    private static final int INT_HEAP_SPACE = 5;
+
+    private static final int INT_OLD_OCCUPANCY_END = 6;
+
+    private static final int INT_OLD_OCCUPANCY_INIT = 7;
+
+    private static final int INT_OLD_SPACE = 8;
+
+    private static final int INT_TIME_REAL = 9;
+
+    private static final int INT_TIME_SYS = 10;
+
+    private static final int INT_TIME_USER = 11;
+
+    private static final int INT_YOUNG_OCCUPANCY_END = 12;
+
+    private static final int INT_YOUNG_OCCUPANCY_INIT = 13;
+
+    private static final int INT_YOUNG_SPACE = 14;
+
+    /**
+     * The number of sealed segment int, long, and short columns.
+     */
+    private static final int INT_COLUMNS = 15;
+
+    private static final int LONG_COLUMNS = 2;
+
+    private static final int SHORT_COLUMNS = 2;
+
+    /**
+     * Sealed segment long column numbers.
+     */
+    private static final int LONG_DURATION_MICROS = 1;
+
+    private static final int LONG_TIMESTAMP = 0;
+
+    /**
+     * Sealed segment short column numbers.
+     */
+    private static final int SHORT_EVENT_TYPE = 0;
+
+    private static final int SHORT_TRIGGER = 1;
+
+    /**
+     * Sealed segment column offsets (bytes).
+     */
+    private static final int SHORT_COLUMNS_OFFSET = LONG_COLUMNS * SEGMENT_SIZE * 8;
+
+    private static final int INT_COLUMNS_OFFSET = SHORT_COLUMNS_OFFSET + SHORT_COLUMNS * SEGMENT_SIZE * 2;
+
+    private static final int LOG_ENTRIES_OFFSET = INT_COLUMNS_OFFSET + INT_COLUMNS * SEGMENT_SIZE * 4;
+
+    /**
+     * <code>LogEventType</code>s by ordinal.
+     */
+    private static final LogEventType[] LOG_EVENT_TYPES = LogEventType.values();
+
+    /**
+     * Mask to get the row in a sealed segment.
+     */
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * Shift to get the sealed segment of a row.
+     */
+    private static final int SEGMENT_SHIFT = 16;
+
+    /**
+     * The number of rows between heap use checks when spilling above a heap fraction.
+     */
+    private static final int SPILL_CHECK_INTERVAL = 4096;
+
+    static int kilobytes(Memory memory) {
+        return memory == null ? NO_DATA : (int) memory.getValue(KILOBYTES);
+    }
+
+    private static int kilobytes(Memory memory1, Memory memory2) {
+        if (memory1 == null) {
+            return kilobytes(memory2);
+        } else if (memory2 == null) {
+            return kilobytes(memory1);
+        }
+        return kilobytes(memory1.plus(memory2));
+    }
+
+    private static int[] reorder(int[] column, int[] order) {
+        int[] reordered = new int[column.length];
+        for (int i = 0; i < order.length; i++) {
+            reordered[i] = column[order[i]];
+        }
+        return reordered;
+    }
+
+    private static long[] reorder(long[] column, int[] order) {
+        long[] reordered = new long[column.length];
+        for (int i = 0; i < order.length; i++) {
+            reordered[i] = column[order[i]];
+        }
+        return reordered;
+    }
+
+    private static short[] reorder(short[] column, int[] order) {
+        short[] reordered = new short[column.length];
+        for (int i = 0; i < order.length; i++) {
+            reordered[i] = column[order[i]];
+        }
+        return reordered;
+    }
+
+    /**
+     * Perm/metaspace occupancy after the event (kilobytes).
+     */
+    private int[] classOccupancyEnd;
+
+    /**
+     * Perm/metaspace occupancy before the event (kilobytes).
+     */
+    private int[] classOccupancyInit;
+
+    /**
+     * Perm/metaspace space (kilobytes).
+     */
+    private int[] classSpace;
+
+    /**
+     * Event duration (microseconds).
+     */
+    private long[] durationMicros;
+
+    /**
+     * <code>LogEventType</code> ordinal.
+     */
+    private short[] eventType;
+
+    /**
+     * Heap occupancy after the event (kilobytes), the greater of young + old and combined.
+     */
+    private int[] heapOccupancyEnd;
+
+    /**
+     * Heap occupancy before the event (kilobytes), young + old, or combined if no young/old data.
+     */
+    private int[] heapOccupancyInit;
+
+    /**
+     * Heap space (kilobytes), young + old, or combined if no young/old data.
+     */
+    private int[] heapSpace;
+
+    /**
+     * Log entries, or null if log entries are not retained.
+     */
+    private String[] logEntry;
+
+    /**
+     * Old generation occupancy after the event (kilobytes).
+     */
+    private int[] oldOccupancyEnd;
+
+    /**
+     * Old generation occupancy before the event (kilobytes).
+     */
+    private int[] oldOccupancyInit;
+
+    /**
+     * Old generation space (kilobytes).
+     */
+    private int[] oldSpace;
+
+    /**
+     * Log entries of pinned rows by row, when the log entry column is not kept.
+     */
+    private Map<Integer, String> pinnedLogEntries = new HashMap<>();
+
+    /**
+     * The number of rows in sealed segments.
+     */
+    private int sealedSize;
+
+    /**
+     * Sealed segments, in row order.
+     */
+    private List<Segment> segments = new ArrayList<>();
+
+    /**
+     * The number of rows.
+     */
+    private int size;
+
+    /**
+     * The directory for sealed segment files (null for the default temporary file directory).
+     */
+    private File spillDirectory;
+
+    /**
+     * Spill once heap use exceeds this fraction of the maximum heap (0 to always spill, negative to never spill).
+     */
+    private double spillHeapFraction = -1;
+
+    /**
+     * Whether or not full segments are sealed to temporary files.
+     */
+    private boolean spilling;
+
+    /**
+     * Wall (clock) time (centiseconds).
+     */
+    private int[] timeReal;
+
+    /**
+     * Event timestamp (milliseconds).
+     */
+    private long[] timestamp;
+
+    /**
+     * Sys (kernel) time (centiseconds).
+     */
+    private int[] timeSys;
+
+    /**
+     * User (non-kernel) time (centiseconds).
+     */
+    private int[] timeUser;
+
+    /**
+     * <code>GcTrigger</code> ordinal, or -1 if the event does not have a trigger.
+     */
+    private short[] trigger;
+
+    /**
+     * Young generation occupancy after the event (kilobytes).
+     */
+    private int[] youngOccupancyEnd;
+
+    /**
+     * Young generation occupancy before the event (kilobytes).
+     */
+    private int[] youngOccupancyInit;
+
+    /**
+     * Young generation space (kilobytes).
+     */
+    private int[] youngSpace;
+
+    /**
+     * Default constructor. Log entries are not retained.
+     */
+    public BlockingEventColumns() {
+        this(false);
+    }
+
+    /**
+     * Alternate constructor.
+     *
+     * @param retainLogEntries
+     *            Whether or not to keep the log entry column.
+     */
+    public BlockingEventColumns(boolean retainLogEntries) {
+        classOccupancyEnd = new int[INITIAL_CAPACITY];
+        classOccupancyInit = new int[INITIAL_CAPACITY];
+        classSpace = new int[INITIAL_CAPACITY];
+        durationMicros = new long[INITIAL_CAPACITY];
+        eventType = new short[INITIAL_CAPACITY];
+        heapOccupancyEnd = new int[INITIAL_CAPACITY];
+        heapOccupancyInit = new int[INITIAL_CAPACITY];
+        heapSpace = new int[INITIAL_CAPACITY];
+        logEntry = retainLogEntries ? new String[INITIAL_CAPACITY] : null;
+        oldOccupancyEnd = new int[INITIAL_CAPACITY];
+        oldOccupancyInit = new int[INITIAL_CAPACITY];
+        oldSpace = new int[INITIAL_CAPACITY];
+        timeReal = new int[INITIAL_CAPACITY];
+        timestamp = new long[INITIAL_CAPACITY];
+        timeSys = new int[INITIAL_CAPACITY];
+        timeUser = new int[INITIAL_CAPACITY];
+        trigger = new short[INITIAL_CAPACITY];
+        youngOccupancyEnd = new int[INITIAL_CAPACITY];
+        youngOccupancyInit = new int[INITIAL_CAPACITY];
+        youngSpace = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Alternate constructor for a spilling store.
+     *
+     * @param retainLogEntries
+     *            Whether or not to keep the log entry column.
+     * @param spillDirectory
+     *            The directory for sealed segment files (null for the default temporary file directory).
+     */
+    public BlockingEventColumns(boolean retainLogEntries, File spillDirectory) {
+        this(retainLogEntries);
+        this.spilling = true;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Append an event.
+     *
+     * @param event
+     *            The <code>BlockingEvent</code>.
+     */
+    public void add(BlockingEvent event) {
+        if (spillHeapFraction >= 0 && !spilling && size % SPILL_CHECK_INTERVAL == 0) {
+            Runtime runtime = Runtime.getRuntime();
+            if (runtime.totalMemory() - runtime.freeMemory() >= spillHeapFraction * runtime.maxMemory()) {
+                spill(null);
+            }
+        }
+        int row = activeRow();
+        timestamp[row] = event.getTimestamp();
+        durationMicros[row] = event.getDurationMicros();
+        LogEventType logEventType = JdkUtil.determineEventType(event.getName());
+        eventType[row] = (short) (logEventType == null ? -1 : logEventType.ordinal());
+        GcTrigger gcTrigger = event instanceof TriggerData ? ((TriggerData) event).getTrigger() : null;
+        trigger[row] = (short) (gcTrigger == null ? -1 : gcTrigger.ordinal());
+        if (event instanceof YoungData) {
+            YoungData young = (YoungData) event;
+            youngOccupancyInit[row] = kilobytes(young.getYoungOccupancyInit());
+            youngOccupancyEnd[row] = kilobytes(young.getYoungOccupancyEnd());
+            youngSpace[row] = kilobytes(young.getYoungSpace());
+        } else {
+            youngOccupancyInit[row] = NO_DATA;
+            youngOccupancyEnd[row] = NO_DATA;
+            youngSpace[row] = NO_DATA;
+        }
+        if (event instanceof OldData) {
+            OldData old = (OldData) event;
+            oldOccupancyInit[row] = kilobytes(old.getOldOccupancyInit());
+            oldOccupancyEnd[row] = kilobytes(old.getOldOccupancyEnd());
+            oldSpace[row] = kilobytes(old.getOldSpace());
+            heapOccupancyInit[row] = kilobytes(old.getYoungOccupancyInit(), old.getOldOccupancyInit());
+            heapOccupancyEnd[row] = kilobytes(old.getYoungOccupancyEnd(), old.getOldOccupancyEnd());
+            heapSpace[row] = kilobytes(old.getYoungSpace(), old.getOldSpace());
+        } else {
+            oldOccupancyInit[row] = NO_DATA;
+            oldOccupancyEnd[row] = NO_DATA;
+            oldSpace[row] = NO_DATA;
+            heapOccupancyInit[row] = NO_DATA;
+            heapOccupancyEnd[row] = NO_DATA;
+            heapSpace[row] = NO_DATA;
+        }
+        if (event instanceof CombinedData) {
+            CombinedData combined = (CombinedData) event;
+            if (heapOccupancyInit[row] == NO_DATA) {
+                heapOccupancyInit[row] = kilobytes(combined.getCombinedOccupancyInit());
+            }
+            heapOccupancyEnd[row] = Math.max(heapOccupancyEnd[row], kilobytes(combined.getCombinedOccupancyEnd()));
+            if (heapSpace[row] == NO_DATA) {
+                heapSpace[row] = kilobytes(combined.getCombinedSpace());
+            }
+        }
+        if (event instanceof ClassData) {
+            ClassData classData = (ClassData) event;
+            classOccupancyInit[row] = kilobytes(classData.getClassOccupancyInit());
+            classOccupancyEnd[row] = kilobytes(classData.getClassOccupancyEnd());
+            classSpace[row] = kilobytes(classData.getClassSpace());
+        } else {
+            classOccupancyInit[row] = NO_DATA;
+            classOccupancyEnd[row] = NO_DATA;
+            classSpace[row] = NO_DATA;
+        }
+        if (event instanceof TimesData) {
+            TimesData times = (TimesData) event;
+            timeUser[row] = times.getTimeUser();
+            timeSys[row] = times.getTimeSys();
+            timeReal[row] = times.getTimeReal();
+        } else {
+            timeUser[row] = TimesData.NO_DATA;
+            timeSys[row] = TimesData.NO_DATA;
+            timeReal[row] = TimesData.NO_DATA;
+        }
+        if (logEntry != null) {
+            logEntry[row] = event.getLogEntry();
+        }
+        size++;
+    }
+
+    /**
+     * Append a row copied from another store.
+     *
+     * @param source
+     *            The store to copy from.
+     * @param index
+     *            The source row.
+     */
+    void add(BlockingEventColumns source, int index) {
+        int row = activeRow();
+        classOccupancyEnd[row] = source.getClassOccupancyEnd(index);
+        classOccupancyInit[row] = source.getClassOccupancyInit(index);
+        classSpace[row] = source.getClassSpace(index);
+        durationMicros[row] = source.getDurationMicros(index);
+        eventType[row] = source.getEventTypeOrdinal(index);
+        heapOccupancyEnd[row] = source.getHeapOccupancyEnd(index);
+        heapOccupancyInit[row] = source.getHeapOccupancyInit(index);
+        heapSpace[row] = source.getHeapSpace(index);
+        String entry = source.getLogEntry(index);
+        if (logEntry != null) {
+            logEntry[row] = entry;
+        } else if (entry != null) {
+            pinnedLogEntries.put(size, entry);
+        }
+        oldOccupancyEnd[row] = source.getOldOccupancyEnd(index);
+        oldOccupancyInit[row] = source.getOldOccupancyInit(index);
+        oldSpace[row] = source.getOldSpace(index);
+        timeReal[row] = source.getTimeReal(index);
+        timestamp[row] = source.getTimestamp(index);
+        timeSys[row] = source.getTimeSys(index);
+        timeUser[row] = source.getTimeUser(index);
+        trigger[row] = source.getTriggerOrdinal(index);
+        youngOccupancyEnd[row] = source.getYoungOccupancyEnd(index);
+        youngOccupancyInit[row] = source.getYoungOccupancyInit(index);
+        youngSpace[row] = source.getYoungSpace(index);
+        size++;
+    }
+
+    /**
+     * Make room for a row, sealing the active segment if it is full and spilling is enabled.
+     *
+     * @return The active segment row for the next row.
+     */
+    private int activeRow() {
+        int row = size - sealedSize;
+        if (spilling && row == SEGMENT_SIZE) {
+            seal();
+            row = 0;
+        }
+        if (row == timestamp.length) {
+            grow();
+        }
+        return row;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return index;
+    }
+
+    /**
+     * Remove all rows, deleting any sealed segment files.
+     */
+    public void clear() {
+        if (logEntry != null) {
+            Arrays.fill(logEntry, 0, size - sealedSize, null);
+        }
+        pinnedLogEntries.clear();
+        for (Segment segment : segments) {
+            segment.file.delete();
+        }
+        segments.clear();
+        sealedSize = 0;
+        size = 0;
+    }
+
+    public int getClassOccupancyEnd(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? classOccupancyEnd[row - sealedSize]
+                : segment(row).getInt(INT_CLASS_OCCUPANCY_END, row);
+    }
+
+    public int getClassOccupancyInit(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? classOccupancyInit[row - sealedSize]
+                : segment(row).getInt(INT_CLASS_OCCUPANCY_INIT, row);
+    }
+
+    public int getClassSpace(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? classSpace[row - sealedSize] : segment(row).getInt(INT_CLASS_SPACE, row);
+    }
+
+    public long getDurationMicros(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? durationMicros[row - sealedSize]
+                : segment(row).getLong(LONG_DURATION_MICROS, row);
+    }
+
+    public LogEventType getEventType(int index) {
+        short ordinal = getEventTypeOrdinal(index);
+        return ordinal < 0 ? null : LOG_EVENT_TYPES[ordinal];
+    }
+
+    /**
+     * Recreate the event of a row: parsed from the log entry if it is retained or pinned, otherwise (or if the log
+     * entry does not parse to the row) created from the row timestamp and duration. A new event is created on every
+     * call.
+     * 
+     * @param index
+     *            The row.
+     * @return The <code>BlockingEvent</code>, or null if the row does not have an event type.
+     */
+    public BlockingEvent getEvent(int index) {
+        LogEventType logEventType = getEventType(index);
+        String entry = getLogEntry(index);
+        BlockingEvent event = entry == null ? null : JdkUtil.hydrateBlockingEvent(logEventType, entry);
+        // Events created from values (not parsed) do not have a log entry that parses to the same event
+        if ((event == null || event.getTimestamp() != getTimestamp(index)
+                || event.getDurationMicros() != getDurationMicros(index)) && logEventType != null) {
+            event = JdkUtil.hydrateBlockingEvent(logEventType, entry, getTimestamp(index),
+                    (int) getDurationMicros(index));
+        }
+        return event;
+    }
+
+    /**
+     * @param rows
+     *            The rows in the view, or null for all rows.
+     * @return A read-only view of the <code>BlockingEvent</code>s of the rows, recreated with <code>getEvent</code> on
+     *         every <code>get</code>.
+     */
+    public List<BlockingEvent> events(int[] rows) {
+        return new Events(this, rows, false);
+    }
+
+    /**
+     * @param rows
+     *            The rows in the view.
+     * @return A read-only view of the <code>BlockingEvent</code>s of the rows, each recreated with
+     *         <code>getEvent</code> on its first <code>get</code> and kept by the view, so the view holds at most one
+     *         event per row and should only be used for a bounded number of rows (e.g. a query page).
+     */
+    public List<BlockingEvent> eventsCached(int[] rows) {
+        return new Events(this, rows, true);
+    }
+
+    private short getEventTypeOrdinal(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? eventType[row - sealedSize] : segment(row).getShort(SHORT_EVENT_TYPE, row);
+    }
+
+    public int getHeapOccupancyEnd(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? heapOccupancyEnd[row - sealedSize]
+                : segment(row).getInt(INT_HEAP_OCCUPANCY_END, row);
+    }
+
+    public int getHeapOccupancyInit(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? heapOccupancyInit[row - sealedSize]
+                : segment(row).getInt(INT_HEAP_OCCUPANCY_INIT, row);
+    }
+
+    public int getHeapSpace(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? heapSpace[row - sealedSize] : segment(row).getInt(INT_HEAP_SPACE, row);
+    }
+
+    /**
+     * @param index
+     *            The row.
+     * @return The log entry, or null if log entries are not retained and the row is not pinned.
+     */
+    public String getLogEntry(int index) {
+        int row = checkIndex(index);
+        if (logEntry == null) {
+            return pinnedLogEntries.get(row);
+        }
+        return row >= sealedSize ? logEntry[row - sealedSize] : segment(row).getLogEntry(row);
+    }
+
+    public int getOldOccupancyEnd(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? oldOccupancyEnd[row - sealedSize]
+                : segment(row).getInt(INT_OLD_OCCUPANCY_END, row);
+    }
+
+    public int getOldOccupancyInit(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? oldOccupancyInit[row - sealedSize]
+                : segment(row).getInt(INT_OLD_OCCUPANCY_INIT, row);
+    }
+
+    public int getOldSpace(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? oldSpace[row - sealedSize] : segment(row).getInt(INT_OLD_SPACE, row);
+    }
+
+    /**
+     * @return The number of rows in sealed (spilled) segments.
+     */
+    public int getSealedSize() {
+        return sealedSize;
+    }
+
+    public int getTimeReal(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? timeReal[row - sealedSize] : segment(row).getInt(INT_TIME_REAL, row);
+    }
+
+    public long getTimestamp(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? timestamp[row - sealedSize] : segment(row).getLong(LONG_TIMESTAMP, row);
+    }
+
+    public int getTimeSys(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? timeSys[row - sealedSize] : segment(row).getInt(INT_TIME_SYS, row);
+    }
+
+    public int getTimeUser(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? timeUser[row - sealedSize] : segment(row).getInt(INT_TIME_USER, row);
+    }
+
+    /**
+     * @param index
+     *            The row.
+     * @return The <code>GcTrigger</code>, or null if the event does not have a trigger.
+     */
+    public GcTrigger getTrigger(int index) {
+        short ordinal = getTriggerOrdinal(index);
+        return ordinal < 0 ? null : GC_TRIGGERS[ordinal];
+    }
+
+    private short getTriggerOrdinal(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? trigger[row - sealedSize] : segment(row).getShort(SHORT_TRIGGER, row);
+    }
+
+    public int getYoungOccupancyEnd(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? youngOccupancyEnd[row - sealedSize]
+                : segment(row).getInt(INT_YOUNG_OCCUPANCY_END, row);
+    }
+
+    public int getYoungOccupancyInit(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? youngOccupancyInit[row - sealedSize]
+                : segment(row).getInt(INT_YOUNG_OCCUPANCY_INIT, row);
+    }
+
+    public int getYoungSpace(int index) {
+        int row = checkIndex(index);
+        return row >= sealedSize ? youngSpace[row - sealedSize] : segment(row).getInt(INT_YOUNG_SPACE, row);
+    }
+
+    /**
+     * Double the capacity of every active column.
+     */
+    private void grow() {
+        int capacity = timestamp.length * 2;
+        if (spilling) {
+            capacity = Math.min(capacity, SEGMENT_SIZE);
+        }
+        classOccupancyEnd = Arrays.copyOf(classOccupancyEnd, capacity);
+        classOccupancyInit = Arrays.copyOf(classOccupancyInit, capacity);
+        classSpace = Arrays.copyOf(classSpace, capacity);
+        durationMicros = Arrays.copyOf(durationMicros, capacity);
+        eventType = Arrays.copyOf(eventType, capacity);
+        heapOccupancyEnd = Arrays.copyOf(heapOccupancyEnd, capacity);
+        heapOccupancyInit = Arrays.copyOf(heapOccupancyInit, capacity);
+        heapSpace = Arrays.copyOf(heapSpace, capacity);
+        if (logEntry != null) {
+            logEntry = Arrays.copyOf(logEntry, capacity);
+        }
+        oldOccupancyEnd = Arrays.copyOf(oldOccupancyEnd, capacity);
+        oldOccupancyInit = Arrays.copyOf(oldOccupancyInit, capacity);
+        oldSpace = Arrays.copyOf(oldSpace, capacity);
+        timeReal = Arrays.copyOf(timeReal, capacity);
+        timestamp = Arrays.copyOf(timestamp, capacity);
+        timeSys = Arrays.copyOf(timeSys, capacity);
+        timeUser = Arrays.copyOf(timeUser, capacity);
+        trigger = Arrays.copyOf(trigger, capacity);
+        youngOccupancyEnd = Arrays.copyOf(youngOccupancyEnd, capacity);
+        youngOccupancyInit = Arrays.copyOf(youngOccupancyInit, capacity);
+        youngSpace = Arrays.copyOf(youngSpace, capacity);
+    }
+
+    /**
+     * @return true if the log entry column is kept, false otherwise.
+     */
+    public boolean isRetainLogEntries() {
+        return logEntry != null;
+    }
+
+    /**
+     * @return true if full segments are sealed to temporary files, false otherwise.
+     */
+    public boolean isSpilling() {
+        return spilling;
+    }
+
+    /**
+     * Keep the log entry of a row when the log entry column is not kept.
+     * 
+     * @param index
+     *            The row.
+     * @param entry
+     *            The log entry of the row.
+     */
+    public void pin(int index, String entry) {
+        int row = checkIndex(index);
+        if (logEntry == null && entry != null) {
+            pinnedLogEntries.put(row, entry);
+        }
+    }
+
+    /**
+     * Append rows written with <code>write</code>.
+     *
+     * @param in
+     *            The stream to read from.
+     * @throws IOException
+     *             if an I/O error occurs or the data is not valid.
+     */
+    public void read(EventInputStream in) throws IOException {
+        if (in.readBoolean() && size == 0) {
+            setRetainLogEntries(true);
+        }
+        int count = in.readVarInt();
+        long priorTimestamp = 0;
+        for (int i = 0; i < count; i++) {
+            int row = activeRow();
+            timestamp[row] = priorTimestamp + in.readVarLong();
+            priorTimestamp = timestamp[row];
+            durationMicros[row] = in.readVarLong();
+            LogEventType logEventType = in.readEnum(LogEventType.class);
+            eventType[row] = (short) (logEventType == null ? -1 : logEventType.ordinal());
+            GcTrigger gcTrigger = in.readEnum(GcTrigger.class);
+            trigger[row] = (short) (gcTrigger == null ? -1 : gcTrigger.ordinal());
+            classOccupancyEnd[row] = in.readVarInt();
+            classOccupancyInit[row] = in.readVarInt();
+            classSpace[row] = in.readVarInt();
+            heapOccupancyEnd[row] = in.readVarInt();
+            heapOccupancyInit[row] = in.readVarInt();
+            heapSpace[row] = in.readVarInt();
+            oldOccupancyEnd[row] = in.readVarInt();
+            oldOccupancyInit[row] = in.readVarInt();
+            oldSpace[row] = in.readVarInt();
+            timeReal[row] = in.readVarInt();
+            timeSys[row] = in.readVarInt();
+            timeUser[row] = in.readVarInt();
+            youngOccupancyEnd[row] = in.readVarInt();
+            youngOccupancyInit[row] = in.readVarInt();
+            youngSpace[row] = in.readVarInt();
+            String entry = in.readString();
+            if (logEntry != null) {
+                logEntry[row] = entry;
+            } else if (entry != null) {
+                pinnedLogEntries.put(size, entry);
+            }
+            size++;
+        }
+    }
+
+    /**
+     * Reorder the rows.
+     *
+     * @param order
+     *            The current row of each row in the new order (a permutation of 0 to <code>size() - 1</code>).
+     */
+    public void reorder(int[] order) {
+        if (order.length != size) {
+            throw new IllegalArgumentException("Order size " + order.length + " does not match size " + size + ".");
+        }
+        if (!segments.isEmpty()) {
+            // Copy the rows in order to a new store (sealing as it goes), then take over its rows.
+            BlockingEventColumns reordered = new BlockingEventColumns(logEntry != null, spillDirectory);
+            for (int i = 0; i < order.length; i++) {
+                reordered.add(this, order[i]);
+            }
+            clear();
+            takeOver(reordered);
+            return;
+        }
+        classOccupancyEnd = reorder(classOccupancyEnd, order);
+        classOccupancyInit = reorder(classOccupancyInit, order);
+        classSpace = reorder(classSpace, order);
+        durationMicros = reorder(durationMicros, order);
+        eventType = reorder(eventType, order);
+        heapOccupancyEnd = reorder(heapOccupancyEnd, order);
+        heapOccupancyInit = reorder(heapOccupancyInit, order);
+        heapSpace = reorder(heapSpace, order);
+        if (logEntry != null) {
+            String[] reordered = new String[logEntry.length];
+            for (int i = 0; i < order.length; i++) {
+                reordered[i] = logEntry[order[i]];
+            }
+            logEntry = reordered;
+        } else if (!pinnedLogEntries.isEmpty()) {
+            Map<Integer, String> reordered = new HashMap<>();
+            for (int i = 0; i < order.length; i++) {
+                String entry = pinnedLogEntries.get(order[i]);
+                if (entry != null) {
+                    reordered.put(i, entry);
+                }
+            }
+            pinnedLogEntries = reordered;
+        }
+        oldOccupancyEnd = reorder(oldOccupancyEnd, order);
+        oldOccupancyInit = reorder(oldOccupancyInit, order);
+        oldSpace = reorder(oldSpace, order);
+        timeReal = reorder(timeReal, order);
+        timestamp = reorder(timestamp, order);
+        timeSys = reorder(timeSys, order);
+        timeUser = reorder(timeUser, order);
+        trigger = reorder(trigger, order);
+        youngOccupancyEnd = reorder(youngOccupancyEnd, order);
+        youngOccupancyInit = reorder(youngOccupancyInit, order);
+        youngSpace = reorder(youngSpace, order);
+    }
+
+    /**
+     * @param retainLogEntries
+     *            Whether or not to keep the log entry column. Set before adding rows.
+     */
+    public void setRetainLogEntries(boolean retainLogEntries) {
+        if (size > 0) {
+            throw new IllegalStateException("Log entry retention cannot be changed after rows are added.");
+        }
+        logEntry = retainLogEntries ? new String[timestamp.length] : null;
+    }
+
+    /**
+     * @param spillHeapFraction
+     *            Spill once heap use exceeds this fraction (0-1) of the maximum heap (0 to always spill, negative to
+     *            never spill). Heap use is checked every <code>SPILL_CHECK_INTERVAL</code> rows as events are added.
+     */
+    public void setSpillHeapFraction(double spillHeapFraction) {
+        this.spillHeapFraction = spillHeapFraction;
+    }
+
+    /**
+     * Write the (full) active segment to a memory mapped temporary file.
+     */
+    private void seal() {
+        int[][] intColumns = new int[INT_COLUMNS][];
+        intColumns[INT_CLASS_OCCUPANCY_END] = classOccupancyEnd;
+        intColumns[INT_CLASS_OCCUPANCY_INIT] = classOccupancyInit;
+        intColumns[INT_CLASS_SPACE] = classSpace;
+        intColumns[INT_HEAP_OCCUPANCY_END] = heapOccupancyEnd;
+        intColumns[INT_HEAP_OCCUPANCY_INIT] = heapOccupancyInit;
+        intColumns[INT_HEAP_SPACE] = heapSpace;
+        intColumns[INT_OLD_OCCUPANCY_END] = oldOccupancyEnd;
+        intColumns[INT_OLD_OCCUPANCY_INIT] = oldOccupancyInit;
+        intColumns[INT_OLD_SPACE] = oldSpace;
+        intColumns[INT_TIME_REAL] = timeReal;
+        intColumns[INT_TIME_SYS] = timeSys;
+        intColumns[INT_TIME_USER] = timeUser;
+        intColumns[INT_YOUNG_OCCUPANCY_END] = youngOccupancyEnd;
+        intColumns[INT_YOUNG_OCCUPANCY_INIT] = youngOccupancyInit;
+        intColumns[INT_YOUNG_SPACE] = youngSpace;
+        byte[][] logEntryBytes = null;
+        long length = LOG_ENTRIES_OFFSET;
+        if (logEntry != null) {
+            logEntryBytes = new byte[SEGMENT_SIZE][];
+            length += (SEGMENT_SIZE + 1) * 4;
+            for (int i = 0; i < SEGMENT_SIZE; i++) {
+                if (logEntry[i] != null) {
+                    logEntryBytes[i] = logEntry[i].getBytes(UTF_8);
+                    length += logEntryBytes[i].length;
+                }
+            }
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Segment too large to map: " + length + " bytes.");
+        }
+        try {
+            File file = File.createTempFile("garbagecat", ".columns", spillDirectory);
+            file.deleteOnExit();
+            ByteBuffer buffer;
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+                    FileChannel channel = randomAccessFile.getChannel()) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            }
+            buffer.asLongBuffer().put(timestamp, 0, SEGMENT_SIZE).put(durationMicros, 0, SEGMENT_SIZE);
+            ((ByteBuffer) buffer.duplicate().position(SHORT_COLUMNS_OFFSET)).asShortBuffer()
+                    .put(eventType, 0, SEGMENT_SIZE).put(trigger, 0, SEGMENT_SIZE);
+            IntBuffer ints = ((ByteBuffer) buffer.duplicate().position(INT_COLUMNS_OFFSET)).asIntBuffer();
+            for (int[] column : intColumns) {
+                ints.put(column, 0, SEGMENT_SIZE);
+            }
+            if (logEntryBytes != null) {
+                int offset = LOG_ENTRIES_OFFSET + (SEGMENT_SIZE + 1) * 4;
+                ByteBuffer bytes = buffer.duplicate();
+                bytes.position(offset);
+                for (int i = 0; i < SEGMENT_SIZE; i++) {
+                    if (logEntryBytes[i] == null) {
+                        buffer.putInt(LOG_ENTRIES_OFFSET + i * 4, -bytes.position() - 1);
+                    } else {
+                        buffer.putInt(LOG_ENTRIES_OFFSET + i * 4, bytes.position());
+                        bytes.put(logEntryBytes[i]);
+                    }
+                }
+                buffer.putInt(LOG_ENTRIES_OFFSET + SEGMENT_SIZE * 4, bytes.position());
+                Arrays.fill(logEntry, null);
+            }
+            segments.add(new Segment(file, buffer));
+            sealedSize += SEGMENT_SIZE;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to spill events to disk.", e);
+        }
+    }
+
+    /**
+     * @param index
+     *            A sealed row.
+     * @return The sealed segment of the row.
+     */
+    private Segment segment(int index) {
+        return segments.get(index >>> SEGMENT_SHIFT);
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Enable spilling: move the rows to a store that seals full segments to memory mapped temporary files, so only the
+     * active segment is on heap.
+     * 
+     * @param directory
+     *            The directory for sealed segment files (null for the default temporary file directory).
+     */
+    public void spill(File directory) {
+        if (spilling) {
+            return;
+        }
+        BlockingEventColumns spilled = new BlockingEventColumns(logEntry != null, directory);
+        for (int i = 0; i < size; i++) {
+            spilled.add(this, i);
+        }
+        clear();
+        takeOver(spilled);
+        spilling = true;
+        spillDirectory = directory;
+    }
+
+    /**
+     * Take over the rows and segments of another store.
+     *
+     * @param other
+     *            The store to take over.
+     */
+    private void takeOver(BlockingEventColumns other) {
+        classOccupancyEnd = other.classOccupancyEnd;
+        classOccupancyInit = other.classOccupancyInit;
+        classSpace = other.classSpace;
+        durationMicros = other.durationMicros;
+        eventType = other.eventType;
+        heapOccupancyEnd = other.heapOccupancyEnd;
+        heapOccupancyInit = other.heapOccupancyInit;
+        heapSpace = other.heapSpace;
+        logEntry = other.logEntry;
+        oldOccupancyEnd = other.oldOccupancyEnd;
+        oldOccupancyInit = other.oldOccupancyInit;
+        oldSpace = other.oldSpace;
+        pinnedLogEntries = other.pinnedLogEntries;
+        sealedSize = other.sealedSize;
+        segments = other.segments;
+        size = other.size;
+        timeReal = other.timeReal;
+        timestamp = other.timestamp;
+        timeSys = other.timeSys;
+        timeUser = other.timeUser;
+        trigger = other.trigger;
+        youngOccupancyEnd = other.youngOccupancyEnd;
+        youngOccupancyInit = other.youngOccupancyInit;
+        youngSpace = other.youngSpace;
+    }
+
+    /**
+     * @return A read-only view of the rows, for callers that must not add, reorder, or clear rows.
+     */
+    public BlockingEventColumnsView view() {
+        return new View(this);
+    }
+
+    /**
+     * Write the rows, with the log entry column if it is kept, otherwise the pinned log entries.
+     *
+     * @param out
+     *            The stream to write to.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void write(EventOutputStream out) throws IOException {
+        out.writeBoolean(logEntry != null);
+        out.writeVarInt(size);
+        long priorTimestamp = 0;
+        for (int i = 0; i < size; i++) {
+            // Rows are in timestamp order, so the delta is small
+            out.writeVarLong(getTimestamp(i) - priorTimestamp);
+            priorTimestamp = getTimestamp(i);
+            out.writeVarLong(getDurationMicros(i));
+            out.writeEnum(getEventType(i));
+            out.writeEnum(getTrigger(i));
+            out.writeVarInt(getClassOccupancyEnd(i));
+            out.writeVarInt(getClassOccupancyInit(i));
+            out.writeVarInt(getClassSpace(i));
+            out.writeVarInt(getHeapOccupancyEnd(i));
+            out.writeVarInt(getHeapOccupancyInit(i));
+            out.writeVarInt(getHeapSpace(i));
+            out.writeVarInt(getOldOccupancyEnd(i));
+            out.writeVarInt(getOldOccupancyInit(i));
+            out.writeVarInt(getOldSpace(i));
+            out.writeVarInt(getTimeReal(i));
+            out.writeVarInt(getTimeSys(i));
+            out.writeVarInt(getTimeUser(i));
+            out.writeVarInt(getYoungOccupancyEnd(i));
+            out.writeVarInt(getYoungOccupancyInit(i));
+            out.writeVarInt(getYoungSpace(i));
+            out.writeString(getLogEntry(i));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * Read-only access to <code>BlockingEventColumns</code> rows.
+ * </p>
+ * 
+ * <p>
+ * Sizes are in kilobytes, <code>BlockingEventColumns.NO_DATA</code> when the event does not have the data. Times are
+ * in centiseconds, <code>TimesData.NO_DATA</code> when the event does not have times data.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public interface BlockingEventColumnsView {
+
+    int getClassOccupancyEnd(int index);
+
+    int getClassOccupancyInit(int index);
+
+    int getClassSpace(int index);
+
+    long getDurationMicros(int index);
+
+    LogEventType getEventType(int index);
+
+    int getHeapOccupancyEnd(int index);
+
+    int getHeapOccupancyInit(int index);
+
+    int getHeapSpace(int index);
+
+    /**
+     * @param index
+     *            The row.
+     * @return The log entry, or null if log entries are not retained and the row is not pinned.
+     */
+    String getLogEntry(int index);
+
+    int getOldOccupancyEnd(int index);
+
+    int getOldOccupancyInit(int index);
+
+    int getOldSpace(int index);
+
+    int getTimeReal(int index);
+
+    long getTimestamp(int index);
+
+    int getTimeSys(int index);
+
+    int getTimeUser(int index);
+
+    /**
+     * @param index
+     *            The row.
+     * @return The <code>GcTrigger</code>, or null if the event does not have a trigger.
+     */
+    GcTrigger getTrigger(int index);
+
+    int getYoungOccupancyEnd(int index);
+
+    int getYoungOccupancyInit(int index);
+
+    int getYoungSpace(int index);
+
+    /**
+     * @return The number of rows.
+     */
+    int size();
+}
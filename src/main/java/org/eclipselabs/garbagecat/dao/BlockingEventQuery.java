@@ -0,0 +1,228 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.github.joa.domain.GarbageCollector;
+
+/**
+ * <p>
+ * Criteria for retrieving a slice of the <code>BlockingEvent</code>s stored in <code>JvmDao</code>: a timestamp range,
+ * event types, triggers, garbage collectors, and duration thresholds, with the result order and page.
+ * </p>
+ *
+ * <p>
+ * All criteria are optional and combined with AND. An empty type, trigger, or garbage collector set matches every
+ * event. By default all events are returned in timestamp order.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class BlockingEventQuery {
+
+    /**
+     * Result order.
+     */
+    public enum Order {
+        /**
+         * Longest pause first (events with the same duration in timestamp order).
+         */
+        DURATION_DESCENDING,
+        /**
+         * Earliest event first.
+         */
+        TIMESTAMP,
+        /**
+         * Latest event first.
+         */
+        TIMESTAMP_DESCENDING
+    }
+
+    /**
+     * The maximum duration (microseconds, inclusive).
+     */
+    private long durationMax = Long.MAX_VALUE;
+
+    /**
+     * The minimum duration (microseconds, inclusive).
+     */
+    private long durationMin = Long.MIN_VALUE;
+
+    /**
+     * The <code>LogEventType</code>s to match (empty for all).
+     */
+    private Set<LogEventType> eventTypes = EnumSet.noneOf(LogEventType.class);
+
+    /**
+     * The <code>GarbageCollector</code>s to match (empty for all).
+     */
+    private Set<GarbageCollector> garbageCollectors = EnumSet.noneOf(GarbageCollector.class);
+
+    /**
+     * The maximum number of events to return.
+     */
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * The number of matching events to skip.
+     */
+    private int offset;
+
+    /**
+     * The result order.
+     */
+    private Order order = Order.TIMESTAMP;
+
+    /**
+     * The start of the timestamp range (milliseconds after JVM startup, inclusive).
+     */
+    private long timestampFrom = Long.MIN_VALUE;
+
+    /**
+     * The end of the timestamp range (milliseconds after JVM startup, exclusive).
+     */
+    private long timestampTo = Long.MAX_VALUE;
+
+    /**
+     * The <code>GcTrigger</code>s to match (empty for all).
+     */
+    private Set<GcTrigger> triggers = EnumSet.noneOf(GcTrigger.class);
+
+    /**
+     * @param eventType
+     *            A <code>LogEventType</code> to match.
+     */
+    public void addEventType(LogEventType eventType) {
+        eventTypes.add(eventType);
+    }
+
+    /**
+     * @param garbageCollector
+     *            A <code>GarbageCollector</code> to match.
+     */
+    public void addGarbageCollector(GarbageCollector garbageCollector) {
+        garbageCollectors.add(garbageCollector);
+    }
+
+    /**
+     * @param trigger
+     *            A <code>GcTrigger</code> to match.
+     */
+    public void addTrigger(GcTrigger trigger) {
+        triggers.add(trigger);
+    }
+
+    public long getDurationMax() {
+        return durationMax;
+    }
+
+    public long getDurationMin() {
+        return durationMin;
+    }
+
+    public Set<LogEventType> getEventTypes() {
+        return Collections.unmodifiableSet(eventTypes);
+    }
+
+    public Set<GarbageCollector> getGarbageCollectors() {
+        return Collections.unmodifiableSet(garbageCollectors);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public long getTimestampFrom() {
+        return timestampFrom;
+    }
+
+    public long getTimestampTo() {
+        return timestampTo;
+    }
+
+    public Set<GcTrigger> getTriggers() {
+        return Collections.unmodifiableSet(triggers);
+    }
+
+    /**
+     * @param durationMax
+     *            The maximum duration (microseconds, inclusive).
+     */
+    public void setDurationMax(long durationMax) {
+        this.durationMax = durationMax;
+    }
+
+    /**
+     * @param durationMin
+     *            The minimum duration (microseconds, inclusive).
+     */
+    public void setDurationMin(long durationMin) {
+        this.durationMin = durationMin;
+    }
+
+    /**
+     * @param limit
+     *            The maximum number of events to return.
+     */
+    public void setLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Invalid limit: " + limit);
+        }
+        this.limit = limit;
+    }
+
+    /**
+     * @param offset
+     *            The number of matching events to skip.
+     */
+    public void setOffset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid offset: " + offset);
+        }
+        this.offset = offset;
+    }
+
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    /**
+     * @param timestampFrom
+     *            The start of the timestamp range (milliseconds after JVM startup, inclusive).
+     */
+    public void setTimestampFrom(long timestampFrom) {
+        this.timestampFrom = timestampFrom;
+    }
+
+    /**
+     * @param timestampTo
+     *            The end of the timestamp range (milliseconds after JVM startup, exclusive).
+     */
+    public void setTimestampTo(long timestampTo) {
+        this.timestampTo = timestampTo;
+    }
+}
@@ -0,0 +1,166 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * <p>
+ * <code>DataInputStream</code> for parsed event data written with <code>EventOutputStream</code>.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class EventInputStream extends DataInputStream {
+
+    /**
+     * Enum constants by dictionary id.
+     */
+    private final List<Enum<?>> dictionary = new ArrayList<>();
+
+    /**
+     * @param in
+     *            The underlying input stream.
+     */
+    public EventInputStream(InputStream in) {
+        super(in);
+    }
+
+    /**
+     * @return The date, or null.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public Date readDate() throws IOException {
+        long time = readLong();
+        return time == Long.MIN_VALUE ? null : new Date(time);
+    }
+
+    /**
+     * @param type
+     *            The enum class.
+     * @param <E>
+     *            The enum type.
+     * @return The enum constant, or null.
+     * @throws IOException
+     *             if an I/O error occurs or the name is not a constant of the enum.
+     */
+    public <E extends Enum<E>> E readEnum(Class<E> type) throws IOException {
+        int id = readVarInt();
+        if (id == -1) {
+            return null;
+        }
+        Enum<?> constant;
+        if (id >= 0 && id < dictionary.size()) {
+            constant = dictionary.get(id);
+        } else if (id == dictionary.size()) {
+            String name = readString();
+            try {
+                constant = Enum.valueOf(type, name);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IOException("Unknown " + type.getSimpleName() + ": " + name, e);
+            }
+            dictionary.add(constant);
+        } else {
+            throw new IOException("Invalid " + type.getSimpleName() + " id: " + id);
+        }
+        if (!type.isInstance(constant)) {
+            throw new IOException("Invalid " + type.getSimpleName() + ": " + constant);
+        }
+        return type.cast(constant);
+    }
+
+    /**
+     * @param type
+     *            The enum class.
+     * @param constants
+     *            The collection to add the enum constants to.
+     * @param <E>
+     *            The enum type.
+     * @throws IOException
+     *             if an I/O error occurs or a name is not a constant of the enum.
+     */
+    public <E extends Enum<E>> void readEnums(Class<E> type, Collection<E> constants) throws IOException {
+        int count = readVarInt();
+        for (int i = 0; i < count; i++) {
+            constants.add(readEnum(type));
+        }
+    }
+
+    /**
+     * @return The string, or null.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public String readString() throws IOException {
+        int length = readVarInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * @param strings
+     *            The collection to add the strings to.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void readStrings(Collection<String> strings) throws IOException {
+        int count = readVarInt();
+        for (int i = 0; i < count; i++) {
+            strings.add(readString());
+        }
+    }
+
+    /**
+     * @return The int written with <code>writeVarInt</code>.
+     * @throws IOException
+     *             if an I/O error occurs or the value does not fit in an int.
+     */
+    public int readVarInt() throws IOException {
+        long value = readVarLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IOException("Invalid int: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * @return The long written with <code>writeVarLong</code>.
+     * @throws IOException
+     *             if an I/O error occurs or the value is more than 10 bytes.
+     */
+    public long readVarLong() throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Invalid variable length integer.");
+    }
+}
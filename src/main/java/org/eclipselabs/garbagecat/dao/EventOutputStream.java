@@ -0,0 +1,171 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * <code>DataOutputStream</code> for parsed event data, adding variable length integers and nullable strings, dates,
+ * and enums. Read with <code>EventInputStream</code>.
+ * </p>
+ *
+ * <p>
+ * Variable length integers are zigzag encoded 7 bits per byte, so small values of either sign (e.g. sizes, durations,
+ * timestamp deltas, <code>-1</code> for no data) take 1-3 bytes instead of 4 or 8.
+ * </p>
+ *
+ * <p>
+ * Enums are dictionary encoded: the first time a constant is written it gets the next id and is written by name, and
+ * after that only its id is written. The data does not depend on constant order, and repeated event types and
+ * triggers take a single byte.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class EventOutputStream extends DataOutputStream {
+
+    /**
+     * Enum constant dictionary ids.
+     */
+    private final Map<Enum<?>, Integer> dictionary = new HashMap<>();
+
+    /**
+     * Scratch buffer to write a variable length integer in one call.
+     */
+    private final byte[] varBuffer = new byte[10];
+
+    /**
+     * @param out
+     *            The underlying output stream.
+     */
+    public EventOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    /**
+     * @param date
+     *            The date, or null.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void writeDate(Date date) throws IOException {
+        writeLong(date == null ? Long.MIN_VALUE : date.getTime());
+    }
+
+    /**
+     * @param constant
+     *            The enum constant, or null.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void writeEnum(Enum<?> constant) throws IOException {
+        if (constant == null) {
+            writeVarInt(-1);
+            return;
+        }
+        Integer id = dictionary.get(constant);
+        if (id != null) {
+            writeVarInt(id);
+        } else {
+            id = dictionary.size();
+            dictionary.put(constant, id);
+            writeVarInt(id);
+            writeString(constant.name());
+        }
+    }
+
+    /**
+     * @param constants
+     *            The enum constants.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void writeEnums(Collection<? extends Enum<?>> constants) throws IOException {
+        writeVarInt(constants.size());
+        for (Enum<?> constant : constants) {
+            writeEnum(constant);
+        }
+    }
+
+    /**
+     * Write a string as its UTF-8 byte count and bytes. Unlike <code>writeUTF</code>, there is no 64K limit.
+     *
+     * @param string
+     *            The string, or null.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void writeString(String string) throws IOException {
+        if (string == null) {
+            writeVarInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(UTF_8);
+            writeVarInt(bytes.length);
+            write(bytes);
+        }
+    }
+
+    /**
+     * @param strings
+     *            The strings.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void writeStrings(Collection<String> strings) throws IOException {
+        writeVarInt(strings.size());
+        for (String string : strings) {
+            writeString(string);
+        }
+    }
+
+    /**
+     * Write an int as a zigzag encoded variable length integer (1-5 bytes).
+     *
+     * @param value
+     *            The value.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void writeVarInt(int value) throws IOException {
+        writeVarLong(value);
+    }
+
+    /**
+     * Write a long as a zigzag encoded variable length integer (1-10 bytes).
+     *
+     * @param value
+     *            The value.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void writeVarLong(long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        int length = 0;
+        while ((zigzag & ~0x7FL) != 0) {
+            varBuffer[length++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        varBuffer[length++] = (byte) zigzag;
+        write(varBuffer, 0, length);
+    }
+}
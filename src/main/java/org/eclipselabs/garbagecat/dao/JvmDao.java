@@ -12,98 +12,299 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.dao;
 
-import static java.util.Collections.binarySearch;
 import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingLong;
 import static java.util.stream.Collectors.summingLong;
-import static java.util.stream.Collectors.toList;
-import static org.eclipselabs.garbagecat.util.Memory.ZERO;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
+
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.LongStream;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
-import org.eclipselabs.garbagecat.domain.ClassData;
 import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.LogEvent;
-import org.eclipselabs.garbagecat.domain.OldData;
+import org.eclipselabs.garbagecat.domain.OldCollection;
 import org.eclipselabs.garbagecat.domain.SafepointEvent;
-import org.eclipselabs.garbagecat.domain.YoungData;
+import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.domain.jdk.CmsIncrementalModeCollector;
+import org.eclipselabs.garbagecat.domain.jdk.GcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction.PreprocessEvent;
-import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.Bottlenecks;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.LinearRegression;
+import org.eclipselabs.garbagecat.util.MutatorUtilization;
+import org.eclipselabs.garbagecat.util.PauseHistogram;
+import org.eclipselabs.garbagecat.util.PauseSlo;
+import org.eclipselabs.garbagecat.util.SafepointJoin;
+import org.eclipselabs.garbagecat.util.TopEvents;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+import org.github.joa.domain.Arch;
+import org.github.joa.domain.Bit;
+import org.github.joa.domain.BuiltBy;
+import org.github.joa.domain.GarbageCollector;
 import org.github.joa.domain.JvmContext;
+import org.github.joa.domain.Os;
 
 /**
  * <p>
  * Manage storing and retrieving JVM data from streams.
  * </p>
  * 
+ * <p>
+ * All state is held by the instance (there is no static mutable state), so separate instances (e.g. one per
+ * <code>GcManager</code>) can be used concurrently on different threads. A single instance is not thread safe and does
+ * no locking: it must be confined to one thread (or handed off between threads with a happens-before relationship,
+ * e.g. through an <code>ExecutorService</code>).
+ * </p>
+ * 
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
  * 
  */
 public class JvmDao {
 
-    private static final Comparator<BlockingEvent> COMPARE_BY_TIMESTAMP = comparing(BlockingEvent::getTimestamp);
-
     /**
-     * The database connection.
+     * Running <code>BlockingEvent</code> aggregates, updated as events are added. Every aggregate is a max or sum, so
+     * it does not depend on the order events are added in. Sizes are in kilobytes, durations in microseconds.
      */
-    private static Connection connection;
+    private static final class BlockingEventTotals {
+
+        private long durationMax;
+
+        private final PauseHistogram durationHistogram = new PauseHistogram();
+
+        private long durationTotal;
+
+        private int maxClassSpace;
+
+        private int maxClassSpaceAfterGc;
+
+        private int maxClassSpaceOccupancy;
+
+        private int maxHeapAfterGc;
+
+        private int maxHeapOccupancy;
+
+        private int maxHeapSpace;
 
-    private static boolean created;
+        private int maxOldSpace;
+
+        private int maxYoungSpace;
+
+        private void add(BlockingEventColumns columns, int index) {
+            long duration = columns.getDurationMicros(index);
+            durationMax = Math.max(durationMax, duration);
+            durationHistogram.add(duration);
+            durationTotal += duration;
+            maxClassSpace = Math.max(maxClassSpace, columns.getClassSpace(index));
+            maxClassSpaceAfterGc = Math.max(maxClassSpaceAfterGc, columns.getClassOccupancyEnd(index));
+            maxClassSpaceOccupancy = Math.max(maxClassSpaceOccupancy, columns.getClassOccupancyInit(index));
+            maxHeapAfterGc = Math.max(maxHeapAfterGc, columns.getHeapOccupancyEnd(index));
+            maxHeapOccupancy = Math.max(maxHeapOccupancy, columns.getHeapOccupancyInit(index));
+            maxHeapSpace = Math.max(maxHeapSpace, columns.getHeapSpace(index));
+            maxOldSpace = Math.max(maxOldSpace, columns.getOldSpace(index));
+            maxYoungSpace = Math.max(maxYoungSpace, columns.getYoungSpace(index));
+        }
+    }
 
     /**
-     * SQL statement(s) to create table.
+     * Heap occupancy before and after non-blocking events (e.g. Shenandoah concurrent phases), for the memory rates.
      */
-    private static final String[] TABLES_CREATE_SQL = {
-            "create table safepoint_event (id integer identity, time_stamp bigint, trigger_type varchar(64), "
-                    + "duration bigint, log_entry varchar(500))" };
+    private static final class HeapPoints {
+
+        private int[] heapEnd = new int[16];
+
+        private int[] heapInit = new int[16];
+
+        private int size;
 
-    private static final String[] TABLES_DELETE_SQL = { "delete from safepoint_event " };
+        /**
+         * Whether or not the points are in timestamp order.
+         */
+        private boolean sorted = true;
+
+        private long[] timestamps = new long[16];
+
+        private void add(long timestamp, int heapInit, int heapEnd) {
+            if (size == timestamps.length) {
+                this.heapEnd = Arrays.copyOf(this.heapEnd, size * 2);
+                this.heapInit = Arrays.copyOf(this.heapInit, size * 2);
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+            }
+            if (size > 0 && timestamp < timestamps[size - 1]) {
+                sorted = false;
+            }
+            this.heapEnd[size] = heapEnd;
+            this.heapInit[size] = heapInit;
+            timestamps[size++] = timestamp;
+        }
+
+        private void clear() {
+            size = 0;
+            sorted = true;
+        }
 
-    private static Memory add(Memory m1, Memory m2) {
-        return m1 == null ? nullSafe(m2) : m1.plus(nullSafe(m2));
+        private void read(EventInputStream in) throws IOException {
+            int count = in.readVarInt();
+            long priorTimestamp = 0;
+            for (int i = 0; i < count; i++) {
+                long timestamp = priorTimestamp + in.readVarLong();
+                priorTimestamp = timestamp;
+                add(timestamp, in.readVarInt(), in.readVarInt());
+            }
+        }
+
+        /**
+         * Sort the points by timestamp, keeping the order of points with the same timestamp.
+         * 
+         * @return true if the points were reordered, false if they were in timestamp order.
+         */
+        private boolean sort() {
+            if (sorted) {
+                return false;
+            }
+            Integer[] points = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                points[i] = i;
+            }
+            Arrays.sort(points, comparingLong(point -> timestamps[point]));
+            int[] sortedHeapEnd = new int[heapEnd.length];
+            int[] sortedHeapInit = new int[heapInit.length];
+            long[] sortedTimestamps = new long[timestamps.length];
+            for (int i = 0; i < size; i++) {
+                sortedHeapEnd[i] = heapEnd[points[i]];
+                sortedHeapInit[i] = heapInit[points[i]];
+                sortedTimestamps[i] = timestamps[points[i]];
+            }
+            heapEnd = sortedHeapEnd;
+            heapInit = sortedHeapInit;
+            timestamps = sortedTimestamps;
+            sorted = true;
+            return true;
+        }
+
+        private void write(EventOutputStream out) throws IOException {
+            out.writeVarInt(size);
+            long priorTimestamp = 0;
+            for (int i = 0; i < size; i++) {
+                out.writeVarLong(timestamps[i] - priorTimestamp);
+                priorTimestamp = timestamps[i];
+                out.writeVarInt(heapInit[i]);
+                out.writeVarInt(heapEnd[i]);
+            }
+        }
     }
 
-    private static <T> Stream<Integer> ints(List<T> list, Function<T, Integer> function) {
-        return list.stream().map(function).filter(Objects::nonNull);
+    /**
+     * Column rows in ascending (timestamp) order: a secondary index of <code>blockingEventColumns</code>.
+     */
+    private static final class RowIndex {
+
+        private int[] rows = new int[16];
+
+        private int size;
+
+        private void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        /**
+         * @param row
+         *            The column row.
+         * @return The position of the first indexed row not less than the column row.
+         */
+        private int position(int row) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (rows[middle] < row) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
     }
 
-    private static <T> Stream<Long> longs(List<T> list, Function<T, Long> function) {
-        return list.stream().map(function).filter(Objects::nonNull);
+    /**
+     * Running count, total, and max pause time (microseconds), and time to safepoint (microseconds) histogram of
+     * safepoint events with the same <code>Trigger</code>.
+     */
+    private static final class SafepointTotals {
+
+        private long count;
+
+        private long pauseMax;
+
+        private long pauseTotal;
+
+        private final PauseHistogram timeToSafepointHistogram = new PauseHistogram();
+
+        private void add(long pause, long timeToSafepoint) {
+            count++;
+            pauseTotal += pause;
+            if (pause > pauseMax) {
+                pauseMax = pause;
+            }
+            timeToSafepointHistogram.add(timeToSafepoint);
+        }
     }
 
-    private static Memory nullSafe(Memory memory) {
-        return memory == null ? ZERO : memory;
+    /**
+     * @param index
+     *            A secondary index.
+     * @param keys
+     *            The index keys.
+     * @param first
+     *            The first column row.
+     * @param last
+     *            The column row after the last.
+     * @param <K>
+     *            The index key type.
+     * @return The number of rows in the range with one of the keys.
+     */
+    private static <K> int countRows(Map<K, RowIndex> index, Set<K> keys, int first, int last) {
+        int count = 0;
+        for (K key : keys) {
+            RowIndex rowIndex = index.get(key);
+            if (rowIndex != null) {
+                count += rowIndex.position(last) - rowIndex.position(first);
+            }
+        }
+        return count;
     }
 
-    private static BlockingEvent toBlockingEvent(BlockingEvent e) {
-        return e;
+    private static <T> Stream<Integer> ints(List<T> list, Function<T, Integer> function) {
+        return list.stream().map(function).filter(Objects::nonNull);
     }
 
-    private static SafepointEvent toSafepointEvent(SafepointEvent e) {
-        return e;
+    private static <T> Stream<Long> longs(List<T> list, Function<T, Long> function) {
+        return list.stream().map(function).filter(Objects::nonNull);
     }
 
     /**
@@ -112,9 +313,27 @@ public class JvmDao {
     private List<Analysis> analysis = new ArrayList<Analysis>();
 
     /**
-     * GC events that are blocking.
+     * <code>BlockingEvent</code> data in primitive columns, one row per event. The event objects are not kept:
+     * <code>BlockingEvent</code>s are recreated from the columns when retrieved. Log entries are only kept for the rows
+     * that are reported (bottlenecks and pause time budget offenders), unless <code>setRetainLogEntries</code>.
      */
-    private List<BlockingEvent> blockingEvents = new ArrayList<>();
+    private BlockingEventColumns blockingEventColumns = new BlockingEventColumns();
+
+    /**
+     * <code>BlockingEvent</code> aggregates.
+     */
+    private BlockingEventTotals blockingEventTotals = new BlockingEventTotals();
+
+    /**
+     * Whether or not <code>blockingEventColumns</code> are in timestamp order. Events
+     * are appended as they are added, and out of order events are sorted once, before the events are next read.
+     */
+    private boolean blockingEventsSorted = true;
+
+    /**
+     * <code>LogEventType</code>s of <code>CmsIncrementalModeCollector</code> events.
+     */
+    private Set<LogEventType> cmsIncrementalModeCollectorEventTypes = EnumSet.noneOf(LogEventType.class);
 
     /**
      * List of all event types associate with the JVM run.
@@ -131,16 +350,49 @@ public class JvmDao {
      */
     private long extRootScanningTimeTotal;
 
+    /**
+     * The first <code>BlockingEvent</code> in timestamp order.
+     */
+    private BlockingEvent firstBlockingEvent;
+
+    /**
+     * The first <code>CmsIncrementalModeCollector</code> event in timestamp order.
+     */
+    private BlockingEvent firstCmsIncrementalModeCollectorEvent;
+
     /**
      * The first log event.
      */
     private LogEvent firstLogEvent;
 
+    /**
+     * <code>BlockingEvent</code> bottlenecks, found as events are added in timestamp order.
+     */
+    private Bottlenecks<BlockingEvent> gcBottlenecks = new Bottlenecks<>(
+            Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+
+    /**
+     * <code>BlockingEvent</code> pause time budget windows, checked as events are added in timestamp order, or null if
+     * there is no budget.
+     */
+    private PauseSlo<BlockingEvent> gcPauseSlo;
+
+    /**
+     * Whether or not the last window of <code>gcPauseSlo</code> has been checked, so no more events are added to it.
+     */
+    private boolean gcPauseSloFinished;
+
     /**
      * List of all GC triggers associate with the JVM run.
      */
     List<GcTrigger> gcTriggers = new ArrayList<>();
 
+    /**
+     * Heap occupancy after <code>OldCollection</code>s (kilobytes) over time (seconds after JVM startup), the live set
+     * trend for leak detection.
+     */
+    private LinearRegression heapAfterOldCollection = new LinearRegression();
+
     /**
      * Number of <code>ParallelCollection</code> with "inverted" parallelism.
      */
@@ -156,6 +408,11 @@ public class JvmDao {
      */
     private JvmContext jvmContext = new JvmContext(null);
 
+    /**
+     * The last <code>BlockingEvent</code> in timestamp order.
+     */
+    private BlockingEvent lastBlockingEvent;
+
     /**
      * Whether or not the logging ends with <code>UnknownEvent</code>s (e.g. it's truncated).
      */
@@ -191,6 +448,37 @@ public class JvmDao {
      */
     private String memory;
 
+    /**
+     * Allocation, promotion, and old generation growth rates of the <code>blockingEventColumns</code> rows and
+     * <code>nonBlockingHeap</code> points, in timestamp order. Updated when the rates are read.
+     */
+    private MemoryRates memoryRates = new MemoryRates(MemoryRates.DEFAULT_BUCKET_MILLIS);
+
+    /**
+     * Whether or not the last event in <code>memoryRates</code> is a <code>nonBlockingHeap</code> point.
+     */
+    private boolean memoryRatesPointLast;
+
+    /**
+     * The number of <code>nonBlockingHeap</code> points in <code>memoryRates</code>.
+     */
+    private int memoryRatesPoints;
+
+    /**
+     * The number of <code>blockingEventColumns</code> rows in <code>memoryRates</code>.
+     */
+    private int memoryRatesRows;
+
+    /**
+     * The timestamp of the last event in <code>memoryRates</code> (milliseconds after JVM startup).
+     */
+    private long memoryRatesTimestamp = Long.MIN_VALUE;
+
+    /**
+     * Heap occupancy of non-blocking events with heap data.
+     */
+    private HeapPoints nonBlockingHeap = new HeapPoints();
+
     /**
      * Maximum "Other" time (microseconds).
      */
@@ -221,6 +509,43 @@ public class JvmDao {
      */
     List<PreprocessEvent> preprocessEvents = new ArrayList<>();
 
+    /**
+     * The heap occupancy after the last rolled up GC (kilobytes), to determine allocation between GCs.
+     */
+    private int rollupHeapAfterGc;
+
+    /**
+     * The number of <code>blockingEventColumns</code> rows in the rollups. Rows are rolled up in timestamp order, as
+     * they are added or, after out of order events, when the rollups are next read.
+     */
+    private int rollupRows;
+
+    /**
+     * Time-bucketed event aggregates by <code>Rollup.Resolution</code>, updated as events are added.
+     */
+    private Map<Rollup.Resolution, Rollup> rollups = new EnumMap<>(Rollup.Resolution.class);
+
+    /**
+     * Secondary index of <code>blockingEventColumns</code> rows by <code>GcTrigger</code>.
+     */
+    private Map<GcTrigger, RowIndex> rowsByTrigger = new EnumMap<>(GcTrigger.class);
+
+    /**
+     * Secondary index of <code>blockingEventColumns</code> rows by <code>LogEventType</code>.
+     */
+    private Map<LogEventType, RowIndex> rowsByType = new EnumMap<>(LogEventType.class);
+
+    /**
+     * The number of <code>blockingEventColumns</code> rows in the secondary indexes. The indexes are brought up to date
+     * when queried, and rebuilt after the rows are sorted.
+     */
+    private int rowsIndexed;
+
+    /**
+     * <code>UnifiedSafepointEvent</code> totals by <code>Trigger</code>, updated as events are added.
+     */
+    private Map<Trigger, SafepointTotals> safepointTotals = new EnumMap<Trigger, SafepointTotals>(Trigger.class);
+
     /**
      * Number of <code>SerialCollection</code> events.
      */
@@ -231,6 +556,17 @@ public class JvmDao {
      */
     private List<ApplicationStoppedTimeEvent> stoppedTimeEvents = new ArrayList<>();
 
+    /**
+     * <code>ApplicationStoppedTimeEvent</code> bottlenecks, found as events are added.
+     */
+    private Bottlenecks<SafepointEvent> stoppedTimeBottlenecks = new Bottlenecks<>(
+            Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+
+    /**
+     * Stopped time event pause duration histogram, updated as events are added.
+     */
+    private PauseHistogram stoppedTimeHistogram = new PauseHistogram();
+
     /**
      * Swap size (bytes).
      * 
@@ -258,6 +594,17 @@ public class JvmDao {
      */
     private List<UnifiedSafepointEvent> unifiedSafepointEvents = new ArrayList<>();
 
+    /**
+     * <code>UnifiedSafepointEvent</code> bottlenecks, found as events are added.
+     */
+    private Bottlenecks<SafepointEvent> unifiedSafepointBottlenecks = new Bottlenecks<>(
+            Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+
+    /**
+     * Safepoint event pause duration histogram, updated as events are added.
+     */
+    private PauseHistogram unifiedSafepointHistogram = new PauseHistogram();
+
     /**
      * Convenience field for vm_info.
      */
@@ -273,54 +620,34 @@ public class JvmDao {
      */
     private LogEvent worstInvertedSerialismEvent;
 
+    /**
+     * <code>ParallelCollection</code> events with the lowest parallelism (ranked by negative parallelism).
+     */
+    private TopEvents<LogEvent> worstParallelismEvents = new TopEvents<>(TopEvents.DEFAULT_SIZE);
+
+    /**
+     * <code>BlockingEvent</code>s with the longest pauses (ranked by duration in microseconds).
+     */
+    private TopEvents<BlockingEvent> worstPauseEvents = new TopEvents<>(TopEvents.DEFAULT_SIZE);
+
+    /**
+     * <code>SafepointEvent</code>s with the longest total time (ranked by duration in microseconds).
+     */
+    private TopEvents<SafepointEvent> worstSafepointEvents = new TopEvents<>(TopEvents.DEFAULT_SIZE);
+
     /**
      * <code>ParallelCollection</code> or <code>Serial Collection</code> event with the greatest sys - user.
      */
     private LogEvent worstSysGtUserEvent;
 
+    /**
+     * <code>SafepointEvent</code>s with the longest time to safepoint (ranked by time to stop threads in microseconds).
+     */
+    private TopEvents<SafepointEvent> worstTimeToSafepointEvents = new TopEvents<>(TopEvents.DEFAULT_SIZE);
+
     public JvmDao() {
-        if (created) {
-            cleanup();
-        } else {
-            created = true;
-        }
-        try {
-            // Load database driver.
-            Class.forName("org.hsqldb.jdbcDriver");
-        } catch (ClassNotFoundException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Failed to load HSQLDB JDBC driver.");
-        }
-
-        try {
-            // Connect to database.
-            connection = DriverManager.getConnection("jdbc:hsqldb:mem:vmdb", "sa", "");
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error accessing database.");
-        }
-
-        // Create tables
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
-            for (int i = 0; i < TABLES_CREATE_SQL.length; i++) {
-                statement.executeUpdate(TABLES_CREATE_SQL[i]);
-            }
-        } catch (SQLException e) {
-            if (e.getMessage().startsWith("Table already exists")) {
-                cleanup();
-            } else {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error creating tables.");
-            }
-        } finally {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
+        for (Rollup.Resolution resolution : Rollup.Resolution.values()) {
+            rollups.put(resolution, new Rollup(resolution));
         }
     }
 
@@ -331,41 +658,183 @@ public class JvmDao {
     }
 
     public void addBlockingEvent(BlockingEvent event) {
-        blockingEvents.add(insertPosition(event), event);
+        int index = blockingEventColumns.size();
+        if (index > 0 && event.getTimestamp() < blockingEventColumns.getTimestamp(index - 1)) {
+            blockingEventsSorted = false;
+        }
+        blockingEventColumns.add(event);
+        blockingEventTotals.add(blockingEventColumns, index);
+        if (firstBlockingEvent == null || event.getTimestamp() < firstBlockingEvent.getTimestamp()) {
+            firstBlockingEvent = event;
+        }
+        if (lastBlockingEvent == null || event.getTimestamp() >= lastBlockingEvent.getTimestamp()) {
+            lastBlockingEvent = event;
+        }
+        if (blockingEventsSorted && gcBottlenecks.getCount() == index) {
+            gcBottlenecks.add(blockingEventColumns.getTimestamp(index),
+                    blockingEventColumns.getDurationMicros(index) * 1000, pinned(index, event));
+        }
+        if (blockingEventsSorted && gcPauseSlo != null && !gcPauseSloFinished && gcPauseSlo.getCount() == index) {
+            GcTrigger trigger = blockingEventColumns.getTrigger(index);
+            gcPauseSlo.add(blockingEventColumns.getTimestamp(index), blockingEventColumns.getDurationMicros(index),
+                    trigger == null || trigger == GcTrigger.NONE ? null : trigger.name(), pinned(index, event));
+        }
+        if (blockingEventsSorted) {
+            updateRollups();
+        }
+        if (event instanceof OldCollection && blockingEventColumns.getHeapOccupancyEnd(index) > 0) {
+            heapAfterOldCollection.add(event.getTimestamp() / 1000.0, blockingEventColumns.getHeapOccupancyEnd(index));
+        }
+        LogEventType eventType = blockingEventColumns.getEventType(index);
+        if (event instanceof CmsIncrementalModeCollector && eventType != null) {
+            cmsIncrementalModeCollectorEventTypes.add(eventType);
+            if (firstCmsIncrementalModeCollectorEvent == null
+                    || event.getTimestamp() < firstCmsIncrementalModeCollectorEvent.getTimestamp()) {
+                firstCmsIncrementalModeCollectorEvent = event;
+            }
+        }
+        worstPauseEvents.add(event.getDurationMicros(), event);
+    }
+
+    /**
+     * @param event
+     *            A non-blocking event with heap data (e.g. a Shenandoah concurrent phase), in log order.
+     */
+    public void addNonBlockingEvent(CombinedData event) {
+        int heapInit = BlockingEventColumns.kilobytes(event.getCombinedOccupancyInit());
+        int heapEnd = BlockingEventColumns.kilobytes(event.getCombinedOccupancyEnd());
+        if (heapInit > 0 && heapEnd > 0) {
+            nonBlockingHeap.add(((LogEvent) event).getTimestamp(), heapInit, heapEnd);
+        }
+    }
+
+    /**
+     * @param event
+     *            A <code>ParallelCollection</code> event with times data, in log order.
+     */
+    public void addParallelismEvent(LogEvent event) {
+        worstParallelismEvents.add(-((TimesData) event).getParallelism(), event);
     }
 
     public void addSafepointEvent(UnifiedSafepointEvent event) {
         unifiedSafepointEvents.add(event);
+        unifiedSafepointHistogram.add(event.getDurationMicros());
+        unifiedSafepointBottlenecks.add(event.getTimestamp(), JdkUtil.getDurationNanos(event), event);
+        rollupSafepoint(event);
+        long timeToSafepoint = JdkMath.convertNanosToMicros(event.getTimeToStopThreads()).longValue();
+        addWorstSafepointEvent(event, timeToSafepoint);
+        Trigger trigger = event.getTrigger() == null ? Trigger.UNKNOWN : event.getTrigger();
+        SafepointTotals totals = safepointTotals.get(trigger);
+        if (totals == null) {
+            totals = new SafepointTotals();
+            safepointTotals.put(trigger, totals);
+        }
+        totals.add(event.getDurationMicros(), timeToSafepoint);
     }
 
     public void addStoppedTimeEvent(ApplicationStoppedTimeEvent event) {
         stoppedTimeEvents.add(event);
+        stoppedTimeHistogram.add(event.getDurationMicros());
+        stoppedTimeBottlenecks.add(event.getTimestamp(), JdkUtil.getDurationNanos(event), event);
+        rollupSafepoint(event);
+        addWorstSafepointEvent(event, event.getTimeToStopThreads());
+    }
+
+    /**
+     * @param event
+     *            The <code>SafepointEvent</code>.
+     * @param timeToSafepoint
+     *            The time to stop threads (microseconds).
+     */
+    private void addWorstSafepointEvent(SafepointEvent event, long timeToSafepoint) {
+        worstSafepointEvents.add(event.getDurationMicros(), event);
+        worstTimeToSafepointEvents.add(timeToSafepoint, event);
     }
 
     /**
      * Cleanup operations.
      */
-    public synchronized void cleanup() {
-        this.blockingEvents.clear();
-        JvmDao.created = false;
-        // TODO: Remove below when hsqldb dependency removed
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
-            for (int i = 0; i < TABLES_DELETE_SQL.length; i++) {
-                statement.executeUpdate(TABLES_DELETE_SQL[i]);
+    public void cleanup() {
+        this.blockingEventColumns.clear();
+        this.blockingEventTotals = new BlockingEventTotals();
+        this.blockingEventsSorted = true;
+        this.cmsIncrementalModeCollectorEventTypes.clear();
+        this.firstBlockingEvent = null;
+        this.firstCmsIncrementalModeCollectorEvent = null;
+        this.gcBottlenecks.clear();
+        if (this.gcPauseSlo != null) {
+            this.gcPauseSlo = new PauseSlo<>(this.gcPauseSlo.getBudget());
+            this.gcPauseSloFinished = false;
+        }
+        this.heapAfterOldCollection.clear();
+        this.lastBlockingEvent = null;
+        clearMemoryRates();
+        this.nonBlockingHeap.clear();
+        this.rollupHeapAfterGc = 0;
+        this.rollupRows = 0;
+        for (Rollup rollup : this.rollups.values()) {
+            rollup.clear();
+        }
+        this.rowsByTrigger.clear();
+        this.rowsByType.clear();
+        this.rowsIndexed = 0;
+        this.safepointTotals.clear();
+        this.stoppedTimeBottlenecks.clear();
+        this.stoppedTimeHistogram.clear();
+        this.unifiedSafepointBottlenecks.clear();
+        this.unifiedSafepointHistogram.clear();
+        this.worstParallelismEvents.clear();
+        this.worstPauseEvents.clear();
+        this.worstSafepointEvents.clear();
+        this.worstTimeToSafepointEvents.clear();
+    }
+
+    /**
+     * Remove all events from <code>memoryRates</code>, so they are added again in timestamp order.
+     */
+    private void clearMemoryRates() {
+        memoryRates.clear();
+        memoryRatesPointLast = false;
+        memoryRatesPoints = 0;
+        memoryRatesRows = 0;
+        memoryRatesTimestamp = Long.MIN_VALUE;
+    }
+
+    /**
+     * @param garbageCollectors
+     *            The garbage collectors.
+     * @return The <code>LogEventType</code>s of the stored <code>BlockingEvent</code>s from the garbage collectors.
+     *         The garbage collector is the same for every event of a type, so it is taken from the first event.
+     */
+    private Set<LogEventType> eventTypes(Set<GarbageCollector> garbageCollectors) {
+        Set<LogEventType> eventTypes = EnumSet.noneOf(LogEventType.class);
+        for (Map.Entry<LogEventType, RowIndex> entry : rowsByType.entrySet()) {
+            int row = entry.getValue().rows[0];
+            BlockingEvent event = blockingEventColumns.getEvent(row);
+            if (event instanceof GcEvent && garbageCollectors.contains(((GcEvent) event).getGarbageCollector())) {
+                eventTypes.add(entry.getKey());
             }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error deleting rows from tables.");
-        } finally {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
+        }
+        return eventTypes;
+    }
+
+    /**
+     * @param timestamp
+     *            The timestamp (milliseconds after JVM startup).
+     * @return The first <code>blockingEventColumns</code> row with a timestamp not less than the given timestamp.
+     */
+    private int firstRow(long timestamp) {
+        int low = 0;
+        int high = blockingEventColumns.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (blockingEventColumns.getTimestamp(middle) < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
             }
         }
+        return low;
     }
 
     public List<Analysis> getAnalysis() {
@@ -377,17 +846,85 @@ public class JvmDao {
      * 
      * @return total number of blocking events.
      */
-    public synchronized int getBlockingEventCount() {
-        return this.blockingEvents.size();
+    public int getBlockingEventCount() {
+        return this.blockingEventColumns.size();
+    }
+
+    /**
+     * The number of blocking events matching a query (ignoring the query page).
+     * 
+     * @param query
+     *            The query.
+     * @return The number of matching events.
+     */
+    public int getBlockingEventCount(BlockingEventQuery query) {
+        return rows(query).length;
+    }
+
+    /**
+     * @return A read-only view of the <code>BlockingEvent</code> data in primitive columns, in the same order as
+     *         <code>getBlockingEvents()</code>, valid until more events are added.
+     */
+    public BlockingEventColumnsView getBlockingEventColumns() {
+        sortBlockingEvents();
+        return blockingEventColumns.view();
     }
 
     /**
      * Retrieve all <code>BlockingEvent</code>s.
      * 
-     * @return <code>List</code> of events.
+     * <p>
+     * The event objects are not kept: every <code>get</code> recreates the event from its column row (parsing its log
+     * entry if it is kept). So <code>get(i) != get(i)</code>, changes made to a returned event are not kept, and every
+     * loop over the view repeats the work. Scan <code>getBlockingEventColumns()</code> instead where the column data
+     * is enough.
+     * </p>
+     * 
+     * @return A read-only view of the events, valid until more events are added.
      */
-    public synchronized List<BlockingEvent> getBlockingEvents() {
-        return this.blockingEvents.stream().map(JvmDao::toBlockingEvent).collect(toList());
+    public List<BlockingEvent> getBlockingEvents() {
+        sortBlockingEvents();
+        return blockingEventColumns.events(null);
+    }
+
+    /**
+     * Retrieve the <code>BlockingEvent</code>s matching a query. The timestamp range is found by binary search (events
+     * are in timestamp order), and the candidate events are the range or the event type or trigger index entries in
+     * the range, whichever are fewest, so a query does not scan every event.
+     * 
+     * @param query
+     *            The query.
+     * @return A read-only list of the page of matching events, in the query order. Each event is recreated from its
+     *         row once, on its first <code>get</code>, and the list returns the same event after that.
+     */
+    public List<BlockingEvent> getBlockingEvents(BlockingEventQuery query) {
+        int[] rows = rows(query);
+        switch (query.getOrder()) {
+        case DURATION_DESCENDING:
+            Integer[] sorted = new Integer[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                sorted[i] = rows[i];
+            }
+            // Stable, so events with the same duration stay in timestamp order
+            Arrays.sort(sorted, comparingLong(blockingEventColumns::getDurationMicros).reversed());
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = sorted[i];
+            }
+            break;
+        case TIMESTAMP_DESCENDING:
+            for (int i = 0, j = rows.length - 1; i < j; i++, j--) {
+                int row = rows[i];
+                rows[i] = rows[j];
+                rows[j] = row;
+            }
+            break;
+        case TIMESTAMP:
+        default:
+            break;
+        }
+        int from = Math.min(query.getOffset(), rows.length);
+        int to = (int) Math.min((long) from + query.getLimit(), rows.length);
+        return blockingEventColumns.eventsCached(Arrays.copyOfRange(rows, from, to));
     }
 
     /**
@@ -395,21 +932,23 @@ public class JvmDao {
      * 
      * @param eventType
      *            The event type to retrieve.
-     * @return <code>List</code> of events.
+     * @return A read-only view of the events, valid until more events are added. Events are recreated on every
+     *         <code>get</code>, as with <code>getBlockingEvents()</code>.
      */
-    public synchronized List<BlockingEvent> getBlockingEvents(LogEventType eventType) {
-        return this.blockingEvents.stream().filter(e -> e.getName().equals(eventType.toString()))
-                .map(JvmDao::toBlockingEvent).collect(toList());
+    public List<BlockingEvent> getBlockingEvents(LogEventType eventType) {
+        sortBlockingEvents();
+        return blockingEventColumns.events(rows(EnumSet.of(eventType)));
     }
 
     /**
      * Retrieve all <code>CmsIncrementalModeCollector</code> events.
      * 
-     * @return <code>List</code> of <code>CmsIncrementalModeCollector</code> events.
+     * @return A read-only view of the <code>CmsIncrementalModeCollector</code> events, valid until more events are
+     *         added. Events are recreated on every <code>get</code>, as with <code>getBlockingEvents()</code>.
      */
-    public synchronized List<BlockingEvent> getCmsIncrementalModeCollectorEvents() {
-        return this.blockingEvents.stream().filter(e -> e instanceof CmsIncrementalModeCollector)
-                .map(JvmDao::toBlockingEvent).collect(toList());
+    public List<BlockingEvent> getCmsIncrementalModeCollectorEvents() {
+        sortBlockingEvents();
+        return blockingEventColumns.events(rows(cmsIncrementalModeCollectorEventTypes));
     }
 
     /**
@@ -417,8 +956,17 @@ public class JvmDao {
      * 
      * @return maximum pause duration (microseconds).
      */
-    public synchronized long getDurationMax() {
-        return longs(this.blockingEvents, BlockingEvent::getDurationMicros).mapToLong(Long::valueOf).max().orElse(0);
+    public long getDurationMax() {
+        return blockingEventTotals.durationMax;
+    }
+
+    /**
+     * The <code>BlockingEvent</code> pause time distribution.
+     * 
+     * @return A read-only view of the pause duration (microseconds) histogram.
+     */
+    public PauseHistogram getDurationHistogram() {
+        return PauseHistogram.unmodifiable(blockingEventTotals.durationHistogram);
     }
 
     /**
@@ -426,8 +974,8 @@ public class JvmDao {
      * 
      * @return total pause duration (microseconds).
      */
-    public synchronized long getDurationTotal() {
-        return longs(this.blockingEvents, BlockingEvent::getDurationMicros).collect(summingLong(Long::valueOf));
+    public long getDurationTotal() {
+        return blockingEventTotals.durationTotal;
     }
 
     public List<LogEventType> getEventTypes() {
@@ -442,6 +990,13 @@ public class JvmDao {
         return extRootScanningTimeTotal;
     }
 
+    /**
+     * @return The first <code>CmsIncrementalModeCollector</code> event, or null if none.
+     */
+    public BlockingEvent getFirstCmsIncrementalModeCollectorEvent() {
+        return firstCmsIncrementalModeCollectorEvent;
+    }
+
     /**
      * The first blocking event.
      * 
@@ -449,8 +1004,8 @@ public class JvmDao {
      * 
      * @return The first blocking event.
      */
-    public synchronized BlockingEvent getFirstGcEvent() {
-        return this.blockingEvents.isEmpty() ? null : this.blockingEvents.get(0);
+    public BlockingEvent getFirstGcEvent() {
+        return firstBlockingEvent;
     }
 
     public LogEvent getFirstLogEvent() {
@@ -462,7 +1017,7 @@ public class JvmDao {
      * 
      * @return The first <code>SafepointEvent</code>.
      */
-    public synchronized SafepointEvent getFirstSafepointEvent() {
+    public SafepointEvent getFirstSafepointEvent() {
         SafepointEvent firstSafepointEvent = null;
         if (!unifiedSafepointEvents.isEmpty()) {
             firstSafepointEvent = getFirstUnifiedSafepointEvent();
@@ -477,7 +1032,7 @@ public class JvmDao {
      * 
      * @return The first stopped event.
      */
-    private synchronized ApplicationStoppedTimeEvent getFirstStoppedEvent() {
+    private ApplicationStoppedTimeEvent getFirstStoppedEvent() {
         return stoppedTimeEvents.isEmpty() ? null : stoppedTimeEvents.get(0);
     }
 
@@ -486,14 +1041,75 @@ public class JvmDao {
      * 
      * @return The first unified safepoint event.
      */
-    private synchronized UnifiedSafepointEvent getFirstUnifiedSafepointEvent() {
+    private UnifiedSafepointEvent getFirstUnifiedSafepointEvent() {
         return unifiedSafepointEvents.isEmpty() ? null : unifiedSafepointEvents.get(0);
     }
 
+    /**
+     * The <code>BlockingEvent</code>s where throughput since the previous event does not meet the throughput goal. The
+     * bottlenecks found as events are added are used if events were added in timestamp order with the same threshold;
+     * otherwise, they are found from the stored events, only recreating the events that are bottlenecks.
+     * 
+     * @param throughputThreshold
+     *            The bottleneck reporting throughput threshold.
+     * @return The <code>BlockingEvent</code> bottlenecks, valid until more events are added.
+     */
+    public Bottlenecks<BlockingEvent> getGcBottlenecks(int throughputThreshold) {
+        if (gcBottlenecks.getThroughputThreshold() == throughputThreshold
+                && gcBottlenecks.getCount() == blockingEventColumns.size()) {
+            return gcBottlenecks;
+        }
+        sortBlockingEvents();
+        Bottlenecks<BlockingEvent> bottlenecks = new Bottlenecks<>(throughputThreshold);
+        for (int row = 0; row < blockingEventColumns.size(); row++) {
+            int i = row;
+            bottlenecks.add(blockingEventColumns.getTimestamp(row), blockingEventColumns.getDurationMicros(row) * 1000,
+                    () -> blockingEventColumns.getEvent(i));
+        }
+        return bottlenecks;
+    }
+
+    /**
+     * Check the <code>BlockingEvent</code> pause times against a pause time budget. The windows checked as events are
+     * added are used if events were added in timestamp order with the same budget; otherwise, they are checked in one
+     * pass over the stored events in timestamp order, only recreating the events that are offending pauses.
+     * 
+     * @param budget
+     *            The pause time budget.
+     * @return The windows where the <code>BlockingEvent</code> pause times exceed the budget.
+     */
+    public PauseSlo<BlockingEvent> getGcPauseSlo(PauseSlo.Budget budget) {
+        if (gcPauseSlo != null && gcPauseSlo.getBudget() == budget && blockingEventsSorted
+                && gcPauseSlo.getCount() == blockingEventColumns.size()) {
+            gcPauseSlo.finish();
+            gcPauseSloFinished = true;
+            return gcPauseSlo;
+        }
+        sortBlockingEvents();
+        PauseSlo<BlockingEvent> pauseSlo = new PauseSlo<>(budget);
+        for (int row = 0; row < blockingEventColumns.size(); row++) {
+            int i = row;
+            GcTrigger trigger = blockingEventColumns.getTrigger(row);
+            pauseSlo.add(blockingEventColumns.getTimestamp(row), blockingEventColumns.getDurationMicros(row),
+                    trigger == null || trigger == GcTrigger.NONE ? null : trigger.name(),
+                    () -> blockingEventColumns.getEvent(i));
+        }
+        pauseSlo.finish();
+        return pauseSlo;
+    }
+
     public List<GcTrigger> getGcTriggers() {
         return gcTriggers;
     }
 
+    /**
+     * @return The trend of the heap occupancy after <code>OldCollection</code>s (kilobytes) over time (seconds after
+     *         JVM startup).
+     */
+    public LinearRegression getHeapAfterOldCollection() {
+        return new LinearRegression(heapAfterOldCollection);
+    }
+
     /**
      * @return The number of "inverted" parallelism events.
      */
@@ -519,8 +1135,8 @@ public class JvmDao {
      * 
      * @return The last blocking event.
      */
-    public synchronized BlockingEvent getLastGcEvent() {
-        return this.blockingEvents.isEmpty() ? null : this.blockingEvents.get(blockingEvents.size() - 1);
+    public BlockingEvent getLastGcEvent() {
+        return lastBlockingEvent;
     }
 
     /**
@@ -528,7 +1144,7 @@ public class JvmDao {
      * 
      * @return The last safepoint event.
      */
-    public synchronized SafepointEvent getLastSafepointEvent() {
+    public SafepointEvent getLastSafepointEvent() {
         SafepointEvent lastSafepointEvent = null;
         if (!unifiedSafepointEvents.isEmpty()) {
             lastSafepointEvent = getLastUnifiedSafepointEvent();
@@ -543,7 +1159,7 @@ public class JvmDao {
      * 
      * @return The last stopped event.
      */
-    private synchronized ApplicationStoppedTimeEvent getLastStoppedEvent() {
+    private ApplicationStoppedTimeEvent getLastStoppedEvent() {
         return stoppedTimeEvents.isEmpty() ? null : stoppedTimeEvents.get(stoppedTimeEvents.size() - 1);
     }
 
@@ -552,7 +1168,7 @@ public class JvmDao {
      * 
      * @return The last safepoint event.
      */
-    private synchronized UnifiedSafepointEvent getLastUnifiedSafepointEvent() {
+    private UnifiedSafepointEvent getLastUnifiedSafepointEvent() {
         return unifiedSafepointEvents.isEmpty() ? null : unifiedSafepointEvents.get(unifiedSafepointEvents.size() - 1);
     }
 
@@ -565,8 +1181,8 @@ public class JvmDao {
      * 
      * @return maximum perm/metaspace footprint (kilobytes).
      */
-    public synchronized int getMaxClassSpace() {
-        return (int) kilobytes(ClassData.class, ClassData::getClassSpace).max().orElse(0);
+    public int getMaxClassSpace() {
+        return blockingEventTotals.maxClassSpace;
     }
 
     /**
@@ -574,8 +1190,8 @@ public class JvmDao {
      * 
      * @return maximum perm/metaspac after GC (kilobytes).
      */
-    public synchronized int getMaxClassSpaceAfterGc() {
-        return (int) kilobytes(ClassData.class, ClassData::getClassOccupancyEnd).max().orElse(0);
+    public int getMaxClassSpaceAfterGc() {
+        return blockingEventTotals.maxClassSpaceAfterGc;
     }
 
     /**
@@ -590,8 +1206,8 @@ public class JvmDao {
      * 
      * @return maximum perm/metaspace occupancy (kilobytes).
      */
-    public synchronized int getMaxClassSpaceOccupancy() {
-        return (int) kilobytes(ClassData.class, ClassData::getClassOccupancyInit).max().orElse(0);
+    public int getMaxClassSpaceOccupancy() {
+        return blockingEventTotals.maxClassSpaceOccupancy;
     }
 
     /**
@@ -606,12 +1222,8 @@ public class JvmDao {
      * 
      * @return maximum heap after GC (kilobytes).
      */
-    public synchronized int getMaxHeapAfterGc() {
-        int oldMaxHeapAfterGc = (int) kilobytes(OldData.class,
-                t -> add(t.getYoungOccupancyEnd(), t.getOldOccupancyEnd())).max().orElse(0);
-        int combinedMaxHeapAfterGc = (int) kilobytes(CombinedData.class, CombinedData::getCombinedOccupancyEnd).max()
-                .orElse(0);
-        return Math.max(oldMaxHeapAfterGc, combinedMaxHeapAfterGc);
+    public int getMaxHeapAfterGc() {
+        return blockingEventTotals.maxHeapAfterGc;
     }
 
     /**
@@ -619,20 +1231,8 @@ public class JvmDao {
      * 
      * @return maximum heap occupancy (kilobytes).
      */
-    public synchronized int getMaxHeapOccupancy() {
-        return (int) this.blockingEvents.stream() //
-                .map(e -> {
-                    if (e instanceof OldData) {
-                        OldData old = (OldData) e;
-                        return add(old.getYoungOccupancyInit(), old.getOldOccupancyInit());
-                    } else if (e instanceof CombinedData) {
-                        return ((CombinedData) e).getCombinedOccupancyInit();
-                    } else {
-                        return ZERO;
-                    }
-                }) //
-                .filter(Objects::nonNull) //
-                .mapToLong(m -> m.getValue(KILOBYTES)).max().orElse(0);
+    public int getMaxHeapOccupancy() {
+        return blockingEventTotals.maxHeapOccupancy;
     }
 
     /**
@@ -647,20 +1247,8 @@ public class JvmDao {
      * 
      * @return maximum heap size (kilobytes).
      */
-    public synchronized int getMaxHeapSpace() {
-        return (int) this.blockingEvents.stream() //
-                .map(e -> {
-                    if (e instanceof OldData) {
-                        OldData old = (OldData) e;
-                        return add(old.getYoungSpace(), old.getOldSpace());
-                    } else if (e instanceof CombinedData) {
-                        return ((CombinedData) e).getCombinedSpace();
-                    } else {
-                        return ZERO;
-                    }
-                }) //
-                .filter(Objects::nonNull) //
-                .mapToLong(m -> m.getValue(KILOBYTES)).max().orElse(0);
+    public int getMaxHeapSpace() {
+        return blockingEventTotals.maxHeapSpace;
     }
 
     /**
@@ -675,8 +1263,8 @@ public class JvmDao {
      * 
      * @return maximum old space size (kilobytes).
      */
-    public synchronized int getMaxOldSpace() {
-        return (int) kilobytes(OldData.class, OldData::getOldSpace).max().orElse(0);
+    public int getMaxOldSpace() {
+        return blockingEventTotals.maxOldSpace;
     }
 
     /**
@@ -684,8 +1272,30 @@ public class JvmDao {
      * 
      * @return maximum young space size (kilobytes).
      */
-    public synchronized int getMaxYoungSpace() {
-        return (int) kilobytes(YoungData.class, YoungData::getYoungSpace).max().orElse(0);
+    public int getMaxYoungSpace() {
+        return blockingEventTotals.maxYoungSpace;
+    }
+
+    /**
+     * Minimum mutator utilization from the <code>BlockingEvent</code>s and <code>SafepointEvent</code>s.
+     * 
+     * @return The pauses to compute the worst windows from.
+     */
+    public MutatorUtilization getMutatorUtilization() {
+        List<SafepointEvent> safepointEvents = getSafepointEvents();
+        int size = blockingEventColumns.size() + safepointEvents.size();
+        long[] timestamps = new long[size];
+        long[] durations = new long[size];
+        int i = 0;
+        for (int row = 0; row < blockingEventColumns.size(); row++) {
+            timestamps[i] = blockingEventColumns.getTimestamp(row);
+            durations[i++] = blockingEventColumns.getDurationMicros(row);
+        }
+        for (SafepointEvent event : safepointEvents) {
+            timestamps[i] = event.getTimestamp();
+            durations[i++] = event.getDurationMicros();
+        }
+        return new MutatorUtilization(timestamps, durations, size);
     }
 
     /**
@@ -695,6 +1305,14 @@ public class JvmDao {
         return memory;
     }
 
+    /**
+     * @return The allocation, promotion, and old generation growth rates, valid until more events are added.
+     */
+    public MemoryRates getMemoryRates() {
+        updateMemoryRates();
+        return memoryRates;
+    }
+
     public long getOtherTimeMax() {
         return otherTimeMax;
     }
@@ -728,16 +1346,48 @@ public class JvmDao {
         return preprocessEvents;
     }
 
+    /**
+     * @param resolution
+     *            The bucket size.
+     * @return The event aggregates in time buckets of the given size, valid until more events are added.
+     */
+    public Rollup getRollup(Rollup.Resolution resolution) {
+        updateRollups();
+        return rollups.get(resolution);
+    }
+
+    /**
+     * The <code>SafepointEvent</code>s where throughput since the previous event does not meet the throughput goal,
+     * found as events are added unless the threshold is different.
+     * 
+     * @param throughputThreshold
+     *            The bottleneck reporting throughput threshold.
+     * @return The <code>SafepointEvent</code> bottlenecks, valid until more events are added.
+     */
+    public Bottlenecks<SafepointEvent> getSafepointBottlenecks(int throughputThreshold) {
+        List<SafepointEvent> events = getSafepointEvents();
+        Bottlenecks<SafepointEvent> bottlenecks = this.stoppedTimeEvents.isEmpty() ? unifiedSafepointBottlenecks
+                : stoppedTimeBottlenecks;
+        if (bottlenecks.getThroughputThreshold() == throughputThreshold && bottlenecks.getCount() == events.size()) {
+            return bottlenecks;
+        }
+        bottlenecks = new Bottlenecks<>(throughputThreshold);
+        for (SafepointEvent event : events) {
+            bottlenecks.add(event.getTimestamp(), JdkUtil.getDurationNanos(event), event);
+        }
+        return bottlenecks;
+    }
+
     /**
      * Retrieve all <code>SafepointEvent</code>s.
      * 
-     * @return <code>List</code> of events.
+     * @return A read-only view of the events, valid until more events are added.
      */
-    public synchronized List<SafepointEvent> getSafepointEvents() {
+    public List<SafepointEvent> getSafepointEvents() {
         if (!this.stoppedTimeEvents.isEmpty()) {
-            return this.stoppedTimeEvents.stream().map(JvmDao::toSafepointEvent).collect(toList());
+            return Collections.<SafepointEvent> unmodifiableList(this.stoppedTimeEvents);
         } else {
-            return this.unifiedSafepointEvents.stream().map(JvmDao::toSafepointEvent).collect(toList());
+            return Collections.<SafepointEvent> unmodifiableList(this.unifiedSafepointEvents);
         }
     }
 
@@ -746,75 +1396,54 @@ public class JvmDao {
      * 
      * @return <code>List</code> of <code>SafepointEventSummary</code>s.
      */
-    public synchronized List<SafepointEventSummary> getSafepointEventSummaries() {
+    public List<SafepointEventSummary> getSafepointEventSummaries() {
         List<SafepointEventSummary> safepointEventSummaries = new ArrayList<SafepointEventSummary>();
+        for (Map.Entry<Trigger, SafepointTotals> entry : safepointTotals.entrySet()) {
+            SafepointTotals totals = entry.getValue();
+            safepointEventSummaries.add(new SafepointEventSummary(entry.getKey(), totals.count, totals.pauseTotal,
+                    totals.pauseMax, PauseHistogram.unmodifiable(totals.timeToSafepointHistogram)));
+        }
+        safepointEventSummaries.sort(comparing(SafepointEventSummary::getPauseTotal).reversed());
+        return safepointEventSummaries;
+    }
 
-        PreparedStatement pst = null;
-        try {
-            String sqlInsertSafepointEvent = "insert into safepoint_event (time_stamp, trigger_type, duration, "
-                    + "log_entry) values (?, ?, ?, ?)";
-
-            final int TIME_STAMP_INDEX = 1;
-            final int TRIGGER_TYPE_INDEX = 2;
-            final int DURATION_INDEX = 3;
-            final int LOG_ENTRY_INDEX = 4;
-
-            pst = connection.prepareStatement(sqlInsertSafepointEvent);
-
-            for (int i = 0; i < unifiedSafepointEvents.size(); i++) {
-                UnifiedSafepointEvent event = unifiedSafepointEvents.get(i);
-                pst.setLong(TIME_STAMP_INDEX, event.getTimestamp());
-                // Use trigger for event name
-                pst.setString(TRIGGER_TYPE_INDEX, event.getTrigger().toString());
-                pst.setLong(DURATION_INDEX, event.getDurationMicros());
-                pst.setString(LOG_ENTRY_INDEX, event.getLogEntry());
-                pst.addBatch();
-            }
-            pst.executeBatch();
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error inserting safepoint event.");
-        } finally {
-            try {
-                pst.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closingPreparedStatement.");
+    /**
+     * Check the <code>SafepointEvent</code> pause times against a pause time budget in one pass. Events without a
+     * timestamp (e.g. JDK8 stopped time logging without decorations) cannot be placed in a window and are skipped.
+     * 
+     * @param budget
+     *            The pause time budget.
+     * @return The windows where the <code>SafepointEvent</code> pause times exceed the budget.
+     */
+    public PauseSlo<SafepointEvent> getSafepointPauseSlo(PauseSlo.Budget budget) {
+        PauseSlo<SafepointEvent> pauseSlo = new PauseSlo<>(budget);
+        for (SafepointEvent event : getSafepointEvents()) {
+            if (event.getTimestamp() > 0) {
+                String trigger = event instanceof UnifiedSafepointEvent
+                        ? UnifiedSafepoint.getTriggerLiteral(((UnifiedSafepointEvent) event).getTrigger())
+                        : null;
+                pauseSlo.add(event.getTimestamp(), event.getDurationMicros(), trigger, () -> event);
             }
         }
+        pauseSlo.finish();
+        return pauseSlo;
+    }
 
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            StringBuffer sql = new StringBuffer();
-            sql.append("select trigger_type, count(id), sum(duration), max(duration) from safepoint_event group by "
-                    + "trigger_type order by sum(duration) desc");
-            rs = statement.executeQuery(sql.toString());
-            while (rs.next()) {
-                Trigger trigger = UnifiedSafepoint.identifyTrigger(rs.getString(1));
-                SafepointEventSummary summary = new SafepointEventSummary(trigger, rs.getLong(2), rs.getLong(3),
-                        rs.getLong(4));
-                safepointEventSummaries.add(summary);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error retrieving safepoint event summaries.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
+    /**
+     * Pair the <code>BlockingEvent</code>s with the <code>SafepointEvent</code>s enclosing them.
+     * 
+     * @return The <code>BlockingEvent</code>s (in timestamp order) joined with the <code>SafepointEvent</code>s.
+     */
+    public SafepointJoin getSafepointJoin() {
+        sortBlockingEvents();
+        int size = blockingEventColumns.size();
+        long[] timestamps = new long[size];
+        long[] durations = new long[size];
+        for (int row = 0; row < size; row++) {
+            timestamps[row] = blockingEventColumns.getTimestamp(row);
+            durations[row] = blockingEventColumns.getDurationMicros(row);
         }
-        return safepointEventSummaries;
+        return new SafepointJoin(timestamps, durations, size, getSafepointEvents());
     }
 
     /**
@@ -829,16 +1458,25 @@ public class JvmDao {
      * 
      * @return total number of stopped time events.
      */
-    public synchronized int getStoppedTimeEventCount() {
+    public int getStoppedTimeEventCount() {
         return this.stoppedTimeEvents.size();
     }
 
+    /**
+     * The stopped time event pause time distribution.
+     * 
+     * @return A read-only view of the pause duration (microseconds) histogram.
+     */
+    public PauseHistogram getStoppedTimeHistogram() {
+        return PauseHistogram.unmodifiable(stoppedTimeHistogram);
+    }
+
     /**
      * The maximum stopped time event pause time.
      * 
      * @return maximum pause duration (microseconds).
      */
-    public synchronized long getStoppedTimeMax() {
+    public long getStoppedTimeMax() {
         return longs(this.stoppedTimeEvents, ApplicationStoppedTimeEvent::getDurationMicros).mapToLong(Long::valueOf)
                 .max().orElse(0);
     }
@@ -848,7 +1486,7 @@ public class JvmDao {
      * 
      * @return total pause duration (microseconds).
      */
-    public synchronized long getStoppedTimeTotal() {
+    public long getStoppedTimeTotal() {
         return longs(this.stoppedTimeEvents, ApplicationStoppedTimeEvent::getDurationMicros)
                 .collect(summingLong(Long::valueOf));
     }
@@ -883,16 +1521,25 @@ public class JvmDao {
      * 
      * @return total number of unified safepoint time events.
      */
-    public synchronized int getUnifiedSafepointEventCount() {
+    public int getUnifiedSafepointEventCount() {
         return this.unifiedSafepointEvents.size();
     }
 
+    /**
+     * The unified safepoint event pause time distribution.
+     * 
+     * @return A read-only view of the pause duration (microseconds) histogram.
+     */
+    public PauseHistogram getUnifiedSafepointHistogram() {
+        return PauseHistogram.unmodifiable(unifiedSafepointHistogram);
+    }
+
     /**
      * The maximum unified safepoint event pause time.
      * 
      * @return maximum pause duration (nanoseconds).
      */
-    public synchronized long getUnifiedSafepointTimeMax() {
+    public long getUnifiedSafepointTimeMax() {
         return longs(this.unifiedSafepointEvents, UnifiedSafepointEvent::getDurationNanos).mapToLong(Long::valueOf)
                 .max().orElse(0);
     }
@@ -902,7 +1549,7 @@ public class JvmDao {
      * 
      * @return total pause duration (nanoseconds).
      */
-    public synchronized long getUnifiedSafepointTimeTotal() {
+    public long getUnifiedSafepointTimeTotal() {
         return longs(this.unifiedSafepointEvents, UnifiedSafepointEvent::getDurationNanos)
                 .collect(summingLong(Long::valueOf));
     }
@@ -925,6 +1572,29 @@ public class JvmDao {
         return worstInvertedSerialismEvent;
     }
 
+    /**
+     * @return The <code>ParallelCollection</code> events with the lowest parallelism, lowest first, with the events
+     *         before and after. Keys are negative parallelism.
+     */
+    public List<TopEvents.Entry<LogEvent>> getWorstParallelismEvents() {
+        return worstParallelismEvents.getEntries();
+    }
+
+    /**
+     * @return The <code>BlockingEvent</code>s with the longest pauses, longest first, with the events before and after.
+     */
+    public List<TopEvents.Entry<BlockingEvent>> getWorstPauseEvents() {
+        return worstPauseEvents.getEntries();
+    }
+
+    /**
+     * @return The <code>SafepointEvent</code>s with the longest total time, longest first, with the events before and
+     *         after.
+     */
+    public List<TopEvents.Entry<SafepointEvent>> getWorstSafepointEvents() {
+        return worstSafepointEvents.getEntries();
+    }
+
     /**
      * @return The <code>ParallelCollection</code> or <code>SerialCollection</code> event with the greatest sys - user.
      */
@@ -932,26 +1602,317 @@ public class JvmDao {
         return worstSysGtUserEvent;
     }
 
-    private int insertPosition(BlockingEvent event) {
-        int size = blockingEvents.size();
-        if (size > 0 && COMPARE_BY_TIMESTAMP.compare(blockingEvents.get(size - 1), event) <= 0) {
-            return size;
-        }
-        // here we could raise an Exception: Add param boolean reorderingAllowed to method
-        // if (!reorderingAllowed) throw new TimeWarpException("bad order")
-        return -binarySearch(blockingEvents, event, COMPARE_BY_TIMESTAMP) - 1;
+    /**
+     * @return The <code>SafepointEvent</code>s with the longest time to safepoint, longest first, with the events
+     *         before and after.
+     */
+    public List<TopEvents.Entry<SafepointEvent>> getWorstTimeToSafepointEvents() {
+        return worstTimeToSafepointEvents.getEntries();
     }
 
     public boolean isLogEndingUnidentified() {
         return logEndingUnidentified;
     }
 
-    private <T> LongStream kilobytes(Class<T> clazz, Function<T, Memory> func) {
-        return this.blockingEvents.stream() //
-                .filter(clazz::isInstance) //
-                .map(clazz::cast).map(func) //
-                .filter(Objects::nonNull) //
-                .mapToLong(m -> m.getValue(KILOBYTES));
+    /**
+     * @return true if blocking events are spilled to disk, false otherwise.
+     */
+    public boolean isSpilled() {
+        return blockingEventColumns.isSpilling();
+    }
+
+    /**
+     * @param row
+     *            The <code>blockingEventColumns</code> row of the event.
+     * @param event
+     *            The event.
+     * @return A supplier of the event that pins the log entry of the row, for events that are only reported if kept.
+     */
+    private Supplier<BlockingEvent> pinned(int row, BlockingEvent event) {
+        return () -> {
+            blockingEventColumns.pin(row, event.getLogEntry());
+            return event;
+        };
+    }
+
+    /**
+     * Read data written with <code>write</code> into this (empty) instance. <code>BlockingEvent</code>s are kept as
+     * columns and recreated from the columns and the kept log entries when retrieved, so nothing is parsed until it is
+     * used.
+     * 
+     * @param in
+     *            The stream to read from.
+     * @throws IOException
+     *             if an I/O error occurs or the data is not valid.
+     */
+    public void read(EventInputStream in) throws IOException {
+        setWorstEventsSize(in.readVarInt());
+        in.readEnums(Analysis.class, analysis);
+        blockingEventColumns.read(in);
+        for (int i = 0; i < blockingEventColumns.size(); i++) {
+            blockingEventTotals.add(blockingEventColumns, i);
+        }
+        in.readEnums(LogEventType.class, cmsIncrementalModeCollectorEventTypes);
+        if (blockingEventColumns.size() > 0) {
+            firstBlockingEvent = blockingEventColumns.getEvent(0);
+            lastBlockingEvent = blockingEventColumns.getEvent(blockingEventColumns.size() - 1);
+        }
+        if (!cmsIncrementalModeCollectorEventTypes.isEmpty()) {
+            int row = rows(cmsIncrementalModeCollectorEventTypes)[0];
+            firstCmsIncrementalModeCollectorEvent = blockingEventColumns.getEvent(row);
+        }
+        in.readEnums(LogEventType.class, eventTypes);
+        extRootScanningTimeMax = in.readVarLong();
+        extRootScanningTimeTotal = in.readVarLong();
+        firstLogEvent = readLogEvent(in);
+        in.readEnums(GcTrigger.class, gcTriggers);
+        heapAfterOldCollection.read(in);
+        invertedParallelismCount = in.readVarLong();
+        invertedSerialismCount = in.readVarLong();
+        jvmContext.setOptions(in.readString());
+        jvmContext.setVersionMajor(in.readVarInt());
+        jvmContext.setVersionMinor(in.readVarInt());
+        Bit bit = in.readEnum(Bit.class);
+        if (bit != null) {
+            jvmContext.setBit(bit);
+        }
+        Arch arch = in.readEnum(Arch.class);
+        if (arch != null) {
+            jvmContext.setArch(arch);
+        }
+        BuiltBy builtBy = in.readEnum(BuiltBy.class);
+        if (builtBy != null) {
+            jvmContext.setBuiltBy(builtBy);
+        }
+        Os os = in.readEnum(Os.class);
+        if (os != null) {
+            jvmContext.setOs(os);
+        }
+        jvmContext.setBuildDate(in.readDate());
+        jvmContext.setReleaseString(in.readString());
+        jvmContext.setMemory(in.readString());
+        jvmContext.getGarbageCollectors().clear();
+        in.readEnums(GarbageCollector.class, jvmContext.getGarbageCollectors());
+        logEndingUnidentified = in.readBoolean();
+        logFileDate = in.readDate();
+        maxClassSpaceNonBlocking = in.readVarInt();
+        maxClassSpaceOccupancyNonBlocking = in.readVarInt();
+        maxHeapOccupancyNonBlocking = in.readVarInt();
+        maxHeapSpaceNonBlocking = in.readVarInt();
+        memory = in.readString();
+        nonBlockingHeap.read(in);
+        otherTimeMax = in.readVarLong();
+        otherTimeTotal = in.readVarLong();
+        parallelCount = in.readVarLong();
+        physicalMemory = in.readVarLong();
+        physicalMemoryFree = in.readVarLong();
+        in.readEnums(PreprocessEvent.class, preprocessEvents);
+        serialCount = in.readVarLong();
+        int stoppedTimeEventCount = in.readVarInt();
+        long priorTimestamp = 0;
+        for (int i = 0; i < stoppedTimeEventCount; i++) {
+            String logEntry = in.readString();
+            long timestamp = priorTimestamp + in.readVarLong();
+            priorTimestamp = timestamp;
+            addStoppedTimeEvent(
+                    new ApplicationStoppedTimeEvent(logEntry, timestamp, in.readVarLong(), in.readVarLong()));
+        }
+        swap = in.readVarLong();
+        swapFree = in.readVarLong();
+        sysGtUserCount = in.readVarLong();
+        in.readStrings(unidentifiedLogLines);
+        int unifiedSafepointEventCount = in.readVarInt();
+        for (int i = 0; i < unifiedSafepointEventCount; i++) {
+            addSafepointEvent(new UnifiedSafepointEvent(in.readString()));
+        }
+        vmInfo = in.readString();
+        worstInvertedParallelismEvent = readLogEvent(in);
+        worstInvertedSerialismEvent = readLogEvent(in);
+        readWorstEvents(in, worstParallelismEvents);
+        readWorstEvents(in, worstPauseEvents);
+        worstSysGtUserEvent = readLogEvent(in);
+    }
+
+    /**
+     * @param in
+     *            The stream to read from.
+     * @return The <code>LogEvent</code> written with <code>writeLogEvent</code>, or null.
+     * @throws IOException
+     *             if an I/O error occurs or the data is not valid.
+     */
+    private static LogEvent readLogEvent(EventInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        LogEventType eventType = in.readEnum(LogEventType.class);
+        return JdkUtil.hydrateLogEvent(eventType, in.readString());
+    }
+
+    /**
+     * @param in
+     *            The stream to read from.
+     * @param worstEvents
+     *            The worst events to add the events written with <code>writeWorstEvents</code> to.
+     * @throws IOException
+     *             if an I/O error occurs or the data is not valid.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends LogEvent> void readWorstEvents(EventInputStream in, TopEvents<T> worstEvents)
+            throws IOException {
+        int count = in.readVarInt();
+        for (int i = 0; i < count; i++) {
+            long key = in.readVarLong();
+            T event = (T) readLogEvent(in);
+            T previous = (T) readLogEvent(in);
+            T next = (T) readLogEvent(in);
+            worstEvents.add(key, event, previous, next);
+        }
+    }
+
+    /**
+     * Add a <code>blockingEventColumns</code> row to the rollups. Allocation is the heap occupancy before the GC less
+     * the heap occupancy after the previous GC.
+     * 
+     * @param row
+     *            The row.
+     */
+    private void rollup(int row) {
+        int heapBeforeGc = blockingEventColumns.getHeapOccupancyInit(row);
+        int heapAfterGc = blockingEventColumns.getHeapOccupancyEnd(row);
+        long allocation = 0;
+        if (heapBeforeGc > 0 && rollupHeapAfterGc > 0) {
+            allocation = Math.max(0, heapBeforeGc - rollupHeapAfterGc);
+        }
+        if (heapAfterGc > 0) {
+            rollupHeapAfterGc = heapAfterGc;
+        }
+        for (Rollup rollup : rollups.values()) {
+            rollup.addPause(blockingEventColumns.getTimestamp(row), blockingEventColumns.getDurationMicros(row),
+                    heapAfterGc, allocation, blockingEventColumns.getTrigger(row));
+        }
+    }
+
+    /**
+     * Add a <code>SafepointEvent</code> to the rollups.
+     * 
+     * @param event
+     *            The event.
+     */
+    private void rollupSafepoint(SafepointEvent event) {
+        for (Rollup rollup : rollups.values()) {
+            rollup.addSafepoint(event.getTimestamp(), event.getDurationMicros());
+        }
+    }
+
+    /**
+     * @param query
+     *            The query.
+     * @return The column rows of the events matching the query, in timestamp order.
+     */
+    private int[] rows(BlockingEventQuery query) {
+        updateRowIndexes();
+        int first = firstRow(query.getTimestampFrom());
+        int last = Math.max(first, firstRow(query.getTimestampTo()));
+        Set<LogEventType> eventTypes = query.getEventTypes();
+        if (!query.getGarbageCollectors().isEmpty()) {
+            Set<LogEventType> garbageCollectorEventTypes = eventTypes(query.getGarbageCollectors());
+            if (!eventTypes.isEmpty()) {
+                garbageCollectorEventTypes.retainAll(eventTypes);
+            }
+            if (garbageCollectorEventTypes.isEmpty()) {
+                return new int[0];
+            }
+            eventTypes = garbageCollectorEventTypes;
+        }
+        Set<GcTrigger> triggers = query.getTriggers();
+        // Candidates: the fewest of the rows in the range and the type or trigger index rows in the range
+        int typeCount = eventTypes.isEmpty() ? Integer.MAX_VALUE : countRows(rowsByType, eventTypes, first, last);
+        int triggerCount = triggers.isEmpty() ? Integer.MAX_VALUE : countRows(rowsByTrigger, triggers, first, last);
+        int[] candidates = null;
+        if (typeCount <= triggerCount && typeCount < last - first) {
+            candidates = rows(rowsByType, eventTypes, first, last);
+        } else if (triggerCount < last - first) {
+            candidates = rows(rowsByTrigger, triggers, first, last);
+        }
+        int candidateCount = candidates == null ? last - first : candidates.length;
+        int count = 0;
+        int[] rows = new int[Math.min(candidateCount, 16)];
+        for (int i = 0; i < candidateCount; i++) {
+            int row = candidates == null ? first + i : candidates[i];
+            if (!eventTypes.isEmpty() && !eventTypes.contains(blockingEventColumns.getEventType(row))) {
+                continue;
+            }
+            if (!triggers.isEmpty() && !triggers.contains(blockingEventColumns.getTrigger(row))) {
+                continue;
+            }
+            long duration = blockingEventColumns.getDurationMicros(row);
+            if (duration < query.getDurationMin() || duration > query.getDurationMax()) {
+                continue;
+            }
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(16, count * 2));
+            }
+            rows[count++] = row;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * @param index
+     *            A secondary index.
+     * @param keys
+     *            The index keys.
+     * @param first
+     *            The first column row.
+     * @param last
+     *            The column row after the last.
+     * @param <K>
+     *            The index key type.
+     * @return The rows in the range with one of the keys, in ascending order.
+     */
+    private static <K> int[] rows(Map<K, RowIndex> index, Set<K> keys, int first, int last) {
+        int[] rows = new int[countRows(index, keys, first, last)];
+        int count = 0;
+        int merged = 0;
+        for (K key : keys) {
+            RowIndex rowIndex = index.get(key);
+            if (rowIndex != null) {
+                int from = rowIndex.position(first);
+                int to = rowIndex.position(last);
+                System.arraycopy(rowIndex.rows, from, rows, count, to - from);
+                count += to - from;
+                if (to > from) {
+                    merged++;
+                }
+            }
+        }
+        if (merged > 1) {
+            Arrays.sort(rows);
+        }
+        return rows;
+    }
+
+    /**
+     * @param eventTypes
+     *            The event types.
+     * @return The column rows of the events of the given types.
+     */
+    private int[] rows(Set<LogEventType> eventTypes) {
+        updateRowIndexes();
+        return rows(rowsByType, eventTypes, 0, blockingEventColumns.size());
+    }
+
+    /**
+     * Set the throughput threshold for finding bottlenecks as events are added. Set it before adding events;
+     * bottlenecks for a different threshold are found from the stored events.
+     * 
+     * @param throughputThreshold
+     *            The bottleneck reporting throughput threshold.
+     */
+    public void setBottleneckThroughputThreshold(int throughputThreshold) {
+        gcBottlenecks = new Bottlenecks<>(throughputThreshold);
+        stoppedTimeBottlenecks = new Bottlenecks<>(throughputThreshold);
+        unifiedSafepointBottlenecks = new Bottlenecks<>(throughputThreshold);
     }
 
     public void setExtRootScanningTimeMax(long extRootScanningTimeMax) {
@@ -1046,6 +2007,19 @@ public class JvmDao {
         this.parallelCount = parallelCount;
     }
 
+    /**
+     * Set the pause time budget for checking <code>BlockingEvent</code> pauses as events are added, so only the
+     * offending events keep their log entries. Set it before adding events; a different budget is checked against the
+     * stored events.
+     * 
+     * @param budget
+     *            The pause time budget, or null if none.
+     */
+    public void setPauseSloBudget(PauseSlo.Budget budget) {
+        gcPauseSlo = budget == null ? null : new PauseSlo<>(budget);
+        gcPauseSloFinished = false;
+    }
+
     /**
      * @param physicalMemory
      *            The JVM physical memory to set.
@@ -1062,6 +2036,17 @@ public class JvmDao {
         this.physicalMemoryFree = physicalMemoryFree;
     }
 
+    /**
+     * Keep the log entry of every <code>BlockingEvent</code>, so every retrieved event is parsed from its log entry
+     * (e.g. for an export, or when events are not added in timestamp order). Set it before adding events.
+     * 
+     * @param retainLogEntries
+     *            Whether or not to keep every log entry.
+     */
+    public void setRetainLogEntries(boolean retainLogEntries) {
+        blockingEventColumns.setRetainLogEntries(retainLogEntries);
+    }
+
     /**
      * @param serialCount
      *            The number of <code>SerialCollection</code> events.
@@ -1070,6 +2055,15 @@ public class JvmDao {
         this.serialCount = serialCount;
     }
 
+    /**
+     * @param spillHeapFraction
+     *            Spill blocking events to disk once heap use exceeds this fraction (0-1) of the maximum heap (0 to
+     *            always spill, negative to never spill).
+     */
+    public void setSpillHeapFraction(double spillHeapFraction) {
+        blockingEventColumns.setSpillHeapFraction(spillHeapFraction);
+    }
+
     /**
      * @param swap
      *            The JVM swap to set.
@@ -1114,6 +2108,20 @@ public class JvmDao {
         this.worstInvertedSerialismEvent = worstInvertedSerialismEvent;
     }
 
+    /**
+     * Set the number of worst events of each kind to keep. Events already added are discarded, so set it before adding
+     * events.
+     * 
+     * @param size
+     *            The number of events.
+     */
+    public void setWorstEventsSize(int size) {
+        worstParallelismEvents = new TopEvents<>(size);
+        worstPauseEvents = new TopEvents<>(size);
+        worstSafepointEvents = new TopEvents<>(size);
+        worstTimeToSafepointEvents = new TopEvents<>(size);
+    }
+
     /**
      * @param worstSysGtUserEvent
      *            <code>ParallelCollection</code> or <code>Serial Collection</code> event with the greatest sys - user.
@@ -1121,4 +2129,240 @@ public class JvmDao {
     public void setWorstSysGtUserEvent(LogEvent worstSysGtUserEvent) {
         this.worstSysGtUserEvent = worstSysGtUserEvent;
     }
+
+    /**
+     * Spill blocking events to disk, so only the active segment of the columns is on heap.
+     * 
+     * @param directory
+     *            The directory for the temporary files (null for the default temporary file directory).
+     */
+    public void spill(File directory) {
+        blockingEventColumns.spill(directory);
+    }
+
+    /**
+     * Sort <code>blockingEventColumns</code> by timestamp, if an event was added out of
+     * order. The sort is stable (events with the same timestamp keep the order they were added in) and merges the
+     * already sorted runs, so interleaved or rotated logging costs O(n log n) once instead of shifting on every insert.
+     */
+    private void sortBlockingEvents() {
+        if (blockingEventsSorted) {
+            return;
+        }
+        Integer[] rows = new Integer[blockingEventColumns.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        Arrays.sort(rows, comparingLong(blockingEventColumns::getTimestamp));
+        int[] order = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            order[i] = rows[i];
+        }
+        blockingEventColumns.reorder(order);
+        rowsByTrigger.clear();
+        rowsByType.clear();
+        rowsIndexed = 0;
+        if (memoryRatesRows > 0) {
+            clearMemoryRates();
+        }
+        // Allocation is from the previous GC, so the rolled up rows are rolled up again in timestamp order.
+        if (rollupRows > 0) {
+            rollupHeapAfterGc = 0;
+            rollupRows = 0;
+            for (Rollup rollup : rollups.values()) {
+                rollup.clear();
+            }
+            for (SafepointEvent event : stoppedTimeEvents) {
+                rollupSafepoint(event);
+            }
+            for (SafepointEvent event : unifiedSafepointEvents) {
+                rollupSafepoint(event);
+            }
+        }
+        blockingEventsSorted = true;
+    }
+
+    /**
+     * Add the <code>blockingEventColumns</code> rows and <code>nonBlockingHeap</code> points not yet in
+     * <code>memoryRates</code>, merged in timestamp order (rows first for the same timestamp). Each rate interval is
+     * from the previous event, so the rates are computed again from the first event if an event is before the last
+     * one added.
+     */
+    private void updateMemoryRates() {
+        sortBlockingEvents();
+        if (nonBlockingHeap.sort()) {
+            clearMemoryRates();
+        }
+        int rows = blockingEventColumns.size();
+        while (memoryRatesRows < rows || memoryRatesPoints < nonBlockingHeap.size) {
+            boolean row = memoryRatesPoints == nonBlockingHeap.size || (memoryRatesRows < rows && blockingEventColumns
+                    .getTimestamp(memoryRatesRows) <= nonBlockingHeap.timestamps[memoryRatesPoints]);
+            long timestamp = row ? blockingEventColumns.getTimestamp(memoryRatesRows)
+                    : nonBlockingHeap.timestamps[memoryRatesPoints];
+            if (timestamp < memoryRatesTimestamp
+                    || (timestamp == memoryRatesTimestamp && row && memoryRatesPointLast)) {
+                clearMemoryRates();
+                continue;
+            }
+            if (row) {
+                memoryRates.add(blockingEventColumns, memoryRatesRows++);
+            } else {
+                memoryRates.add(timestamp, BlockingEventColumns.NO_DATA, BlockingEventColumns.NO_DATA,
+                        nonBlockingHeap.heapInit[memoryRatesPoints], nonBlockingHeap.heapEnd[memoryRatesPoints], false);
+                memoryRatesPoints++;
+            }
+            memoryRatesPointLast = !row;
+            memoryRatesTimestamp = timestamp;
+        }
+    }
+
+    /**
+     * Add the <code>blockingEventColumns</code> rows not yet in the rollups, in timestamp order.
+     */
+    private void updateRollups() {
+        sortBlockingEvents();
+        for (; rollupRows < blockingEventColumns.size(); rollupRows++) {
+            rollup(rollupRows);
+        }
+    }
+
+    /**
+     * Add the <code>blockingEventColumns</code> rows not yet in the secondary indexes. Rows are added in timestamp
+     * order, so the indexes stay sorted without sorting.
+     */
+    private void updateRowIndexes() {
+        sortBlockingEvents();
+        for (; rowsIndexed < blockingEventColumns.size(); rowsIndexed++) {
+            LogEventType eventType = blockingEventColumns.getEventType(rowsIndexed);
+            if (eventType != null) {
+                rowsByType.computeIfAbsent(eventType, key -> new RowIndex()).add(rowsIndexed);
+            }
+            GcTrigger trigger = blockingEventColumns.getTrigger(rowsIndexed);
+            if (trigger != null) {
+                rowsByTrigger.computeIfAbsent(trigger, key -> new RowIndex()).add(rowsIndexed);
+            }
+        }
+    }
+
+    /**
+     * Write the data needed to recreate this instance with <code>read</code>, so a run can be restored without parsing
+     * the logging again.
+     * 
+     * @param out
+     *            The stream to write to.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void write(EventOutputStream out) throws IOException {
+        sortBlockingEvents();
+        out.writeVarInt(worstPauseEvents.getSize());
+        out.writeEnums(analysis);
+        // Check the last pause time budget window, so its offending events keep their log entries
+        if (gcPauseSlo != null) {
+            getGcPauseSlo(gcPauseSlo.getBudget());
+        }
+        // The first, last, and first CmsIncrementalModeCollector events are recreated from their rows when read
+        if (firstBlockingEvent != null) {
+            blockingEventColumns.pin(0, firstBlockingEvent.getLogEntry());
+            blockingEventColumns.pin(blockingEventColumns.size() - 1, lastBlockingEvent.getLogEntry());
+        }
+        if (firstCmsIncrementalModeCollectorEvent != null) {
+            blockingEventColumns.pin(rows(cmsIncrementalModeCollectorEventTypes)[0],
+                    firstCmsIncrementalModeCollectorEvent.getLogEntry());
+        }
+        blockingEventColumns.write(out);
+        out.writeEnums(cmsIncrementalModeCollectorEventTypes);
+        out.writeEnums(eventTypes);
+        out.writeVarLong(extRootScanningTimeMax);
+        out.writeVarLong(extRootScanningTimeTotal);
+        writeLogEvent(out, firstLogEvent);
+        out.writeEnums(gcTriggers);
+        heapAfterOldCollection.write(out);
+        out.writeVarLong(invertedParallelismCount);
+        out.writeVarLong(invertedSerialismCount);
+        out.writeString(jvmContext.getOptions());
+        out.writeVarInt(jvmContext.getVersionMajor());
+        out.writeVarInt(jvmContext.getVersionMinor());
+        out.writeEnum(jvmContext.getBit());
+        out.writeEnum(jvmContext.getArch());
+        out.writeEnum(jvmContext.getBuiltBy());
+        out.writeEnum(jvmContext.getOs());
+        out.writeDate(jvmContext.getBuildDate());
+        out.writeString(jvmContext.getReleaseString());
+        out.writeString(jvmContext.getMemory());
+        out.writeEnums(jvmContext.getGarbageCollectors());
+        out.writeBoolean(logEndingUnidentified);
+        out.writeDate(logFileDate);
+        out.writeVarInt(maxClassSpaceNonBlocking);
+        out.writeVarInt(maxClassSpaceOccupancyNonBlocking);
+        out.writeVarInt(maxHeapOccupancyNonBlocking);
+        out.writeVarInt(maxHeapSpaceNonBlocking);
+        out.writeString(memory);
+        nonBlockingHeap.write(out);
+        out.writeVarLong(otherTimeMax);
+        out.writeVarLong(otherTimeTotal);
+        out.writeVarLong(parallelCount);
+        out.writeVarLong(physicalMemory);
+        out.writeVarLong(physicalMemoryFree);
+        out.writeEnums(preprocessEvents);
+        out.writeVarLong(serialCount);
+        out.writeVarInt(stoppedTimeEvents.size());
+        long priorTimestamp = 0;
+        for (ApplicationStoppedTimeEvent event : stoppedTimeEvents) {
+            out.writeString(event.getLogEntry());
+            out.writeVarLong(event.getTimestamp() - priorTimestamp);
+            priorTimestamp = event.getTimestamp();
+            out.writeVarLong(event.getTimeToStopThreads());
+            out.writeVarLong(event.getTimeThreadsStopped());
+        }
+        out.writeVarLong(swap);
+        out.writeVarLong(swapFree);
+        out.writeVarLong(sysGtUserCount);
+        out.writeStrings(unidentifiedLogLines);
+        out.writeVarInt(unifiedSafepointEvents.size());
+        for (UnifiedSafepointEvent event : unifiedSafepointEvents) {
+            out.writeString(event.getLogEntry());
+        }
+        out.writeString(vmInfo);
+        writeLogEvent(out, worstInvertedParallelismEvent);
+        writeLogEvent(out, worstInvertedSerialismEvent);
+        writeWorstEvents(out, worstParallelismEvents);
+        writeWorstEvents(out, worstPauseEvents);
+        writeLogEvent(out, worstSysGtUserEvent);
+    }
+
+    /**
+     * @param out
+     *            The stream to write to.
+     * @param event
+     *            The <code>LogEvent</code>, or null.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    private static void writeLogEvent(EventOutputStream out, LogEvent event) throws IOException {
+        out.writeBoolean(event != null);
+        if (event != null) {
+            out.writeEnum(JdkUtil.determineEventType(event.getName()));
+            out.writeString(event.getLogEntry());
+        }
+    }
+
+    /**
+     * @param out
+     *            The stream to write to.
+     * @param worstEvents
+     *            The worst events.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    private static void writeWorstEvents(EventOutputStream out, TopEvents<?> worstEvents) throws IOException {
+        List<? extends TopEvents.Entry<?>> entries = worstEvents.getEntries();
+        out.writeVarInt(entries.size());
+        for (TopEvents.Entry<?> entry : entries) {
+            out.writeVarLong(entry.getKey());
+            writeLogEvent(out, entry.getEvent());
+            writeLogEvent(out, entry.getPrevious());
+            writeLogEvent(out, entry.getNext());
+        }
+    }
 }
@@ -0,0 +1,375 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.eclipselabs.garbagecat.dao.BlockingEventColumns.NO_DATA;
+
+/**
+ * <p>
+ * Allocation, promotion, and old generation growth rates for any collector, updated as events with heap data are
+ * stored (in timestamp order), with the average over the run and the peak over fixed time buckets.
+ * </p>
+ *
+ * <p>
+ * Each event is compared with the previous event with heap data:
+ * </p>
+ *
+ * <ul>
+ * <li>Allocation: the young generation occupancy before the GC less the young generation occupancy after the previous
+ * GC when both have young generation data (<code>YoungData</code>), otherwise the heap occupancy before less the heap
+ * occupancy after the previous event (<code>OldData</code>, <code>CombinedData</code>).</li>
+ * <li>Promotion: the young generation space freed less the heap space freed, for events with young generation and heap
+ * data.</li>
+ * <li>Old generation growth: the change in the old generation occupancy after a GC pause and the previous GC pause
+ * (the heap occupancy after GC for collectors that do not log generations).</li>
+ * </ul>
+ *
+ * <p>
+ * The interval between the events is attributed to the bucket of the later event. The peak is the highest rate over
+ * the intervals in a bucket.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class MemoryRates {
+
+    /**
+     * A rate of change in memory.
+     */
+    public static class Rate {
+
+        /**
+         * The total change (kilobytes).
+         */
+        private long amount;
+
+        /**
+         * The change in the current bucket (kilobytes).
+         */
+        private long bucketAmount;
+
+        /**
+         * The time covered in the current bucket (milliseconds).
+         */
+        private long bucketMillis;
+
+        /**
+         * The current bucket start (milliseconds after JVM startup).
+         */
+        private long bucketTimestamp;
+
+        /**
+         * The total time covered (milliseconds).
+         */
+        private long millis;
+
+        /**
+         * The highest rate in a closed bucket (kilobytes per second), or <code>Long.MIN_VALUE</code> if there is none.
+         */
+        private long peak = Long.MIN_VALUE;
+
+        /**
+         * The start of the bucket with the highest rate (milliseconds after JVM startup).
+         */
+        private long peakTimestamp;
+
+        /**
+         * @param bucketTimestamp
+         *            The bucket start (milliseconds after JVM startup).
+         * @param amount
+         *            The change (kilobytes).
+         * @param millis
+         *            The time covered (milliseconds).
+         */
+        private void add(long bucketTimestamp, long amount, long millis) {
+            if (bucketTimestamp != this.bucketTimestamp) {
+                closeBucket();
+                this.bucketTimestamp = bucketTimestamp;
+            }
+            bucketAmount += amount;
+            bucketMillis += millis;
+            this.amount += amount;
+            this.millis += millis;
+        }
+
+        private void clear() {
+            amount = 0;
+            bucketAmount = 0;
+            bucketMillis = 0;
+            bucketTimestamp = 0;
+            millis = 0;
+            peak = Long.MIN_VALUE;
+            peakTimestamp = 0;
+        }
+
+        /**
+         * Update the peak with the current bucket and start a new one.
+         */
+        private void closeBucket() {
+            if (isPeakBucket()) {
+                peak = rate(bucketAmount, bucketMillis);
+                peakTimestamp = bucketTimestamp;
+            }
+            bucketAmount = 0;
+            bucketMillis = 0;
+        }
+
+        /**
+         * @return The average rate over the run (kilobytes per second), or 0 if no time is covered.
+         */
+        public long getAverage() {
+            return rate(amount, millis);
+        }
+
+        /**
+         * @return The total time covered (milliseconds).
+         */
+        public long getMillis() {
+            return millis;
+        }
+
+        /**
+         * @return The highest rate over a bucket (kilobytes per second), or 0 if no time is covered.
+         */
+        public long getPeak() {
+            if (isPeakBucket()) {
+                return rate(bucketAmount, bucketMillis);
+            }
+            return peak == Long.MIN_VALUE ? 0 : peak;
+        }
+
+        /**
+         * @return The start of the bucket with the highest rate (milliseconds after JVM startup).
+         */
+        public long getPeakTimestamp() {
+            return isPeakBucket() ? bucketTimestamp : peakTimestamp;
+        }
+
+        /**
+         * @return The total change (kilobytes).
+         */
+        public long getTotal() {
+            return amount;
+        }
+
+        /**
+         * @return True if the current bucket has a higher rate than the closed buckets.
+         */
+        private boolean isPeakBucket() {
+            return bucketMillis > 0 && rate(bucketAmount, bucketMillis) > peak;
+        }
+    }
+
+    /**
+     * Default bucket size (milliseconds).
+     */
+    public static final long DEFAULT_BUCKET_MILLIS = 60000;
+
+    /**
+     * Old generation measure: the heap occupancy (no generation data).
+     */
+    private static final int MEASURE_HEAP = 2;
+
+    /**
+     * Old generation measure: the old generation occupancy.
+     */
+    private static final int MEASURE_OLD = 1;
+
+    /**
+     * @param amount
+     *            The change (kilobytes).
+     * @param millis
+     *            The time (milliseconds).
+     * @return The rate (kilobytes per second), or 0 if the time is 0.
+     */
+    private static long rate(long amount, long millis) {
+        return millis <= 0 ? 0 : amount * 1000 / millis;
+    }
+
+    /**
+     * The allocation rate.
+     */
+    private final Rate allocation = new Rate();
+
+    /**
+     * The bucket size (milliseconds).
+     */
+    private final long bucketMillis;
+
+    /**
+     * The old generation growth rate.
+     */
+    private final Rate oldGrowth = new Rate();
+
+    /**
+     * Whether there is a previous event.
+     */
+    private boolean previous;
+
+    /**
+     * The heap occupancy after the previous event (kilobytes), or <code>NO_DATA</code>.
+     */
+    private int previousHeapEnd = NO_DATA;
+
+    /**
+     * The old generation occupancy after the previous event (kilobytes), measured with <code>previousOldMeasure</code>.
+     */
+    private int previousOld = NO_DATA;
+
+    /**
+     * How <code>previousOld</code> was measured (<code>MEASURE_OLD</code> or <code>MEASURE_HEAP</code>), or 0 if no
+     * previous event had heap data.
+     */
+    private int previousOldMeasure;
+
+    /**
+     * The timestamp of <code>previousOld</code> (milliseconds after JVM startup).
+     */
+    private long previousOldTimestamp;
+
+    /**
+     * The previous event timestamp (milliseconds after JVM startup).
+     */
+    private long previousTimestamp;
+
+    /**
+     * The young generation occupancy after the previous event (kilobytes), or <code>NO_DATA</code>.
+     */
+    private int previousYoungEnd = NO_DATA;
+
+    /**
+     * The promotion rate.
+     */
+    private final Rate promotion = new Rate();
+
+    /**
+     * @param bucketMillis
+     *            The bucket size (milliseconds).
+     */
+    public MemoryRates(long bucketMillis) {
+        if (bucketMillis <= 0) {
+            throw new IllegalArgumentException("Invalid bucket size: " + bucketMillis);
+        }
+        this.bucketMillis = bucketMillis;
+    }
+
+    /**
+     * Add a <code>BlockingEventColumns</code> row.
+     *
+     * @param columns
+     *            The columns.
+     * @param row
+     *            The row.
+     */
+    void add(BlockingEventColumns columns, int row) {
+        add(columns.getTimestamp(row), columns.getYoungOccupancyInit(row), columns.getYoungOccupancyEnd(row),
+                columns.getHeapOccupancyInit(row), columns.getHeapOccupancyEnd(row), true);
+    }
+
+    /**
+     * Add an event.
+     *
+     * @param timestamp
+     *            The event timestamp (milliseconds after JVM startup).
+     * @param youngInit
+     *            The young generation occupancy before the event (kilobytes), or <code>NO_DATA</code>.
+     * @param youngEnd
+     *            The young generation occupancy after the event (kilobytes), or <code>NO_DATA</code>.
+     * @param heapInit
+     *            The heap occupancy before the event (kilobytes), or <code>NO_DATA</code>.
+     * @param heapEnd
+     *            The heap occupancy after the event (kilobytes), or <code>NO_DATA</code>.
+     * @param pause
+     *            Whether the event is a GC pause. Old generation growth is only measured at pauses, since the heap
+     *            occupancy after a concurrent phase includes allocation during the phase.
+     */
+    void add(long timestamp, int youngInit, int youngEnd, int heapInit, int heapEnd, boolean pause) {
+        boolean young = youngInit >= 0 && youngEnd >= 0;
+        boolean heap = heapInit > 0 && heapEnd > 0;
+        if (!young && !heap) {
+            return;
+        }
+        long bucket = Math.floorDiv(timestamp, bucketMillis) * bucketMillis;
+        long millis = Math.max(0, timestamp - previousTimestamp);
+        if (previous) {
+            if (young && previousYoungEnd >= 0) {
+                allocation.add(bucket, Math.max(0, youngInit - previousYoungEnd), millis);
+            } else if (heap && previousHeapEnd > 0) {
+                allocation.add(bucket, Math.max(0, heapInit - previousHeapEnd), millis);
+            }
+            if (young && heap) {
+                promotion.add(bucket, Math.max(0, (youngInit - youngEnd) - (heapInit - heapEnd)), millis);
+            }
+        }
+        if (pause && heap) {
+            int oldMeasure = MEASURE_HEAP;
+            int old = heapEnd;
+            if (young) {
+                oldMeasure = MEASURE_OLD;
+                old = heapEnd - youngEnd;
+            }
+            if (oldMeasure == previousOldMeasure) {
+                oldGrowth.add(bucket, old - previousOld, Math.max(0, timestamp - previousOldTimestamp));
+            }
+            previousOld = old;
+            previousOldMeasure = oldMeasure;
+            previousOldTimestamp = timestamp;
+        }
+        previous = true;
+        previousHeapEnd = heap ? heapEnd : NO_DATA;
+        previousTimestamp = timestamp;
+        previousYoungEnd = young ? youngEnd : NO_DATA;
+    }
+
+    /**
+     * Remove all data.
+     */
+    void clear() {
+        allocation.clear();
+        oldGrowth.clear();
+        promotion.clear();
+        previous = false;
+        previousHeapEnd = NO_DATA;
+        previousOld = NO_DATA;
+        previousOldMeasure = 0;
+        previousOldTimestamp = 0;
+        previousTimestamp = 0;
+        previousYoungEnd = NO_DATA;
+    }
+
+    /**
+     * @return The allocation rate.
+     */
+    public Rate getAllocation() {
+        return allocation;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * @return The old generation growth rate (negative if the old generation shrank).
+     */
+    public Rate getOldGrowth() {
+        return oldGrowth;
+    }
+
+    /**
+     * @return The promotion rate.
+     */
+    public Rate getPromotion() {
+        return promotion;
+    }
+}
@@ -0,0 +1,299 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
+
+/**
+ * <p>
+ * Event aggregates in fixed time buckets at one resolution, updated as events are stored, so timeline charts and time
+ * range summaries read one row per bucket instead of every event.
+ * </p>
+ *
+ * <p>
+ * Only buckets with events are kept. A bucket's timestamp is its start (a multiple of the resolution).
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class Rollup {
+
+    /**
+     * Aggregates for one time bucket.
+     */
+    public static class Bucket {
+
+        /**
+         * Memory allocated between the previous GC and the GCs in the bucket (kilobytes).
+         */
+        private long allocation;
+
+        /**
+         * The maximum heap occupancy after GC (kilobytes), or 0 if no GC in the bucket logged it.
+         */
+        private int heapAfterGcMax;
+
+        /**
+         * The minimum heap occupancy after GC (kilobytes), or 0 if no GC in the bucket logged it.
+         */
+        private int heapAfterGcMin;
+
+        /**
+         * The number of <code>BlockingEvent</code>s.
+         */
+        private int pauseCount;
+
+        /**
+         * The maximum <code>BlockingEvent</code> pause duration (microseconds).
+         */
+        private long pauseMax;
+
+        /**
+         * The total <code>BlockingEvent</code> pause duration (microseconds).
+         */
+        private long pauseTotal;
+
+        /**
+         * The total <code>SafepointEvent</code> duration (microseconds).
+         */
+        private long safepointTotal;
+
+        /**
+         * The bucket start (milliseconds after JVM startup).
+         */
+        private final long timestamp;
+
+        /**
+         * The number of <code>BlockingEvent</code>s by <code>GcTrigger</code>.
+         */
+        private final Map<GcTrigger, Integer> triggerCounts = new EnumMap<GcTrigger, Integer>(GcTrigger.class);
+
+        /**
+         * @param timestamp
+         *            The bucket start (milliseconds after JVM startup).
+         */
+        private Bucket(long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        public long getAllocation() {
+            return allocation;
+        }
+
+        public int getHeapAfterGcMax() {
+            return heapAfterGcMax;
+        }
+
+        public int getHeapAfterGcMin() {
+            return heapAfterGcMin;
+        }
+
+        public int getPauseCount() {
+            return pauseCount;
+        }
+
+        public long getPauseMax() {
+            return pauseMax;
+        }
+
+        public long getPauseTotal() {
+            return pauseTotal;
+        }
+
+        public long getSafepointTotal() {
+            return safepointTotal;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return The number of <code>BlockingEvent</code>s by <code>GcTrigger</code>.
+         */
+        public Map<GcTrigger, Integer> getTriggerCounts() {
+            return Collections.unmodifiableMap(triggerCounts);
+        }
+    }
+
+    /**
+     * Bucket sizes.
+     */
+    public enum Resolution {
+        HOUR(3600000L, "1h"), MINUTE(60000L, "1m"), SECOND(1000L, "1s");
+
+        /**
+         * @param literal
+         *            The resolution literal (e.g. "1m").
+         * @return The <code>Resolution</code> with the literal, or null if there is none.
+         */
+        public static Resolution fromLiteral(String literal) {
+            for (Resolution resolution : values()) {
+                if (resolution.literal.equals(literal)) {
+                    return resolution;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * The resolution literal.
+         */
+        private final String literal;
+
+        /**
+         * The bucket size (milliseconds).
+         */
+        private final long millis;
+
+        private Resolution(long millis, String literal) {
+            this.millis = millis;
+            this.literal = literal;
+        }
+
+        public String getLiteral() {
+            return literal;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    /**
+     * The buckets by start timestamp.
+     */
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<Long, Bucket>();
+
+    /**
+     * The bucket updated last, checked first since events are mostly stored in timestamp order.
+     */
+    private Bucket lastBucket;
+
+    /**
+     * The bucket size.
+     */
+    private final Resolution resolution;
+
+    /**
+     * @param resolution
+     *            The bucket size.
+     */
+    public Rollup(Resolution resolution) {
+        this.resolution = resolution;
+    }
+
+    /**
+     * @param timestamp
+     *            The event timestamp (milliseconds after JVM startup).
+     * @return The bucket holding the timestamp, created if it does not exist.
+     */
+    private Bucket bucket(long timestamp) {
+        long start = Math.floorDiv(timestamp, resolution.millis) * resolution.millis;
+        if (lastBucket == null || lastBucket.timestamp != start) {
+            lastBucket = buckets.computeIfAbsent(start, Bucket::new);
+        }
+        return lastBucket;
+    }
+
+    /**
+     * Add a <code>BlockingEvent</code>.
+     *
+     * @param timestamp
+     *            The event timestamp (milliseconds after JVM startup).
+     * @param durationMicros
+     *            The pause duration (microseconds).
+     * @param heapAfterGc
+     *            The heap occupancy after GC (kilobytes), or 0 if not logged.
+     * @param allocation
+     *            Memory allocated since the previous GC (kilobytes).
+     * @param trigger
+     *            The <code>GcTrigger</code>, or null if not logged.
+     */
+    void addPause(long timestamp, long durationMicros, int heapAfterGc, long allocation, GcTrigger trigger) {
+        Bucket bucket = bucket(timestamp);
+        bucket.pauseCount++;
+        bucket.pauseTotal += durationMicros;
+        bucket.pauseMax = Math.max(bucket.pauseMax, durationMicros);
+        bucket.allocation += allocation;
+        if (heapAfterGc > 0) {
+            bucket.heapAfterGcMax = Math.max(bucket.heapAfterGcMax, heapAfterGc);
+            bucket.heapAfterGcMin = bucket.heapAfterGcMin == 0 ? heapAfterGc
+                    : Math.min(bucket.heapAfterGcMin, heapAfterGc);
+        }
+        if (trigger != null) {
+            bucket.triggerCounts.merge(trigger, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Add a <code>SafepointEvent</code>.
+     *
+     * @param timestamp
+     *            The event timestamp (milliseconds after JVM startup).
+     * @param durationMicros
+     *            The safepoint duration (microseconds).
+     */
+    void addSafepoint(long timestamp, long durationMicros) {
+        bucket(timestamp).safepointTotal += durationMicros;
+    }
+
+    /**
+     * Remove all buckets.
+     */
+    void clear() {
+        buckets.clear();
+        lastBucket = null;
+    }
+
+    /**
+     * @return The buckets in timestamp order.
+     */
+    public List<Bucket> getBuckets() {
+        return new ArrayList<Bucket>(buckets.values());
+    }
+
+    /**
+     * @param timestampFrom
+     *            The start of the range (milliseconds after JVM startup, inclusive).
+     * @param timestampTo
+     *            The end of the range (milliseconds after JVM startup, exclusive).
+     * @return The buckets that overlap the range, in timestamp order.
+     */
+    public List<Bucket> getBuckets(long timestampFrom, long timestampTo) {
+        if (timestampTo <= timestampFrom) {
+            return new ArrayList<Bucket>();
+        }
+        long from = Math.floorDiv(timestampFrom, resolution.millis) * resolution.millis;
+        return new ArrayList<Bucket>(buckets.subMap(from, true, timestampTo, false).values());
+    }
+
+    public Resolution getResolution() {
+        return resolution;
+    }
+
+    /**
+     * @return The number of buckets.
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
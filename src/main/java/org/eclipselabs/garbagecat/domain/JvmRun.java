@@ -34,7 +34,9 @@ import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_GC_SAFEPOINT_RAT
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_GC_SAFEPOINT_RATIO_JDK17;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_GC_STOPPED_RATIO;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_GC_STOPPED_RATIO_JDK17;
+import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_HEAP_LEAK_TREND;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PARALLELISM_INVERTED;
+import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PAUSE_SLO;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PERM_MIN_NOT_EQUAL_MAX;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PERM_SIZE_NOT_SET;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PRINT_COMMANDLINE_FLAGS;
@@ -45,11 +47,11 @@ import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PRINT_GC_CAUSE_N
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_SERIALISM_INVERTED;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_SERIAL_GC;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_SYS_GT_USER;
+import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_TIME_TO_SAFEPOINT;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_UNIDENTIFIED_LOG_LINE_REPORT;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
@@ -61,9 +63,17 @@ import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction.PreprocessEvent;
 import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
+import org.eclipselabs.garbagecat.util.Bottlenecks;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.DateStampFormat;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.LinearRegression;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.MutatorUtilization;
+import org.eclipselabs.garbagecat.util.PauseHistogram;
+import org.eclipselabs.garbagecat.util.PauseSlo;
+import org.eclipselabs.garbagecat.util.SafepointJoin;
+import org.eclipselabs.garbagecat.util.TopEvents;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
@@ -86,11 +96,41 @@ import org.github.joa.domain.JvmContext;
  */
 public class JvmRun {
 
+    /**
+     * Log entry that includes a datestamp.
+     */
+    private static final Pattern PATTERN_DATESTAMP = Pattern.compile("^(.*)" + JdkRegEx.DATESTAMP + "(.*)$");
+
+    /**
+     * Log entry that starts with a datestamp and no timestamp.
+     */
+    private static final Pattern PATTERN_DATESTAMP_EVENT = Pattern.compile(JdkRegEx.DATESTAMP_EVENT);
+
+    /**
+     * Unified logging entry with a time decorator.
+     */
+    private static final Pattern PATTERN_TIME_DECORATOR = Pattern.compile(UnifiedRegEx.TIME_DECORATOR);
+
+    /**
+     * Log entry with a timestamp decorator (e.g. <code>487.020: </code>).
+     */
+    private static final Pattern PATTERN_TIMESTAMP_DECORATOR = Pattern.compile(JdkRegEx.TIMESTAMP + "(: )");
+
     /**
      * Memory being allocated per second (kilobytes).
      */
     private BigDecimal allocationRate;
 
+    /**
+     * Highest memory allocated per second over a time bucket (kilobytes), or null if not available.
+     */
+    private BigDecimal allocationRatePeak;
+
+    /**
+     * The start of the time bucket with the highest allocation rate (milliseconds after JVM startup).
+     */
+    private long allocationRatePeakTimestamp;
+
     /**
      * Analysis.
      */
@@ -144,13 +184,28 @@ public class JvmRun {
     /**
      * <code>BlockingEvent</code>s where throughput does not meet the throughput goal.
      */
-    private List<String> gcBottlenecks;
+    private Bottlenecks<BlockingEvent> gcBottlenecks;
+
+    /**
+     * GC pause duration (microseconds) histogram.
+     */
+    private PauseHistogram gcPauseHistogram;
+
+    /**
+     * GC pause time windows over the pause time budget, or null if no budget.
+     */
+    private PauseSlo<BlockingEvent> gcPauseSlo;
 
     /**
      * GC triggers.
      */
     private List<GcTrigger> gcTriggers;
 
+    /**
+     * Heap occupancy after <code>OldCollection</code>s (kilobytes) over time (seconds after JVM startup).
+     */
+    private LinearRegression heapAfterOldCollection;
+
     /**
      * Number of <code>ParallelCollection</code> with "inverted" parallelism.
      */
@@ -261,6 +316,22 @@ public class JvmRun {
      */
     private String memory;
 
+    /**
+     * Minimum mutator utilization: the worst window for each window size.
+     */
+    private List<MutatorUtilization.Window> mmu;
+
+    /**
+     * Old generation occupancy growth per second (kilobytes, negative if the old generation shrank), or null if not
+     * available.
+     */
+    private BigDecimal oldGrowthRate;
+
+    /**
+     * Highest old generation occupancy growth per second over a time bucket (kilobytes), or null if not available.
+     */
+    private BigDecimal oldGrowthRatePeak;
+
     /**
      * Maximum "Other" time (microseconds).
      */
@@ -291,6 +362,17 @@ public class JvmRun {
      */
     private boolean preprocessed;
 
+    /**
+     * Memory promoted to the old generation per second (kilobytes), or null if not available.
+     */
+    private BigDecimal promotionRate;
+
+    /**
+     * Highest memory promoted to the old generation per second over a time bucket (kilobytes), or null if not
+     * available.
+     */
+    private BigDecimal promotionRatePeak;
+
     /**
      * List of all preparsing events associate with the JVM run.
      */
@@ -299,13 +381,23 @@ public class JvmRun {
     /**
      * <code>SafepointEvent</code>s where throughput does not meet the throughput goal.
      */
-    private List<String> safepointBottlenecks;
+    private Bottlenecks<SafepointEvent> safepointBottlenecks;
 
     /**
      * <code>SafepointEventSummary</code> used for reporting.
      */
     private List<SafepointEventSummary> safepointEventSummaries = null;
 
+    /**
+     * GC pauses joined with the safepoints enclosing them.
+     */
+    private SafepointJoin safepointJoin;
+
+    /**
+     * Safepoint pause time windows over the pause time budget, or null if no budget.
+     */
+    private PauseSlo<SafepointEvent> safepointPauseSlo;
+
     /**
      * Number of <code>SerialCollection</code> events.
      */
@@ -321,6 +413,11 @@ public class JvmRun {
      */
     private int stoppedTimeEventCount;
 
+    /**
+     * Stopped time duration (microseconds) histogram.
+     */
+    private PauseHistogram stoppedTimeHistogram;
+
     /**
      * Maximum stopped time duration (microseconds).
      */
@@ -362,6 +459,11 @@ public class JvmRun {
      */
     private int unifiedSafepointEventCount;
 
+    /**
+     * Unified safepoint time duration (microseconds) histogram.
+     */
+    private PauseHistogram unifiedSafepointHistogram;
+
     /**
      * Maximum safepoint time duration (nanoseconds).
      */
@@ -387,11 +489,34 @@ public class JvmRun {
      */
     private LogEvent worstInvertedSerialismEvent;
 
+    /**
+     * <code>ParallelCollection</code> events with the lowest parallelism, lowest first, with the parallel events before
+     * and after.
+     */
+    private List<TopEvents.Entry<LogEvent>> worstParallelismEvents = new ArrayList<TopEvents.Entry<LogEvent>>();
+
+    /**
+     * <code>BlockingEvent</code>s with the longest pauses, longest first, with the events before and after.
+     */
+    private List<TopEvents.Entry<BlockingEvent>> worstPauseEvents = new ArrayList<TopEvents.Entry<BlockingEvent>>();
+
+    /**
+     * <code>SafepointEvent</code>s with the longest total time, longest first, with the events before and after.
+     */
+    private List<TopEvents.Entry<SafepointEvent>> worstSafepointEvents =
+            new ArrayList<TopEvents.Entry<SafepointEvent>>();
+
     /**
      * <code>ParallelCollection</code> or <code>Serial Collection</code> event with the greatest sys - user.
      */
     private LogEvent worstSysGtUserEvent;
 
+    /**
+     * <code>SafepointEvent</code>s with the longest time to safepoint, longest first, with the events before and after.
+     */
+    private List<TopEvents.Entry<SafepointEvent>> worstTimeToSafepointEvents =
+            new ArrayList<TopEvents.Entry<SafepointEvent>>();
+
     /**
      * @param throughputThreshold
      *            The threshold for throughput reporting.
@@ -464,8 +589,8 @@ public class JvmRun {
         // Check for partial log
         if (firstLogEvent != null) {
             long firstLogEventTimestamp = Long.MIN_VALUE;
-            if (!firstLogEvent.getLogEntry().matches(JdkRegEx.DATESTAMP_EVENT)
-                    && !firstLogEvent.getLogEntry().matches(UnifiedRegEx.TIME_DECORATOR)) {
+            if (!PATTERN_DATESTAMP_EVENT.matcher(firstLogEvent.getLogEntry()).matches()
+                    && !PATTERN_TIME_DECORATOR.matcher(firstLogEvent.getLogEntry()).matches()) {
                 firstLogEventTimestamp = firstLogEvent.getTimestamp();
             }
             if (firstLogEventTimestamp < 0 && startDate != null) {
@@ -506,6 +631,27 @@ public class JvmRun {
                 analysis.add(WARN_GC_SAFEPOINT_RATIO);
             }
         }
+        // Check for significant time reaching safepoints
+        if (safepointEventSummaries != null && !safepointEventSummaries.isEmpty()) {
+            long pauseTotal = 0;
+            long timeToSafepointMax = 0;
+            long timeToSafepointTotal = 0;
+            for (SafepointEventSummary summary : safepointEventSummaries) {
+                pauseTotal += summary.getPauseTotal();
+                timeToSafepointMax = Math.max(timeToSafepointMax, summary.getTimeToSafepointMax());
+                timeToSafepointTotal += summary.getTimeToSafepointTotal();
+            }
+            if (pauseTotal > 0
+                    && timeToSafepointTotal * 100 >= pauseTotal * Constants.TIME_TO_SAFEPOINT_RATIO_THRESHOLD
+                    && timeToSafepointMax >= Constants.TIME_TO_SAFEPOINT_THRESHOLD * 1000L) {
+                analysis.add(WARN_TIME_TO_SAFEPOINT);
+            }
+        }
+        // Check for pause time budget violations
+        if ((gcPauseSlo != null && !gcPauseSlo.getViolations().isEmpty())
+                || (safepointPauseSlo != null && !safepointPauseSlo.getViolations().isEmpty())) {
+            analysis.add(WARN_PAUSE_SLO);
+        }
         // Check if logging indicates gc details missing
         if (!hasAnalysis(org.github.joa.util.Analysis.WARN_JDK8_PRINT_GC_DETAILS_MISSING.getKey())
                 && !hasAnalysis(org.github.joa.util.Analysis.WARN_JDK8_PRINT_GC_DETAILS_DISABLED.getKey())) {
@@ -554,6 +700,10 @@ public class JvmRun {
                 && maxYoungSpace.compareTo(maxOldSpace) >= 0) {
             analysis.add(INFO_NEW_RATIO_INVERTED);
         }
+        // Check for heap occupancy after old collections increasing over time
+        if (isHeapLeakTrend()) {
+            analysis.add(WARN_HEAP_LEAK_TREND);
+        }
         // Check for inverted parallelism
         if (getInvertedParallelismCount() > 0) {
             analysis.add(WARN_PARALLELISM_INVERTED);
@@ -698,6 +848,14 @@ public class JvmRun {
         return allocationRate;
     }
 
+    public BigDecimal getAllocationRatePeak() {
+        return allocationRatePeak;
+    }
+
+    public long getAllocationRatePeakTimestamp() {
+        return allocationRatePeakTimestamp;
+    }
+
     /**
      * @return Analysis as a <code>List</code> of String arrays with 2 elements, the first the key, the second the
      *         display literal.
@@ -831,19 +989,13 @@ public class JvmRun {
     public final String getFirstEventDatestamp() {
         String datestamp = null;
         LogEvent firstEvent = getFirstEvent();
-        String regexDatestamp = "^(.*)" + JdkRegEx.DATESTAMP + "(.*)$";
-        Pattern patternDatestamp = Pattern.compile(regexDatestamp);
-        Matcher matcher = patternDatestamp.matcher(firstEvent.getLogEntry());
+        Matcher matcher = PATTERN_DATESTAMP.matcher(firstEvent.getLogEntry());
         if (matcher.find()) {
             datestamp = matcher.group(2);
         } else if (startDate != null) {
-            String regexTimestamp = JdkRegEx.TIMESTAMP + "(: )";
-            Pattern patternTimestamp = Pattern.compile(regexTimestamp);
-            matcher = patternTimestamp.matcher(firstEvent.getLogEntry());
+            matcher = PATTERN_TIMESTAMP_DECORATOR.matcher(firstEvent.getLogEntry());
             if (matcher.find()) {
-                Date date = GcUtil.getDatePlusTimestamp(startDate, firstEvent.getTimestamp());
-                SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-                datestamp = formatter.format(date);
+                datestamp = DateStampFormat.format(startDate.getTime() + firstEvent.getTimestamp());
             }
         }
         return datestamp;
@@ -861,8 +1013,20 @@ public class JvmRun {
         return firstSafepointEvent;
     }
 
+    /**
+     * @return The log entries of the <code>BlockingEvent</code>s where throughput does not meet the throughput goal,
+     *         with timestamps converted to datestamps if the JVM start date is known, rendered when called.
+     */
     public List<String> getGcBottlenecks() {
-        return gcBottlenecks;
+        return gcBottlenecks == null ? null : gcBottlenecks.getLogEntries(startDate);
+    }
+
+    public PauseHistogram getGcPauseHistogram() {
+        return gcPauseHistogram;
+    }
+
+    public PauseSlo<BlockingEvent> getGcPauseSlo() {
+        return gcPauseSlo;
     }
 
     /**
@@ -913,6 +1077,35 @@ public class JvmRun {
         return ratio.movePointRight(2).longValue();
     }
 
+    public LinearRegression getHeapAfterOldCollection() {
+        return heapAfterOldCollection;
+    }
+
+    /**
+     * @return The heap occupancy growth after <code>OldCollection</code>s per second (kilobytes) if it is a leak
+     *         trend, or null if it is not.
+     */
+    public BigDecimal getHeapLeakRate() {
+        if (!isHeapLeakTrend()) {
+            return null;
+        }
+        return BigDecimal.valueOf(heapAfterOldCollection.getSlope()).setScale(0, HALF_EVEN);
+    }
+
+    /**
+     * @return The estimated time (seconds) from the last <code>OldCollection</code> until the heap occupancy after
+     *         <code>OldCollection</code>s reaches the maximum heap size at the leak trend (0 if it already has), or -1
+     *         if there is no leak trend or the maximum heap size is not known.
+     */
+    public long getHeapLeakTimeToMaxHeap() {
+        if (!isHeapLeakTrend() || maxHeapSpace == null || maxHeapSpace.getValue(KILOBYTES) <= 0) {
+            return -1;
+        }
+        double occupancy = heapAfterOldCollection.predict(heapAfterOldCollection.getMaxX());
+        double seconds = (maxHeapSpace.getValue(KILOBYTES) - occupancy) / heapAfterOldCollection.getSlope();
+        return Math.max(0, Math.round(seconds));
+    }
+
     public long getInvertedParallelismCount() {
         return invertedParallelismCount;
     }
@@ -974,19 +1167,13 @@ public class JvmRun {
     public final String getLastEventDatestamp() {
         String datestamp = null;
         LogEvent lastEvent = getLastEvent();
-        String regexDatestamp = "^(.*)" + JdkRegEx.DATESTAMP + "(.*)$";
-        Pattern patternDatestamp = Pattern.compile(regexDatestamp);
-        Matcher matcher = patternDatestamp.matcher(lastEvent.getLogEntry());
+        Matcher matcher = PATTERN_DATESTAMP.matcher(lastEvent.getLogEntry());
         if (matcher.find()) {
             datestamp = matcher.group(2);
         } else if (startDate != null) {
-            String regexTimestamp = JdkRegEx.TIMESTAMP + "(: )";
-            Pattern patternTimestamp = Pattern.compile(regexTimestamp);
-            matcher = patternTimestamp.matcher(lastEvent.getLogEntry());
+            matcher = PATTERN_TIMESTAMP_DECORATOR.matcher(lastEvent.getLogEntry());
             if (matcher.find()) {
-                Date date = GcUtil.getDatePlusTimestamp(startDate, lastEvent.getTimestamp());
-                SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-                datestamp = formatter.format(date);
+                datestamp = DateStampFormat.format(startDate.getTime() + lastEvent.getTimestamp());
             }
         }
         return datestamp;
@@ -1088,6 +1275,10 @@ public class JvmRun {
         return memory;
     }
 
+    public List<MutatorUtilization.Window> getMmu() {
+        return mmu;
+    }
+
     /**
      * @return Ratio of old/young space sizes rounded to whole number.
      */
@@ -1100,6 +1291,14 @@ public class JvmRun {
         return ratio.intValue();
     }
 
+    public BigDecimal getOldGrowthRate() {
+        return oldGrowthRate;
+    }
+
+    public BigDecimal getOldGrowthRatePeak() {
+        return oldGrowthRatePeak;
+    }
+
     public long getOtherTimeMax() {
         return otherTimeMax;
     }
@@ -1137,14 +1336,34 @@ public class JvmRun {
         return preprocessEvents;
     }
 
+    public BigDecimal getPromotionRate() {
+        return promotionRate;
+    }
+
+    public BigDecimal getPromotionRatePeak() {
+        return promotionRatePeak;
+    }
+
+    /**
+     * @return The log entries of the <code>SafepointEvent</code>s where throughput does not meet the throughput goal,
+     *         with timestamps converted to datestamps if the JVM start date is known, rendered when called.
+     */
     public List<String> getSafepointBottlenecks() {
-        return safepointBottlenecks;
+        return safepointBottlenecks == null ? null : safepointBottlenecks.getLogEntries(startDate);
     }
 
     public List<SafepointEventSummary> getSafepointEventSummaries() {
         return safepointEventSummaries;
     }
 
+    public SafepointJoin getSafepointJoin() {
+        return safepointJoin;
+    }
+
+    public PauseSlo<SafepointEvent> getSafepointPauseSlo() {
+        return safepointPauseSlo;
+    }
+
     public long getSerialCount() {
         return serialCount;
     }
@@ -1160,6 +1379,10 @@ public class JvmRun {
         return stoppedTimeEventCount;
     }
 
+    public PauseHistogram getStoppedTimeHistogram() {
+        return stoppedTimeHistogram;
+    }
+
     public long getStoppedTimeMax() {
         return stoppedTimeMax;
     }
@@ -1210,6 +1433,10 @@ public class JvmRun {
         return unifiedSafepointEventCount;
     }
 
+    public PauseHistogram getUnifiedSafepointHistogram() {
+        return unifiedSafepointHistogram;
+    }
+
     /**
      * @return Throughput based on safepoint time as a percent rounded to the nearest integer. Safepoint time throughput
      *         is the percent of total time the JVM threads were running (not in a safepoint). 0 means all safepoint
@@ -1249,10 +1476,26 @@ public class JvmRun {
         return worstInvertedSerialismEvent;
     }
 
+    public List<TopEvents.Entry<LogEvent>> getWorstParallelismEvents() {
+        return worstParallelismEvents;
+    }
+
+    public List<TopEvents.Entry<BlockingEvent>> getWorstPauseEvents() {
+        return worstPauseEvents;
+    }
+
+    public List<TopEvents.Entry<SafepointEvent>> getWorstSafepointEvents() {
+        return worstSafepointEvents;
+    }
+
     public LogEvent getWorstSysGtUserEvent() {
         return worstSysGtUserEvent;
     }
 
+    public List<TopEvents.Entry<SafepointEvent>> getWorstTimeToSafepointEvents() {
+        return worstTimeToSafepointEvents;
+    }
+
     /**
      * @param key
      *            The analysis to check.
@@ -1279,9 +1522,8 @@ public class JvmRun {
      */
     public boolean hasDatestamps() {
         boolean hasDatestamps = false;
-        String regexDatestamp = "^(.*)" + JdkRegEx.DATESTAMP + "(.*)$";
         if (getFirstEvent() != null && getFirstEvent().getLogEntry() != null
-                && getFirstEvent().getLogEntry().matches(regexDatestamp)) {
+                && PATTERN_DATESTAMP.matcher(getFirstEvent().getLogEntry()).matches()) {
             hasDatestamps = true;
         }
         return hasDatestamps;
@@ -1294,6 +1536,17 @@ public class JvmRun {
         return getEventTypes().size() >= 2 || !getEventTypes().contains(LogEventType.UNKNOWN);
     }
 
+    /**
+     * @return true if the heap occupancy after <code>OldCollection</code>s is increasing over time with statistical
+     *         significance (a possible memory leak), false otherwise.
+     */
+    public boolean isHeapLeakTrend() {
+        return heapAfterOldCollection != null
+                && heapAfterOldCollection.getCount() >= Constants.HEAP_LEAK_TREND_MIN_COLLECTIONS
+                && heapAfterOldCollection.getSlope() > 0
+                && heapAfterOldCollection.getSlopeTStatistic() >= Constants.HEAP_LEAK_TREND_T_STATISTIC;
+    }
+
     public boolean isLogEndingUnidentified() {
         return logEndingUnidentified;
     }
@@ -1306,6 +1559,14 @@ public class JvmRun {
         allocationRate = mbPerSecond;
     }
 
+    public void setAllocationRatePeak(BigDecimal allocationRatePeak) {
+        this.allocationRatePeak = allocationRatePeak;
+    }
+
+    public void setAllocationRatePeakTimestamp(long allocationRatePeakTimestamp) {
+        this.allocationRatePeakTimestamp = allocationRatePeakTimestamp;
+    }
+
     public void setAnalysis(List<Analysis> analysis) {
         this.analysis = analysis;
     }
@@ -1338,14 +1599,22 @@ public class JvmRun {
         this.firstSafepointEvent = firstSafepointEvent;
     }
 
-    public void setGcBottlenecks(List<String> gcBottlenecks) {
+    public void setGcBottlenecks(Bottlenecks<BlockingEvent> gcBottlenecks) {
         this.gcBottlenecks = gcBottlenecks;
     }
 
+    public void setGcPauseHistogram(PauseHistogram gcPauseHistogram) {
+        this.gcPauseHistogram = gcPauseHistogram;
+    }
+
     public void setGcPauseMax(long gcPauseMax) {
         this.durationMax = gcPauseMax;
     }
 
+    public void setGcPauseSlo(PauseSlo<BlockingEvent> gcPauseSlo) {
+        this.gcPauseSlo = gcPauseSlo;
+    }
+
     public void setGcPauseTotal(long gcPauseTotal) {
         this.durationTotal = gcPauseTotal;
     }
@@ -1354,6 +1623,10 @@ public class JvmRun {
         this.gcTriggers = gcTriggers;
     }
 
+    public void setHeapAfterOldCollection(LinearRegression heapAfterOldCollection) {
+        this.heapAfterOldCollection = heapAfterOldCollection;
+    }
+
     public void setInvertedParallelismCount(long invertedParallelismCount) {
         this.invertedParallelismCount = invertedParallelismCount;
     }
@@ -1446,6 +1719,18 @@ public class JvmRun {
         this.memory = memory;
     }
 
+    public void setMmu(List<MutatorUtilization.Window> mmu) {
+        this.mmu = mmu;
+    }
+
+    public void setOldGrowthRate(BigDecimal oldGrowthRate) {
+        this.oldGrowthRate = oldGrowthRate;
+    }
+
+    public void setOldGrowthRatePeak(BigDecimal oldGrowthRatePeak) {
+        this.oldGrowthRatePeak = oldGrowthRatePeak;
+    }
+
     public void setOtherTimeMax(long otherTimeMax) {
         this.otherTimeMax = otherTimeMax;
     }
@@ -1474,7 +1759,15 @@ public class JvmRun {
         this.preprocessEvents = preprocessEvents;
     }
 
-    public void setSafepointBottlenecks(List<String> safepointBottlenecks) {
+    public void setPromotionRate(BigDecimal promotionRate) {
+        this.promotionRate = promotionRate;
+    }
+
+    public void setPromotionRatePeak(BigDecimal promotionRatePeak) {
+        this.promotionRatePeak = promotionRatePeak;
+    }
+
+    public void setSafepointBottlenecks(Bottlenecks<SafepointEvent> safepointBottlenecks) {
         this.safepointBottlenecks = safepointBottlenecks;
     }
 
@@ -1482,6 +1775,14 @@ public class JvmRun {
         this.safepointEventSummaries = safepointEventSummaries;
     }
 
+    public void setSafepointJoin(SafepointJoin safepointJoin) {
+        this.safepointJoin = safepointJoin;
+    }
+
+    public void setSafepointPauseSlo(PauseSlo<SafepointEvent> safepointPauseSlo) {
+        this.safepointPauseSlo = safepointPauseSlo;
+    }
+
     public void setSerialCount(long serialCount) {
         this.serialCount = serialCount;
     }
@@ -1494,6 +1795,10 @@ public class JvmRun {
         this.stoppedTimeEventCount = stoppedTimeEventCount;
     }
 
+    public void setStoppedTimeHistogram(PauseHistogram stoppedTimeHistogram) {
+        this.stoppedTimeHistogram = stoppedTimeHistogram;
+    }
+
     public void setStoppedTimeMax(long stoppedTimeMax) {
         this.stoppedTimeMax = stoppedTimeMax;
     }
@@ -1526,6 +1831,10 @@ public class JvmRun {
         this.unifiedSafepointEventCount = unifiedSafepointEventCount;
     }
 
+    public void setUnifiedSafepointHistogram(PauseHistogram unifiedSafepointHistogram) {
+        this.unifiedSafepointHistogram = unifiedSafepointHistogram;
+    }
+
     public void setUnifiedSafepointTimeMax(long unifiedSafepointTimeMax) {
         this.unifiedSafepointTimeMax = unifiedSafepointTimeMax;
     }
@@ -1546,7 +1855,23 @@ public class JvmRun {
         this.worstInvertedSerialismEvent = worstInvertedSerialismEvent;
     }
 
+    public void setWorstParallelismEvents(List<TopEvents.Entry<LogEvent>> worstParallelismEvents) {
+        this.worstParallelismEvents = worstParallelismEvents;
+    }
+
+    public void setWorstPauseEvents(List<TopEvents.Entry<BlockingEvent>> worstPauseEvents) {
+        this.worstPauseEvents = worstPauseEvents;
+    }
+
+    public void setWorstSafepointEvents(List<TopEvents.Entry<SafepointEvent>> worstSafepointEvents) {
+        this.worstSafepointEvents = worstSafepointEvents;
+    }
+
     public void setWorstSysGtUserEvent(LogEvent worstSysGtUserEvent) {
         this.worstSysGtUserEvent = worstSysGtUserEvent;
     }
+
+    public void setWorstTimeToSafepointEvents(List<TopEvents.Entry<SafepointEvent>> worstTimeToSafepointEvents) {
+        this.worstTimeToSafepointEvents = worstTimeToSafepointEvents;
+    }
 }
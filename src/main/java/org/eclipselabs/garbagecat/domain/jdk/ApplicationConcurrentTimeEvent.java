@@ -52,7 +52,7 @@ public class ApplicationConcurrentTimeEvent implements ThrowAwayEvent {
     /**
      * RegEx pattern.
      */
-    private static Pattern PATTERN = Pattern.compile(_REGEX);
+    private static final Pattern PATTERN = Pattern.compile(_REGEX);
 
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
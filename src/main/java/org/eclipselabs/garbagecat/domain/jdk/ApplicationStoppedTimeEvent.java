@@ -105,7 +105,7 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
     /**
      * RegEx pattern.
      */
-    private static Pattern PATTERN = Pattern.compile(_REGEX);
+    private static final Pattern PATTERN = Pattern.compile(_REGEX);
 
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
@@ -148,10 +148,10 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             long endTimestamp = 0;
-            if (matcher.group(14) != null && matcher.group(14).matches(JdkRegEx.TIMESTAMP)) {
+            if (matcher.group(14) != null && JdkUtil.isTimestamp(matcher.group(14))) {
                 endTimestamp = JdkMath.convertSecsToMillis(matcher.group(14)).longValue();
             } else if (matcher.group(2) != null) {
-                if (matcher.group(2).matches(JdkRegEx.TIMESTAMP)) {
+                if (JdkUtil.isTimestamp(matcher.group(2))) {
                     endTimestamp = JdkMath.convertSecsToMillis(matcher.group(2)).longValue();
                 } else {
                     // Datestamp only.
@@ -87,7 +87,7 @@ public class CmsConcurrentEvent extends CmsCollector implements LogEvent, Parall
             + "reset|reset-start|sweep|sweep-start)(: " + JdkRegEx.DURATION_FRACTION + ")?\\]" + TimesData.REGEX
             + "?[ ]*$";
 
-    private static Pattern PATTERN = Pattern.compile(_REGEX);
+    private static final Pattern PATTERN = Pattern.compile(_REGEX);
 
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
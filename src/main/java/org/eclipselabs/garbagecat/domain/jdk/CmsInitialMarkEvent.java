@@ -125,9 +125,9 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
         if (match(logEntry)) {
             Matcher matcher = PATTERN.matcher(logEntry);
             if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
+                if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
+                } else if (JdkUtil.isTimestamp(matcher.group(1))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
                 } else {
                     // Datestamp only.
@@ -236,91 +236,79 @@ public class CmsRemarkEvent extends CmsIncrementalModeCollector
      */
     public CmsRemarkEvent(String logEntry) {
         this.logEntry = logEntry;
-
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(1) != null) {
-                    // Initial GC[YG block exists
-                    if (matcher.group(14) != null && matcher.group(14).matches(JdkRegEx.TIMESTAMP)) {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(14)).longValue();
-                    } else if (matcher.group(2).matches(JdkRegEx.TIMESTAMP)) {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(2)).longValue();
-                    } else {
-                        // Datestamp only.
-                        timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
-                    }
-                    trigger = GcTrigger.getTrigger(matcher.group(16));
+        Matcher matcher;
+        if ((matcher = REGEX_PATTERN.matcher(logEntry)).matches()) {
+            if (matcher.group(1) != null) {
+                // Initial GC[YG block exists
+                if (matcher.group(14) != null && JdkUtil.isTimestamp(matcher.group(14))) {
+                    timestamp = JdkMath.convertSecsToMillis(matcher.group(14)).longValue();
+                } else if (JdkUtil.isTimestamp(matcher.group(2))) {
+                    timestamp = JdkMath.convertSecsToMillis(matcher.group(2)).longValue();
                 } else {
-                    // Initial GC[YG block missing
-                    if (matcher.group(31) != null && matcher.group(31).matches(JdkRegEx.TIMESTAMP)) {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(31)).longValue();
-                    } else if (matcher.group(19).matches(JdkRegEx.TIMESTAMP)) {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(19)).longValue();
-                    } else {
-                        // Datestamp only.
-                        timestamp = JdkUtil.convertDatestampToMillis(matcher.group(19));
-                    }
+                    // Datestamp only.
+                    timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
                 }
-                // The last duration is the total duration for the phase.
-                duration = JdkMath.convertSecsToMicros(matcher.group(72)).intValue();
-                if (matcher.group(75) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(76)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(77)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(78)).intValue();
+                trigger = GcTrigger.getTrigger(matcher.group(16));
+            } else {
+                // Initial GC[YG block missing
+                if (matcher.group(31) != null && JdkUtil.isTimestamp(matcher.group(31))) {
+                    timestamp = JdkMath.convertSecsToMillis(matcher.group(31)).longValue();
+                } else if (JdkUtil.isTimestamp(matcher.group(19))) {
+                    timestamp = JdkMath.convertSecsToMillis(matcher.group(19)).longValue();
+                } else {
+                    // Datestamp only.
+                    timestamp = JdkUtil.convertDatestampToMillis(matcher.group(19));
                 }
             }
+            // The last duration is the total duration for the phase.
+            duration = JdkMath.convertSecsToMicros(matcher.group(72)).intValue();
+            if (matcher.group(75) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(76)).intValue();
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(77)).intValue();
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(78)).intValue();
+            }
             classUnloading = false;
-        } else if (logEntry.matches(REGEX_CLASS_UNLOADING)) {
-            Pattern pattern = Pattern.compile(REGEX_CLASS_UNLOADING);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(1) != null) {
-                    // Initial GC[YG block exists
-                    if (matcher.group(14) != null && matcher.group(14).matches(JdkRegEx.TIMESTAMP)) {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(14)).longValue();
-                    } else if (matcher.group(2).matches(JdkRegEx.TIMESTAMP)) {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(2)).longValue();
-                    } else {
-                        // Datestamp only.
-                        timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
-                    }
-                    trigger = GcTrigger.getTrigger(matcher.group(16));
+        } else if ((matcher = REGEX_CLASS_UNLOADING_PATTERN.matcher(logEntry)).matches()) {
+            if (matcher.group(1) != null) {
+                // Initial GC[YG block exists
+                if (matcher.group(14) != null && JdkUtil.isTimestamp(matcher.group(14))) {
+                    timestamp = JdkMath.convertSecsToMillis(matcher.group(14)).longValue();
+                } else if (JdkUtil.isTimestamp(matcher.group(2))) {
+                    timestamp = JdkMath.convertSecsToMillis(matcher.group(2)).longValue();
                 } else {
-                    // Initial GC[YG block missing
-                    if (matcher.group(31) != null && matcher.group(31).matches(JdkRegEx.TIMESTAMP)) {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(31)).longValue();
-                    } else if (matcher.group(19).matches(JdkRegEx.TIMESTAMP)) {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(19)).longValue();
-                    } else {
-                        // Datestamp only.
-                        timestamp = JdkUtil.convertDatestampToMillis(matcher.group(19));
-                    }
-                }
-                // The last duration is the total duration for the phase.
-                duration = JdkMath.convertSecsToMicros(matcher.group(178)).intValue();
-                if (matcher.group(181) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(182)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(183)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(184)).intValue();
+                    // Datestamp only.
+                    timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
                 }
-            }
-            classUnloading = true;
-        } else if (logEntry.matches(REGEX_TRUNCATED)) {
-            Pattern pattern = Pattern.compile(REGEX_TRUNCATED);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(2).matches(JdkRegEx.TIMESTAMP)) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
+                trigger = GcTrigger.getTrigger(matcher.group(16));
+            } else {
+                // Initial GC[YG block missing
+                if (matcher.group(31) != null && JdkUtil.isTimestamp(matcher.group(31))) {
+                    timestamp = JdkMath.convertSecsToMillis(matcher.group(31)).longValue();
+                } else if (JdkUtil.isTimestamp(matcher.group(19))) {
+                    timestamp = JdkMath.convertSecsToMillis(matcher.group(19)).longValue();
                 } else {
                     // Datestamp only.
-                    timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
+                    timestamp = JdkUtil.convertDatestampToMillis(matcher.group(19));
                 }
-                trigger = GcTrigger.getTrigger(matcher.group(15));
             }
+            // The last duration is the total duration for the phase.
+            duration = JdkMath.convertSecsToMicros(matcher.group(178)).intValue();
+            if (matcher.group(181) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(182)).intValue();
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(183)).intValue();
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(184)).intValue();
+            }
+            classUnloading = true;
+        } else if ((matcher = REGEX_TRUNCATED_PATTERN.matcher(logEntry)).matches()) {
+            if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
+            } else if (JdkUtil.isTimestamp(matcher.group(2))) {
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
+            } else {
+                // Datestamp only.
+                timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
+            }
+            trigger = GcTrigger.getTrigger(matcher.group(15));
             classUnloading = false;
         }
     }
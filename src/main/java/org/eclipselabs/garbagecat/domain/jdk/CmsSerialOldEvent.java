@@ -310,116 +310,108 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements Bl
      *            The log entry for the event.
      */
     public CmsSerialOldEvent(String logEntry) {
-
         this.setLogEntry(logEntry);
-        if (logEntry.matches(REGEX_FULL_GC)) {
-            Pattern pattern = Pattern.compile(REGEX_FULL_GC);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
-                } else {
-                    // Datestamp only.
-                    timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
-                }
-                // If multiple triggers, use last one.
-                if (matcher.group(54) != null) {
-                    this.trigger = GcTrigger.getTrigger(matcher.group(54));
-                } else if (matcher.group(52) != null) {
-                    this.trigger = GcTrigger.getTrigger(matcher.group(52));
-                } else if (matcher.group(17) != null) {
-                    this.trigger = GcTrigger.CLASS_HISTOGRAM;
-                } else if (matcher.group(15) != null) {
-                    this.trigger = GcTrigger.getTrigger(matcher.group(15));
-                }
-                this.oldOccupancyInit = kilobytes(matcher.group(122));
-                this.oldOccupancyEnd = kilobytes(matcher.group(123));
-                this.oldSpace = kilobytes(matcher.group(124));
-                this.youngOccupancyInit = kilobytes(matcher.group(148)).minus(this.oldOccupancyInit);
-                this.youngOccupancyEnd = kilobytes(matcher.group(149)).minus(this.oldOccupancyEnd);
-                this.youngSpace = kilobytes(matcher.group(150)).minus(this.oldSpace);
-                this.classOccupancyInit = kilobytes(matcher.group(152));
-                this.classOccupancyEnd = kilobytes(matcher.group(153));
-                this.classSpace = kilobytes(matcher.group(154));
-                if (matcher.group(155) != null) {
-                    super.setIncrementalMode(true);
-                }
-                this.duration = JdkMath.convertSecsToMicros(matcher.group(156)).intValue();
-                if (matcher.group(159) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(160)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(161)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(162)).intValue();
-                }
+        Matcher matcher;
+        if ((matcher = REGEX_FULL_GC_PATTERN.matcher(logEntry)).matches()) {
+            if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
+            } else if (JdkUtil.isTimestamp(matcher.group(1))) {
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
+            } else {
+                // Datestamp only.
+                timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
+            }
+            // If multiple triggers, use last one.
+            if (matcher.group(54) != null) {
+                this.trigger = GcTrigger.getTrigger(matcher.group(54));
+            } else if (matcher.group(52) != null) {
+                this.trigger = GcTrigger.getTrigger(matcher.group(52));
+            } else if (matcher.group(17) != null) {
+                this.trigger = GcTrigger.CLASS_HISTOGRAM;
+            } else if (matcher.group(15) != null) {
+                this.trigger = GcTrigger.getTrigger(matcher.group(15));
+            }
+            this.oldOccupancyInit = kilobytes(matcher.group(122));
+            this.oldOccupancyEnd = kilobytes(matcher.group(123));
+            this.oldSpace = kilobytes(matcher.group(124));
+            this.youngOccupancyInit = kilobytes(matcher.group(148)).minus(this.oldOccupancyInit);
+            this.youngOccupancyEnd = kilobytes(matcher.group(149)).minus(this.oldOccupancyEnd);
+            this.youngSpace = kilobytes(matcher.group(150)).minus(this.oldSpace);
+            this.classOccupancyInit = kilobytes(matcher.group(152));
+            this.classOccupancyEnd = kilobytes(matcher.group(153));
+            this.classSpace = kilobytes(matcher.group(154));
+            if (matcher.group(155) != null) {
+                super.setIncrementalMode(true);
+            }
+            this.duration = JdkMath.convertSecsToMicros(matcher.group(156)).intValue();
+            if (matcher.group(159) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(160)).intValue();
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(161)).intValue();
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(162)).intValue();
+            }
+        } else if ((matcher = REGEX_GC_PATTERN.matcher(logEntry)).matches()) {
+            if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
+            } else if (JdkUtil.isTimestamp(matcher.group(1))) {
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
+            } else {
+                // Datestamp only.
+                timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
+            }
+            // If multiple triggers, use last one.
+            if (matcher.group(78) != null) {
+                this.trigger = GcTrigger.getTrigger(matcher.group(78));
+            } else if (matcher.group(32) != null) {
+                this.trigger = GcTrigger.getTrigger(matcher.group(32));
+            } else if (matcher.group(15) != null) {
+                this.trigger = GcTrigger.getTrigger(matcher.group(15));
+            } else {
+                // assume promotion failure
+                this.trigger = GcTrigger.PROMOTION_FAILED;
+            }
+            this.youngOccupancyInit = kilobytes(matcher.group(33));
+            // No data to determine young end size.
+            this.youngOccupancyEnd = Memory.ZERO;
+            this.youngSpace = kilobytes(matcher.group(35));
+
+            // use young block duration for truncated events
+            if (matcher.group(116) == null) {
+                this.duration = JdkMath.convertSecsToMicros(matcher.group(36)).intValue();
             }
-        } else if (logEntry.matches(REGEX_GC)) {
-            Pattern pattern = Pattern.compile(REGEX_GC);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
-                } else {
-                    // Datestamp only.
-                    timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
-                }
-                // If multiple triggers, use last one.
-                if (matcher.group(78) != null) {
-                    this.trigger = GcTrigger.getTrigger(matcher.group(78));
-                } else if (matcher.group(32) != null) {
-                    this.trigger = GcTrigger.getTrigger(matcher.group(32));
-                } else if (matcher.group(15) != null) {
-                    this.trigger = GcTrigger.getTrigger(matcher.group(15));
-                } else {
-                    // assume promotion failure
-                    this.trigger = GcTrigger.PROMOTION_FAILED;
-                }
-                this.youngOccupancyInit = kilobytes(matcher.group(33));
-                // No data to determine young end size.
-                this.youngOccupancyEnd = Memory.ZERO;
-                this.youngSpace = kilobytes(matcher.group(35));
-
-                // use young block duration for truncated events
-                if (matcher.group(116) == null) {
-                    this.duration = JdkMath.convertSecsToMicros(matcher.group(36)).intValue();
-                }
 
-                // old block after young
-                if (matcher.group(79) != null) {
-                    this.oldOccupancyInit = kilobytes(matcher.group(80));
-                    this.oldOccupancyEnd = kilobytes(matcher.group(81));
-                    this.oldSpace = kilobytes(matcher.group(82));
-                    if (matcher.group(106) != null) {
-                        this.youngOccupancyEnd = kilobytes(matcher.group(108)).minus(this.oldOccupancyEnd);
-                    }
-                } else {
-                    if (matcher.group(106) != null) {
-                        this.oldOccupancyInit = kilobytes(matcher.group(107)).minus(this.youngOccupancyInit);
-                        // No data to determine old end size.
-                        this.oldOccupancyEnd = Memory.ZERO;
-                        this.oldSpace = kilobytes(matcher.group(109)).minus(this.youngSpace);
-                    }
-                }
-                // perm/metaspace data
-                if (matcher.group(110) != null) {
-                    this.classOccupancyInit = kilobytes(matcher.group(112));
-                    this.classOccupancyEnd = kilobytes(matcher.group(113));
-                    this.classSpace = kilobytes(matcher.group(114));
-                }
-                if (matcher.group(115) != null) {
-                    super.setIncrementalMode(true);
+            // old block after young
+            if (matcher.group(79) != null) {
+                this.oldOccupancyInit = kilobytes(matcher.group(80));
+                this.oldOccupancyEnd = kilobytes(matcher.group(81));
+                this.oldSpace = kilobytes(matcher.group(82));
+                if (matcher.group(106) != null) {
+                    this.youngOccupancyEnd = kilobytes(matcher.group(108)).minus(this.oldOccupancyEnd);
                 }
-                if (matcher.group(116) != null) {
-                    this.duration = JdkMath.convertSecsToMicros(matcher.group(116)).intValue();
-                }
-                if (matcher.group(119) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(120)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(121)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(122)).intValue();
+            } else {
+                if (matcher.group(106) != null) {
+                    this.oldOccupancyInit = kilobytes(matcher.group(107)).minus(this.youngOccupancyInit);
+                    // No data to determine old end size.
+                    this.oldOccupancyEnd = Memory.ZERO;
+                    this.oldSpace = kilobytes(matcher.group(109)).minus(this.youngSpace);
                 }
             }
+            // perm/metaspace data
+            if (matcher.group(110) != null) {
+                this.classOccupancyInit = kilobytes(matcher.group(112));
+                this.classOccupancyEnd = kilobytes(matcher.group(113));
+                this.classSpace = kilobytes(matcher.group(114));
+            }
+            if (matcher.group(115) != null) {
+                super.setIncrementalMode(true);
+            }
+            if (matcher.group(116) != null) {
+                this.duration = JdkMath.convertSecsToMicros(matcher.group(116)).intValue();
+            }
+            if (matcher.group(119) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(120)).intValue();
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(121)).intValue();
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(122)).intValue();
+            }
         }
     }
 
@@ -112,6 +112,8 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
 
     private static final Pattern PATTERN = Pattern.compile(_REGEX);
 
+    private static final Pattern PATTERN_CLASS_HISTOGRAM = Pattern.compile(ClassHistogramEvent._REGEX_PREPROCESSED);
+
     private static final Pattern PATTERN_PREPROCESSED = Pattern.compile(_REGEX_PREPROCESSED);
 
     /**
@@ -202,9 +204,9 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
         if ((matcher = PATTERN.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
+                if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
+                } else if (JdkUtil.isTimestamp(matcher.group(1))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
                 } else {
                     // Datestamp only.
@@ -224,9 +226,9 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
         } else if ((matcher = PATTERN_PREPROCESSED.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
+                if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
+                } else if (JdkUtil.isTimestamp(matcher.group(1))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
                 } else {
                     // Datestamp only.
@@ -235,7 +237,7 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
                 if (matcher.group(15) != null) {
                     trigger = GcTrigger.getTrigger(matcher.group(15));
                 } else if (matcher.group(17) != null
-                        && matcher.group(17).matches(ClassHistogramEvent._REGEX_PREPROCESSED)) {
+                        && PATTERN_CLASS_HISTOGRAM.matcher(matcher.group(17)).matches()) {
                     trigger = GcTrigger.CLASS_HISTOGRAM;
                 } else {
                     trigger = GcTrigger.NONE;
@@ -194,9 +194,9 @@ public class G1YoungInitialMarkEvent extends G1Collector implements BlockingEven
             // standard format
             matcher.reset();
             if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
+                if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
+                } else if (JdkUtil.isTimestamp(matcher.group(1))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
                 } else {
                     // Datestamp only.
@@ -217,9 +217,9 @@ public class G1YoungInitialMarkEvent extends G1Collector implements BlockingEven
             // preprocessed format
             matcher.reset();
             if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
+                if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
+                } else if (JdkUtil.isTimestamp(matcher.group(1))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
                 } else {
                     // Datestamp only.
@@ -253,9 +253,9 @@ public class G1YoungPauseEvent extends G1Collector implements BlockingEvent, You
         if ((matcher = REGEX_PATTERN.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
+                if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
+                } else if (JdkUtil.isTimestamp(matcher.group(1))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
                 } else {
                     // Datestamp only.
@@ -275,9 +275,9 @@ public class G1YoungPauseEvent extends G1Collector implements BlockingEvent, You
         } else if ((matcher = REGEX_PREPROCESSED_DETAILS_PATTERN.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
+                if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
+                } else if (JdkUtil.isTimestamp(matcher.group(1))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
                 } else {
                     // Datestamp only.
@@ -315,9 +315,9 @@ public class G1YoungPauseEvent extends G1Collector implements BlockingEvent, You
         } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
+                if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
+                } else if (JdkUtil.isTimestamp(matcher.group(1))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
                 } else {
                     // Datestamp only.
@@ -337,9 +337,9 @@ public class G1YoungPauseEvent extends G1Collector implements BlockingEvent, You
         } else if ((matcher = REGEX_PREPROCESSED_NO_DURATION_PATTERN.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.find()) {
-                if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
+                if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-                } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
+                } else if (JdkUtil.isTimestamp(matcher.group(1))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
                 } else {
                     // Datestamp only.
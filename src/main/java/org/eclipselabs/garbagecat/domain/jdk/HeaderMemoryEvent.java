@@ -57,7 +57,7 @@ public class HeaderMemoryEvent implements LogEvent {
             + HeaderMemoryEvent.SIZE + " free\\)(, swap " + HeaderMemoryEvent.SIZE + "\\(" + HeaderMemoryEvent.SIZE
             + " free\\))?$";
 
-    private static Pattern PATTERN = Pattern.compile(_REGEX);
+    private static final Pattern PATTERN = Pattern.compile(_REGEX);
 
     /**
      * Regular expression for memory size.
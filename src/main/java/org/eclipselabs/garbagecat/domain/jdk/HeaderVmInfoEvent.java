@@ -64,7 +64,23 @@ public class HeaderVmInfoEvent implements LogEvent {
             + "(linux|windows|solaris)-(amd64|ppc64|ppc64le|sparc|x86) JRE (\\(Zulu.+\\) )?\\("
             + JdkRegEx.RELEASE_STRING + "\\).+ built on " + JdkRegEx.BUILD_DATE_TIME + ".+$";
 
-    private static Pattern PATTERN = Pattern.compile(_REGEX);
+    private static final Pattern PATTERN = Pattern.compile(_REGEX);
+
+    /**
+     * RegEx pattern for 32 bit.
+     */
+    private static final Pattern PATTERN_32_BIT = Pattern.compile("^.+32-Bit.+$");
+
+    /**
+     * RegEx pattern for the JDK major version.
+     */
+    private static final Pattern PATTERN_JDK_VERSION_MAJOR = Pattern.compile("^.+JRE \\(1\\.(5|6|7|8|9|10).+$");
+
+    /**
+     * RegEx pattern for the JDK minor version.
+     */
+    private static final Pattern PATTERN_JDK_VERSION_MINOR = Pattern
+            .compile("^.+JRE \\(1\\.(5|6|7|8|9|10)\\.\\d_(\\d{1,3})-.+$");
 
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
@@ -77,6 +93,26 @@ public class HeaderVmInfoEvent implements LogEvent {
         return PATTERN.matcher(logLine).matches();
     }
 
+    /**
+     * Whether the JVM is 32 bit.
+     */
+    private boolean bit32;
+
+    /**
+     * The JDK builder.
+     */
+    private BuiltBy builtBy = BuiltBy.UNKNOWN;
+
+    /**
+     * The JDK version (e.g. '8').
+     */
+    private int jdkVersionMajor = org.github.joa.domain.JvmContext.UNKNOWN;
+
+    /**
+     * The JDK update (e.g. '60').
+     */
+    private int jdkVersionMinor = org.github.joa.domain.JvmContext.UNKNOWN;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -96,6 +132,77 @@ public class HeaderVmInfoEvent implements LogEvent {
     public HeaderVmInfoEvent(String logEntry) {
         this.logEntry = logEntry;
         this.timestamp = 0L;
+        if (logEntry != null) {
+            bit32 = PATTERN_32_BIT.matcher(logEntry).matches();
+            builtBy = identifyBuiltBy(logEntry);
+            Matcher matcher = PATTERN_JDK_VERSION_MAJOR.matcher(logEntry);
+            if (matcher.find()) {
+                if (matcher.group(1) != null) {
+                    jdkVersionMajor = Integer.parseInt(matcher.group(1));
+                }
+            }
+            matcher = PATTERN_JDK_VERSION_MINOR.matcher(logEntry);
+            if (matcher.find()) {
+                if (matcher.group(1) != null) {
+                    jdkVersionMinor = Integer.parseInt(matcher.group(2));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param logEntry
+     *            The log entry for the event.
+     * @return JDK builder.
+     */
+    private static BuiltBy identifyBuiltBy(String logEntry) {
+        BuiltBy builtBy = BuiltBy.UNKNOWN;
+        if (isBuiltBy(logEntry, "build")) {
+            builtBy = BuiltBy.BUILD;
+        } else if (isBuiltBy(logEntry, "buildslave")) {
+            builtBy = BuiltBy.BUILDSLAVE;
+        } else if (isBuiltBy(logEntry, "")) {
+            builtBy = BuiltBy.EMPTY;
+        } else if (isBuiltBy(logEntry, "jenkins")) {
+            // AdoptOpenJDK
+            builtBy = BuiltBy.JENKINS;
+        } else if (isBuiltBy(logEntry, "java_re")) {
+            // Oracle current
+            builtBy = BuiltBy.JAVA_RE;
+        } else if (isBuiltBy(logEntry, "mach5one")) {
+            // Oracle previous
+            builtBy = BuiltBy.MACH5ONE;
+        } else if (isBuiltBy(logEntry, "mockbuild")) {
+            // Red Hat, CentOS
+            builtBy = BuiltBy.MOCKBUILD;
+        } else if (isBuiltBy(logEntry, "temurin")) {
+            // Adoptium temurin
+            builtBy = BuiltBy.TEMURIN;
+        } else if (isBuiltBy(logEntry, "tester")) {
+            // Azul
+            builtBy = BuiltBy.TESTER;
+        } else if (isBuiltBy(logEntry, "vsts")) {
+            // Microsoft
+            builtBy = BuiltBy.VSTS;
+        } else if (isBuiltBy(logEntry, "zulu_re")) {
+            // Azul
+            builtBy = BuiltBy.ZULU_RE;
+        }
+        return builtBy;
+    }
+
+    /**
+     * @param logEntry
+     *            The log entry for the event.
+     * @param builder
+     *            The builder name.
+     * @return True if the quoted builder name is inside the log entry (equivalent to <code>.+"builder".+</code>),
+     *         false otherwise.
+     */
+    private static boolean isBuiltBy(String logEntry, String builder) {
+        String quoted = "\"" + builder + "\"";
+        int index = logEntry.indexOf(quoted);
+        return index > 0 && index + quoted.length() < logEntry.length();
     }
 
     /**
@@ -136,38 +243,6 @@ public class HeaderVmInfoEvent implements LogEvent {
      * @return JDK builder.
      */
     public BuiltBy getBuiltBy() {
-        BuiltBy builtBy = BuiltBy.UNKNOWN;
-        if (logEntry.matches(".+\"build\".+")) {
-            builtBy = BuiltBy.BUILD;
-        } else if (logEntry.matches(".+\"buildslave\".+")) {
-            builtBy = BuiltBy.BUILDSLAVE;
-        } else if (logEntry.matches(".+\"\".+")) {
-            builtBy = BuiltBy.EMPTY;
-        } else if (logEntry.matches(".+\"jenkins\".+")) {
-            // AdoptOpenJDK
-            builtBy = BuiltBy.JENKINS;
-        } else if (logEntry.matches(".+\"java_re\".+")) {
-            // Oracle current
-            builtBy = BuiltBy.JAVA_RE;
-        } else if (logEntry.matches(".+\"mach5one\".+")) {
-            // Oracle previous
-            builtBy = BuiltBy.MACH5ONE;
-        } else if (logEntry.matches(".+\"mockbuild\".+")) {
-            // Red Hat, CentOS
-            builtBy = BuiltBy.MOCKBUILD;
-        } else if (logEntry.matches(".+\"temurin\".+")) {
-            // Adoptium temurin
-            builtBy = BuiltBy.TEMURIN;
-        } else if (logEntry.matches(".+\"tester\".+")) {
-            // Azul
-            builtBy = BuiltBy.TESTER;
-        } else if (logEntry.matches(".+\"vsts\".+")) {
-            // Microsoft
-            builtBy = BuiltBy.VSTS;
-        } else if (logEntry.matches(".+\"zulu_re\".+")) {
-            // Azul
-            builtBy = BuiltBy.ZULU_RE;
-        }
         return builtBy;
     }
 
@@ -196,17 +271,6 @@ public class HeaderVmInfoEvent implements LogEvent {
      *         determined. Not available in unified logging (JDK11+).
      */
     public int getJdkVersionMajor() {
-        int jdkVersionMajor = org.github.joa.domain.JvmContext.UNKNOWN;
-        String regex = "^.+JRE \\(1\\.(5|6|7|8|9|10).+$";
-        Pattern pattern = Pattern.compile(regex);
-        if (logEntry != null) {
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(1) != null) {
-                    jdkVersionMajor = Integer.parseInt(matcher.group(1));
-                }
-            }
-        }
         return jdkVersionMajor;
     }
 
@@ -215,17 +279,6 @@ public class HeaderVmInfoEvent implements LogEvent {
      *         determined.
      */
     public int getJdkVersionMinor() {
-        int jdkVersionMinor = org.github.joa.domain.JvmContext.UNKNOWN;
-        String regex = "^.+JRE \\(1\\.(5|6|7|8|9|10)\\.\\d_(\\d{1,3})-.+$";
-        if (logEntry != null) {
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                if (matcher.group(1) != null) {
-                    jdkVersionMinor = Integer.parseInt(matcher.group(2));
-                }
-            }
-        }
         return jdkVersionMinor;
     }
 
@@ -264,11 +317,7 @@ public class HeaderVmInfoEvent implements LogEvent {
      * @return True if 32 bit, false otherwise.
      */
     public boolean is32Bit() {
-        boolean is32Bit = false;
-        if (logEntry != null) {
-            is32Bit = logEntry.matches("^.+32-Bit.+$");
-        }
-        return is32Bit;
+        return bit32;
     }
 
 }
@@ -50,6 +50,12 @@ public class LogFileEvent implements LogEvent {
 
     public static final Pattern PATTERN = Pattern.compile(_REGEX);
 
+    /**
+     * RegEx pattern for the log file created logging.
+     */
+    private static final Pattern PATTERN_CREATED = Pattern
+            .compile("^" + JdkRegEx.DATETIME + " GC log file created.+$");
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -61,6 +67,11 @@ public class LogFileEvent implements LogEvent {
         return PATTERN.matcher(logLine).matches();
     }
 
+    /**
+     * Whether the event is when the log file is created.
+     */
+    private boolean created;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -79,6 +90,7 @@ public class LogFileEvent implements LogEvent {
      */
     public LogFileEvent(String logEntry) {
         this.logEntry = logEntry;
+        created = logEntry != null && PATTERN_CREATED.matcher(logEntry).matches();
         // no reason to calculate
         timestamp = 0L;
     }
@@ -99,7 +111,7 @@ public class LogFileEvent implements LogEvent {
      * @return True if the event is when the log file is created, false otherwise.
      */
     public boolean isCreated() {
-        return logEntry.matches("^" + JdkRegEx.DATETIME + " GC log file created.+$");
+        return created;
     }
 
 }
@@ -222,19 +222,19 @@ public class ParNewEvent extends CmsIncrementalModeCollector
         this.logEntry = logEntry;
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
-            if (matcher.group(14) != null && matcher.group(14).matches(JdkRegEx.TIMESTAMP)) {
+            if (matcher.group(14) != null && JdkUtil.isTimestamp(matcher.group(14))) {
                 timestamp = JdkMath.convertSecsToMillis(matcher.group(14)).longValue();
             } else if (matcher.group(2) != null) {
-                if (matcher.group(2).matches(JdkRegEx.TIMESTAMP)) {
+                if (JdkUtil.isTimestamp(matcher.group(2))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(2)).longValue();
                 } else {
                     // Datestamp only.
                     timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
                 }
-            } else if (matcher.group(31) != null && matcher.group(31).matches(JdkRegEx.TIMESTAMP)) {
+            } else if (matcher.group(31) != null && JdkUtil.isTimestamp(matcher.group(31))) {
                 timestamp = JdkMath.convertSecsToMillis(matcher.group(31)).longValue();
             } else if (matcher.group(19) != null) {
-                if (matcher.group(19).matches(JdkRegEx.TIMESTAMP)) {
+                if (JdkUtil.isTimestamp(matcher.group(19))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(19)).longValue();
                 } else {
                     // Datestamp only.
@@ -126,6 +126,22 @@ public class ShenandoahStatsEvent extends ShenandoahCollector implements HeaderE
         return match;
     }
 
+    /**
+     * Determine if the logLine is the header for this event.
+     * 
+     * @param logLine
+     *            The log line to test.
+     * @return true if the log line matches the header pattern, false otherwise.
+     */
+    public static final boolean matchHeader(String logLine) {
+        return REGEX_PATTERN_LIST.get(0).matcher(logLine).matches();
+    }
+
+    /**
+     * Whether the log entry is the header.
+     */
+    private boolean header;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -139,6 +155,7 @@ public class ShenandoahStatsEvent extends ShenandoahCollector implements HeaderE
      */
     public ShenandoahStatsEvent(String logEntry) {
         this.logEntry = logEntry;
+        header = logEntry != null && matchHeader(logEntry);
     }
 
     public String getLogEntry() {
@@ -155,10 +172,6 @@ public class ShenandoahStatsEvent extends ShenandoahCollector implements HeaderE
 
     @Override
     public boolean isHeader() {
-        boolean isHeader = false;
-        if (this.logEntry != null) {
-            isHeader = logEntry.matches(_REGEX_HEADER);
-        }
-        return isHeader;
+        return header;
     }
 }
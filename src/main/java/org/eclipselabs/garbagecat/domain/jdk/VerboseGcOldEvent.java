@@ -137,26 +137,26 @@ public class VerboseGcOldEvent extends UnknownCollector
         this.logEntry = logEntry;
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
-            if (matcher.group(13) != null && matcher.group(13).matches(JdkRegEx.TIMESTAMP)) {
+            if (matcher.group(13) != null && JdkUtil.isTimestamp(matcher.group(13))) {
                 timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
-            } else if (matcher.group(1).matches(JdkRegEx.TIMESTAMP)) {
+            } else if (JdkUtil.isTimestamp(matcher.group(1))) {
                 timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
             } else {
                 // Datestamp only.
                 timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
             }
             trigger = GcTrigger.getTrigger(matcher.group(15));
-            if (matcher.group(17).matches(JdkRegEx.SIZE_K)) {
+            if (matcher.group(18) != null) {
                 combinedOccupancyInit = kilobytes(matcher.group(18));
             } else {
                 combinedOccupancyInit = memory(matcher.group(19), matcher.group(21).charAt(0)).convertTo(KILOBYTES);
             }
-            if (matcher.group(22).matches(JdkRegEx.SIZE_K)) {
+            if (matcher.group(23) != null) {
                 combinedOccupancyEnd = kilobytes(matcher.group(23));
             } else {
                 combinedOccupancyEnd = memory(matcher.group(24), matcher.group(26).charAt(0)).convertTo(KILOBYTES);
             }
-            if (matcher.group(27).matches(JdkRegEx.SIZE_K)) {
+            if (matcher.group(28) != null) {
                 combinedSpace = kilobytes(matcher.group(28));
             } else {
                 combinedSpace = memory(matcher.group(29), matcher.group(31).charAt(0)).convertTo(KILOBYTES);
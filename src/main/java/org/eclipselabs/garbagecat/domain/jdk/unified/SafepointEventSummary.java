@@ -12,6 +12,7 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
+import org.eclipselabs.garbagecat.util.PauseHistogram;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
 
 /**
@@ -37,6 +38,11 @@ public class SafepointEventSummary {
      */
     private long pauseTotal;
 
+    /**
+     * Time to safepoint (microseconds) histogram, or null if not available.
+     */
+    private PauseHistogram timeToSafepointHistogram;
+
     /**
      * The <code>Trigger</code>
      */
@@ -61,6 +67,26 @@ public class SafepointEventSummary {
         this.pauseMax = pauseMax;
     }
 
+    /**
+     * Constructor with time to safepoint.
+     * 
+     * @param trigger
+     *            The <code>Trigger</code>.
+     * @param count
+     *            Number of events.
+     * @param pauseTotal
+     *            Total pause time of events in microseconds.
+     * @param pauseMax
+     *            Max pause time of events in microseconds.
+     * @param timeToSafepointHistogram
+     *            Time to safepoint (microseconds) histogram of events.
+     */
+    public SafepointEventSummary(Trigger trigger, long count, long pauseTotal, long pauseMax,
+            PauseHistogram timeToSafepointHistogram) {
+        this(trigger, count, pauseTotal, pauseMax);
+        this.timeToSafepointHistogram = timeToSafepointHistogram;
+    }
+
     public long getCount() {
         return count;
     }
@@ -73,6 +99,27 @@ public class SafepointEventSummary {
         return pauseTotal;
     }
 
+    /**
+     * @return Time to safepoint (microseconds) histogram, or null if not available.
+     */
+    public PauseHistogram getTimeToSafepointHistogram() {
+        return timeToSafepointHistogram;
+    }
+
+    /**
+     * @return Max time to safepoint (microseconds).
+     */
+    public long getTimeToSafepointMax() {
+        return timeToSafepointHistogram == null ? 0 : timeToSafepointHistogram.getMax();
+    }
+
+    /**
+     * @return Total time to safepoint (microseconds).
+     */
+    public long getTimeToSafepointTotal() {
+        return timeToSafepointHistogram == null ? 0 : timeToSafepointHistogram.getTotal();
+    }
+
     public Trigger getTrigger() {
         return trigger;
     }
@@ -23,6 +23,7 @@ import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 import org.github.joa.domain.GarbageCollector;
 
 /**
@@ -121,13 +122,13 @@ public class UnifiedCmsInitialMarkEvent extends CmsCollector
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             long endTimestamp;
-            if (matcher.group(2).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+            if (UnifiedUtil.isUptimeMillis(matcher.group(2))) {
                 endTimestamp = Long.parseLong(matcher.group(JdkUtil.DECORATOR_SIZE));
-            } else if (matcher.group(2).matches(UnifiedRegEx.UPTIME)) {
+            } else if (UnifiedUtil.isUptime(matcher.group(2))) {
                 endTimestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
             } else {
                 if (matcher.group(JdkUtil.DECORATOR_SIZE + 1) != null) {
-                    if (matcher.group(JdkUtil.DECORATOR_SIZE + 2).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                    if (UnifiedUtil.isUptimeMillis(matcher.group(JdkUtil.DECORATOR_SIZE + 2))) {
                         endTimestamp = Long.parseLong(matcher.group(JdkUtil.DECORATOR_SIZE + 4));
                     } else {
                         endTimestamp = JdkMath.convertSecsToMillis(matcher.group(JdkUtil.DECORATOR_SIZE + 3))
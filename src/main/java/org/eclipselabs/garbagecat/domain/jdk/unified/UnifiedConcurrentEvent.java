@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -294,13 +295,13 @@ public class UnifiedConcurrentEvent extends UnknownCollector
                 duration = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 19)).intValue();
             }
             long endTimestamp;
-            if (matcher.group(2).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+            if (UnifiedUtil.isUptimeMillis(matcher.group(2))) {
                 endTimestamp = Long.parseLong(matcher.group(13));
-            } else if (matcher.group(2).matches(UnifiedRegEx.UPTIME)) {
+            } else if (UnifiedUtil.isUptime(matcher.group(2))) {
                 endTimestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
             } else {
                 if (matcher.group(14) != null) {
-                    if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                    if (UnifiedUtil.isUptimeMillis(matcher.group(15))) {
                         endTimestamp = Long.parseLong(matcher.group(17));
                     } else {
                         endTimestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
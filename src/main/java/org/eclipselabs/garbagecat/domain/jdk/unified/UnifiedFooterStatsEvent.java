@@ -321,6 +321,22 @@ public class UnifiedFooterStatsEvent implements UnifiedLogging, HeaderEvent, Thr
         return match;
     }
 
+    /**
+     * Determine if the logLine is the header for this event.
+     * 
+     * @param logLine
+     *            The log line to test.
+     * @return true if the log line matches the header pattern, false otherwise.
+     */
+    public static final boolean matchHeader(String logLine) {
+        return REGEX_PATTERN_LIST.get(0).matcher(logLine).matches();
+    }
+
+    /**
+     * Whether the log entry is the header.
+     */
+    private boolean header;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -339,6 +355,7 @@ public class UnifiedFooterStatsEvent implements UnifiedLogging, HeaderEvent, Thr
      */
     public UnifiedFooterStatsEvent(String logEntry) {
         this.logEntry = logEntry;
+        header = logEntry != null && matchHeader(logEntry);
         this.timestamp = 0L;
     }
 
@@ -366,10 +383,6 @@ public class UnifiedFooterStatsEvent implements UnifiedLogging, HeaderEvent, Thr
 
     @Override
     public boolean isHeader() {
-        boolean isHeader = false;
-        if (this.logEntry != null) {
-            isHeader = logEntry.matches(_REGEX_HEADER);
-        }
-        return isHeader;
+        return header;
     }
 }
@@ -149,6 +149,11 @@ public class UnifiedG1FullGcEvent extends G1Collector implements UnifiedLogging,
      */
     private Memory combinedSpace;
 
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The elapsed clock time for the GC event in microseconds (rounded).
      */
@@ -192,6 +197,7 @@ public class UnifiedG1FullGcEvent extends G1Collector implements UnifiedLogging,
      */
     public UnifiedG1FullGcEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 27)).intValue();
@@ -239,6 +245,7 @@ public class UnifiedG1FullGcEvent extends G1Collector implements UnifiedLogging,
      */
     public UnifiedG1FullGcEvent(String logEntry, long timestamp, int duration) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         this.timestamp = timestamp;
         this.eventTime = duration;
     }
@@ -309,10 +316,7 @@ public class UnifiedG1FullGcEvent extends G1Collector implements UnifiedLogging,
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 
     protected void setClassSpace(Memory classSpace) {
@@ -130,6 +130,11 @@ public class UnifiedG1MixedPauseEvent extends G1Collector implements UnifiedLogg
      * The elapsed clock time for the GC event in microseconds (rounded).
      */
     private long eventTime;
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The elapsed clock time for external root scanning in microseconds (rounded).
      */
@@ -176,6 +181,7 @@ public class UnifiedG1MixedPauseEvent extends G1Collector implements UnifiedLogg
      */
     public UnifiedG1MixedPauseEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 30)).intValue();
@@ -235,6 +241,7 @@ public class UnifiedG1MixedPauseEvent extends G1Collector implements UnifiedLogg
      */
     public UnifiedG1MixedPauseEvent(String logEntry, long timestamp, int duration) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         this.timestamp = timestamp;
         this.eventTime = duration;
     }
@@ -314,10 +321,7 @@ public class UnifiedG1MixedPauseEvent extends G1Collector implements UnifiedLogg
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 
     protected void setClassSpace(Memory classSpace) {
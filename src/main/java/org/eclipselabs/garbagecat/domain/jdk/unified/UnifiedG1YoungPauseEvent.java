@@ -152,6 +152,11 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
      */
     private Memory combinedSpace;
 
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The elapsed clock time for the GC event in microseconds (rounded).
      */
@@ -190,6 +195,11 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
      */
     private int timeUser = TimesData.NO_DATA;
 
+    /**
+     * Whether "To-space" is exhausted.
+     */
+    private boolean toSpaceExhausted;
+
     /**
      * The trigger for the GC event.
      */
@@ -203,6 +213,8 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
      */
     public UnifiedG1YoungPauseEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
+        toSpaceExhausted = logEntry != null && logEntry.indexOf(" " + Constants.G1_TO_SPACE_EXHAUSTED) > 0;
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 33)).intValue();
@@ -261,6 +273,8 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
      */
     public UnifiedG1YoungPauseEvent(String logEntry, long timestamp, int eventTime) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
+        toSpaceExhausted = logEntry != null && logEntry.indexOf(" " + Constants.G1_TO_SPACE_EXHAUSTED) > 0;
         this.timestamp = timestamp;
         this.eventTime = eventTime;
     }
@@ -340,19 +354,14 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 
     /**
      * @return True if "To-space" is exhausted, false otherwise.
      */
     public boolean isToSpaceExhausted() {
-        boolean isTooSpaceExhausted = false;
-        isTooSpaceExhausted = logEntry.matches("^.+ " + Constants.G1_TO_SPACE_EXHAUSTED + ".*");
-        return isTooSpaceExhausted;
+        return toSpaceExhausted;
     }
 
     protected void setClassSpace(Memory classSpace) {
@@ -156,6 +156,11 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector
      * Time spent outside of garbage collection in microseconds (rounded).
      */
     private long otherTime;
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The wall (clock) time in centiseconds.
      */
@@ -176,6 +181,11 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector
      */
     private int timeUser = TimesData.NO_DATA;
 
+    /**
+     * Whether "To-space" is exhausted.
+     */
+    private boolean toSpaceExhausted;
+
     /**
      * The trigger for the GC event.
      */
@@ -189,6 +199,8 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector
      */
     public UnifiedG1YoungPrepareMixedEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
+        toSpaceExhausted = logEntry != null && logEntry.indexOf(" " + Constants.G1_TO_SPACE_EXHAUSTED) > 0;
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 31)).intValue();
@@ -247,6 +259,8 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector
      */
     public UnifiedG1YoungPrepareMixedEvent(String logEntry, long timestamp, int duration) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
+        toSpaceExhausted = logEntry != null && logEntry.indexOf(" " + Constants.G1_TO_SPACE_EXHAUSTED) > 0;
         this.timestamp = timestamp;
         this.eventTime = duration;
     }
@@ -326,19 +340,14 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 
     /**
      * @return True if "To-space" is exhausted, false otherwise.
      */
     public boolean isToSpaceExhausted() {
-        boolean isTooSpaceExhausted = false;
-        isTooSpaceExhausted = logEntry.matches("^.+ " + Constants.G1_TO_SPACE_EXHAUSTED + ".*");
-        return isTooSpaceExhausted;
+        return toSpaceExhausted;
     }
 
     protected void setClassSpace(Memory classSpace) {
@@ -20,6 +20,7 @@ import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -201,7 +202,17 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
             + "Shenandoah heuristics|String Deduplication|Target occupancy update|TLAB Size Max|Uncommit( Delay)?|"
             + "Using legacy single-generation mode)(:)?.*$";
 
-    private static Pattern PATTERN = Pattern.compile(_REGEX);
+    private static final Pattern PATTERN = Pattern.compile(_REGEX);
+
+    /**
+     * RegEx pattern for the garbage collector information.
+     */
+    private static final Pattern PATTERN_GARBAGE_COLLECTOR = Pattern.compile(__REGEX_GARBAGE_COLLECTOR);
+
+    /**
+     * RegEx pattern for the JDK version information.
+     */
+    private static final Pattern PATTERN_VERSION = Pattern.compile(__REGEX_VERSION);
 
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
@@ -214,15 +225,26 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
         return PATTERN.matcher(logLine).matches();
     }
 
+    /**
+     * Whether the header contains garbage collector information.
+     */
+    private boolean garbageCollector;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
     private String logEntry;
+
     /**
      * The time when the GC event started in milliseconds after JVM startup.
      */
     private long timestamp;
 
+    /**
+     * Whether the header contains JDK version information.
+     */
+    private boolean version;
+
     /**
      * Create event from log entry.
      * 
@@ -233,13 +255,13 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
         this.logEntry = logEntry;
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
-            if (matcher.group(2).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+            if (UnifiedUtil.isUptimeMillis(matcher.group(2))) {
                 timestamp = Long.parseLong(matcher.group(13));
-            } else if (matcher.group(2).matches(UnifiedRegEx.UPTIME)) {
+            } else if (UnifiedUtil.isUptime(matcher.group(2))) {
                 timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
             } else {
                 if (matcher.group(15) != null) {
-                    if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                    if (UnifiedUtil.isUptimeMillis(matcher.group(15))) {
                         timestamp = Long.parseLong(matcher.group(17));
                     } else {
                         timestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
@@ -249,6 +271,11 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
                     timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
                 }
             }
+            String header = matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1);
+            if (header != null) {
+                garbageCollector = PATTERN_GARBAGE_COLLECTOR.matcher(header).matches();
+                version = PATTERN_VERSION.matcher(header).matches();
+            }
         }
     }
 
@@ -372,28 +399,14 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
      * @return true if the header contains garbage collector information, false otherwise.
      */
     public boolean isGarbageCollector() {
-        boolean isGarbageCollector = false;
-        Matcher matcher = PATTERN.matcher(logEntry);
-        if (matcher.matches()) {
-            if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1) != null) {
-                isGarbageCollector = matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1).matches(__REGEX_GARBAGE_COLLECTOR);
-            }
-        }
-        return isGarbageCollector;
+        return garbageCollector;
     }
 
     /**
      * @return true if the header contains JDK version information, false otherwise.
      */
     public boolean isVersion() {
-        boolean isVersion = false;
-        Matcher matcher = PATTERN.matcher(logEntry);
-        if (matcher.matches()) {
-            if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1) != null) {
-                isVersion = matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1).matches(__REGEX_VERSION);
-            }
-        }
-        return isVersion;
+        return version;
     }
 
     public void setTimestamp(long timestamp) {
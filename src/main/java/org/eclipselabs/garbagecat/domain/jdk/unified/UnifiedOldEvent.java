@@ -142,6 +142,11 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
      * The log entry for the event. Can be used for debugging purposes.
      */
     private String logEntry;
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The wall (clock) time in centiseconds.
      */
@@ -172,6 +177,7 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
      */
     public UnifiedOldEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 22)).intValue();
@@ -216,6 +222,7 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
      */
     public UnifiedOldEvent(String logEntry, long timestamp, int duration) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         this.timestamp = timestamp;
         this.eventTime = duration;
     }
@@ -286,10 +293,7 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 
     protected void setClassSpace(Memory classSpace) {
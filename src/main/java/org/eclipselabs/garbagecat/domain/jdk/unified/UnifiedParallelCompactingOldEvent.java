@@ -126,6 +126,11 @@ public class UnifiedParallelCompactingOldEvent extends ParallelCollector impleme
      */
     private Memory classSpace;
 
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The elapsed clock time for the GC event in microseconds (rounded).
      */
@@ -196,6 +201,7 @@ public class UnifiedParallelCompactingOldEvent extends ParallelCollector impleme
      */
     public UnifiedParallelCompactingOldEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 50)).intValue();
@@ -242,6 +248,7 @@ public class UnifiedParallelCompactingOldEvent extends ParallelCollector impleme
      */
     public UnifiedParallelCompactingOldEvent(String logEntry, long timestamp, int duration) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         this.timestamp = timestamp;
         this.eventTime = duration;
     }
@@ -329,10 +336,7 @@ public class UnifiedParallelCompactingOldEvent extends ParallelCollector impleme
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 
     protected void setClassSpace(Memory classSpace) {
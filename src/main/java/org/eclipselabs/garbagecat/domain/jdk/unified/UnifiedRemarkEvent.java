@@ -23,6 +23,7 @@ import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -127,13 +128,13 @@ public class UnifiedRemarkEvent extends UnknownCollector
             matcher.reset();
             if (matcher.find()) {
                 long endTimestamp;
-                if (matcher.group(2).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                if (UnifiedUtil.isUptimeMillis(matcher.group(2))) {
                     endTimestamp = Long.parseLong(matcher.group(JdkUtil.DECORATOR_SIZE));
-                } else if (matcher.group(2).matches(UnifiedRegEx.UPTIME)) {
+                } else if (UnifiedUtil.isUptime(matcher.group(2))) {
                     endTimestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
                 } else {
                     if (matcher.group(JdkUtil.DECORATOR_SIZE + 1) != null) {
-                        if (matcher.group(JdkUtil.DECORATOR_SIZE + 2).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                        if (UnifiedUtil.isUptimeMillis(matcher.group(JdkUtil.DECORATOR_SIZE + 2))) {
                             endTimestamp = Long.parseLong(matcher.group(JdkUtil.DECORATOR_SIZE + 4));
                         } else {
                             endTimestamp = JdkMath.convertSecsToMillis(matcher.group(JdkUtil.DECORATOR_SIZE + 3))
@@ -153,13 +154,13 @@ public class UnifiedRemarkEvent extends UnknownCollector
             matcher.reset();
             if (matcher.find()) {
                 // Preparsed logging has a true timestamp (it outputs the beginning logging before the safepoint).
-                if (matcher.group(2).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                if (UnifiedUtil.isUptimeMillis(matcher.group(2))) {
                     timestamp = Long.parseLong(matcher.group(13));
-                } else if (matcher.group(2).matches(UnifiedRegEx.UPTIME)) {
+                } else if (UnifiedUtil.isUptime(matcher.group(2))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
                 } else {
                     if (matcher.group(15) != null) {
-                        if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                        if (UnifiedUtil.isUptimeMillis(matcher.group(15))) {
                             timestamp = Long.parseLong(matcher.group(17));
                         } else {
                             timestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
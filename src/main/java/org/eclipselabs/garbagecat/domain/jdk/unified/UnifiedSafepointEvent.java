@@ -171,6 +171,16 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
         return PATTERN.matcher(logLine).matches() || PATTERN_JDK17.matcher(logLine).matches();
     }
 
+    /**
+     * The safepoint duration in nanoseconds.
+     */
+    private long durationNanos;
+
+    /**
+     * Whether the log entry timestamp is the time the safepoint ended (JDK17+ single line logging).
+     */
+    private boolean endstamp;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -218,13 +228,13 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
             if (matcher.find()) {
                 trigger = UnifiedSafepoint.getTrigger(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1));
                 // Has a true timestamp (it outputs the beginning logging before the safepoint).
-                if (matcher.group(2).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                if (UnifiedUtil.isUptimeMillis(matcher.group(2))) {
                     timestamp = Long.parseLong(matcher.group(13));
-                } else if (matcher.group(2).matches(UnifiedRegEx.UPTIME)) {
+                } else if (UnifiedUtil.isUptime(matcher.group(2))) {
                     timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
                 } else {
                     if (matcher.group(15) != null) {
-                        if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                        if (UnifiedUtil.isUptimeMillis(matcher.group(15))) {
                             timestamp = Long.parseLong(matcher.group(17));
                         } else {
                             timestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
@@ -238,8 +248,10 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
                         .longValue();
                 timeToStopThreads = JdkMath.convertSecsToNanos(matcher.group(3 * UnifiedRegEx.DECORATOR_SIZE + 3))
                         .longValue();
+                durationNanos = timeThreadsStopped + timeToStopThreads;
             }
         } else if ((matcher = PATTERN_JDK17.matcher(logEntry)).matches()) {
+            endstamp = true;
             matcher.reset();
             if (matcher.find()) {
                 trigger = UnifiedSafepoint.getTrigger(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 3));
@@ -248,6 +260,11 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
                     timeCleanup = Long.parseLong(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 6));
                 }
                 timeThreadsStopped = Long.parseLong(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 7));
+                if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 2) != null) {
+                    durationNanos = timeThreadsStopped + timeToStopThreads + timeCleanup;
+                } else {
+                    durationNanos = timeThreadsStopped + timeToStopThreads;
+                }
                 long time = UnifiedUtil.calculateTime(matcher);
                 timestamp = time - JdkMath.convertNanosToMillis(getDurationNanos()).longValue();
             }
@@ -265,17 +282,6 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
      * @return The safepoint duration in nanoseconds.
      */
     public long getDurationNanos() {
-        long durationNanos;
-        Matcher matcher = PATTERN_JDK17.matcher(logEntry);
-        if (matcher.matches()) {
-            if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 2) != null) {
-                durationNanos = timeThreadsStopped + timeToStopThreads + timeCleanup;
-            } else {
-                durationNanos = timeThreadsStopped + timeToStopThreads;
-            }
-        } else {
-            durationNanos = timeThreadsStopped + timeToStopThreads;
-        }
         return durationNanos;
     }
 
@@ -313,7 +319,7 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
     }
 
     public boolean isEndstamp() {
-        return PATTERN_JDK17.matcher(logEntry).matches();
+        return endstamp;
     }
 
 }
@@ -111,6 +111,11 @@ public class UnifiedSerialNewEvent extends SerialCollector implements UnifiedLog
      */
     private Memory classSpace;
 
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The elapsed clock time for the GC event in microseconds (rounded).
      */
@@ -181,6 +186,7 @@ public class UnifiedSerialNewEvent extends SerialCollector implements UnifiedLog
      */
     public UnifiedSerialNewEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 50)).intValue();
@@ -229,6 +235,7 @@ public class UnifiedSerialNewEvent extends SerialCollector implements UnifiedLog
      */
     public UnifiedSerialNewEvent(String logEntry, long timestamp, int duration) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         this.timestamp = timestamp;
         this.eventTime = duration;
     }
@@ -316,10 +323,7 @@ public class UnifiedSerialNewEvent extends SerialCollector implements UnifiedLog
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 
     protected void setClassSpace(Memory classSpace) {
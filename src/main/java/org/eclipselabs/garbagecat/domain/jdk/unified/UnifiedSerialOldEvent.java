@@ -119,6 +119,11 @@ public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLog
      */
     private Memory classSpace;
 
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The elapsed clock time for the GC event in microseconds (rounded).
      */
@@ -187,6 +192,7 @@ public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLog
      */
     public UnifiedSerialOldEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 64)).intValue();
@@ -235,6 +241,7 @@ public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLog
      */
     public UnifiedSerialOldEvent(String logEntry, long timestamp, int duration) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         this.timestamp = timestamp;
         this.eventTime = duration;
     }
@@ -322,10 +329,7 @@ public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLog
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 
     protected void setClassSpace(Memory classSpace) {
@@ -116,6 +116,11 @@ public class UnifiedShenandoahDegeneratedGcEvent extends ShenandoahCollector
      */
     private Memory combinedSpace;
 
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The elapsed clock time for the GC event in microseconds (rounded).
      */
@@ -139,6 +144,7 @@ public class UnifiedShenandoahDegeneratedGcEvent extends ShenandoahCollector
      */
     public UnifiedShenandoahDegeneratedGcEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 11)).intValue();
@@ -177,6 +183,7 @@ public class UnifiedShenandoahDegeneratedGcEvent extends ShenandoahCollector
      */
     public UnifiedShenandoahDegeneratedGcEvent(String logEntry, long timestamp, int duration) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         this.timestamp = timestamp;
         this.eventTime = duration;
     }
@@ -227,10 +234,7 @@ public class UnifiedShenandoahDegeneratedGcEvent extends ShenandoahCollector
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 
     protected void setClassSpace(Memory classSpace) {
@@ -64,6 +64,11 @@ public class UnifiedShenandoahFinalRootsEvent extends ShenandoahCollector
      * The elapsed clock time for the GC event in microseconds (rounded).
      */
     private long eventTime;
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -82,6 +87,7 @@ public class UnifiedShenandoahFinalRootsEvent extends ShenandoahCollector
      */
     public UnifiedShenandoahFinalRootsEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1)).intValue();
@@ -106,6 +112,7 @@ public class UnifiedShenandoahFinalRootsEvent extends ShenandoahCollector
      */
     public UnifiedShenandoahFinalRootsEvent(String logEntry, long timestamp, int duration) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         this.timestamp = timestamp;
         this.eventTime = duration;
     }
@@ -132,9 +139,6 @@ public class UnifiedShenandoahFinalRootsEvent extends ShenandoahCollector
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 }
@@ -67,6 +67,11 @@ public class UnifiedShenandoahFinalUpdateRefsEvent extends ShenandoahCollector
         return PATTERN.matcher(logLine).matches();
     }
 
+    /**
+     * Whether the log entry timestamp is the time the event ended (<code>gc,start</code> not logged).
+     */
+    private boolean endstamp;
+
     /**
      * The elapsed clock time for the GC event in microseconds (rounded).
      */
@@ -90,6 +95,7 @@ public class UnifiedShenandoahFinalUpdateRefsEvent extends ShenandoahCollector
      */
     public UnifiedShenandoahFinalUpdateRefsEvent(String logEntry) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             eventTime = JdkMath.convertMillisToMicros(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1)).intValue();
@@ -114,6 +120,7 @@ public class UnifiedShenandoahFinalUpdateRefsEvent extends ShenandoahCollector
      */
     public UnifiedShenandoahFinalUpdateRefsEvent(String logEntry, long timestamp, int duration) {
         this.logEntry = logEntry;
+        endstamp = UnifiedUtil.isEndstamp(logEntry);
         this.timestamp = timestamp;
         this.eventTime = duration;
     }
@@ -140,9 +147,6 @@ public class UnifiedShenandoahFinalUpdateRefsEvent extends ShenandoahCollector
     }
 
     public boolean isEndstamp() {
-        // default assumes gc,start not logged (e.g. not preprocessed)
-        boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
-        return isEndStamp;
+        return endstamp;
     }
 }
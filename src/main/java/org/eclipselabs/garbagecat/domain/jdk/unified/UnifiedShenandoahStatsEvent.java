@@ -180,6 +180,22 @@ public class UnifiedShenandoahStatsEvent extends ShenandoahCollector
         return match;
     }
 
+    /**
+     * Determine if the logLine is the header for this event.
+     * 
+     * @param logLine
+     *            The log line to test.
+     * @return true if the log line matches the header pattern, false otherwise.
+     */
+    public static final boolean matchHeader(String logLine) {
+        return REGEX_PATTERN_LIST.get(0).matcher(logLine).matches();
+    }
+
+    /**
+     * Whether the log entry is the header.
+     */
+    private boolean header;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -193,6 +209,7 @@ public class UnifiedShenandoahStatsEvent extends ShenandoahCollector
      */
     public UnifiedShenandoahStatsEvent(String logEntry) {
         this.logEntry = logEntry;
+        header = logEntry != null && matchHeader(logEntry);
     }
 
     public String getLogEntry() {
@@ -219,10 +236,6 @@ public class UnifiedShenandoahStatsEvent extends ShenandoahCollector
 
     @Override
     public boolean isHeader() {
-        boolean isHeader = false;
-        if (this.logEntry != null) {
-            isHeader = logEntry.matches(_REGEX_HEADER);
-        }
-        return isHeader;
+        return header;
     }
 }
@@ -234,6 +234,22 @@ public class ZStatsEvent extends UnknownCollector implements UnifiedLogging, Hea
         return match;
     }
 
+    /**
+     * Determine if the logLine is the header for this event.
+     * 
+     * @param logLine
+     *            The log line to test.
+     * @return true if the log line matches the header pattern, false otherwise.
+     */
+    public static final boolean matchHeader(String logLine) {
+        return REGEX_PATTERN_LIST.get(0).matcher(logLine).matches();
+    }
+
+    /**
+     * Whether the log entry is the header.
+     */
+    private boolean header;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -247,6 +263,7 @@ public class ZStatsEvent extends UnknownCollector implements UnifiedLogging, Hea
      */
     public ZStatsEvent(String logEntry) {
         this.logEntry = logEntry;
+        header = logEntry != null && matchHeader(logEntry);
     }
 
     public String getLogEntry() {
@@ -273,10 +290,6 @@ public class ZStatsEvent extends UnknownCollector implements UnifiedLogging, Hea
 
     @Override
     public boolean isHeader() {
-        boolean isHeader = false;
-        if (this.logEntry != null) {
-            isHeader = logEntry.matches(_REGEX_HEADER);
-        }
-        return isHeader;
+        return header;
     }
 }
@@ -68,6 +68,8 @@ public class SerialPreprocessAction implements PreprocessAction {
     private static final String REGEX_RETAIN_BEGINNING = "^(" + JdkRegEx.TIMESTAMP + ": \\[GC " + JdkRegEx.TIMESTAMP
             + ": \\[DefNew)$";
 
+    private static final Pattern REGEX_RETAIN_BEGINNING_PATTERN = Pattern.compile(REGEX_RETAIN_BEGINNING);
+
     /**
      * Regular expression for retained end of collection.
      * 
@@ -77,6 +79,8 @@ public class SerialPreprocessAction implements PreprocessAction {
             + JdkRegEx.SIZE_K + "\\), " + JdkRegEx.DURATION + "\\] " + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\("
             + JdkRegEx.SIZE_K + "\\), " + JdkRegEx.DURATION + "\\])$";
 
+    private static final Pattern REGEX_RETAIN_END_PATTERN = Pattern.compile(REGEX_RETAIN_END);
+
     /**
      * Log entry in the entangle log list used to indicate the current high level preprocessor (e.g. CMS, G1). This
      * context is necessary to detangle multi-line events where logging patterns are shared among preprocessors.
@@ -91,7 +95,8 @@ public class SerialPreprocessAction implements PreprocessAction {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX_RETAIN_BEGINNING) || logLine.matches(REGEX_RETAIN_END);
+        return REGEX_RETAIN_BEGINNING_PATTERN.matcher(logLine).matches()
+                || REGEX_RETAIN_END_PATTERN.matcher(logLine).matches();
     }
 
     /**
@@ -117,21 +122,14 @@ public class SerialPreprocessAction implements PreprocessAction {
             List<String> entangledLogLines, Set<String> context) {
 
         // Beginning logging
-        if (logEntry.matches(REGEX_RETAIN_BEGINNING)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.matches()) {
-                this.logEntry = matcher.group(1);
-            }
+        Matcher matcher;
+        if ((matcher = REGEX_RETAIN_BEGINNING_PATTERN.matcher(logEntry)).matches()) {
+            this.logEntry = matcher.group(1);
             context.add(PreprocessAction.NEWLINE);
             context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END)) {
+        } else if ((matcher = REGEX_RETAIN_END_PATTERN.matcher(logEntry)).matches()) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.matches()) {
-                this.logEntry = matcher.group(1);
-            }
+            this.logEntry = matcher.group(1);
             clearEntangledLines(entangledLogLines);
             context.remove(PreprocessAction.NEWLINE);
             context.remove(TOKEN);
@@ -34,6 +34,7 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -1352,7 +1353,7 @@ public class UnifiedPreprocessAction implements PreprocessAction {
         } else if ((matcher = REGEX_RETAIN_BEGINNING_G1_FULL_GC_PATTERN.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.matches()) {
-                if (logEntry.matches(UnifiedRegEx.TAG_GC_START)) {
+                if (!UnifiedUtil.isEndstamp(logEntry)) {
                     this.logEntry = matcher.group(0);
                 } else {
                     if (matcher.group(23) == null) {
@@ -1378,7 +1379,7 @@ public class UnifiedPreprocessAction implements PreprocessAction {
                 context.remove(PreprocessAction.NEWLINE);
             } else {
                 if (matcher.matches()) {
-                    if (logEntry.matches(UnifiedRegEx.TAG_GC_START)) {
+                    if (!UnifiedUtil.isEndstamp(logEntry)) {
                         this.logEntry = matcher.group(1);
                     } else {
                         if (matcher.group(23) == null) {
@@ -1404,7 +1405,7 @@ public class UnifiedPreprocessAction implements PreprocessAction {
         } else if ((matcher = REGEX_RETAIN_BEGINNING_PAUSE_YOUNG_PATTERN.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.matches()) {
-                if (logEntry.matches(UnifiedRegEx.TAG_GC_START)) {
+                if (!UnifiedUtil.isEndstamp(logEntry)) {
                     this.logEntry = matcher.group(0);
                 } else {
                     if (matcher.group(23) == null) {
@@ -1428,7 +1429,7 @@ public class UnifiedPreprocessAction implements PreprocessAction {
         } else if ((matcher = REGEX_RETAIN_BEGINNING_SHENANDOAH_PATTERN.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.matches()) {
-                if (logEntry.matches(UnifiedRegEx.TAG_GC_START)) {
+                if (!UnifiedUtil.isEndstamp(logEntry)) {
                     this.logEntry = matcher.group(0);
                 } else {
                     if (matcher.group(23) == null) {
@@ -1445,7 +1446,7 @@ public class UnifiedPreprocessAction implements PreprocessAction {
         } else if ((matcher = REGEX_RETAIN_BEGINNING_YOUNG_PATTERN.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.matches()) {
-                if (logEntry.matches(UnifiedRegEx.TAG_GC_START)) {
+                if (!UnifiedUtil.isEndstamp(logEntry)) {
                     this.logEntry = matcher.group(0);
                 } else {
                     if (matcher.group(23) == null) {
@@ -1520,7 +1521,7 @@ public class UnifiedPreprocessAction implements PreprocessAction {
                             this.logEntry = matcher.group(0);
                         } else {
                             if (entangledLogLines.size() == 1
-                                    && entangledLogLines.get(0).matches(" " + Constants.G1_TO_SPACE_EXHAUSTED)) {
+                                    && entangledLogLines.get(0).equals(" " + Constants.G1_TO_SPACE_EXHAUSTED)) {
                                 this.logEntry = matcher.group(1) + matcher.group(UnifiedRegEx.DECORATOR_SIZE + 2)
                                         + entangledLogLines.get(0) + matcher.group(UnifiedRegEx.DECORATOR_SIZE + 6);
                                 entangledLogLines.clear();
@@ -1577,9 +1578,9 @@ public class UnifiedPreprocessAction implements PreprocessAction {
                 String beginningSafepointLogging = null;
                 String middleSafepointLogging = null;
                 for (String logLine : entangledLogLines) {
-                    if (logLine.matches(REGEX_RETAIN_BEGINNING_SAFEPOINT)) {
+                    if (REGEX_RETAIN_BEGINNING_SAFEPOINT_PATTERN.matcher(logLine).matches()) {
                         beginningSafepointLogging = logLine;
-                    } else if (logLine.matches(REGEX_RETAIN_MIDDLE_SAFEPOINT)) {
+                    } else if (REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN.matcher(logLine).matches()) {
                         middleSafepointLogging = logLine;
                     }
                 }
@@ -0,0 +1,219 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * <p>
+ * Persistent cache of parsed logging, so repeat runs on the same log skip parsing and only redo threshold dependent
+ * analysis.
+ * </p>
+ *
+ * <p>
+ * Entries are files in the cache directory written with <code>GcManager.write</code>, named by a SHA-256 hash of the
+ * log file content, the garbagecat version, the binary format version, and any options that change parsing (e.g.
+ * preprocessing). Entries are written to a temporary file and moved into place, so concurrent runs sharing a directory
+ * never see a partial entry.
+ * </p>
+ *
+ * <p>
+ * Entries hold the event column data, not the logging: only the log entries of reported events (e.g. bottlenecks) are
+ * kept, so the options that choose the reported events (e.g. the throughput threshold) are also part of the key.
+ * </p>
+ *
+ * <p>
+ * The cache is kept under a maximum total size by deleting the least recently used entries. An entry's last modified
+ * time is its last use.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class AnalysisCache {
+
+    /**
+     * Default maximum total size of the cache in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 1024L * 1024 * 1024;
+
+    /**
+     * Cache entry file name extension.
+     */
+    private static final String ENTRY_EXTENSION = ".gcat";
+
+    /**
+     * Hexadecimal digits for the cache key.
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The cache directory.
+     */
+    private final File directory;
+
+    /**
+     * The maximum total size of the entries in bytes.
+     */
+    private final long maxSize;
+
+    /**
+     * @param directory
+     *            The cache directory (created if it does not exist).
+     * @param maxSize
+     *            The maximum total size of the entries in bytes.
+     */
+    public AnalysisCache(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param key
+     *            The entry key.
+     * @return The entry file.
+     */
+    private File entry(String key) {
+        return new File(directory, key + ENTRY_EXTENSION);
+    }
+
+    /**
+     * Delete least recently used entries until the total size is not more than the maximum.
+     */
+    private void evict() {
+        File[] entries = directory.listFiles((dir, name) -> name.endsWith(ENTRY_EXTENSION));
+        if (entries == null) {
+            return;
+        }
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified).reversed());
+        long size = 0;
+        for (File entry : entries) {
+            size += entry.length();
+            if (size > maxSize) {
+                entry.delete();
+            }
+        }
+    }
+
+    /**
+     * Determine the cache key for a log file.
+     *
+     * @param logFile
+     *            The log file.
+     * @param parserVersion
+     *            The garbagecat version that parses the logging.
+     * @param options
+     *            The options that change parsing or the reported events (e.g. preprocessing, JVM start datetime,
+     *            reordering, throughput threshold).
+     * @return The cache key.
+     * @throws IOException
+     *             if the log file cannot be read.
+     */
+    public String key(File logFile, String parserVersion, String options) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available.", e);
+        }
+        digest.update((GcManager.FORMAT_VERSION + "\n" + parserVersion + "\n" + options + "\n").getBytes(UTF_8));
+        byte[] buffer = new byte[65536];
+        try (InputStream in = new FileInputStream(logFile)) {
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, count);
+            }
+        }
+        byte[] hash = digest.digest();
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Load a cache entry.
+     *
+     * @param key
+     *            The entry key.
+     * @param jvmStartDate
+     *            The JVM start date.
+     * @return A <code>GcManager</code> with the data stored from the logging, or null if there is no (valid) entry.
+     */
+    public GcManager load(String key, Date jvmStartDate) {
+        File entry = entry(key);
+        if (!entry.isFile()) {
+            return null;
+        }
+        GcManager gcManager = new GcManager(jvmStartDate);
+        try (InputStream in = new BufferedInputStream(new FileInputStream(entry))) {
+            gcManager.read(in);
+        } catch (IOException | RuntimeException e) {
+            // Unreadable or written by a different version: discard it.
+            entry.delete();
+            return null;
+        }
+        entry.setLastModified(System.currentTimeMillis());
+        return gcManager;
+    }
+
+    /**
+     * Store a cache entry, then evict least recently used entries over the maximum size.
+     *
+     * @param key
+     *            The entry key.
+     * @param gcManager
+     *            The <code>GcManager</code> with the data stored from the logging.
+     * @throws IOException
+     *             if the entry cannot be written.
+     */
+    public void store(String key, GcManager gcManager) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create cache directory: " + directory);
+        }
+        File temp = File.createTempFile("garbagecat", ".tmp", directory);
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp))) {
+                gcManager.write(out);
+            }
+            try {
+                Files.move(temp.toPath(), entry(key).toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), entry(key).toPath(), REPLACE_EXISTING);
+            }
+        } finally {
+            temp.delete();
+        }
+        evict();
+    }
+}
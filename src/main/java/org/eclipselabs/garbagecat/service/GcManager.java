@@ -16,6 +16,13 @@ import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.BYTES;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Date;
@@ -24,9 +31,19 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.eclipselabs.garbagecat.Main;
+import org.eclipselabs.garbagecat.dao.BlockingEventQuery;
+import org.eclipselabs.garbagecat.dao.EventInputStream;
+import org.eclipselabs.garbagecat.dao.EventOutputStream;
 import org.eclipselabs.garbagecat.dao.JvmDao;
+import org.eclipselabs.garbagecat.dao.MemoryRates;
+import org.eclipselabs.garbagecat.dao.Rollup;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ClassData;
 import org.eclipselabs.garbagecat.domain.CombinedData;
@@ -51,7 +68,6 @@ import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.domain.jdk.G1ExtRootScanningData;
 import org.eclipselabs.garbagecat.domain.jdk.G1FullGcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.G1YoungInitialMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
 import org.eclipselabs.garbagecat.domain.jdk.GcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.GcLockerScavengeFailedEvent;
 import org.eclipselabs.garbagecat.domain.jdk.GcOverheadLimitEvent;
@@ -76,9 +92,12 @@ import org.eclipselabs.garbagecat.preprocess.jdk.ParallelPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.ShenandoahPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
+import org.eclipselabs.garbagecat.util.Bottlenecks;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.MutatorUtilization;
+import org.eclipselabs.garbagecat.util.PauseSlo;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
@@ -86,6 +105,7 @@ import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.UnknownLineCache;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.github.joa.JvmOptions;
 import org.github.joa.domain.Bit;
@@ -96,16 +116,59 @@ import org.github.joa.domain.GarbageCollector;
  * Provides garbage collection analysis services to other layers.
  * </p>
  * 
+ * <p>
+ * Each instance has its own <code>JvmDao</code> and caches, so separate instances can analyze different logs
+ * concurrently on different threads. An instance is not thread safe and should be used by one thread at a time.
+ * </p>
+ * 
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
  * @author jborelo
  * 
  */
 public class GcManager {
 
+    /**
+     * Binary format magic number ("GCAT").
+     */
+    public static final int FORMAT_MAGIC = 0x47434154;
+
+    /**
+     * Binary format version. Increment on any change to the data written by <code>write</code>.
+     * 
+     * 1: Fixed width numbers, enums by name.
+     * 
+     * 2: Variable length numbers, delta encoded timestamps, dictionary encoded enums, deflate compressed body.
+     * 
+     * 3: Worst pause and parallelism events, and the number of worst events kept.
+     * 
+     * 4: Allocation, promotion, and old generation growth rates.
+     * 
+     * 5: Heap occupancy after old collections trend.
+     * 
+     * 6: Non-blocking event heap occupancy instead of memory rates.
+     * 
+     * 7: Only the kept (reported) <code>BlockingEvent</code> log entries, unless every log entry is kept.
+     */
+    public static final int FORMAT_VERSION = 7;
+
+    /**
+     * Blank line pattern, compiled once rather than on every log line.
+     */
+    private static final Pattern PATTERN_BLANK_LINE = Pattern.compile(JdkRegEx.BLANK_LINE);
+
+    /**
+     * Unified logging blank line pattern, compiled once rather than on every log line.
+     */
+    private static final Pattern PATTERN_UNIFIED_BLANK_LINE = Pattern.compile(UnifiedRegEx.BLANK_LINE);
+
     private static boolean greater(Memory memory, int value) {
         return memory != null && memory.getValue(KILOBYTES) > value;
     }
 
+    private static boolean isBlankLine(String logLine) {
+        return PATTERN_BLANK_LINE.matcher(logLine).matches() || PATTERN_UNIFIED_BLANK_LINE.matcher(logLine).matches();
+    }
+
     /**
      * The JVM data access object.
      */
@@ -121,11 +184,21 @@ public class GcManager {
      */
     private String lastLogLineUnprocessed;
 
+    /**
+     * The pause time budget to check pauses against, or null if none.
+     */
+    private PauseSlo.Budget pauseSloBudget;
+
     /**
      * Whether or not the JVM events are from a preprocessed file.
      */
     private boolean preprocessed;
 
+    /**
+     * Cache of repeated log line shapes that identify as unknown or throwaway events.
+     */
+    private UnknownLineCache unknownLineCache = new UnknownLineCache();
+
     /**
      * Default constructor.
      */
@@ -145,101 +218,21 @@ public class GcManager {
     }
 
     /**
-     * Allocation rate in KB per second.
+     * @param query
+     *            The query.
+     * @return The number of stored <code>BlockingEvent</code>s matching the query (ignoring the query page).
      */
-    private BigDecimal getAllocationRate() {
-        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents(LogEventType.G1_YOUNG_PAUSE);
-
-        if (blockingEvents.isEmpty())
-            return BigDecimal.ZERO;
-
-        long allocatedKb = 0;
-        G1YoungPauseEvent prior = null;
-        long firstEventTs = 0;
-        for (BlockingEvent event : blockingEvents) {
-            G1YoungPauseEvent young = (G1YoungPauseEvent) event;
-            if (prior == null) {
-                // skip the first event since we don't know if this is a complete JVM run
-                // and therefore can't accurately calculate allocation rate prior to the first
-                // log
-                // youngGc pause event
-                prior = young;
-                firstEventTs = prior.getTimestamp();
-                continue;
-            }
-            // will not have eden information if gc details not being logged
-            if (young.getEdenOccupancyInit() != null && prior.getEdenOccupancyEnd() != null) {
-                allocatedKb += young.getEdenOccupancyInit().minus(prior.getEdenOccupancyEnd()).getValue(KILOBYTES);
-            }
-            prior = young;
-        }
-
-        BigDecimal durationMs = BigDecimal.valueOf(prior.getTimestamp() - firstEventTs);
-        if (durationMs.longValue() <= 0)
-            return BigDecimal.ZERO;
-
-        Memory allocated = Memory.kilobytes(allocatedKb);
-
-        BigDecimal kilobytesPerSec = BigDecimal.valueOf(allocated.getValue(KILOBYTES) / durationMs.longValue());
-
-        return kilobytesPerSec.multiply(BigDecimal.valueOf(1000));
+    public int getBlockingEventCount(BlockingEventQuery query) {
+        return jvmDao.getBlockingEventCount(query);
     }
 
     /**
-     * Determine <code>BlockingEvent</code>s where throughput since last event does not meet the throughput goal.
-     * 
-     * @param throughputThreshold
-     *            The bottleneck reporting throughput threshold.
-     * @return A <code>List</code> of <code>BlockingEvent</code>s where the throughput between events is less than the
-     *         throughput threshold goal.
+     * @param query
+     *            The query.
+     * @return A read-only list of the page of stored <code>BlockingEvent</code>s matching the query.
      */
-    private List<String> getGcBottlenecks(int throughputThreshold) {
-        List<String> bottlenecks = new ArrayList<String>();
-        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents();
-        BlockingEvent priorEvent = null;
-        for (BlockingEvent event : blockingEvents) {
-            if (priorEvent != null && JdkUtil.isBottleneck(event, priorEvent, throughputThreshold)) {
-                if (bottlenecks.isEmpty()) {
-                    // Add current and prior event
-                    if (jvmStartDate != null) {
-                        // Convert uptime to datetime
-                        bottlenecks.add(
-                                JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvmStartDate));
-                        bottlenecks
-                                .add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                    } else {
-                        bottlenecks.add(priorEvent.getLogEntry());
-                        bottlenecks.add(event.getLogEntry());
-                    }
-                } else {
-                    if (jvmStartDate != null) {
-                        // Compare datetime, since bottleneck has datetime
-                        if (!JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvmStartDate)
-                                .equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                    jvmStartDate));
-                            bottlenecks.add(
-                                    JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                        } else {
-                            bottlenecks.add(
-                                    JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                        }
-                    } else {
-                        // Compare timestamps, since bottleneck has timestamp
-                        if (!priorEvent.getLogEntry().equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(priorEvent.getLogEntry());
-                            bottlenecks.add(event.getLogEntry());
-                        } else {
-                            bottlenecks.add(event.getLogEntry());
-                        }
-                    }
-                }
-            }
-            priorEvent = event;
-        }
-        return bottlenecks;
+    public List<BlockingEvent> getBlockingEvents(BlockingEventQuery query) {
+        return jvmDao.getBlockingEvents(query);
     }
 
     /**
@@ -264,7 +257,12 @@ public class GcManager {
         }
         jvmRun.setJvmOptions(new JvmOptions(jvmDao.getJvmContext()));
 
-        jvmRun.setAllocationRate(getAllocationRate());
+        MemoryRates memoryRates = jvmDao.getMemoryRates();
+        jvmRun.setAllocationRate(BigDecimal.valueOf(memoryRates.getAllocation().getAverage()));
+        if (memoryRates.getAllocation().getMillis() > 0) {
+            jvmRun.setAllocationRatePeak(BigDecimal.valueOf(memoryRates.getAllocation().getPeak()));
+            jvmRun.setAllocationRatePeakTimestamp(memoryRates.getAllocation().getPeakTimestamp());
+        }
         jvmRun.setAnalysis(jvmDao.getAnalysis());
         jvmRun.setBlockingEventCount(jvmDao.getBlockingEventCount());
         jvmRun.setEventTypes(jvmDao.getEventTypes());
@@ -273,10 +271,19 @@ public class GcManager {
         jvmRun.setFirstGcEvent(jvmDao.getFirstGcEvent());
         jvmRun.setFirstLogEvent(jvmDao.getFirstLogEvent());
         jvmRun.setFirstSafepointEvent(jvmDao.getFirstSafepointEvent());
-        jvmRun.setGcBottlenecks(getGcBottlenecks(throughputThreshold));
+        Bottlenecks<BlockingEvent> gcBottlenecks = jvmDao.getGcBottlenecks(throughputThreshold);
+        if (gcBottlenecks.getTimeWarp() != null) {
+            throw gcBottlenecks.getTimeWarp();
+        }
+        jvmRun.setGcBottlenecks(gcBottlenecks);
+        jvmRun.setGcPauseHistogram(jvmDao.getDurationHistogram());
         jvmRun.setGcPauseMax(jvmDao.getDurationMax());
+        if (pauseSloBudget != null) {
+            jvmRun.setGcPauseSlo(jvmDao.getGcPauseSlo(pauseSloBudget));
+        }
         jvmRun.setGcPauseTotal(jvmDao.getDurationTotal());
         jvmRun.setGcTriggers(jvmDao.getGcTriggers());
+        jvmRun.setHeapAfterOldCollection(jvmDao.getHeapAfterOldCollection());
         jvmRun.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount());
         jvmRun.setInvertedSerialismCount(jvmDao.getInvertedSerialismCount());
         jvmRun.setJvmContext(jvmDao.getJvmContext());
@@ -298,15 +305,29 @@ public class GcManager {
         jvmRun.setMaxOldSpace(kilobytes(jvmDao.getMaxOldSpace()));
         jvmRun.setMaxYoungSpace(kilobytes(jvmDao.getMaxYoungSpace()));
         jvmRun.setMemory(jvmDao.getMemory());
+        jvmRun.setMmu(jvmDao.getMutatorUtilization().getWorstWindows(MutatorUtilization.DEFAULT_WINDOWS));
+        if (memoryRates.getOldGrowth().getMillis() > 0) {
+            jvmRun.setOldGrowthRate(BigDecimal.valueOf(memoryRates.getOldGrowth().getAverage()));
+            jvmRun.setOldGrowthRatePeak(BigDecimal.valueOf(memoryRates.getOldGrowth().getPeak()));
+        }
         jvmRun.setOtherTimeMax(jvmDao.getOtherTimeMax());
         jvmRun.setOtherTimeTotal(jvmDao.getOtherTimeTotal());
         jvmRun.setParallelCount(jvmDao.getParallelCount());
         jvmRun.setPhysicalMemory(new Memory(jvmDao.getPhysicalMemory(), BYTES));
         jvmRun.setPhysicalMemoryFree(new Memory(jvmDao.getPhysicalMemoryFree(), BYTES));
-        jvmRun.setSafepointBottlenecks(getSafepointBottlenecks(jvmStartDate, throughputThreshold));
+        Bottlenecks<SafepointEvent> safepointBottlenecks = jvmDao.getSafepointBottlenecks(throughputThreshold);
+        if (safepointBottlenecks.getTimeWarp() != null) {
+            throw safepointBottlenecks.getTimeWarp();
+        }
+        jvmRun.setSafepointBottlenecks(safepointBottlenecks);
         jvmRun.setSafepointEventSummaries(jvmDao.getSafepointEventSummaries());
+        jvmRun.setSafepointJoin(jvmDao.getSafepointJoin());
+        if (pauseSloBudget != null) {
+            jvmRun.setSafepointPauseSlo(jvmDao.getSafepointPauseSlo(pauseSloBudget));
+        }
         jvmRun.setSerialCount(jvmDao.getSerialCount());
         jvmRun.setStoppedTimeEventCount(jvmDao.getStoppedTimeEventCount());
+        jvmRun.setStoppedTimeHistogram(jvmDao.getStoppedTimeHistogram());
         jvmRun.setStoppedTimeMax(jvmDao.getStoppedTimeMax());
         jvmRun.setStoppedTimeTotal(jvmDao.getStoppedTimeTotal());
         jvmRun.setSwap(new Memory(jvmDao.getSwap(), BYTES));
@@ -314,13 +335,22 @@ public class GcManager {
         jvmRun.setSysGtUserCount(jvmDao.getSysGtUserCount());
         jvmRun.setUnidentifiedLogLines(jvmDao.getUnidentifiedLogLines());
         jvmRun.setUnifiedSafepointEventCount(jvmDao.getUnifiedSafepointEventCount());
+        jvmRun.setUnifiedSafepointHistogram(jvmDao.getUnifiedSafepointHistogram());
         jvmRun.setUnifiedSafepointTimeMax(jvmDao.getUnifiedSafepointTimeMax());
         jvmRun.setUnifiedSafepointTimeTotal(jvmDao.getUnifiedSafepointTimeTotal());
         jvmRun.setWorstInvertedParallelismEvent(jvmDao.getWorstInvertedParallelismEvent());
         jvmRun.setWorstInvertedSerialismEvent(jvmDao.getWorstInvertedSerialismEvent());
+        jvmRun.setWorstParallelismEvents(jvmDao.getWorstParallelismEvents());
+        jvmRun.setWorstPauseEvents(jvmDao.getWorstPauseEvents());
+        jvmRun.setWorstSafepointEvents(jvmDao.getWorstSafepointEvents());
         jvmRun.setWorstSysGtUserEvent(jvmDao.getWorstSysGtUserEvent());
+        jvmRun.setWorstTimeToSafepointEvents(jvmDao.getWorstTimeToSafepointEvents());
         jvmRun.setPreprocessed(this.preprocessed);
         jvmRun.setPreprocessEvents(jvmDao.getPreprocessEvents());
+        if (memoryRates.getPromotion().getMillis() > 0) {
+            jvmRun.setPromotionRate(BigDecimal.valueOf(memoryRates.getPromotion().getAverage()));
+            jvmRun.setPromotionRatePeak(BigDecimal.valueOf(memoryRates.getPromotion().getPeak()));
+        }
         jvmRun.setVmInfo(jvmDao.getVmInfo());
 
         // Analysis that depends on jvmDao
@@ -334,15 +364,10 @@ public class GcManager {
         }
         // Check for CMS running in incremental mode
         if (jvmDao.getJvmContext().getGarbageCollectors().contains(GarbageCollector.CMS)) {
-            List<BlockingEvent> cmsIncrementalModeEvents = jvmDao.getCmsIncrementalModeCollectorEvents();
-            if (!cmsIncrementalModeEvents.isEmpty()) {
-                Iterator<BlockingEvent> iterator = cmsIncrementalModeEvents.iterator();
-                if (iterator.hasNext()) {
-                    CmsIncrementalModeCollector cmsIncrementalModeEvent = (CmsIncrementalModeCollector) iterator.next();
-                    if (cmsIncrementalModeEvent.isIncrementalMode()) {
-                        jvmRun.getJvmOptions().addAnalysis((org.github.joa.util.Analysis.INFO_CMS_INCREMENTAL_MODE));
-                    }
-                }
+            CmsIncrementalModeCollector cmsIncrementalModeEvent = (CmsIncrementalModeCollector) jvmDao
+                    .getFirstCmsIncrementalModeCollectorEvent();
+            if (cmsIncrementalModeEvent != null && cmsIncrementalModeEvent.isIncrementalMode()) {
+                jvmRun.getJvmOptions().addAnalysis((org.github.joa.util.Analysis.INFO_CMS_INCREMENTAL_MODE));
             }
         }
 
@@ -386,7 +411,8 @@ public class GcManager {
         String preprocessedLogLine = null;
 
         if (currentLogLine != null) {
-            LogEvent event = JdkUtil.parseLogLine(currentLogLine, priorLogEvent, CollectorFamily.UNKNOWN);
+            LogEvent event = JdkUtil.parseLogLine(currentLogLine, priorLogEvent, CollectorFamily.UNKNOWN,
+                    unknownLineCache);
             if (event instanceof ThrowAwayEvent) {
                 JdkUtil.LogEventType throwAwayEventType = JdkUtil.determineEventType(event.getName());
                 if (!jvmDao.getEventTypes().contains(throwAwayEventType)) {
@@ -488,62 +514,16 @@ public class GcManager {
     }
 
     /**
-     * Determine <code>SafepointEvent</code>s where throughput since last event does not meet the throughput goal.
-     * 
-     * @param jvmStartDate
-     *            The JVM start date.
-     * @param throughputThreshold
-     *            The bottleneck reporting throughput threshold.
-     * @return A <code>List</code> of <code>SafepointEvent</code>s where the throughput between events is less than the
-     *         throughput threshold goal.
+     * @param resolution
+     *            The bucket size.
+     * @return The stored event aggregates in time buckets of the given size, built as the logging is stored.
      */
-    private List<String> getSafepointBottlenecks(Date jvmStartDate, int throughputThreshold) {
-        List<String> bottlenecks = new ArrayList<String>();
-        List<SafepointEvent> safepointEvents = jvmDao.getSafepointEvents();
-        SafepointEvent priorEvent = null;
-        for (SafepointEvent event : safepointEvents) {
-            if (priorEvent != null && JdkUtil.isBottleneck(event, priorEvent, throughputThreshold)) {
-                if (bottlenecks.isEmpty()) {
-                    // Add current and prior event
-                    if (jvmStartDate != null) {
-                        // Convert timestamps to date/time
-                        bottlenecks.add(
-                                JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvmStartDate));
-                        bottlenecks
-                                .add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                    } else {
-                        bottlenecks.add(priorEvent.getLogEntry());
-                        bottlenecks.add(event.getLogEntry());
-                    }
-                } else {
-                    if (jvmStartDate != null) {
-                        // Compare datetime, since bottleneck has datetime
-                        if (!JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvmStartDate)
-                                .equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                    jvmStartDate));
-                            bottlenecks.add(
-                                    JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                        } else {
-                            bottlenecks.add(
-                                    JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                        }
-                    } else {
-                        // Compare timestamps, since bottleneck has timestamp
-                        if (!priorEvent.getLogEntry().equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(priorEvent.getLogEntry());
-                            bottlenecks.add(event.getLogEntry());
-                        } else {
-                            bottlenecks.add(event.getLogEntry());
-                        }
-                    }
-                }
-            }
-            priorEvent = event;
-        }
-        return bottlenecks;
+    public Rollup getRollup(Rollup.Resolution resolution) {
+        return jvmDao.getRollup(resolution);
+    }
+
+    public UnknownLineCache getUnknownLineCache() {
+        return unknownLineCache;
     }
 
     public boolean isPreprocessed() {
@@ -610,7 +590,8 @@ public class GcManager {
             }
 
             while (nextLogLine != null) {
-                LogEvent currentEvent = JdkUtil.parseLogLine(currentLogLine, priorLogEvent, CollectorFamily.UNKNOWN);
+                LogEvent currentEvent = JdkUtil.parseLogLine(currentLogLine, priorLogEvent, CollectorFamily.UNKNOWN,
+                        unknownLineCache);
                 preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogEvent, nextLogLine, jvmStartDate,
                         entangledLogLines, context);
                 if (preprocessedLogLine != null) {
@@ -653,7 +634,7 @@ public class GcManager {
                     priorLogEntry = preprocessedLogLine;
                 }
                 // throw away blank lines
-                if (!(currentLogLine.matches(JdkRegEx.BLANK_LINE) || currentLogLine.matches(UnifiedRegEx.BLANK_LINE))) {
+                if (!isBlankLine(currentLogLine)) {
                     priorLogEvent = currentEvent;
                 }
                 currentLogLine = nextLogLine;
@@ -723,28 +704,109 @@ public class GcManager {
     }
 
     /**
-     * Parse the garbage collection logging for the JVM run and store the data in the data store.
+     * Restore the data stored by a previous run from data written with <code>write</code>, instead of parsing the
+     * logging. Threshold dependent analysis (e.g. bottlenecks) is done as usual by <code>getJvmRun</code>.
      * 
-     * @param logLines
-     *            The garbage collection loggine.
+     * @param in
+     *            The stream to read from.
+     * @throws IOException
+     *             if an I/O error occurs, or the data is not valid or was written by a different format version.
+     */
+    public void read(InputStream in) throws IOException {
+        DataInputStream headerIn = new DataInputStream(in);
+        if (headerIn.readInt() != FORMAT_MAGIC) {
+            throw new IOException("Not a garbagecat data file.");
+        }
+        int version = headerIn.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version: " + version);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            EventInputStream eventIn = new EventInputStream(
+                    new BufferedInputStream(new InflaterInputStream(in, inflater, 65536), 65536));
+            lastLogLineUnprocessed = eventIn.readString();
+            preprocessed = eventIn.readBoolean();
+            jvmDao.read(eventIn);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @param pauseSloBudget
+     *            The pause time budget to check GC and safepoint pauses against, or null if none. Set before storing
+     *            logging, so GC pauses are checked as logging is stored.
+     */
+    public void setPauseSloBudget(PauseSlo.Budget pauseSloBudget) {
+        this.pauseSloBudget = pauseSloBudget;
+        jvmDao.setPauseSloBudget(pauseSloBudget);
+    }
+
+    /**
+     * @param retainLogEntries
+     *            Whether or not to keep the log entry of every <code>BlockingEvent</code> (e.g. for an export), not
+     *            only the reported ones. Set before storing logging.
+     */
+    public void setRetainLogEntries(boolean retainLogEntries) {
+        jvmDao.setRetainLogEntries(retainLogEntries);
+    }
+
+    /**
+     * @param spillHeapFraction
+     *            Spill blocking events to disk when heap use exceeds this fraction (0-1) of the maximum heap (0 to
+     *            always spill).
+     */
+    public void setSpillHeapFraction(double spillHeapFraction) {
+        jvmDao.setSpillHeapFraction(spillHeapFraction);
+    }
+
+    /**
+     * @param throughputThreshold
+     *            The throughput threshold for bottleneck reporting, so bottlenecks are found as logging is stored. Set
+     *            before storing logging.
+     */
+    public void setThroughputThreshold(int throughputThreshold) {
+        jvmDao.setBottleneckThroughputThreshold(throughputThreshold);
+    }
+
+    /**
+     * @param size
+     *            The number of worst events of each kind (pauses, safepoints, time to safepoint, parallelism) to keep.
+     *            Set before storing logging.
+     */
+    public void setWorstEventsSize(int size) {
+        jvmDao.setWorstEventsSize(size);
+    }
+
+    /**
+     * Parse the garbage collection logging for the JVM run and store the data in the data store. Lines are parsed as
+     * they are read from the iterator, so logging read from a file is not held in memory.
+     * 
+     * @param iterator
+     *            The garbage collection logging.
      * @param reorder
      *            Whether or not to allow logging to be reordered by timestamp.
      */
-    public void store(List<String> logLines, boolean reorder) {
+    public void store(Iterator<String> iterator, boolean reorder) {
 
-        if (logLines == null || logLines.isEmpty()) {
+        if (iterator == null || !iterator.hasNext()) {
             return;
         }
 
+        // Events are not added in timestamp order, so any event can be reported: keep every log entry
+        if (reorder && jvmDao.getBlockingEventCount() == 0) {
+            jvmDao.setRetainLogEntries(true);
+        }
+
         String logLine = null;
         BlockingEvent priorBlockingEvent = null;
         LogEvent priorLogEvent = new NullEvent();
         CollectorFamily collectorFamily = CollectorFamily.UNKNOWN;
-        Iterator<String> iterator = logLines.iterator();
         while (iterator.hasNext()) {
             logLine = iterator.next();
             // If event has no timestamp, use most recent blocking timestamp.
-            LogEvent event = JdkUtil.parseLogLine(logLine, priorLogEvent, collectorFamily);
+            LogEvent event = JdkUtil.parseLogLine(logLine, priorLogEvent, collectorFamily, unknownLineCache);
             if (event instanceof BlockingEvent) {
                 jvmDao.setLogEndingUnidentified(false);
 
@@ -965,6 +1027,7 @@ public class GcManager {
                             && ((TimesData) event).getTimeSys() != TimesData.NO_DATA
                             && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
                         jvmDao.setParallelCount(jvmDao.getParallelCount() + 1);
+                        jvmDao.addParallelismEvent(event);
                         if (JdkMath.isInvertedParallelism(((TimesData) event).getParallelism())) {
                             jvmDao.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount() + 1);
                             if (jvmDao.getWorstInvertedParallelismEvent() == null) {
@@ -1171,6 +1234,7 @@ public class GcManager {
                 }
             } else if (event instanceof ShenandoahConcurrentEvent || event instanceof UnifiedConcurrentEvent) {
                 jvmDao.setLogEndingUnidentified(false);
+                jvmDao.addNonBlockingEvent((CombinedData) event);
                 if (greater(((CombinedData) event).getCombinedOccupancyInit(),
                         jvmDao.getMaxHeapOccupancyNonBlocking())) {
                     jvmDao.setMaxHeapOccupancyNonBlocking(
@@ -1278,9 +1342,52 @@ public class GcManager {
                 jvmDao.setFirstLogEvent(event);
             }
             // throw away blank lines
-            if (!(logLine.matches(JdkRegEx.BLANK_LINE) || logLine.matches(UnifiedRegEx.BLANK_LINE))) {
+            if (!isBlankLine(logLine)) {
                 priorLogEvent = event;
             }
         }
     }
+
+    /**
+     * Parse the garbage collection logging for the JVM run and store the data in the data store.
+     * 
+     * @param logLines
+     *            The garbage collection loggine.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public void store(List<String> logLines, boolean reorder) {
+        if (logLines != null) {
+            store(logLines.iterator(), reorder);
+        }
+    }
+
+    /**
+     * Write the data stored from the logging, so a later run can <code>read</code> it instead of parsing the logging.
+     * 
+     * @param out
+     *            The stream to write to.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream headerOut = new DataOutputStream(out);
+        headerOut.writeInt(FORMAT_MAGIC);
+        headerOut.writeInt(FORMAT_VERSION);
+        headerOut.flush();
+        // Log entries are most of the data and compress well. Favor speed, as this is also the analysis cache.
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater, 65536);
+            EventOutputStream eventOut = new EventOutputStream(new BufferedOutputStream(deflaterOut, 65536));
+            eventOut.writeString(lastLogLineUnprocessed);
+            eventOut.writeBoolean(preprocessed);
+            jvmDao.write(eventOut);
+            eventOut.flush();
+            deflaterOut.finish();
+            out.flush();
+        } finally {
+            deflater.end();
+        }
+    }
 }
@@ -0,0 +1,219 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.TimeWarpException;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+
+/**
+ * <p>
+ * The events in a stream of events where throughput between an event and the event before it does not meet the
+ * throughput goal (see <code>JdkUtil.isBottleneck</code>).
+ * </p>
+ *
+ * <p>
+ * Events are added in timestamp order. Consecutive bottleneck events are kept together in a run, so each event is kept
+ * once, and runs are separated by "..." when rendered. Events are kept, not log entries, and are only rendered (e.g.
+ * timestamps converted to datestamps) when the report is created. Events can be added with a <code>Supplier</code>
+ * that is only called for the events kept (e.g. to recreate events from stored columns).
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ * @param <T>
+ *            The event type.
+ */
+public class Bottlenecks<T extends LogEvent> {
+
+    /**
+     * The separator between runs of bottleneck events.
+     */
+    public static final String RUN_SEPARATOR = "...";
+
+    /**
+     * The number of events added.
+     */
+    private long count;
+
+    /**
+     * The index of the last event kept, or -1 if none.
+     */
+    private long lastIndex = -1;
+
+    /**
+     * The previous event duration (nanoseconds).
+     */
+    private long priorDurationNanos;
+
+    /**
+     * The previous event, or null if none.
+     */
+    private Supplier<? extends T> priorEvent;
+
+    /**
+     * The previous event timestamp (milliseconds after JVM startup).
+     */
+    private long priorTimestamp;
+
+    /**
+     * The runs of consecutive bottleneck events, in timestamp order.
+     */
+    private final List<List<T>> runs = new ArrayList<List<T>>();
+
+    /**
+     * The throughput threshold (percent of time not spent in pauses) to be considered a bottleneck. Whole number 0-100.
+     */
+    private final int throughputThreshold;
+
+    /**
+     * The first event out of order or overlapping the previous event, or null if none. No events are added after it.
+     */
+    private TimeWarpException timeWarp;
+
+    /**
+     * @param throughputThreshold
+     *            The throughput threshold (percent of time not spent in pauses) to be considered a bottleneck. Whole
+     *            number 0-100.
+     */
+    public Bottlenecks(int throughputThreshold) {
+        this.throughputThreshold = throughputThreshold;
+    }
+
+    /**
+     * Add an event.
+     *
+     * @param timestamp
+     *            The event timestamp (milliseconds after JVM startup).
+     * @param durationNanos
+     *            The event duration (nanoseconds).
+     * @param event
+     *            The event.
+     */
+    public void add(long timestamp, long durationNanos, final T event) {
+        add(timestamp, durationNanos, () -> event);
+    }
+
+    /**
+     * Add an event that is only created if kept.
+     *
+     * @param timestamp
+     *            The event timestamp (milliseconds after JVM startup).
+     * @param durationNanos
+     *            The event duration (nanoseconds).
+     * @param event
+     *            The event supplier, called at most once.
+     */
+    public void add(long timestamp, long durationNanos, Supplier<? extends T> event) {
+        if (timeWarp != null) {
+            return;
+        }
+        if (priorEvent != null) {
+            boolean isBottleneck;
+            try {
+                isBottleneck = JdkUtil.isBottleneck(timestamp, durationNanos, priorTimestamp, priorDurationNanos,
+                        throughputThreshold);
+            } catch (TimeWarpException e) {
+                timeWarp = new TimeWarpException(e.getMessage() + Constants.LINE_SEPARATOR
+                        + priorEvent.get().getLogEntry() + Constants.LINE_SEPARATOR + event.get().getLogEntry());
+                return;
+            }
+            if (isBottleneck) {
+                if (lastIndex != count - 1) {
+                    // Start a new run with the previous event
+                    List<T> run = new ArrayList<T>();
+                    run.add(priorEvent.get());
+                    runs.add(run);
+                }
+                T kept = event.get();
+                runs.get(runs.size() - 1).add(kept);
+                lastIndex = count;
+                event = () -> kept;
+            }
+        }
+        priorEvent = event;
+        priorTimestamp = timestamp;
+        priorDurationNanos = durationNanos;
+        count++;
+    }
+
+    /**
+     * Remove all events.
+     */
+    public void clear() {
+        count = 0;
+        lastIndex = -1;
+        priorDurationNanos = 0;
+        priorEvent = null;
+        priorTimestamp = 0;
+        runs.clear();
+        timeWarp = null;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Render the bottleneck events.
+     *
+     * @param jvmStartDate
+     *            The date/time the JVM started, to convert timestamps to datestamps, or null to keep timestamps.
+     * @return The log entries of the bottleneck events, with runs separated by <code>RUN_SEPARATOR</code>.
+     */
+    public List<String> getLogEntries(Date jvmStartDate) {
+        List<String> logEntries = new ArrayList<String>();
+        for (List<T> run : runs) {
+            if (!logEntries.isEmpty()) {
+                logEntries.add(RUN_SEPARATOR);
+            }
+            for (T event : run) {
+                logEntries.add(jvmStartDate == null ? event.getLogEntry()
+                        : JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
+            }
+        }
+        return logEntries;
+    }
+
+    /**
+     * @return The runs of consecutive bottleneck events, in timestamp order.
+     */
+    public List<List<T>> getRuns() {
+        return Collections.unmodifiableList(runs);
+    }
+
+    public int getThroughputThreshold() {
+        return throughputThreshold;
+    }
+
+    /**
+     * @return The exception for the first event out of order or overlapping the previous event, with the log entries
+     *         of both events, or null if none.
+     */
+    public TimeWarpException getTimeWarp() {
+        return timeWarp;
+    }
+
+    /**
+     * @return True if there are no bottleneck events, false otherwise.
+     */
+    public boolean isEmpty() {
+        return runs.isEmpty();
+    }
+}
@@ -48,11 +48,52 @@ public class Constants {
      */
     public static final int GC_SAFEPOINT_RATIO_THRESHOLD = 80;
 
+    /**
+     * The minimum number of <code>OldCollection</code>s to check the heap occupancy after them for a leak trend.
+     */
+    public static final int HEAP_LEAK_TREND_MIN_COLLECTIONS = 5;
+
+    /**
+     * The minimum t statistic of the slope of the heap occupancy after <code>OldCollection</code>s over time for the
+     * growth to be considered a leak trend and not noise.
+     */
+    public static final int HEAP_LEAK_TREND_T_STATISTIC = 3;
+
     /**
      * Line separator used for report and preparsing.
      */
     public static final String LINE_SEPARATOR = System.getProperty("line.separator");
 
+    /**
+     * Analysis cache directory command line long option.
+     */
+    public static final String OPTION_CACHE_LONG = "cache";
+
+    /**
+     * Analysis cache directory command line short option.
+     */
+    public static final String OPTION_CACHE_SHORT = "a";
+
+    /**
+     * Analysis cache maximum size (megabytes) command line long option.
+     */
+    public static final String OPTION_CACHE_SIZE_LONG = "cachesize";
+
+    /**
+     * Analysis cache maximum size (megabytes) command line short option.
+     */
+    public static final String OPTION_CACHE_SIZE_SHORT = "z";
+
+    /**
+     * Export (binary file of the parsed logging) command line long option.
+     */
+    public static final String OPTION_EXPORT_LONG = "export";
+
+    /**
+     * Export (binary file of the parsed logging) command line short option.
+     */
+    public static final String OPTION_EXPORT_SHORT = "e";
+
     /**
      * Help command line long option.
      */
@@ -63,6 +104,16 @@ public class Constants {
      */
     public static final String OPTION_HELP_SHORT = "h";
 
+    /**
+     * Import (input is an export instead of logging) command line long option.
+     */
+    public static final String OPTION_IMPORT_LONG = "import";
+
+    /**
+     * Import (input is an export instead of logging) command line short option.
+     */
+    public static final String OPTION_IMPORT_SHORT = "i";
+
     /**
      * JVM options command line long option.
      */
@@ -113,6 +164,36 @@ public class Constants {
      */
     public static final String OPTION_REPORT_CONSOLE_SHORT = "c";
 
+    /**
+     * Rollup (time-bucketed aggregates instead of a report) command line long option.
+     */
+    public static final String OPTION_ROLLUP_LONG = "rollup";
+
+    /**
+     * Rollup (time-bucketed aggregates instead of a report) command line short option.
+     */
+    public static final String OPTION_ROLLUP_SHORT = "u";
+
+    /**
+     * Pause time budget (service level objective) command line long option.
+     */
+    public static final String OPTION_SLO_LONG = "slo";
+
+    /**
+     * Pause time budget (service level objective) command line short option.
+     */
+    public static final String OPTION_SLO_SHORT = "l";
+
+    /**
+     * Spill command line long option.
+     */
+    public static final String OPTION_SPILL_LONG = "spill";
+
+    /**
+     * Spill command line short option.
+     */
+    public static final String OPTION_SPILL_SHORT = "d";
+
     /**
      * JVM start datetime command line long option.
      */
@@ -143,6 +224,16 @@ public class Constants {
      */
     public static final String OPTION_VERBOSE_SHORT = "v";
 
+    /**
+     * Worst events (number of worst pauses, safepoints, and parallelism events to keep) command line long option.
+     */
+    public static final String OPTION_WORST_LONG = "worst";
+
+    /**
+     * Worst events (number of worst pauses, safepoints, and parallelism events to keep) command line short option.
+     */
+    public static final String OPTION_WORST_SHORT = "w";
+
     /**
      * Default output file name.
      */
@@ -154,6 +245,17 @@ public class Constants {
     public static final String TEST_DATA_DIR = "src" + System.getProperty("file.separator") + "test"
             + System.getProperty("file.separator") + "data" + System.getProperty("file.separator");
 
+    /**
+     * The percent of safepoint time spent reaching safepoints for reporting excessive time to safepoint.
+     */
+    public static final int TIME_TO_SAFEPOINT_RATIO_THRESHOLD = 20;
+
+    /**
+     * The time to safepoint (milliseconds) a safepoint must exceed for reporting excessive time to safepoint, so short
+     * safepoints where any time to safepoint is a large fraction are not reported.
+     */
+    public static final int TIME_TO_SAFEPOINT_THRESHOLD = 10;
+
     /**
      * Make default constructor private so the class cannot be instantiated.
      */
@@ -0,0 +1,216 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.TimeZone;
+
+/**
+ * <p>
+ * Parses <code>JdkRegEx.DATESTAMP</code> datestamps (e.g. <code>2010-02-26T09:32:12.486-0600</code>) and formats
+ * dates in <code>yyyy-MM-dd HH:mm:ss.SSS</code> format without <code>SimpleDateFormat</code>.
+ * </p>
+ *
+ * <p>
+ * Consecutive log lines almost always fall in the same second, so the epoch milliseconds of the most recent second are
+ * cached, and only the milliseconds and offset are parsed (formatted) while the second does not change. The cached
+ * second is an immutable holder, so the methods are thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public final class DateStampFormat {
+
+    /**
+     * A cached second.
+     */
+    private static final class Second {
+
+        /**
+         * The epoch milliseconds of the second (local time when formatting).
+         */
+        private final long millis;
+
+        /**
+         * The second in <code>yyyy-MM-ddTHH:mm:ss</code> (parse) or <code>yyyy-MM-dd HH:mm:ss</code> (format) format.
+         */
+        private final String text;
+
+        private Second(String text, long millis) {
+            this.text = text;
+            this.millis = millis;
+        }
+    }
+
+    /**
+     * The length of a datestamp.
+     */
+    public static final int DATESTAMP_LENGTH = 28;
+
+    /**
+     * The length of the date/time to the second.
+     */
+    private static final int SECOND_LENGTH = 19;
+
+    /**
+     * The most recently formatted second.
+     */
+    private static volatile Second formatted = new Second("1970-01-01 00:00:00", 0);
+
+    /**
+     * The most recently parsed second.
+     */
+    private static volatile Second parsed = new Second("1970-01-01T00:00:00", 0);
+
+    /**
+     * @param days
+     *            The number of days since 1970-01-01.
+     * @return The year, month, and day of month for the days since 1970-01-01.
+     */
+    private static int[] civilFromDays(long days) {
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        return new int[] { year, month, day };
+    }
+
+    /**
+     * @param year
+     *            The year.
+     * @param month
+     *            The month (1-12).
+     * @param day
+     *            The day of the month.
+     * @return The number of days since 1970-01-01.
+     */
+    private static long daysFromCivil(long year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = Math.floorDiv(year, 400);
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Format epoch milliseconds as a date/time in the default time zone.
+     *
+     * @param millis
+     *            The epoch milliseconds.
+     * @return The date/time in <code>yyyy-MM-dd HH:mm:ss.SSS</code> format.
+     */
+    public static String format(long millis) {
+        long localMillis = millis + TimeZone.getDefault().getOffset(millis);
+        long localSecondMillis = Math.floorDiv(localMillis, 1000) * 1000;
+        Second second = formatted;
+        if (second.millis != localSecondMillis) {
+            long localSeconds = localSecondMillis / 1000;
+            int[] date = civilFromDays(Math.floorDiv(localSeconds, 86400));
+            int secondOfDay = (int) Math.floorMod(localSeconds, 86400);
+            StringBuilder text = new StringBuilder(SECOND_LENGTH);
+            pad(text, date[0], 4).append('-');
+            pad(text, date[1], 2).append('-');
+            pad(text, date[2], 2).append(' ');
+            pad(text, secondOfDay / 3600, 2).append(':');
+            pad(text, secondOfDay / 60 % 60, 2).append(':');
+            pad(text, secondOfDay % 60, 2);
+            second = new Second(text.toString(), localSecondMillis);
+            formatted = second;
+        }
+        StringBuilder datetime = new StringBuilder(SECOND_LENGTH + 4).append(second.text).append('.');
+        return pad(datetime, (int) (localMillis - localSecondMillis), 3).toString();
+    }
+
+    /**
+     * @param text
+     *            The text.
+     * @param index
+     *            The index of the first digit.
+     * @param length
+     *            The number of digits.
+     * @return The number represented by the digits.
+     */
+    private static int number(String text, int index, int length) {
+        int number = 0;
+        for (int i = index; i < index + length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid datestamp: " + text);
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    /**
+     * @param text
+     *            The text to append to.
+     * @param number
+     *            The non-negative number.
+     * @param width
+     *            The minimum number of digits.
+     * @return The text with the zero padded number appended.
+     */
+    private static StringBuilder pad(StringBuilder text, int number, int width) {
+        String digits = Integer.toString(number);
+        for (int i = digits.length(); i < width; i++) {
+            text.append('0');
+        }
+        return text.append(digits);
+    }
+
+    /**
+     * Parse a datestamp.
+     *
+     * @param datestamp
+     *            The datestamp in <code>JdkRegEx.DATESTAMP</code> format (e.g.
+     *            <code>2010-02-26T09:32:12.486-0600</code>).
+     * @return The datestamp epoch milliseconds.
+     * @throws IllegalArgumentException
+     *             if the datestamp is not in <code>JdkRegEx.DATESTAMP</code> format.
+     */
+    public static long parse(String datestamp) {
+        if (datestamp == null || datestamp.length() != DATESTAMP_LENGTH || datestamp.charAt(4) != '-'
+                || datestamp.charAt(7) != '-' || datestamp.charAt(10) != 'T' || datestamp.charAt(13) != ':'
+                || datestamp.charAt(16) != ':' || datestamp.charAt(19) != '.'
+                || (datestamp.charAt(23) != '+' && datestamp.charAt(23) != '-')) {
+            throw new IllegalArgumentException("Invalid datestamp: " + datestamp);
+        }
+        Second second = parsed;
+        if (!second.text.regionMatches(0, datestamp, 0, SECOND_LENGTH)) {
+            long days = daysFromCivil(number(datestamp, 0, 4), number(datestamp, 5, 2), number(datestamp, 8, 2));
+            long seconds = days * 86400 + number(datestamp, 11, 2) * 3600 + number(datestamp, 14, 2) * 60
+                    + number(datestamp, 17, 2);
+            second = new Second(datestamp.substring(0, SECOND_LENGTH), seconds * 1000);
+            parsed = second;
+        }
+        long offsetMillis = (number(datestamp, 24, 2) * 3600 + number(datestamp, 26, 2) * 60) * 1000L;
+        if (datestamp.charAt(23) == '+') {
+            offsetMillis = -offsetMillis;
+        }
+        return second.millis + number(datestamp, 20, 3) + offsetMillis;
+    }
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private DateStampFormat() {
+        super();
+    }
+}
@@ -230,8 +230,8 @@ public final class GcUtil {
      */
     public static Date parseDateStamp(String datestamp) {
         try {
-            return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZ").parse(datestamp);
-        } catch (ParseException e) {
+            return new Date(DateStampFormat.parse(datestamp));
+        } catch (IllegalArgumentException e) {
             return null;
         }
     }
@@ -0,0 +1,200 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * <p>
+ * Streaming least squares fit of a line to (x, y) points.
+ * </p>
+ *
+ * <p>
+ * Means and co-moments are updated incrementally (Welford's method), so the state is a few numbers regardless of the
+ * number of points, and large x values (e.g. timestamps) do not lose precision to cancellation.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class LinearRegression {
+
+    /**
+     * The number of points.
+     */
+    private long count;
+
+    /**
+     * The sum of the products of the x and y deviations from their means.
+     */
+    private double coMomentXy;
+
+    /**
+     * The largest x value.
+     */
+    private double maxX;
+
+    /**
+     * The mean of the x values.
+     */
+    private double meanX;
+
+    /**
+     * The mean of the y values.
+     */
+    private double meanY;
+
+    /**
+     * The sum of the squared x deviations from the mean.
+     */
+    private double momentX;
+
+    /**
+     * The sum of the squared y deviations from the mean.
+     */
+    private double momentY;
+
+    public LinearRegression() {
+    }
+
+    /**
+     * @param other
+     *            The <code>LinearRegression</code> to copy.
+     */
+    public LinearRegression(LinearRegression other) {
+        this.count = other.count;
+        this.coMomentXy = other.coMomentXy;
+        this.maxX = other.maxX;
+        this.meanX = other.meanX;
+        this.meanY = other.meanY;
+        this.momentX = other.momentX;
+        this.momentY = other.momentY;
+    }
+
+    /**
+     * Add a point.
+     *
+     * @param x
+     *            The x value.
+     * @param y
+     *            The y value.
+     */
+    public void add(double x, double y) {
+        count++;
+        double deltaX = x - meanX;
+        double deltaY = y - meanY;
+        meanX += deltaX / count;
+        meanY += deltaY / count;
+        momentX += deltaX * (x - meanX);
+        momentY += deltaY * (y - meanY);
+        coMomentXy += deltaX * (y - meanY);
+        maxX = count == 1 ? x : Math.max(maxX, x);
+    }
+
+    /**
+     * Remove all points.
+     */
+    public void clear() {
+        count = 0;
+        coMomentXy = 0;
+        maxX = 0;
+        meanX = 0;
+        meanY = 0;
+        momentX = 0;
+        momentY = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The y value of the fitted line at x = 0, or the mean y value if the slope is not defined.
+     */
+    public double getIntercept() {
+        return meanY - getSlope() * meanX;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * @return The slope of the fitted line, or 0 if there are fewer than 2 distinct x values.
+     */
+    public double getSlope() {
+        return momentX > 0 ? coMomentXy / momentX : 0;
+    }
+
+    /**
+     * @return The slope divided by its standard error (the t statistic for a slope of 0, with <code>count</code> - 2
+     *         degrees of freedom), infinite if the points are exactly on a sloped line, or 0 if there are fewer than 3
+     *         points or 2 distinct x values.
+     */
+    public double getSlopeTStatistic() {
+        if (count < 3 || momentX <= 0) {
+            return 0;
+        }
+        double slope = getSlope();
+        double residual = Math.max(0, momentY - slope * coMomentXy);
+        if (residual == 0) {
+            return slope == 0 ? 0 : Math.copySign(Double.POSITIVE_INFINITY, slope);
+        }
+        return slope / Math.sqrt(residual / (count - 2) / momentX);
+    }
+
+    /**
+     * @param x
+     *            The x value.
+     * @return The y value of the fitted line at x.
+     */
+    public double predict(double x) {
+        return getIntercept() + getSlope() * x;
+    }
+
+    /**
+     * Read the points written with <code>write</code>, replacing any added.
+     *
+     * @param in
+     *            The stream to read from.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void read(DataInput in) throws IOException {
+        count = in.readLong();
+        coMomentXy = in.readDouble();
+        maxX = in.readDouble();
+        meanX = in.readDouble();
+        meanY = in.readDouble();
+        momentX = in.readDouble();
+        momentY = in.readDouble();
+    }
+
+    /**
+     * @param out
+     *            The stream to write to.
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(coMomentXy);
+        out.writeDouble(maxX);
+        out.writeDouble(meanX);
+        out.writeDouble(meanY);
+        out.writeDouble(momentX);
+        out.writeDouble(momentY);
+    }
+}
@@ -0,0 +1,240 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static java.math.RoundingMode.HALF_EVEN;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>
+ * Minimum Mutator Utilization (MMU): for a window size, the lowest percent of time the application threads ran (were
+ * not paused) over any window of that size in the run. Unlike throughput, it exposes clustered pauses.
+ * </p>
+ *
+ * <p>
+ * Pauses are merged into non-overlapping intervals (e.g. a GC pause inside the safepoint that ran it counts once). The
+ * worst window either starts at a pause start or ends at a pause end, so only those windows are checked, with two
+ * pointers that only move forward: O(n) per window size.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class MutatorUtilization {
+
+    /**
+     * A pointer over the pause intervals for non-decreasing times.
+     */
+    private class Sweep {
+
+        /**
+         * The number of intervals starting before the last time.
+         */
+        private int index;
+
+        /**
+         * @param time
+         *            The time (microseconds after JVM startup), not less than the previous call.
+         * @return The total pause time before the time (microseconds).
+         */
+        private long pauseBefore(long time) {
+            while (index < count && start[index] < time) {
+                index++;
+            }
+            return index == 0 ? 0 : prefix[index] - Math.max(0, end[index - 1] - time);
+        }
+    }
+
+    /**
+     * The worst window of a given size.
+     */
+    public static class Window {
+
+        /**
+         * The pause time in the window (microseconds).
+         */
+        private final long pauseMicros;
+
+        /**
+         * The window start (milliseconds after JVM startup).
+         */
+        private final long timestamp;
+
+        /**
+         * The window size (milliseconds).
+         */
+        private final long windowMillis;
+
+        /**
+         * @param windowMillis
+         *            The window size (milliseconds).
+         * @param timestamp
+         *            The window start (milliseconds after JVM startup).
+         * @param pauseMicros
+         *            The pause time in the window (microseconds).
+         */
+        public Window(long windowMillis, long timestamp, long pauseMicros) {
+            this.windowMillis = windowMillis;
+            this.timestamp = timestamp;
+            this.pauseMicros = pauseMicros;
+        }
+
+        public long getPauseMicros() {
+            return pauseMicros;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return The percent of the window the application threads ran, rounded to 2 decimal places.
+         */
+        public BigDecimal getUtilization() {
+            long windowMicros = windowMillis * 1000;
+            return new BigDecimal(windowMicros - pauseMicros).movePointRight(2)
+                    .divide(new BigDecimal(windowMicros), 2, HALF_EVEN);
+        }
+
+        public long getWindowMillis() {
+            return windowMillis;
+        }
+    }
+
+    /**
+     * Default window sizes (milliseconds).
+     */
+    public static final long[] DEFAULT_WINDOWS = { 10, 100, 1000, 10000, 60000 };
+
+    /**
+     * The number of pause intervals.
+     */
+    private final int count;
+
+    /**
+     * The pause interval ends (microseconds after JVM startup), ascending.
+     */
+    private final long[] end;
+
+    /**
+     * The total pause time before each interval (microseconds).
+     */
+    private final long[] prefix;
+
+    /**
+     * The pause interval starts (microseconds after JVM startup), ascending.
+     */
+    private final long[] start;
+
+    /**
+     * @param timestamps
+     *            The pause start times (milliseconds after JVM startup), in any order.
+     * @param durations
+     *            The pause durations (microseconds).
+     * @param size
+     *            The number of pauses.
+     */
+    public MutatorUtilization(long[] timestamps, long[] durations, int size) {
+        Integer[] order = new Integer[size];
+        boolean sorted = true;
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            if (i > 0 && timestamps[i] < timestamps[i - 1]) {
+                sorted = false;
+            }
+        }
+        if (!sorted) {
+            Arrays.sort(order, Comparator.comparingLong(i -> timestamps[i]));
+        }
+        start = new long[size];
+        end = new long[size];
+        int merged = 0;
+        for (int i = 0; i < size; i++) {
+            long pauseStart = timestamps[order[i]] * 1000;
+            long pauseEnd = pauseStart + Math.max(0, durations[order[i]]);
+            if (merged > 0 && pauseStart <= end[merged - 1]) {
+                end[merged - 1] = Math.max(end[merged - 1], pauseEnd);
+            } else {
+                start[merged] = pauseStart;
+                end[merged] = pauseEnd;
+                merged++;
+            }
+        }
+        count = merged;
+        prefix = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            prefix[i + 1] = prefix[i] + end[i] - start[i];
+        }
+    }
+
+    /**
+     * @param windowMillis
+     *            The window size (milliseconds).
+     * @return The window of the given size with the lowest utilization between the first pause start and the last
+     *         pause end, or null if there are no pauses or the window is longer than that.
+     */
+    public Window getWorstWindow(long windowMillis) {
+        long window = windowMillis * 1000;
+        if (count == 0 || window <= 0 || end[count - 1] - start[0] < window) {
+            return null;
+        }
+        long first = start[0];
+        long last = end[count - 1] - window;
+        long worstStart = first;
+        long worstPause = -1;
+        // Windows starting at a pause start
+        Sweep from = new Sweep();
+        Sweep to = new Sweep();
+        for (int i = 0; i < count; i++) {
+            long windowStart = Math.min(start[i], last);
+            long pause = to.pauseBefore(windowStart + window) - from.pauseBefore(windowStart);
+            if (pause > worstPause) {
+                worstPause = pause;
+                worstStart = windowStart;
+            }
+        }
+        // Windows ending at a pause end
+        from = new Sweep();
+        to = new Sweep();
+        for (int i = 0; i < count; i++) {
+            long windowStart = Math.max(end[i] - window, first);
+            long pause = to.pauseBefore(windowStart + window) - from.pauseBefore(windowStart);
+            if (pause > worstPause || (pause == worstPause && windowStart < worstStart)) {
+                worstPause = pause;
+                worstStart = windowStart;
+            }
+        }
+        return new Window(windowMillis, worstStart / 1000, worstPause);
+    }
+
+    /**
+     * @param windows
+     *            The window sizes (milliseconds).
+     * @return The worst window for each window size that fits in the run, in the given order.
+     */
+    public List<Window> getWorstWindows(long[] windows) {
+        List<Window> worstWindows = new ArrayList<Window>();
+        for (long windowMillis : windows) {
+            Window worstWindow = getWorstWindow(windowMillis);
+            if (worstWindow != null) {
+                worstWindows.add(worstWindow);
+            }
+        }
+        return worstWindows;
+    }
+}
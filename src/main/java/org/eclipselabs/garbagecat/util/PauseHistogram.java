@@ -0,0 +1,277 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Streaming, mergeable histogram of pause durations (microseconds) for percentiles.
+ * </p>
+ *
+ * <p>
+ * Buckets are log-linear (HDR histogram style): values below <code>SUB_BUCKET_COUNT</code> have a bucket each, and each
+ * power of two above that is split into <code>SUB_BUCKET_COUNT / 2</code> equal buckets. A percentile is accurate to
+ * within 1/64 (~1.6%) of its value, and memory does not grow with the number of pauses. Counts add, so histograms
+ * from different logs merge exactly.
+ * </p>
+ *
+ * <p>
+ * Counts are kept in pages of <code>PAGE_SIZE</code> buckets (one power of two), allocated when the first value falls
+ * in the page. Pauses usually span a few powers of two, so a histogram holds a few pages, not every bucket.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class PauseHistogram {
+
+    /**
+     * The number of buckets.
+     */
+    private static final int BUCKET_COUNT = index(Long.MAX_VALUE) + 1;
+
+    /**
+     * The number of buckets in a page.
+     */
+    private static final int PAGE_SIZE = 64;
+
+    /**
+     * The number of pages.
+     */
+    private static final int PAGE_COUNT = (BUCKET_COUNT + PAGE_SIZE - 1) / PAGE_SIZE;
+
+    /**
+     * The number of buckets for values below <code>SUB_BUCKET_COUNT</code>, and twice the number of buckets per power
+     * of two above that.
+     */
+    private static final int SUB_BUCKET_COUNT = 128;
+
+    /**
+     * Half of <code>SUB_BUCKET_COUNT</code>.
+     */
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+
+    /**
+     * @param value
+     *            The value (not negative).
+     * @return The bucket of the value.
+     */
+    private static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // Keep the top 7 bits: a sub-bucket in [SUB_BUCKET_HALF, SUB_BUCKET_COUNT)
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 6;
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + subBucket - SUB_BUCKET_HALF;
+    }
+
+    /**
+     * @param index
+     *            The bucket.
+     * @return The highest value in the bucket.
+     */
+    private static long highestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * @param histogram
+     *            The histogram.
+     * @return A read-only view of the histogram, reflecting values added to it later.
+     */
+    public static PauseHistogram unmodifiable(PauseHistogram histogram) {
+        return new PauseHistogram(histogram.values, true);
+    }
+
+    /**
+     * The number of values.
+     */
+    private long count;
+
+    /**
+     * The maximum value.
+     */
+    private long max;
+
+    /**
+     * The number of values in each bucket, by page. A page is null until a value falls in it. Null for a read-only
+     * view.
+     */
+    private final long[][] pages;
+
+    /**
+     * The sum of the values.
+     */
+    private long total;
+
+    /**
+     * The histogram with the values: this histogram, or the histogram of a read-only view.
+     */
+    private final PauseHistogram values;
+
+    public PauseHistogram() {
+        pages = new long[PAGE_COUNT][];
+        values = this;
+    }
+
+    /**
+     * @param other
+     *            The histogram to copy.
+     */
+    public PauseHistogram(PauseHistogram other) {
+        this();
+        merge(other);
+    }
+
+    /**
+     * Read-only view constructor.
+     * 
+     * @param histogram
+     *            The histogram to view.
+     * @param view
+     *            Distinguishes the view constructor (true).
+     */
+    private PauseHistogram(PauseHistogram histogram, boolean view) {
+        pages = null;
+        values = histogram;
+    }
+
+    /**
+     * @param value
+     *            The pause duration (microseconds). Negative values are counted as 0.
+     */
+    public void add(long value) {
+        checkModifiable();
+        if (value < 0) {
+            value = 0;
+        }
+        int index = index(value);
+        page(index / PAGE_SIZE)[index % PAGE_SIZE]++;
+        count++;
+        total += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * @throws UnsupportedOperationException
+     *             if this is a read-only view.
+     */
+    private void checkModifiable() {
+        if (values != this) {
+            throw new UnsupportedOperationException("Read-only histogram.");
+        }
+    }
+
+    /**
+     * Reset to no values.
+     */
+    public void clear() {
+        checkModifiable();
+        for (long[] page : pages) {
+            if (page != null) {
+                Arrays.fill(page, 0);
+            }
+        }
+        count = 0;
+        max = 0;
+        total = 0;
+    }
+
+    public long getCount() {
+        return values.count;
+    }
+
+    public long getMax() {
+        return values.max;
+    }
+
+    /**
+     * @param percentile
+     *            The percentile (0-100), e.g. 99.9.
+     * @return The pause duration (microseconds) that the percentile of pauses do not exceed (the highest value of its
+     *         bucket, capped at the maximum), or 0 if there are no values.
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile: " + percentile);
+        }
+        if (values.count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * values.count));
+        long cumulative = 0;
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            long[] page = values.pages[i];
+            if (page == null) {
+                continue;
+            }
+            for (int j = 0; j < PAGE_SIZE; j++) {
+                cumulative += page[j];
+                if (cumulative >= rank) {
+                    return Math.min(highestValue(i * PAGE_SIZE + j), values.max);
+                }
+            }
+        }
+        return values.max;
+    }
+
+    public long getTotal() {
+        return values.total;
+    }
+
+    /**
+     * Add the values of another histogram (e.g. from another log file).
+     *
+     * @param other
+     *            The histogram to merge.
+     */
+    public void merge(PauseHistogram other) {
+        checkModifiable();
+        other = other.values;
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            long[] otherPage = other.pages[i];
+            if (otherPage != null) {
+                long[] page = page(i);
+                for (int j = 0; j < PAGE_SIZE; j++) {
+                    page[j] += otherPage[j];
+                }
+            }
+        }
+        count += other.count;
+        total += other.total;
+        if (other.max > max) {
+            max = other.max;
+        }
+    }
+
+    /**
+     * @param page
+     *            The page number.
+     * @return The page counts, allocated if the page has no values yet.
+     */
+    private long[] page(int page) {
+        if (pages[page] == null) {
+            pages[page] = new long[PAGE_SIZE];
+        }
+        return pages[page];
+    }
+}
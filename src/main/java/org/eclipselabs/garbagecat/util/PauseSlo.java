@@ -0,0 +1,450 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+
+/**
+ * <p>
+ * Pause time service level objective (SLO) check: the time windows where pauses exceed a p99 pause budget, a longest
+ * pause budget, or a total pause time budget, with the offending pauses and their triggers.
+ * </p>
+ *
+ * <p>
+ * Pauses are added in timestamp order and grouped into fixed windows (a window's timestamp is its start, a multiple of
+ * the window size), so the check is one pass with only the current window's pauses kept. The p99 of a window is exact
+ * (from its sorted pauses), and the p99 of all pauses is from a <code>PauseHistogram</code>. Pause events are added
+ * with a <code>Supplier</code> that is only called for the offending events of windows over budget.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ * @param <T>
+ *            The event type.
+ */
+public class PauseSlo<T extends LogEvent> {
+
+    /**
+     * The pause budgets and window size.
+     */
+    public static class Budget {
+
+        /**
+         * The default window size (milliseconds).
+         */
+        public static final long DEFAULT_WINDOW_MILLIS = 60000L;
+
+        /**
+         * @param literal
+         *            The budget literal: comma separated <code>p99=&lt;ms&gt;</code> (p99 pause per window),
+         *            <code>max=&lt;ms&gt;</code> (longest pause per window), <code>total=&lt;ms&gt;</code> (total
+         *            pause time per window), and <code>window=&lt;secs&gt;</code> (default 60), e.g.
+         *            "p99=50,max=200,total=500,window=60".
+         * @return The <code>Budget</code>, or null if the literal is not valid or has no p99, max, or total budget.
+         */
+        public static Budget fromLiteral(String literal) {
+            if (literal == null) {
+                return null;
+            }
+            long p99Micros = 0;
+            long maxMicros = 0;
+            long totalMicros = 0;
+            long windowMillis = DEFAULT_WINDOW_MILLIS;
+            for (String budget : literal.split(",")) {
+                String[] keyValue = budget.trim().split("=");
+                if (keyValue.length != 2 || !keyValue[1].matches("^\\d{1,9}$")) {
+                    return null;
+                }
+                long value = Long.parseLong(keyValue[1]);
+                if (keyValue[0].equals("p99")) {
+                    p99Micros = value * 1000;
+                } else if (keyValue[0].equals("max")) {
+                    maxMicros = value * 1000;
+                } else if (keyValue[0].equals("total")) {
+                    totalMicros = value * 1000;
+                } else if (keyValue[0].equals("window") && value > 0) {
+                    windowMillis = value * 1000;
+                } else {
+                    return null;
+                }
+            }
+            if (p99Micros == 0 && maxMicros == 0 && totalMicros == 0) {
+                return null;
+            }
+            return new Budget(p99Micros, maxMicros, totalMicros, windowMillis);
+        }
+
+        /**
+         * The longest pause budget (microseconds), or 0 if none.
+         */
+        private final long maxMicros;
+
+        /**
+         * The p99 pause budget (microseconds), or 0 if none.
+         */
+        private final long p99Micros;
+
+        /**
+         * The total pause time budget per window (microseconds), or 0 if none.
+         */
+        private final long totalMicros;
+
+        /**
+         * The window size (milliseconds).
+         */
+        private final long windowMillis;
+
+        /**
+         * @param p99Micros
+         *            The p99 pause budget (microseconds), or 0 if none.
+         * @param maxMicros
+         *            The longest pause budget (microseconds), or 0 if none.
+         * @param totalMicros
+         *            The total pause time budget per window (microseconds), or 0 if none.
+         * @param windowMillis
+         *            The window size (milliseconds).
+         */
+        public Budget(long p99Micros, long maxMicros, long totalMicros, long windowMillis) {
+            if (windowMillis <= 0) {
+                throw new IllegalArgumentException("Invalid window: " + windowMillis);
+            }
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+            this.totalMicros = totalMicros;
+            this.windowMillis = windowMillis;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        public long getP99Micros() {
+            return p99Micros;
+        }
+
+        public long getTotalMicros() {
+            return totalMicros;
+        }
+
+        public long getWindowMillis() {
+            return windowMillis;
+        }
+    }
+
+    /**
+     * A window over budget.
+     *
+     * @param <T>
+     *            The event type.
+     */
+    public static class Window<T extends LogEvent> {
+
+        /**
+         * The number of pauses.
+         */
+        private final int count;
+
+        /**
+         * The offending pauses, longest first.
+         */
+        private final List<T> events;
+
+        /**
+         * Whether the longest pause is over the max budget.
+         */
+        private final boolean maxExceeded;
+
+        /**
+         * The p99 pause (microseconds).
+         */
+        private final long p99;
+
+        /**
+         * Whether the p99 pause is over the p99 budget.
+         */
+        private final boolean p99Exceeded;
+
+        /**
+         * The longest pause (microseconds).
+         */
+        private final long pauseMax;
+
+        /**
+         * The total pause time (microseconds).
+         */
+        private final long pauseTotal;
+
+        /**
+         * The window start (milliseconds after JVM startup).
+         */
+        private final long timestamp;
+
+        /**
+         * Whether the total pause time is over the total budget.
+         */
+        private final boolean totalExceeded;
+
+        /**
+         * The number of pauses by trigger.
+         */
+        private final Map<String, Integer> triggerCounts;
+
+        private Window(long timestamp, int count, long pauseTotal, long pauseMax, long p99, boolean p99Exceeded,
+                boolean maxExceeded, boolean totalExceeded, List<T> events, Map<String, Integer> triggerCounts) {
+            this.timestamp = timestamp;
+            this.count = count;
+            this.pauseTotal = pauseTotal;
+            this.pauseMax = pauseMax;
+            this.p99 = p99;
+            this.p99Exceeded = p99Exceeded;
+            this.maxExceeded = maxExceeded;
+            this.totalExceeded = totalExceeded;
+            this.events = events;
+            this.triggerCounts = triggerCounts;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return The offending pauses (over the p99 or max budget if exceeded, otherwise all), longest first, at most
+         *         <code>EVENTS_MAX</code>.
+         */
+        public List<T> getEvents() {
+            return Collections.unmodifiableList(events);
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getPauseMax() {
+            return pauseMax;
+        }
+
+        public long getPauseTotal() {
+            return pauseTotal;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return The number of pauses by trigger, in trigger order. Pauses without a trigger are not counted.
+         */
+        public Map<String, Integer> getTriggerCounts() {
+            return Collections.unmodifiableMap(triggerCounts);
+        }
+
+        public boolean isMaxExceeded() {
+            return maxExceeded;
+        }
+
+        public boolean isP99Exceeded() {
+            return p99Exceeded;
+        }
+
+        public boolean isTotalExceeded() {
+            return totalExceeded;
+        }
+    }
+
+    /**
+     * The maximum number of offending events kept per window.
+     */
+    public static final int EVENTS_MAX = 10;
+
+    /**
+     * The budgets.
+     */
+    private final Budget budget;
+
+    /**
+     * The current window pause durations (microseconds).
+     */
+    private long[] durations = new long[16];
+
+    /**
+     * The current window pause events.
+     */
+    private final List<Supplier<? extends T>> events = new ArrayList<Supplier<? extends T>>();
+
+    /**
+     * All pause durations (microseconds).
+     */
+    private final PauseHistogram histogram = new PauseHistogram();
+
+    /**
+     * The current window pause triggers.
+     */
+    private final List<String> triggers = new ArrayList<String>();
+
+    /**
+     * The windows over budget, in timestamp order.
+     */
+    private final List<Window<T>> violations = new ArrayList<Window<T>>();
+
+    /**
+     * The number of windows with pauses.
+     */
+    private long windowCount;
+
+    /**
+     * The current window start (milliseconds after JVM startup).
+     */
+    private long windowStart;
+
+    /**
+     * @param budget
+     *            The budgets.
+     */
+    public PauseSlo(Budget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Add a pause.
+     *
+     * @param timestamp
+     *            The pause timestamp (milliseconds after JVM startup).
+     * @param durationMicros
+     *            The pause duration (microseconds).
+     * @param trigger
+     *            The pause trigger, or null if not logged.
+     * @param event
+     *            The pause event supplier, only called if the pause is an offending pause.
+     */
+    public void add(long timestamp, long durationMicros, String trigger, Supplier<? extends T> event) {
+        long start = Math.floorDiv(timestamp, budget.windowMillis) * budget.windowMillis;
+        if (!events.isEmpty() && start != windowStart) {
+            close();
+        }
+        if (events.isEmpty()) {
+            windowStart = start;
+            windowCount++;
+        }
+        if (events.size() == durations.length) {
+            durations = Arrays.copyOf(durations, durations.length * 2);
+        }
+        durations[events.size()] = durationMicros;
+        events.add(event);
+        triggers.add(trigger);
+        histogram.add(durationMicros);
+    }
+
+    /**
+     * Check the current window against the budgets and start a new one.
+     */
+    private void close() {
+        int count = events.size();
+        long[] sorted = Arrays.copyOf(durations, count);
+        Arrays.sort(sorted);
+        long pauseTotal = 0;
+        for (int i = 0; i < count; i++) {
+            pauseTotal += sorted[i];
+        }
+        long p99 = sorted[(int) Math.max(1, (long) Math.ceil(0.99 * count)) - 1];
+        boolean p99Exceeded = budget.p99Micros > 0 && p99 > budget.p99Micros;
+        long pauseMax = sorted[count - 1];
+        boolean maxExceeded = budget.maxMicros > 0 && pauseMax > budget.maxMicros;
+        boolean totalExceeded = budget.totalMicros > 0 && pauseTotal > budget.totalMicros;
+        if (p99Exceeded || maxExceeded || totalExceeded) {
+            // Offending pauses are over the lowest per pause budget exceeded, or all pauses if only the total is
+            long threshold = -1;
+            if (p99Exceeded) {
+                threshold = budget.p99Micros;
+            }
+            if (maxExceeded && (threshold < 0 || budget.maxMicros < threshold)) {
+                threshold = budget.maxMicros;
+            }
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            // Stable, so pauses with the same duration stay in timestamp order
+            Arrays.sort(order, (a, b) -> Long.compare(durations[b], durations[a]));
+            List<T> offending = new ArrayList<T>();
+            for (int i = 0; i < count && offending.size() < EVENTS_MAX; i++) {
+                if (durations[order[i]] <= threshold) {
+                    break;
+                }
+                offending.add(events.get(order[i]).get());
+            }
+            Map<String, Integer> triggerCounts = new TreeMap<String, Integer>();
+            for (String trigger : triggers) {
+                if (trigger != null) {
+                    triggerCounts.merge(trigger, 1, Integer::sum);
+                }
+            }
+            violations.add(new Window<T>(windowStart, count, pauseTotal, pauseMax, p99, p99Exceeded, maxExceeded,
+                    totalExceeded, offending, triggerCounts));
+        }
+        events.clear();
+        triggers.clear();
+    }
+
+    /**
+     * Check the last window. Call after the last pause is added.
+     */
+    public void finish() {
+        if (!events.isEmpty()) {
+            close();
+        }
+    }
+
+    public Budget getBudget() {
+        return budget;
+    }
+
+    /**
+     * @return The number of pauses.
+     */
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    /**
+     * @return The p99 of all pauses (microseconds).
+     */
+    public long getP99() {
+        return histogram.getPercentile(99);
+    }
+
+    /**
+     * @return The windows over budget, in timestamp order.
+     */
+    public List<Window<T>> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    public long getWindowCount() {
+        return windowCount;
+    }
+
+    /**
+     * @return True if the p99 of all pauses is over the p99 budget, false otherwise.
+     */
+    public boolean isP99Exceeded() {
+        return budget.p99Micros > 0 && getP99() > budget.p99Micros;
+    }
+}
@@ -0,0 +1,266 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+
+/**
+ * <p>
+ * GC pauses paired with the safepoints that ran them, so the time a pause spent outside of GC (e.g. reaching the
+ * safepoint, cleanup) is known per pause and not only as a ratio of totals, and safepoints that ran no GC stand out.
+ * </p>
+ *
+ * <p>
+ * A safepoint encloses a GC when the GC timestamp is within it (safepoints do not overlap, and some logging has the
+ * GC end as the timestamp, so the GC duration is not used). Both lists are in timestamp order, so one pass with a
+ * pointer into the safepoints that only moves forward pairs them: O(n+m). Timestamps are milliseconds, so the bounds
+ * are widened by <code>TOLERANCE</code> for rounding. A safepoint can enclose more than one GC (e.g. a young collection
+ * followed by a full collection). Safepoints without a timestamp (e.g. JDK8 stopped time logging without
+ * decorations) cannot be placed in time and are skipped.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class SafepointJoin {
+
+    /**
+     * The rounding tolerance when checking if a safepoint encloses a GC (milliseconds).
+     */
+    private static final long TOLERANCE = 1;
+
+    /**
+     * @param timestamp
+     *            The start (milliseconds after JVM startup).
+     * @param durationMicros
+     *            The duration (microseconds).
+     * @return The end (milliseconds after JVM startup), rounded up.
+     */
+    private static long end(long timestamp, long durationMicros) {
+        return timestamp + (durationMicros + 999) / 1000;
+    }
+
+    /**
+     * @param event
+     *            The safepoint event.
+     * @return The time to reach the safepoint (microseconds), or 0 if not logged.
+     */
+    public static long getTimeToSafepoint(SafepointEvent event) {
+        if (event instanceof UnifiedSafepointEvent) {
+            return JdkMath.convertNanosToMicros(((UnifiedSafepointEvent) event).getTimeToStopThreads()).longValue();
+        } else if (event instanceof ApplicationStoppedTimeEvent) {
+            return ((ApplicationStoppedTimeEvent) event).getTimeToStopThreads();
+        }
+        return 0;
+    }
+
+    /**
+     * @param event
+     *            The safepoint event.
+     * @return true if the safepoint has a timestamp, false otherwise.
+     */
+    private static boolean isTimestamped(SafepointEvent event) {
+        return event.getTimestamp() > 0;
+    }
+
+    /**
+     * The number of GC pauses.
+     */
+    private final int gcCount;
+
+    /**
+     * The index of the safepoint enclosing each GC pause, or -1 if none does.
+     */
+    private final int[] gcSafepoints;
+
+    /**
+     * The number of GC pauses enclosed by a safepoint.
+     */
+    private int matchedCount;
+
+    /**
+     * The maximum time a safepoint enclosing GC pauses spent outside of GC (microseconds).
+     */
+    private long nonGcMax;
+
+    /**
+     * The total time safepoints enclosing GC pauses spent outside of GC (microseconds).
+     */
+    private long nonGcTotal;
+
+    /**
+     * The GC pause time each safepoint encloses (microseconds).
+     */
+    private final long[] safepointGcMicros;
+
+    /**
+     * The safepoint events, in timestamp order.
+     */
+    private final List<SafepointEvent> safepointEvents;
+
+    /**
+     * The maximum time to reach a safepoint enclosing GC pauses (microseconds).
+     */
+    private long timeToSafepointMax;
+
+    /**
+     * The total time to reach safepoints enclosing GC pauses (microseconds).
+     */
+    private long timeToSafepointTotal;
+
+    /**
+     * The safepoints that enclose no GC pause, in timestamp order.
+     */
+    private final List<SafepointEvent> unmatched = new ArrayList<SafepointEvent>();
+
+    /**
+     * The total duration of the safepoints that enclose no GC pause (microseconds).
+     */
+    private long unmatchedTotal;
+
+    /**
+     * @param gcTimestamps
+     *            The GC pause starts (milliseconds after JVM startup), ascending.
+     * @param gcDurations
+     *            The GC pause durations (microseconds).
+     * @param gcCount
+     *            The number of GC pauses in the arrays.
+     * @param safepointEvents
+     *            The safepoint events, in timestamp order.
+     */
+    public SafepointJoin(long[] gcTimestamps, long[] gcDurations, int gcCount, List<SafepointEvent> safepointEvents) {
+        this.gcCount = gcCount;
+        this.safepointEvents = safepointEvents;
+        gcSafepoints = new int[gcCount];
+        Arrays.fill(gcSafepoints, -1);
+        safepointGcMicros = new long[safepointEvents.size()];
+        boolean[] matched = new boolean[safepointEvents.size()];
+        int safepoint = 0;
+        for (int gc = 0; gc < gcCount; gc++) {
+            // Skip safepoints that end before the GC starts
+            while (safepoint < safepointEvents.size() && (!isTimestamped(safepointEvents.get(safepoint))
+                    || end(safepointEvents.get(safepoint).getTimestamp(),
+                            safepointEvents.get(safepoint).getDurationMicros()) + TOLERANCE < gcTimestamps[gc])) {
+                safepoint++;
+            }
+            // With the widened bounds, prefer the later safepoint
+            while (safepoint + 1 < safepointEvents.size() && isTimestamped(safepointEvents.get(safepoint + 1))
+                    && safepointEvents.get(safepoint + 1).getTimestamp() <= gcTimestamps[gc]) {
+                safepoint++;
+            }
+            if (safepoint < safepointEvents.size()) {
+                SafepointEvent event = safepointEvents.get(safepoint);
+                if (event.getTimestamp() - TOLERANCE <= gcTimestamps[gc]) {
+                    gcSafepoints[gc] = safepoint;
+                    safepointGcMicros[safepoint] += gcDurations[gc];
+                    matched[safepoint] = true;
+                    matchedCount++;
+                }
+            }
+        }
+        for (int i = 0; i < safepointEvents.size(); i++) {
+            SafepointEvent event = safepointEvents.get(i);
+            if (matched[i]) {
+                long nonGc = nonGc(i);
+                nonGcTotal += nonGc;
+                nonGcMax = Math.max(nonGcMax, nonGc);
+                long timeToSafepoint = getTimeToSafepoint(event);
+                timeToSafepointTotal += timeToSafepoint;
+                timeToSafepointMax = Math.max(timeToSafepointMax, timeToSafepoint);
+            } else if (isTimestamped(event)) {
+                unmatched.add(event);
+                unmatchedTotal += event.getDurationMicros();
+            }
+        }
+    }
+
+    public int getGcCount() {
+        return gcCount;
+    }
+
+    public int getMatchedCount() {
+        return matchedCount;
+    }
+
+    /**
+     * @param gc
+     *            The GC pause index.
+     * @return The time the safepoint enclosing the GC pause spent outside of GC (microseconds), or -1 if no safepoint
+     *         encloses it.
+     */
+    public long getNonGc(int gc) {
+        return gcSafepoints[gc] < 0 ? -1 : nonGc(gcSafepoints[gc]);
+    }
+
+    public long getNonGcMax() {
+        return nonGcMax;
+    }
+
+    public long getNonGcTotal() {
+        return nonGcTotal;
+    }
+
+    /**
+     * @param gc
+     *            The GC pause index.
+     * @return The safepoint enclosing the GC pause, or null if none does.
+     */
+    public SafepointEvent getSafepoint(int gc) {
+        return gcSafepoints[gc] < 0 ? null : safepointEvents.get(gcSafepoints[gc]);
+    }
+
+    /**
+     * @param gc
+     *            The GC pause index.
+     * @return The time to reach the safepoint enclosing the GC pause (microseconds), or -1 if no safepoint encloses it.
+     */
+    public long getTimeToSafepoint(int gc) {
+        return gcSafepoints[gc] < 0 ? -1 : getTimeToSafepoint(safepointEvents.get(gcSafepoints[gc]));
+    }
+
+    public long getTimeToSafepointMax() {
+        return timeToSafepointMax;
+    }
+
+    public long getTimeToSafepointTotal() {
+        return timeToSafepointTotal;
+    }
+
+    /**
+     * @return The safepoints that enclose no GC pause, in timestamp order.
+     */
+    public List<SafepointEvent> getUnmatched() {
+        return Collections.unmodifiableList(unmatched);
+    }
+
+    public long getUnmatchedTotal() {
+        return unmatchedTotal;
+    }
+
+    /**
+     * @param safepoint
+     *            The safepoint index.
+     * @return The time the safepoint spent outside of GC (microseconds).
+     */
+    private long nonGc(int safepoint) {
+        return Math.max(0, safepointEvents.get(safepoint).getDurationMicros() - safepointGcMicros[safepoint]);
+    }
+}
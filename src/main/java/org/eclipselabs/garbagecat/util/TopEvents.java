@@ -0,0 +1,248 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+
+/**
+ * <p>
+ * The events with the highest keys (e.g. the longest pauses) in a stream of events, with the events before and after
+ * each one for context.
+ * </p>
+ *
+ * <p>
+ * A min-heap of at most <code>size</code> entries, so memory is bounded regardless of the number of events. Events are
+ * added in log order: an event's previous event is the one added before it, and its next event is filled in when the
+ * following event is added. With equal keys the earlier event is kept.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ * @param <T>
+ *            The event type.
+ */
+public class TopEvents<T extends LogEvent> {
+
+    /**
+     * An event with its key and neighbours.
+     *
+     * @param <T>
+     *            The event type.
+     */
+    public static class Entry<T extends LogEvent> {
+
+        /**
+         * The event.
+         */
+        private final T event;
+
+        /**
+         * The ranking key.
+         */
+        private final long key;
+
+        /**
+         * The event after, or null if there is none (yet).
+         */
+        private T next;
+
+        /**
+         * The event before, or null if there is none.
+         */
+        private final T previous;
+
+        /**
+         * The order the entry was added, to keep the earlier event with equal keys.
+         */
+        private final long sequence;
+
+        /**
+         * @param key
+         *            The ranking key.
+         * @param event
+         *            The event.
+         * @param previous
+         *            The event before, or null if there is none.
+         * @param next
+         *            The event after, or null if there is none (yet).
+         * @param sequence
+         *            The order the entry was added.
+         */
+        private Entry(long key, T event, T previous, T next, long sequence) {
+            this.key = key;
+            this.event = event;
+            this.previous = previous;
+            this.next = next;
+            this.sequence = sequence;
+        }
+
+        public T getEvent() {
+            return event;
+        }
+
+        public long getKey() {
+            return key;
+        }
+
+        public T getNext() {
+            return next;
+        }
+
+        public T getPrevious() {
+            return previous;
+        }
+    }
+
+    /**
+     * Default number of events to keep.
+     */
+    public static final int DEFAULT_SIZE = 10;
+
+    /**
+     * Heap order: lowest key first, and the later event first with equal keys.
+     */
+    private final Comparator<Entry<T>> comparator = Comparator.<Entry<T>> comparingLong(entry -> entry.key)
+            .thenComparing(Comparator.<Entry<T>> comparingLong(entry -> entry.sequence).reversed());
+
+    /**
+     * The kept entries, the lowest ranked at the head.
+     */
+    private final PriorityQueue<Entry<T>> heap;
+
+    /**
+     * The last event added.
+     */
+    private T last;
+
+    /**
+     * The entry of the last event added, waiting for its next event.
+     */
+    private Entry<T> pending;
+
+    /**
+     * The number of entries added.
+     */
+    private long sequence;
+
+    /**
+     * The maximum number of events to keep.
+     */
+    private final int size;
+
+    /**
+     * @param size
+     *            The maximum number of events to keep.
+     */
+    public TopEvents(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+        this.size = size;
+        heap = new PriorityQueue<Entry<T>>(Math.max(1, size), comparator);
+    }
+
+    /**
+     * Add the next event in the stream.
+     *
+     * @param key
+     *            The ranking key.
+     * @param event
+     *            The event.
+     */
+    public void add(long key, T event) {
+        if (pending != null) {
+            pending.next = event;
+            pending = null;
+        }
+        if (isCandidate(key)) {
+            pending = offer(key, event, last, null);
+        }
+        last = event;
+    }
+
+    /**
+     * Add an event with known neighbours (e.g. recreated from stored data), outside of the stream.
+     *
+     * @param key
+     *            The ranking key.
+     * @param event
+     *            The event.
+     * @param previous
+     *            The event before, or null if there is none.
+     * @param next
+     *            The event after, or null if there is none.
+     */
+    public void add(long key, T event, T previous, T next) {
+        if (isCandidate(key)) {
+            offer(key, event, previous, next);
+        }
+    }
+
+    /**
+     * Remove all events.
+     */
+    public void clear() {
+        heap.clear();
+        last = null;
+        pending = null;
+        sequence = 0;
+    }
+
+    /**
+     * @return The kept entries, highest key first.
+     */
+    public List<Entry<T>> getEntries() {
+        List<Entry<T>> entries = new ArrayList<Entry<T>>(heap);
+        Collections.sort(entries, Collections.reverseOrder(comparator));
+        return entries;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @param key
+     *            The ranking key.
+     * @return True if an event with the key would be kept, so callers can skip creating events that would not.
+     */
+    public boolean isCandidate(long key) {
+        return heap.size() < size || (size > 0 && key > heap.peek().key);
+    }
+
+    /**
+     * @param key
+     *            The ranking key.
+     * @param event
+     *            The event.
+     * @param previous
+     *            The event before.
+     * @param next
+     *            The event after.
+     * @return The new entry.
+     */
+    private Entry<T> offer(long key, T event, T previous, T next) {
+        Entry<T> entry = new Entry<T>(key, event, previous, next, sequence++);
+        heap.add(entry);
+        if (heap.size() > size) {
+            heap.poll();
+        }
+        return entry;
+    }
+}
@@ -304,11 +304,21 @@ public enum Analysis {
      */
     WARN_HEAP_INSPECTION_INITIATED_GC("warn.heap.inspection.initiated.gc"),
 
+    /**
+     * Property key for the heap occupancy after old collections increasing over time.
+     */
+    WARN_HEAP_LEAK_TREND("warn.heap.leak.trend"),
+
     /**
      * Property key for inverted parallelism.
      */
     WARN_PARALLELISM_INVERTED("warn.parallelism.inverted"),
 
+    /**
+     * Property key for pause times over the pause time budget (--slo).
+     */
+    WARN_PAUSE_SLO("warn.pause.slo"),
+
     /**
      * Property key for min perm not equal to max perm.
      */
@@ -365,6 +375,11 @@ public enum Analysis {
      */
     WARN_SYS_GT_USER("warn.sys.gt.user"),
 
+    /**
+     * Property key for a significant amount of safepoint time (&gt;20%) spent reaching safepoints.
+     */
+    WARN_TIME_TO_SAFEPOINT("warn.time.to.safepoint"),
+
     /**
      * Property key for unidentified line(s) needing reporting.
      */
@@ -12,6 +12,11 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util.jdk;
 
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
 /**
  * Garbage collection triggers for OpenJDK and Oracle JDK.
  * 
@@ -293,6 +298,37 @@ public enum GcTrigger {
     //
     UNKNOWN("UNKNOWN");
 
+    /**
+     * Triggers with a fixed log literal, keyed by the literal.
+     */
+    private static final Map<String, GcTrigger> LITERALS = new HashMap<String, GcTrigger>();
+
+    static {
+        Pattern fixedLiteral = Pattern.compile("^[^\\\\.*+?\\[\\](){}|^$]+$");
+        for (GcTrigger trigger : values()) {
+            if (trigger != NONE && trigger != UNKNOWN && fixedLiteral.matcher(trigger.regex).matches()) {
+                LITERALS.put(trigger.regex, trigger);
+            }
+        }
+    }
+
+    /**
+     * Lazy holder for triggers with variable log literals (e.g. "System" vs. "System.gc()"). The patterns are only
+     * compiled the first time a log literal is not found in {@link #LITERALS}.
+     */
+    private static final class PatternHolder {
+
+        private static final Map<GcTrigger, Pattern> PATTERNS = new EnumMap<GcTrigger, Pattern>(GcTrigger.class);
+
+        static {
+            for (GcTrigger trigger : values()) {
+                if (trigger != NONE && trigger != UNKNOWN && LITERALS.get(trigger.regex) != trigger) {
+                    PATTERNS.put(trigger, Pattern.compile(trigger.regex));
+                }
+            }
+        }
+    }
+
     /**
      * Get <code>GcTrigger</code> from log literal.
      * 
@@ -302,66 +338,15 @@ public enum GcTrigger {
      */
     public static GcTrigger getTrigger(final String literal) {
         if (literal != null) {
-            if (literal.matches(ALLOCATION_FAILURE.regex))
-                return ALLOCATION_FAILURE;
-            if (literal.matches(CLASS_HISTOGRAM.regex))
-                return CLASS_HISTOGRAM;
-            if (literal.matches(CMS_FINAL_REMARK.regex))
-                return CMS_FINAL_REMARK;
-            if (literal.matches(CMS_INITIAL_MARK.regex))
-                return CMS_INITIAL_MARK;
-            if (literal.matches(CONCURRENT_MODE_FAILURE.regex))
-                return CONCURRENT_MODE_FAILURE;
-            if (literal.matches(CONCURRENT_MODE_INTERRUPTED.regex))
-                return CONCURRENT_MODE_INTERRUPTED;
-            if (literal.matches(DIAGNOSTIC_COMMAND.regex))
-                return DIAGNOSTIC_COMMAND;
-            if (literal.matches(ERGONOMICS.regex))
-                return ERGONOMICS;
-            if (literal.matches(G1_COMPACTION_PAUSE.regex))
-                return G1_COMPACTION_PAUSE;
-            if (literal.matches(G1_EVACUATION_PAUSE.regex))
-                return G1_EVACUATION_PAUSE;
-            if (literal.matches(G1_HUMONGOUS_ALLOCATION.regex))
-                return G1_HUMONGOUS_ALLOCATION;
-            if (literal.matches(G1_PREVENTIVE_COLLECTION.regex))
-                return G1_PREVENTIVE_COLLECTION;
-            if (literal.matches(GCLOCKER_INITIATED_GC.regex))
-                return GCLOCKER_INITIATED_GC;
-            if (literal.matches(HEAP_DUMP_INITIATED_GC.regex))
-                return HEAP_DUMP_INITIATED_GC;
-            if (literal.matches(HEAP_INSPECTION_INITIATED_GC.regex))
-                return HEAP_INSPECTION_INITIATED_GC;
-            if (literal.matches(JVMTI_FORCED_GARBAGE_COLLECTION.regex))
-                return JVMTI_FORCED_GARBAGE_COLLECTION;
-            if (literal.matches(LAST_DITCH_COLLECTION.regex))
-                return LAST_DITCH_COLLECTION;
-            if (literal.matches(METADATE_GC_CLEAR_SOFT_REFERENCES.regex))
-                return METADATE_GC_CLEAR_SOFT_REFERENCES;
-            if (literal.matches(METADATA_GC_THRESHOLD.regex))
-                return METADATA_GC_THRESHOLD;
-            if (literal.matches(PROMOTION_FAILED.regex))
-                return PROMOTION_FAILED;
-            if (literal.matches(SHENANDOAH_EVACUATION.regex))
-                return SHENANDOAH_EVACUATION;
-            if (literal.matches(SHENANDOAH_EVICTION.regex))
-                return SHENANDOAH_EVICTION;
-            if (literal.matches(SHENANDOAH_MARK.regex))
-                return SHENANDOAH_MARK;
-            if (literal.matches(SHENANDOAH_OUTSIDE_OF_CYCLE.regex))
-                return SHENANDOAH_OUTSIDE_OF_CYCLE;
-            if (literal.matches(SHENANDOAH_PROCESS_WEAKREFS.regex))
-                return SHENANDOAH_PROCESS_WEAKREFS;
-            if (literal.matches(SHENANDOAH_UNLOAD_CLASSES.regex))
-                return SHENANDOAH_UNLOAD_CLASSES;
-            if (literal.matches(SHENANDOAH_UPDATE_REFS.regex))
-                return SHENANDOAH_UPDATE_REFS;
-            if (literal.matches(SYSTEM_GC.regex))
-                return SYSTEM_GC;
-            if (literal.matches(TO_SPACE_EXHAUSTED.regex))
-                return TO_SPACE_EXHAUSTED;
-            if (literal.matches(TO_SPACE_OVERFLOW.regex))
-                return TO_SPACE_OVERFLOW;
+            GcTrigger trigger = LITERALS.get(literal);
+            if (trigger != null) {
+                return trigger;
+            }
+            for (Map.Entry<GcTrigger, Pattern> entry : PatternHolder.PATTERNS.entrySet()) {
+                if (entry.getValue().matcher(literal).matches()) {
+                    return entry.getKey();
+                }
+            }
             return UNKNOWN;
         }
         return NONE;
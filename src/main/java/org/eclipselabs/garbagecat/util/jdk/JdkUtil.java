@@ -14,8 +14,9 @@ package org.eclipselabs.garbagecat.util.jdk;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,6 +26,7 @@ import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.NullEvent;
 import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.domain.TimeWarpException;
 import org.eclipselabs.garbagecat.domain.UnknownEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationConcurrentTimeEvent;
@@ -123,6 +125,7 @@ import org.eclipselabs.garbagecat.domain.jdk.unified.ZRelocateStartYoungEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.ZRelocationStallEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.ZStatsEvent;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.DateStampFormat;
 import org.eclipselabs.garbagecat.util.GcUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
@@ -204,6 +207,46 @@ public final class JdkUtil {
     public static final int DECORATOR_SIZE = Pattern.compile(JdkRegEx.DECORATOR)
             .matcher("2020-03-10T08:03:29.311-0400: 0.373:").groupCount();
 
+    /**
+     * <code>LogEventType</code>s keyed by event name.
+     */
+    private static final Map<String, LogEventType> EVENT_TYPES = new HashMap<String, LogEventType>();
+
+    static {
+        for (LogEventType logEventType : LogEventType.values()) {
+            EVENT_TYPES.put(logEventType.toString(), logEventType);
+        }
+    }
+
+    /**
+     * Lazy holder for patterns only used outside of event parsing. The patterns are compiled the first time they are
+     * used.
+     */
+    private static final class PatternHolder {
+
+        /**
+         * Log line decorator.
+         */
+        private static final Pattern PATTERN_DECORATOR = Pattern.compile("^(" + JdkRegEx.DECORATOR + ")(.*)$");
+
+        /**
+         * Log line that includes a datestamp.
+         */
+        private static final Pattern PATTERN_LOG_LINE_DATESTAMP = Pattern
+                .compile("^(.*)" + JdkRegEx.DATESTAMP + "(.*)$");
+    }
+
+    /**
+     * RegEx pattern for a timestamp.
+     */
+    private static final Pattern PATTERN_TIMESTAMP = Pattern.compile(JdkRegEx.TIMESTAMP);
+
+    /**
+     * RegEx pattern for a timestamp followed by the colon and space after the timestamp format so durations will not
+     * get picked up.
+     */
+    private static final Pattern PATTERN_TIMESTAMP_DECORATOR = Pattern.compile(JdkRegEx.TIMESTAMP + "(: )");
+
     /**
      * Convert datestamp to milliseconds from a point in time.
      * 
@@ -213,8 +256,7 @@ public final class JdkUtil {
      */
     public static long convertDatestampToMillis(String datestamp) {
         // Calculate uptimemillis from random date/time
-        Date eventDate = GcUtil.parseDateStamp(datestamp);
-        return GcUtil.dateDiff(GcUtil.JVM_START_DATE, eventDate);
+        return DateStampFormat.parse(datestamp) - GcUtil.JVM_START_DATE.getTime();
     }
 
     /**
@@ -227,29 +269,18 @@ public final class JdkUtil {
      * @return the log entry with the timestamp converted to a datestamp.
      */
     public static final String convertLogEntryTimestampsToDateStamp(String logEntry, Date jvmStartDate) {
-        // Add the colon or space after the timestamp format so durations will
-        // not get picked up.
-        Pattern pattern = Pattern.compile(JdkRegEx.TIMESTAMP + "(: )");
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = PATTERN_TIMESTAMP_DECORATOR.matcher(logEntry);
         StringBuffer sb = new StringBuffer();
         while (matcher.find()) {
-            Date date = GcUtil.getDatePlusTimestamp(jvmStartDate,
-                    JdkMath.convertSecsToMillis(matcher.group(1)).longValue());
-            SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-            matcher.appendReplacement(sb, formatter.format(date) + matcher.group(2));
+            long millis = jvmStartDate.getTime() + JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
+            matcher.appendReplacement(sb, DateStampFormat.format(millis) + matcher.group(2));
         }
         matcher.appendTail(sb);
         return sb.toString();
     }
 
     public static final LogEventType determineEventType(String eventTypeString) {
-        LogEventType[] logEventTypes = LogEventType.values();
-        for (LogEventType logEventType : logEventTypes) {
-            if (logEventType.toString().equals(eventTypeString)) {
-                return logEventType;
-            }
-        }
-        return null;
+        return eventTypeString == null ? null : EVENT_TYPES.get(eventTypeString);
     }
 
     /**
@@ -262,14 +293,40 @@ public final class JdkUtil {
     public static final String getDecorator(String logLine) {
         String decorator = null;
         if (logLine != null) {
-            String regex = "^(" + JdkRegEx.DECORATOR + ")(.*)$";
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(logLine);
+            Matcher matcher = PatternHolder.PATTERN_DECORATOR.matcher(logLine);
             decorator = matcher.find() ? matcher.group(1) : null;
         }
         return decorator;
     }
 
+    /**
+     * @param event
+     *            The <code>SafepointEvent</code>.
+     * @return The event duration (nanoseconds). <code>UnifiedSafepointEvent</code> durations are used as is.
+     */
+    public static final long getDurationNanos(SafepointEvent event) {
+        if (event instanceof UnifiedSafepointEvent) {
+            return event.getDurationMicros();
+        } else {
+            return JdkMath.convertMicrosToNanos(event.getDurationMicros()).longValue();
+        }
+    }
+
+    /**
+     * Recreate a <code>BlockingEvent</code> from its log entry (e.g. for events stored without the event object).
+     * 
+     * @param eventType
+     *            Log entry <code>LogEventType</code>.
+     * @param logEntry
+     *            Log entry.
+     * @return The <code>BlockingEvent</code> for the log entry, or null if the log entry is not a
+     *         <code>BlockingEvent</code> of the given type.
+     */
+    public static final BlockingEvent hydrateBlockingEvent(LogEventType eventType, String logEntry) {
+        LogEvent event = hydrateLogEvent(eventType, logEntry);
+        return event instanceof BlockingEvent ? (BlockingEvent) event : null;
+    }
+
     /**
      * Create <code>BlockingEvent</code> from values.
      * 
@@ -394,6 +451,22 @@ public final class JdkUtil {
         }
     }
 
+    /**
+     * Recreate a <code>LogEvent</code> from its log entry, without identifying the log entry.
+     * 
+     * @param eventType
+     *            Log entry <code>LogEventType</code>.
+     * @param logEntry
+     *            Log entry.
+     * @return The <code>LogEvent</code> for the log entry, or null if the event type or log entry is null.
+     */
+    public static final LogEvent hydrateLogEvent(LogEventType eventType, String logEntry) {
+        if (eventType == null || logEntry == null) {
+            return null;
+        }
+        return newLogEvent(eventType, logEntry);
+    }
+
     /**
      * Identify the log line garbage collection event.
      * 
@@ -507,7 +580,7 @@ public final class JdkUtil {
             return LogEventType.SHENANDOAH_INIT_MARK;
         if (ShenandoahInitUpdateEvent.match(logLine))
             return LogEventType.SHENANDOAH_INIT_UPDATE;
-        if (logLine.matches(ShenandoahStatsEvent._REGEX_HEADER)
+        if (ShenandoahStatsEvent.matchHeader(logLine)
                 || (ShenandoahStatsEvent.match(logLine) && priorLogEvent instanceof ShenandoahStatsEvent))
             return LogEventType.SHENANDOAH_STATS;
         if (ShenandoahTriggerEvent.match(logLine))
@@ -520,12 +593,12 @@ public final class JdkUtil {
             return LogEventType.APPLICATION_STOPPED_TIME;
         if (ClassUnloadingEvent.match(logLine))
             return LogEventType.CLASS_UNLOADING;
-        if (logLine.matches(FooterStatsEvent._REGEX_HEADER)
+        if (FooterStatsEvent.matchHeader(logLine)
                 || (FooterStatsEvent.match(logLine) && priorLogEvent instanceof FooterStatsEvent))
             return LogEventType.FOOTER_STATS;
         if (GcInfoEvent.match(logLine) && !(priorLogEvent instanceof UnifiedHeaderEvent))
             return LogEventType.GC_INFO;
-        if (logLine.matches(HeapEvent._REGEX_HEADER)
+        if (HeapEvent.matchHeader(logLine)
                 || (HeapEvent.match(logLine) && priorLogEvent instanceof HeapEvent))
             return LogEventType.HEAP;
         if (HeapAtGcEvent.match(logLine))
@@ -615,70 +688,85 @@ public final class JdkUtil {
     }
 
     /**
-     * Determine if the <code>SafepointEvent</code> should be classified as a bottleneck.
+     * Determine if an event should be classified as a bottleneck from primitive timestamps and durations (e.g. from
+     * <code>BlockingEventColumns</code>).
      * 
-     * @param event
-     *            Current <code>SafepointEvent</code>.
-     * @param priorEvent
-     *            Previous <code>SafepointEvent</code>.
+     * @param eventTimestamp
+     *            Current event timestamp (milliseconds).
+     * @param eventDurationNanos
+     *            Current event duration (nanoseconds).
+     * @param priorEventTimestamp
+     *            Previous event timestamp (milliseconds).
+     * @param priorEventDurationNanos
+     *            Previous event duration (nanoseconds).
      * @param throughputThreshold
      *            Throughput threshold (percent of time spent not doing garbage collection for a given time interval) to
      *            be considered a bottleneck. Whole number 0-100.
-     * @return True if the <code>SafepointEvent</code> meets the bottleneck definition.
+     * @return True if the event meets the bottleneck definition.
+     * @throws TimeWarpException
+     *             if the event is out of order or overlaps the previous event. The message does not include the log
+     *             entries.
      */
-    public static final boolean isBottleneck(SafepointEvent event, SafepointEvent priorEvent, int throughputThreshold)
-            throws TimeWarpException {
+    public static final boolean isBottleneck(long eventTimestamp, long eventDurationNanos, long priorEventTimestamp,
+            long priorEventDurationNanos, int throughputThreshold) throws TimeWarpException {
         boolean isBottleneck = false;
         /*
          * Check for logging time warps, which could be an indication of mixed logging from multiple JVM runs. JDK8
          * seems to have threading issues where sometimes logging gets mixed up under heavy load, and an event appears
          * to start before the previous event finished. They are mainly very small overlaps or a few milliseconds.
          */
-        long eventTimestampNanos = JdkMath.convertMillisToNanos(String.valueOf(event.getTimestamp())).longValue();
+        long eventTimestampNanos = eventTimestamp * 1000000L;
         // Exclude <code>ApplicationStoppedTime</code> w/o datestamp/timestamp
         // Exclude microevents where timestamps are equal (for report readability)
-        if (eventTimestampNanos > 0 && event.getTimestamp() != priorEvent.getTimestamp()) {
-            long priorEventTimestampNanos = JdkMath.convertMillisToNanos(String.valueOf(priorEvent.getTimestamp()))
-                    .longValue();
-            long priorEventDurationNanos;
-            if (priorEvent instanceof UnifiedSafepointEvent) {
-                priorEventDurationNanos = priorEvent.getDurationMicros();
-            } else {
-                priorEventDurationNanos = JdkMath.convertMicrosToNanos(priorEvent.getDurationMicros()).longValue();
-            }
+        if (eventTimestampNanos > 0 && eventTimestamp != priorEventTimestamp) {
+            long priorEventTimestampNanos = priorEventTimestamp * 1000000L;
             if (eventTimestampNanos < priorEventTimestampNanos - 1000000L) {
                 // Only report if 2nd event > 1 millisecond before 1st event
-                throw new TimeWarpException("Bad order: " + Constants.LINE_SEPARATOR + priorEvent.getLogEntry()
-                        + Constants.LINE_SEPARATOR + event.getLogEntry());
+                throw new TimeWarpException("Bad order: ");
             } else if (eventTimestampNanos < priorEventTimestampNanos + priorEventDurationNanos - 5000000000L) {
                 // Only report if overlap > 5 sec to account for overlaps due to JDK threading issues and use of
                 // -XX:+UseFastUnorderedTimeStamps
                 // TODO: Make this configurable w/ a command line option?
-                throw new TimeWarpException("Event overlap: " + Constants.LINE_SEPARATOR + priorEvent.getLogEntry()
-                        + Constants.LINE_SEPARATOR + event.getLogEntry());
+                throw new TimeWarpException("Event overlap: ");
             } else {
-                long eventDurationNanos;
-                if (event instanceof UnifiedSafepointEvent) {
-                    eventDurationNanos = event.getDurationMicros();
-                } else {
-                    eventDurationNanos = JdkMath.convertMicrosToNanos(event.getDurationMicros()).longValue();
-                }
                 /*
                  * Timestamp is the start of an event; therefore, the interval is from the prior event timestamp to the
                  * current event endstamp.
                  */
                 long interval = eventTimestampNanos + eventDurationNanos - priorEventTimestampNanos;
-                // Determine the maximum duration for the given interval that meets the throughput goal.
-                BigDecimal durationThresholdNanos = new BigDecimal(100 - throughputThreshold);
-                durationThresholdNanos = durationThresholdNanos.movePointLeft(2);
-                durationThresholdNanos = durationThresholdNanos.multiply(new BigDecimal(interval));
-                durationThresholdNanos.setScale(0, RoundingMode.DOWN);
-                isBottleneck = (eventDurationNanos + priorEventDurationNanos) > durationThresholdNanos.longValue();
+                // Determine the maximum duration for the given interval that meets the throughput goal (rounded down).
+                // Split the interval to avoid overflow.
+                long percent = 100 - throughputThreshold;
+                long durationThresholdNanos = interval / 100 * percent + interval % 100 * percent / 100;
+                isBottleneck = (eventDurationNanos + priorEventDurationNanos) > durationThresholdNanos;
             }
         }
         return isBottleneck;
     }
 
+    /**
+     * Determine if the <code>SafepointEvent</code> should be classified as a bottleneck.
+     * 
+     * @param event
+     *            Current <code>SafepointEvent</code>.
+     * @param priorEvent
+     *            Previous <code>SafepointEvent</code>.
+     * @param throughputThreshold
+     *            Throughput threshold (percent of time spent not doing garbage collection for a given time interval) to
+     *            be considered a bottleneck. Whole number 0-100.
+     * @return True if the <code>SafepointEvent</code> meets the bottleneck definition.
+     */
+    public static final boolean isBottleneck(SafepointEvent event, SafepointEvent priorEvent, int throughputThreshold)
+            throws TimeWarpException {
+        try {
+            return isBottleneck(event.getTimestamp(), getDurationNanos(event), priorEvent.getTimestamp(),
+                    getDurationNanos(priorEvent), throughputThreshold);
+        } catch (TimeWarpException e) {
+            throw new TimeWarpException(e.getMessage() + Constants.LINE_SEPARATOR + priorEvent.getLogEntry()
+                    + Constants.LINE_SEPARATOR + event.getLogEntry());
+        }
+    }
+
     /**
      * Check to see if a log line includes any datestamps.
      * 
@@ -687,9 +775,7 @@ public final class JdkUtil {
      * @return True if the log line includes a datestamp, false otherwise..
      */
     public static final boolean isLogLineWithDateStamp(String logLine) {
-        String regex = "^(.*)" + JdkRegEx.DATESTAMP + "(.*)$";
-        Pattern pattern = Pattern.compile(regex);
-        return pattern.matcher(logLine).matches();
+        return PatternHolder.PATTERN_LOG_LINE_DATESTAMP.matcher(logLine).matches();
     }
 
     /**
@@ -740,6 +826,15 @@ public final class JdkUtil {
 
     }
 
+    /**
+     * @param decorator
+     *            A log line time decorator.
+     * @return true if the decorator is a timestamp (e.g. <code>2.969</code>), false otherwise.
+     */
+    public static final boolean isTimestamp(String decorator) {
+        return decorator != null && PATTERN_TIMESTAMP.matcher(decorator).matches();
+    }
+
     /**
      * @param logLine
      *            The log line.
@@ -750,7 +845,48 @@ public final class JdkUtil {
      * @return The <code>LogEvent</code> for the log line.
      */
     public static final LogEvent parseLogLine(String logLine, LogEvent priorLogEvent, CollectorFamily collectorFamily) {
-        LogEventType eventType = identifyEventType(logLine, priorLogEvent, collectorFamily);
+        return parseLogLine(logLine, priorLogEvent, collectorFamily, null);
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param priorLogEvent
+     *            The prior log line <code>LogEvent</code>.
+     * @param collectorFamily
+     *            The <code>CollectorFamily</code>.
+     * @param unknownLineCache
+     *            The <code>UnknownLineCache</code> used to skip identification of repeated unknown or throwaway line
+     *            shapes, or null to always identify the log line.
+     * @return The <code>LogEvent</code> for the log line.
+     */
+    public static final LogEvent parseLogLine(String logLine, LogEvent priorLogEvent, CollectorFamily collectorFamily,
+            UnknownLineCache unknownLineCache) {
+        LogEventType eventType = null;
+        if (unknownLineCache != null) {
+            eventType = unknownLineCache.get(logLine, priorLogEvent, collectorFamily);
+            if (eventType == null) {
+                eventType = identifyEventType(logLine, priorLogEvent, collectorFamily);
+                LogEvent event = newLogEvent(eventType, logLine);
+                if (event instanceof UnknownEvent || event instanceof ThrowAwayEvent) {
+                    unknownLineCache.put(logLine, priorLogEvent, collectorFamily, eventType);
+                }
+                return event;
+            }
+        } else {
+            eventType = identifyEventType(logLine, priorLogEvent, collectorFamily);
+        }
+        return newLogEvent(eventType, logLine);
+    }
+
+    /**
+     * @param eventType
+     *            The <code>LogEventType</code> of the log line.
+     * @param logLine
+     *            The log line.
+     * @return The <code>LogEvent</code> for the log line.
+     */
+    private static final LogEvent newLogEvent(LogEventType eventType, String logLine) {
         switch (eventType) {
         // Unified (order of appearance)
         case UNIFIED_SAFEPOINT:
@@ -0,0 +1,330 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * Bounded, least recently used cache of log line shapes that identify as <code>LogEventType.UNKNOWN</code> or a
+ * <code>ThrowAwayEvent</code>.
+ * </p>
+ *
+ * <p>
+ * Application logging interleaved with gc logging typically repeats the same templates with different numbers, and
+ * every occurrence would otherwise run through the whole identification chain. The shape of a line is the line with
+ * digits and hexadecimal values masked (preserving length), qualified by the <code>CollectorFamily</code> and the prior
+ * <code>LogEvent</code> class, since identification depends on both.
+ * </p>
+ *
+ * <p>
+ * Most lines are gc logging that is never cached, so a lookup first checks a bit filter indexed by the hash of the key,
+ * computed in one pass over the line without building the shape or key. The key is only built when the filter bit is
+ * set (the shape may be cached), and is reused if the line is then put in the cache. Bits are not cleared when shapes
+ * are evicted (so a set bit can be stale), and the filter is rebuilt from the cached shapes after
+ * <code>maxSize</code> evictions.
+ * </p>
+ *
+ * <p>
+ * Not thread safe. A cache is owned by a single <code>GcManager</code>.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class UnknownLineCache {
+
+    /**
+     * The default maximum number of shapes retained.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    /**
+     * The number of bits in the shape filter (a power of 2).
+     */
+    private static final int FILTER_SIZE = 1 << 16;
+
+    /**
+     * @param hash
+     *            The key hash.
+     * @return The shape filter bit index.
+     */
+    private static int getFilterIndex(int hash) {
+        return (hash ^ (hash >>> 16)) & (FILTER_SIZE - 1);
+    }
+
+    /**
+     * @param hash
+     *            The hash so far.
+     * @param s
+     *            The string to add to the hash.
+     * @return The hash continued with the characters of the string, as <code>String.hashCode</code> would.
+     */
+    private static int hash(int hash, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            hash = 31 * hash + s.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Get the shape of a log line: digits and the digits of hexadecimal values (e.g. <code>0x00000000e0000000</code>)
+     * are masked as '0'.
+     *
+     * @param logLine
+     *            The log line.
+     * @return The log line shape.
+     */
+    public static final String getShape(String logLine) {
+        char[] shape = logLine.toCharArray();
+        boolean hex = false;
+        for (int i = 0; i < shape.length; i++) {
+            char c = shape[i];
+            if (c >= '0' && c <= '9') {
+                if (c == '0' && i + 1 < shape.length && (shape[i + 1] == 'x' || shape[i + 1] == 'X')) {
+                    i++;
+                    hex = true;
+                } else {
+                    shape[i] = '0';
+                }
+            } else if (hex && ((c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'))) {
+                shape[i] = '0';
+            } else {
+                hex = false;
+            }
+        }
+        return new String(shape);
+    }
+
+    /**
+     * The number of shapes evicted since the shape filter was built.
+     */
+    private int evictions;
+
+    /**
+     * The shape filter: the bits for the key hashes of the cached shapes, and possibly of evicted shapes.
+     */
+    private final BitSet filter = new BitSet(FILTER_SIZE);
+
+    /**
+     * The number of lookups that found a cached shape.
+     */
+    private long hits;
+
+    /**
+     * The <code>CollectorFamily</code> of the last lookup that built a key.
+     */
+    private CollectorFamily lastCollectorFamily;
+
+    /**
+     * The key built by the last lookup, or null if none.
+     */
+    private String lastKey;
+
+    /**
+     * The log line of the last lookup that built a key.
+     */
+    private String lastLogLine;
+
+    /**
+     * The prior <code>LogEvent</code> of the last lookup that built a key.
+     */
+    private LogEvent lastPriorLogEvent;
+
+    /**
+     * The maximum number of shapes retained.
+     */
+    private final int maxSize;
+
+    /**
+     * The number of lookups that did not find a cached shape.
+     */
+    private long misses;
+
+    /**
+     * <code>LogEventType</code>s keyed by log line shape, in access order.
+     */
+    private final Map<String, LogEventType> shapes;
+
+    /**
+     * Default constructor.
+     */
+    public UnknownLineCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Alternate constructor.
+     *
+     * @param maxSize
+     *            The maximum number of shapes retained.
+     */
+    public UnknownLineCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid maximum size: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.shapes = new LinkedHashMap<String, LogEventType>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LogEventType> eldest) {
+                if (size() > UnknownLineCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param priorLogEvent
+     *            The prior log line <code>LogEvent</code>.
+     * @param collectorFamily
+     *            The <code>CollectorFamily</code>.
+     * @return The cached <code>LogEventType</code> for the log line shape, or null if the shape is not cached.
+     */
+    public LogEventType get(String logLine, LogEvent priorLogEvent, CollectorFamily collectorFamily) {
+        LogEventType logEventType = null;
+        if (filter.get(getFilterIndex(getKeyHash(logLine, priorLogEvent, collectorFamily)))) {
+            lastKey = getKey(logLine, priorLogEvent, collectorFamily);
+            lastLogLine = logLine;
+            lastPriorLogEvent = priorLogEvent;
+            lastCollectorFamily = collectorFamily;
+            logEventType = shapes.get(lastKey);
+        }
+        if (logEventType == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return logEventType;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param priorLogEvent
+     *            The prior log line <code>LogEvent</code>.
+     * @param collectorFamily
+     *            The <code>CollectorFamily</code>.
+     * @return The cache key.
+     */
+    private String getKey(String logLine, LogEvent priorLogEvent, CollectorFamily collectorFamily) {
+        StringBuilder key = new StringBuilder(logLine.length() + 64);
+        key.append(collectorFamily).append('|');
+        if (priorLogEvent != null) {
+            key.append(priorLogEvent.getClass().getName());
+        }
+        key.append('|').append(getShape(logLine));
+        return key.toString();
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param priorLogEvent
+     *            The prior log line <code>LogEvent</code>.
+     * @param collectorFamily
+     *            The <code>CollectorFamily</code>.
+     * @return The hash of the cache key (the same as the key <code>hashCode</code>), without building the key.
+     */
+    private int getKeyHash(String logLine, LogEvent priorLogEvent, CollectorFamily collectorFamily) {
+        int hash = 31 * hash(0, String.valueOf(collectorFamily)) + '|';
+        if (priorLogEvent != null) {
+            hash = hash(hash, priorLogEvent.getClass().getName());
+        }
+        hash = 31 * hash + '|';
+        // Mask as getShape does
+        boolean hex = false;
+        for (int i = 0; i < logLine.length(); i++) {
+            char c = logLine.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (c == '0' && i + 1 < logLine.length()
+                        && (logLine.charAt(i + 1) == 'x' || logLine.charAt(i + 1) == 'X')) {
+                    hash = 31 * (31 * hash + c) + logLine.charAt(++i);
+                    hex = true;
+                } else {
+                    hash = 31 * hash + '0';
+                }
+            } else if (hex && ((c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'))) {
+                hash = 31 * hash + '0';
+            } else {
+                hex = false;
+                hash = 31 * hash + c;
+            }
+        }
+        return hash;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Cache the <code>LogEventType</code> for a log line shape.
+     *
+     * @param logLine
+     *            The log line.
+     * @param priorLogEvent
+     *            The prior log line <code>LogEvent</code>.
+     * @param collectorFamily
+     *            The <code>CollectorFamily</code>.
+     * @param logEventType
+     *            The <code>LogEventType</code> of the log line.
+     */
+    public void put(String logLine, LogEvent priorLogEvent, CollectorFamily collectorFamily,
+            LogEventType logEventType) {
+        String key;
+        if (logLine == lastLogLine && priorLogEvent == lastPriorLogEvent && collectorFamily == lastCollectorFamily) {
+            key = lastKey;
+        } else {
+            key = getKey(logLine, priorLogEvent, collectorFamily);
+        }
+        lastKey = null;
+        lastLogLine = null;
+        lastPriorLogEvent = null;
+        lastCollectorFamily = null;
+        shapes.put(key, logEventType);
+        filter.set(getFilterIndex(key.hashCode()));
+        if (evictions >= maxSize) {
+            // Clear the bits of evicted shapes
+            filter.clear();
+            for (String cachedKey : shapes.keySet()) {
+                filter.set(getFilterIndex(cachedKey.hashCode()));
+            }
+            evictions = 0;
+        }
+    }
+
+    public int size() {
+        return shapes.size();
+    }
+}
@@ -14,6 +14,7 @@ package org.eclipselabs.garbagecat.util.jdk.unified;
 
 import java.util.List;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlankLineEvent;
 import org.eclipselabs.garbagecat.domain.LogEvent;
@@ -79,6 +80,21 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
  */
 public final class UnifiedUtil {
 
+    /**
+     * RegEx pattern for a log entry that includes the <code>gc,start</code> tag.
+     */
+    private static final Pattern PATTERN_TAG_GC_START = Pattern.compile(UnifiedRegEx.TAG_GC_START);
+
+    /**
+     * RegEx pattern for an uptime decorator in seconds.
+     */
+    private static final Pattern PATTERN_UPTIME = Pattern.compile(UnifiedRegEx.UPTIME);
+
+    /**
+     * RegEx pattern for an uptime decorator in milliseconds.
+     */
+    private static final Pattern PATTERN_UPTIMEMILLIS = Pattern.compile(UnifiedRegEx.UPTIMEMILLIS);
+
     /**
      * @param matcher
      *            The unified log line <code>Matcher</code>.
@@ -87,13 +103,13 @@ public final class UnifiedUtil {
      */
     public static final long calculateTime(Matcher matcher) throws TimeWarpException {
         long time = 0L;
-        if (matcher.group(2).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+        if (isUptimeMillis(matcher.group(2))) {
             time = Long.parseLong(matcher.group(13));
-        } else if (matcher.group(2).matches(UnifiedRegEx.UPTIME)) {
+        } else if (isUptime(matcher.group(2))) {
             time = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
         } else {
             if (matcher.group(15) != null) {
-                if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                if (isUptimeMillis(matcher.group(15))) {
                     time = Long.parseLong(matcher.group(17));
                 } else {
                     time = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
@@ -180,7 +196,7 @@ public final class UnifiedUtil {
                 eventType = LogEventType.UNIFIED_SHENANDOAH_INIT_MARK;
             } else if (UnifiedShenandoahInitUpdateRefsEvent.match(logLine)) {
                 eventType = LogEventType.UNIFIED_SHENANDOAH_INIT_UPDATE_REFS;
-            } else if (logLine.matches(UnifiedShenandoahStatsEvent._REGEX_HEADER)
+            } else if (UnifiedShenandoahStatsEvent.matchHeader(logLine)
                     || (UnifiedShenandoahStatsEvent.match(logLine)
                             && priorLogEvent instanceof UnifiedShenandoahStatsEvent)) {
                 eventType = LogEventType.UNIFIED_SHENANDOAH_STATS;
@@ -229,7 +245,7 @@ public final class UnifiedUtil {
                 eventType = LogEventType.UNIFIED_SHENANDOAH_INIT_MARK;
             } else if (UnifiedShenandoahInitUpdateRefsEvent.match(logLine)) {
                 eventType = LogEventType.UNIFIED_SHENANDOAH_INIT_UPDATE_REFS;
-            } else if (logLine.matches(UnifiedShenandoahStatsEvent._REGEX_HEADER)
+            } else if (UnifiedShenandoahStatsEvent.matchHeader(logLine)
                     || (UnifiedShenandoahStatsEvent.match(logLine)
                             && priorLogEvent instanceof UnifiedShenandoahStatsEvent)) {
                 eventType = LogEventType.UNIFIED_SHENANDOAH_STATS;
@@ -257,7 +273,7 @@ public final class UnifiedUtil {
                 eventType = LogEventType.Z_RELOCATE_START_YOUNG;
             } else if (ZRelocationStallEvent.match(logLine)) {
                 eventType = LogEventType.Z_RELOCATION_STALL;
-            } else if (logLine.matches(ZStatsEvent._REGEX_HEADER)
+            } else if (ZStatsEvent.matchHeader(logLine)
                     || (ZStatsEvent.match(logLine) && priorLogEvent instanceof ZStatsEvent)) {
                 eventType = LogEventType.Z_STATS;
                 break;
@@ -285,7 +301,7 @@ public final class UnifiedUtil {
                 eventType = LogEventType.Z_RELOCATE_START_YOUNG;
             } else if (ZRelocationStallEvent.match(logLine)) {
                 eventType = LogEventType.Z_RELOCATION_STALL;
-            } else if (logLine.matches(ZStatsEvent._REGEX_HEADER)
+            } else if (ZStatsEvent.matchHeader(logLine)
                     || (ZStatsEvent.match(logLine) && priorLogEvent instanceof ZStatsEvent)) {
                 eventType = LogEventType.Z_STATS;
             }
@@ -302,7 +318,7 @@ public final class UnifiedUtil {
                 eventType = LogEventType.UNIFIED_SAFEPOINT;
             } else if (UnifiedConcurrentEvent.match(logLine)) {
                 eventType = LogEventType.UNIFIED_CONCURRENT;
-            } else if (logLine.matches(UnifiedFooterStatsEvent._REGEX_HEADER)
+            } else if (UnifiedFooterStatsEvent.matchHeader(logLine)
                     || (UnifiedFooterStatsEvent.match(logLine) && priorLogEvent instanceof UnifiedFooterStatsEvent)) {
                 eventType = LogEventType.UNIFIED_FOOTER_STATS;
             } else if (UnifiedGcLockerRetryEvent.match(logLine)) {
@@ -323,6 +339,35 @@ public final class UnifiedUtil {
         return eventType;
     }
 
+    /**
+     * @param logEntry
+     *            The unified log entry.
+     * @return <code>true</code> if the log entry timestamp is the time the event ended (<code>gc,start</code> not
+     *         logged, e.g. not preprocessed), false if it is the time the event began.
+     */
+    public static final boolean isEndstamp(String logEntry) {
+        return logEntry == null || !PATTERN_TAG_GC_START.matcher(logEntry).matches();
+    }
+
+    /**
+     * @param decorator
+     *            A unified logging time decorator.
+     * @return <code>true</code> if the decorator is an uptime in seconds (e.g. <code>0.052s</code>), false otherwise.
+     */
+    public static final boolean isUptime(String decorator) {
+        return decorator != null && PATTERN_UPTIME.matcher(decorator).matches();
+    }
+
+    /**
+     * @param decorator
+     *            A unified logging time decorator.
+     * @return <code>true</code> if the decorator is an uptime in milliseconds (e.g. <code>52ms</code>), false
+     *         otherwise.
+     */
+    public static final boolean isUptimeMillis(String decorator) {
+        return decorator != null && PATTERN_UPTIMEMILLIS.matcher(decorator).matches();
+    }
+
     /**
      * @param eventTypes
      *            The JVM event types.
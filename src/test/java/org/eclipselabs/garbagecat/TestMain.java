@@ -12,8 +12,10 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat;
 
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EXPORT_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_IMPORT_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
@@ -22,20 +24,25 @@ import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_ROLLUP_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERBOSE_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERBOSE_SHORT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
 
 import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.api.io.TempDir;
@@ -46,6 +53,43 @@ class TestMain {
         assertTrue(cmd.hasOption(option), "'-" + option + "' is a valid option");
     }
 
+    @Test
+    void testExportImport(@TempDir File temporaryFolder) throws Exception {
+        File testFile = TestUtil.getFile("dataset236.txt");
+        File exportFile = new File(temporaryFolder, "dataset236.gcat");
+        File reportFile = new File(temporaryFolder, "report.txt");
+        File importReportFile = new File(temporaryFolder, "import-report.txt");
+        Main.createReport(OptionsParser.parseOptions(new String[] { //
+                "--" + OPTION_OUTPUT_LONG, reportFile.getAbsolutePath(), //
+                testFile.getAbsolutePath() //
+        }));
+        Main.createReport(OptionsParser.parseOptions(new String[] { //
+                "--" + OPTION_EXPORT_LONG, exportFile.getAbsolutePath(), //
+                testFile.getAbsolutePath() //
+        }));
+        assertTrue(exportFile.length() > 0, "Export not written.");
+        Main.createReport(OptionsParser.parseOptions(new String[] { //
+                "--" + OPTION_IMPORT_LONG, //
+                "--" + OPTION_OUTPUT_LONG, importReportFile.getAbsolutePath(), //
+                exportFile.getAbsolutePath() //
+        }));
+        List<String> report = Files.readAllLines(reportFile.toPath());
+        List<String> importReport = Files.readAllLines(importReportFile.toPath());
+        // The first line is the input file name
+        assertEquals(report.subList(1, report.size()), importReport.subList(1, importReport.size()),
+                "Report from export not correct.");
+    }
+
+    @Test
+    void testExportWithImport(@TempDir File temporaryFolder) throws Exception {
+        String[] args = new String[] { //
+                "--" + OPTION_IMPORT_LONG, //
+                "--" + OPTION_EXPORT_LONG, new File(temporaryFolder, "export.gcat").getAbsolutePath(), //
+                TestUtil.getFile("dataset236.txt").getAbsolutePath() //
+        };
+        assertThrows(ParseException.class, () -> OptionsParser.parseOptions(args), "Export of an import allowed.");
+    }
+
     @Test
     void testLogFileEqualsReportFile(@TempDir File temporaryFolder) throws Exception {
         // Method arguments
@@ -107,6 +151,25 @@ class TestMain {
         assertHasOption(cmd, OPTION_VERBOSE_LONG);
     }
 
+    @Test
+    void testRollup(@TempDir File temporaryFolder) throws Exception {
+        File testFile = TestUtil.getFile("dataset236.txt");
+        File rollupFile = new File(temporaryFolder, "rollup.csv");
+        Main.createReport(OptionsParser.parseOptions(new String[] { //
+                "--" + OPTION_ROLLUP_LONG, "1s", //
+                "--" + OPTION_OUTPUT_LONG, rollupFile.getAbsolutePath(), //
+                testFile.getAbsolutePath() //
+        }));
+        List<String> rollup = Files.readAllLines(rollupFile.toPath());
+        assertTrue(rollup.get(0).startsWith("timestamp,pause_count,"), "Rollup header not correct.");
+        assertEquals("0,4,", rollup.get(1).substring(0, 4), "Rollup bucket not correct.");
+        String[] args = new String[] { //
+                "--" + OPTION_ROLLUP_LONG, "5m", //
+                testFile.getAbsolutePath() //
+        };
+        assertThrows(ParseException.class, () -> OptionsParser.parseOptions(args), "Invalid rollup allowed.");
+    }
+
     @Test
     void testShortHelpOption() throws Exception {
         // Method arguments
@@ -0,0 +1,197 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelCompactingOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestBlockingEventColumns {
+
+    @Test
+    void testClear() {
+        BlockingEventColumns columns = new BlockingEventColumns(true);
+        columns.add(new ParallelScavengeEvent("test1", 1000L, 10));
+        columns.clear();
+        assertEquals(0, columns.size(), "Size not correct.");
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.getTimestamp(0));
+    }
+
+    @Test
+    void testCombinedData() {
+        BlockingEventColumns columns = new BlockingEventColumns();
+        columns.add(new G1YoungPauseEvent("1113.145: [GC pause (young) 849M->583M(968M), 0.0392710 secs]"));
+        assertEquals(LogEventType.G1_YOUNG_PAUSE, columns.getEventType(0), "Event type not correct.");
+        assertEquals(1113145L, columns.getTimestamp(0), "Timestamp not correct.");
+        assertEquals(39271L, columns.getDurationMicros(0), "Duration not correct.");
+        assertEquals(849 * 1024, columns.getHeapOccupancyInit(0), "Heap occupancy init not correct.");
+        assertEquals(583 * 1024, columns.getHeapOccupancyEnd(0), "Heap occupancy end not correct.");
+        assertEquals(968 * 1024, columns.getHeapSpace(0), "Heap space not correct.");
+        assertEquals(BlockingEventColumns.NO_DATA, columns.getOldSpace(0), "Old space not correct.");
+        assertEquals(BlockingEventColumns.NO_DATA, columns.getClassSpace(0), "Class space not correct.");
+        assertNull(columns.getLogEntry(0), "Log entry retained.");
+    }
+
+    @Test
+    void testGetEvent() {
+        String logLine = "1113.145: [GC pause (young) 849M->583M(968M), 0.0392710 secs]";
+        BlockingEventColumns columns = new BlockingEventColumns(true);
+        columns.add(new G1YoungPauseEvent(logLine));
+        columns.add(new ParallelScavengeEvent("test2", 2000L, 20));
+        BlockingEvent event = columns.getEvent(0);
+        assertTrue(event instanceof G1YoungPauseEvent, "Event not parsed from log entry.");
+        assertEquals(logLine, event.getLogEntry(), "Log entry not correct.");
+        assertEquals(849 * 1024, ((G1YoungPauseEvent) event).getCombinedOccupancyInit().getValue(KILOBYTES),
+                "Combined occupancy init not correct.");
+        event = columns.getEvent(1);
+        assertTrue(event instanceof ParallelScavengeEvent, "Event not created from values.");
+        assertEquals(2000L, event.getTimestamp(), "Timestamp not correct.");
+        assertEquals(20, event.getDurationMicros(), "Duration not correct.");
+        assertEquals(2, columns.events(null).size(), "Events size not correct.");
+        assertEquals(2000L, columns.events(new int[] { 1 }).get(0).getTimestamp(), "Timestamp not correct.");
+    }
+
+    @Test
+    void testGrow() {
+        BlockingEventColumns columns = new BlockingEventColumns(true);
+        for (int i = 0; i < 1000; i++) {
+            columns.add(new ParallelScavengeEvent("test" + i, i, i * 10));
+        }
+        assertEquals(1000, columns.size(), "Size not correct.");
+        assertEquals(999L, columns.getTimestamp(999), "Timestamp not correct.");
+        assertEquals(9990L, columns.getDurationMicros(999), "Duration not correct.");
+        assertEquals("test999", columns.getLogEntry(999), "Log entry not correct.");
+    }
+
+    @Test
+    void testNoData() {
+        BlockingEventColumns columns = new BlockingEventColumns();
+        columns.add(new ParallelScavengeEvent("test1", 1000L, 10));
+        assertFalse(columns.isRetainLogEntries(), "Log entries retained.");
+        assertNull(columns.getTrigger(0), "Trigger not correct.");
+        assertEquals(TimesData.NO_DATA, columns.getTimeUser(0), "User time not correct.");
+    }
+
+    @Test
+    void testOldData() {
+        String logLine = "3203650.654: [Full GC (Allocation Failure) [PSYoungGen: 393482K->393073K(532992K)] "
+                + "[ParOldGen: 1398224K->1398199K(1398272K)] 1791707K->1791273K(1931264K), "
+                + "[Metaspace: 170955K->170731K(1220608K)], 3.5730395 secs] "
+                + "[Times: user=26.24 sys=0.09, real=3.57 secs]";
+        BlockingEventColumns columns = new BlockingEventColumns(true);
+        columns.add(new ParallelCompactingOldEvent(logLine));
+        assertEquals(LogEventType.PARALLEL_COMPACTING_OLD, columns.getEventType(0), "Event type not correct.");
+        assertEquals(GcTrigger.ALLOCATION_FAILURE, columns.getTrigger(0), "Trigger not correct.");
+        assertEquals(393482, columns.getYoungOccupancyInit(0), "Young occupancy init not correct.");
+        assertEquals(393073, columns.getYoungOccupancyEnd(0), "Young occupancy end not correct.");
+        assertEquals(532992, columns.getYoungSpace(0), "Young space not correct.");
+        assertEquals(1398224, columns.getOldOccupancyInit(0), "Old occupancy init not correct.");
+        assertEquals(1398199, columns.getOldOccupancyEnd(0), "Old occupancy end not correct.");
+        assertEquals(1398272, columns.getOldSpace(0), "Old space not correct.");
+        assertEquals(393482 + 1398224, columns.getHeapOccupancyInit(0), "Heap occupancy init not correct.");
+        assertEquals(393073 + 1398199, columns.getHeapOccupancyEnd(0), "Heap occupancy end not correct.");
+        assertEquals(532992 + 1398272, columns.getHeapSpace(0), "Heap space not correct.");
+        assertEquals(170955, columns.getClassOccupancyInit(0), "Class occupancy init not correct.");
+        assertEquals(170731, columns.getClassOccupancyEnd(0), "Class occupancy end not correct.");
+        assertEquals(1220608, columns.getClassSpace(0), "Class space not correct.");
+        assertEquals(2624, columns.getTimeUser(0), "User time not correct.");
+        assertEquals(9, columns.getTimeSys(0), "Sys time not correct.");
+        assertEquals(357, columns.getTimeReal(0), "Real time not correct.");
+        assertEquals(logLine, columns.getLogEntry(0), "Log entry not correct.");
+    }
+
+    @Test
+    void testReorder() {
+        BlockingEventColumns columns = new BlockingEventColumns(true);
+        columns.add(new ParallelScavengeEvent("test3", 3000L, 30));
+        columns.add(new ParallelScavengeEvent("test1", 1000L, 10));
+        columns.add(new ParallelScavengeEvent("test2", 2000L, 20));
+        columns.reorder(new int[] { 1, 2, 0 });
+        for (int i = 0; i < 3; i++) {
+            assertEquals((i + 1) * 1000L, columns.getTimestamp(i), "Timestamp not correct.");
+            assertEquals((i + 1) * 10L, columns.getDurationMicros(i), "Duration not correct.");
+            assertEquals("test" + (i + 1), columns.getLogEntry(i), "Log entry not correct.");
+        }
+        assertThrows(IllegalArgumentException.class, () -> columns.reorder(new int[] { 0 }));
+    }
+
+    @Test
+    void testSpill(@TempDir File directory) {
+        BlockingEventColumns columns = new BlockingEventColumns(true, directory);
+        int size = BlockingEventColumns.SEGMENT_SIZE * 2 + 10;
+        // Reverse order, so reordering moves rows across segments
+        for (int i = 0; i < size; i++) {
+            columns.add(new ParallelScavengeEvent(i % 7 == 0 ? null : "test" + i, size - i, i));
+        }
+        assertTrue(columns.isSpilling(), "Columns not spilling.");
+        assertEquals(BlockingEventColumns.SEGMENT_SIZE * 2, columns.getSealedSize(), "Sealed size not correct.");
+        assertEquals(2, directory.listFiles().length, "Segment file count not correct.");
+        for (int i : new int[] { 0, 1, BlockingEventColumns.SEGMENT_SIZE, size - 1 }) {
+            assertEquals(size - i, columns.getTimestamp(i), "Timestamp not correct.");
+            assertEquals(i, columns.getDurationMicros(i), "Duration not correct.");
+            assertEquals(LogEventType.PARALLEL_SCAVENGE, columns.getEventType(i), "Event type not correct.");
+            assertEquals(i % 7 == 0 ? null : "test" + i, columns.getLogEntry(i), "Log entry not correct.");
+        }
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = size - 1 - i;
+        }
+        columns.reorder(order);
+        assertEquals(size, columns.size(), "Size not correct.");
+        for (int i = 0; i < size; i++) {
+            assertEquals(i + 1, columns.getTimestamp(i), "Timestamp not correct.");
+        }
+        assertEquals("test" + (size - 2), columns.getLogEntry(1), "Log entry not correct.");
+        columns.clear();
+        assertEquals(0, directory.listFiles().length, "Segment files not deleted.");
+    }
+
+    @Test
+    void testSpillExisting(@TempDir File directory) {
+        BlockingEventColumns columns = new BlockingEventColumns(true);
+        int size = BlockingEventColumns.SEGMENT_SIZE + 10;
+        for (int i = 0; i < size; i++) {
+            columns.add(new ParallelScavengeEvent("test" + i, i, i));
+        }
+        assertFalse(columns.isSpilling(), "Columns spilling.");
+        columns.spill(directory);
+        assertTrue(columns.isSpilling(), "Columns not spilling.");
+        assertEquals(size, columns.size(), "Size not correct.");
+        assertEquals(BlockingEventColumns.SEGMENT_SIZE, columns.getSealedSize(), "Sealed size not correct.");
+        assertEquals(1, directory.listFiles().length, "Segment file count not correct.");
+        assertEquals("test0", columns.getLogEntry(0), "Log entry not correct.");
+        assertEquals(size - 1, columns.getTimestamp(size - 1), "Timestamp not correct.");
+        columns.add(new ParallelScavengeEvent("test" + size, size, size));
+        assertEquals("test" + size, columns.getLogEntry(size), "Log entry not correct.");
+        columns.clear();
+    }
+}
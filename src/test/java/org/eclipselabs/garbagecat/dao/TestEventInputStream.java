@@ -0,0 +1,93 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestEventInputStream {
+
+    @Test
+    void testReadEnum() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EventOutputStream out = new EventOutputStream(bytes);
+        out.writeEnum(LogEventType.G1_YOUNG_PAUSE);
+        out.writeEnum(GcTrigger.G1_EVACUATION_PAUSE);
+        out.writeEnum(null);
+        int size = out.size();
+        out.writeEnum(LogEventType.G1_YOUNG_PAUSE);
+        out.writeEnum(GcTrigger.G1_EVACUATION_PAUSE);
+        out.flush();
+        assertEquals(2, out.size() - size, "Repeated enums not written by dictionary id.");
+        EventInputStream in = new EventInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(LogEventType.G1_YOUNG_PAUSE, in.readEnum(LogEventType.class), "Event type not correct.");
+        assertEquals(GcTrigger.G1_EVACUATION_PAUSE, in.readEnum(GcTrigger.class), "Trigger not correct.");
+        assertNull(in.readEnum(GcTrigger.class), "Null not correct.");
+        assertEquals(LogEventType.G1_YOUNG_PAUSE, in.readEnum(LogEventType.class), "Event type not correct.");
+        assertEquals(GcTrigger.G1_EVACUATION_PAUSE, in.readEnum(GcTrigger.class), "Trigger not correct.");
+    }
+
+    @Test
+    void testReadEnumWrongType() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EventOutputStream out = new EventOutputStream(bytes);
+        out.writeEnum(LogEventType.G1_YOUNG_PAUSE);
+        out.flush();
+        EventInputStream in = new EventInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThrows(IOException.class, () -> in.readEnum(GcTrigger.class), "Wrong enum type not rejected.");
+    }
+
+    @Test
+    void testReadString() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EventOutputStream out = new EventOutputStream(bytes);
+        out.writeString("[0.030s][info][gc] Using G1");
+        out.writeString(null);
+        out.writeString("");
+        out.flush();
+        EventInputStream in = new EventInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals("[0.030s][info][gc] Using G1", in.readString(), "String not correct.");
+        assertNull(in.readString(), "Null not correct.");
+        assertEquals("", in.readString(), "Empty string not correct.");
+    }
+
+    @Test
+    void testReadVarLong() throws IOException {
+        long[] values = { 0, 1, -1, 63, -64, 64, 1234567, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE,
+                Long.MIN_VALUE };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EventOutputStream out = new EventOutputStream(bytes);
+        for (long value : values) {
+            out.writeVarLong(value);
+        }
+        out.flush();
+        assertEquals(1 + 1 + 1 + 1 + 1 + 2 + 4 + 5 + 5 + 10 + 10, bytes.size(), "Encoded size not correct.");
+        EventInputStream in = new EventInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (long value : values) {
+            assertEquals(value, in.readVarLong(), "Value not correct.");
+        }
+    }
+}
@@ -12,14 +12,37 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.dao;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
 import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.PauseSlo;
+import org.eclipselabs.garbagecat.util.TopEvents;
+import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+import org.github.joa.domain.GarbageCollector;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
@@ -27,6 +50,294 @@ import org.junit.jupiter.api.Test;
  */
 class TestJvmDao {
 
+    @Test
+    void testBlockingEventTotals() {
+        JvmDao jvmDao = new JvmDao();
+        // Out of order
+        jvmDao.addBlockingEvent(new SerialOldEvent("3010786.012: [Full GC 3010786.012:"
+                + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
+                + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]"));
+        jvmDao.addBlockingEvent(new ParNewEvent("3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        assertEquals(1992451, jvmDao.getDurationMax(), "Duration max not correct.");
+        assertEquals(1992451 + 80598, jvmDao.getDurationTotal(), "Duration total not correct.");
+        assertEquals(819200, jvmDao.getMaxOldSpace(), "Max old space not correct.");
+        assertEquals(368640, jvmDao.getMaxYoungSpace(), "Max young space not correct.");
+        assertEquals(1187840, jvmDao.getMaxHeapSpace(), "Max heap space not correct.");
+        assertEquals(824995, jvmDao.getMaxHeapOccupancy(), "Max heap occupancy not correct.");
+        assertEquals(500466, jvmDao.getMaxHeapAfterGc(), "Max heap after gc not correct.");
+        assertEquals(262144, jvmDao.getMaxClassSpace(), "Max class space not correct.");
+        assertEquals(123092, jvmDao.getMaxClassSpaceOccupancy(), "Max class space occupancy not correct.");
+        assertEquals(122684, jvmDao.getMaxClassSpaceAfterGc(), "Max class space after gc not correct.");
+        jvmDao.cleanup();
+        assertEquals(0, jvmDao.getDurationTotal(), "Duration total not reset.");
+        assertEquals(0, jvmDao.getMaxHeapSpace(), "Max heap space not reset.");
+    }
+
+    @Test
+    void testBlockingEventsByType() {
+        JvmDao jvmDao = new JvmDao();
+        // Out of order, so keep every log entry
+        jvmDao.setRetainLogEntries(true);
+        jvmDao.addBlockingEvent(new ParallelScavengeEvent("test1", 3000L, 1));
+        jvmDao.addBlockingEvent(new ParNewEvent("1.296: [GC 1.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        jvmDao.addBlockingEvent(new ParallelScavengeEvent("test2", 2000L, 2));
+        List<BlockingEvent> events = jvmDao.getBlockingEvents(LogEventType.PARALLEL_SCAVENGE);
+        assertEquals(2, events.size(), "Event count not correct.");
+        assertEquals("test2", events.get(0).getLogEntry(), "Event order not correct.");
+        assertEquals("test1", events.get(1).getLogEntry(), "Event order not correct.");
+        assertEquals(1, jvmDao.getBlockingEvents(LogEventType.PAR_NEW).size(), "Event count not correct.");
+        assertTrue(jvmDao.getBlockingEvents(LogEventType.SERIAL_OLD).isEmpty(), "Event count not correct.");
+        assertThrows(UnsupportedOperationException.class, () -> jvmDao.getBlockingEvents().clear());
+        assertThrows(UnsupportedOperationException.class, () -> events.remove(0));
+    }
+
+    @Test
+    void testBlockingEventsRecreated() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(new ParNewEvent("1.296: [GC 1.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        List<BlockingEvent> events = jvmDao.getBlockingEvents();
+        // A new event on every get, so changes to a returned event are not kept
+        assertNotSame(events.get(0), events.get(0), "Event not recreated.");
+        ((ParNewEvent) events.get(0)).setIncrementalMode(true);
+        assertFalse(((ParNewEvent) events.get(0)).isIncrementalMode(), "Event change kept.");
+        assertEquals(1296, events.get(0).getTimestamp(), "Timestamp not correct.");
+        assertEquals(80598, events.get(0).getDurationMicros(), "Duration not correct.");
+        assertNotSame(jvmDao.getBlockingEvents(LogEventType.PAR_NEW).get(0),
+                jvmDao.getBlockingEvents(LogEventType.PAR_NEW).get(0), "Event not recreated.");
+    }
+
+    @Test
+    void testBottlenecks() {
+        JvmDao jvmDao = new JvmDao();
+        JvmDao outOfOrderJvmDao = new JvmDao();
+        outOfOrderJvmDao.setRetainLogEntries(true);
+        String[] logEntries = { "a", "b", "c", "d", "e", "f" };
+        long[] timestamps = { 0, 1000, 1100, 1400, 5000, 5100 };
+        int[] durations = { 1000, 1000, 200000, 100000, 1000, 60000 };
+        int[] outOfOrder = { 0, 1, 3, 2, 4, 5 };
+        for (int i = 0; i < timestamps.length; i++) {
+            jvmDao.addBlockingEvent(new ParallelScavengeEvent(logEntries[i], timestamps[i], durations[i]));
+            int j = outOfOrder[i];
+            outOfOrderJvmDao.addBlockingEvent(new ParallelScavengeEvent(logEntries[j], timestamps[j], durations[j]));
+        }
+        List<String> bottlenecks = jvmDao.getGcBottlenecks(90).getLogEntries(null);
+        assertEquals("[b, c, d, ..., e, f]", bottlenecks.toString(), "Bottlenecks not correct.");
+        assertEquals(bottlenecks, outOfOrderJvmDao.getGcBottlenecks(90).getLogEntries(null),
+                "Out of order bottlenecks not correct.");
+        assertEquals("[b, c, d]", jvmDao.getGcBottlenecks(50).getLogEntries(null).toString(),
+                "Bottlenecks for a different threshold not correct.");
+    }
+
+    @Test
+    void testOutOfOrderSortedOnce() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.setRetainLogEntries(true);
+        // Two interleaved runs, with a duplicate timestamp
+        long[] timestamps = { 1000, 4000, 2000, 5000, 3000, 6000, 2000 };
+        for (int i = 0; i < timestamps.length; i++) {
+            jvmDao.addBlockingEvent(new ParallelScavengeEvent("test" + i, timestamps[i], i));
+        }
+        List<BlockingEvent> events = jvmDao.getBlockingEvents();
+        BlockingEventColumnsView columns = jvmDao.getBlockingEventColumns();
+        String[] expected = { "test0", "test2", "test6", "test4", "test1", "test3", "test5" };
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], events.get(i).getLogEntry(), "Event order not correct.");
+            assertEquals(events.get(i).getTimestamp(), columns.getTimestamp(i), "Column order not correct.");
+            assertEquals(events.get(i).getDurationMicros(), columns.getDurationMicros(i), "Column order not correct.");
+        }
+        assertEquals("test0", jvmDao.getFirstGcEvent().getLogEntry(), "First event not correct.");
+        assertEquals("test5", jvmDao.getLastGcEvent().getLogEntry(), "Last event not correct.");
+        // In order after sorting
+        jvmDao.addBlockingEvent(new ParallelScavengeEvent("test7", 7000, 7));
+        assertEquals("test7", jvmDao.getLastGcEvent().getLogEntry(), "Last event not correct.");
+    }
+
+    @Test
+    void testPauseSlo() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.setRetainLogEntries(true);
+        String[] logEntries = { "a", "b", "c", "d", "e", "f" };
+        long[] timestamps = { 0, 1000, 1100, 1400, 5000, 5100 };
+        int[] durations = { 1000, 1000, 200000, 100000, 1000, 60000 };
+        int[] outOfOrder = { 0, 3, 1, 2, 5, 4 };
+        for (int i = 0; i < timestamps.length; i++) {
+            int j = outOfOrder[i];
+            jvmDao.addBlockingEvent(new ParallelScavengeEvent(logEntries[j], timestamps[j], durations[j]));
+        }
+        PauseSlo<BlockingEvent> pauseSlo = jvmDao.getGcPauseSlo(new PauseSlo.Budget(0, 0, 100000, 1000));
+        assertEquals(3, pauseSlo.getWindowCount(), "Window count not correct.");
+        assertEquals(1, pauseSlo.getViolations().size(), "Violation count not correct.");
+        PauseSlo.Window<BlockingEvent> window = pauseSlo.getViolations().get(0);
+        assertEquals(1000, window.getTimestamp(), "Window timestamp not correct.");
+        assertEquals(301000, window.getPauseTotal(), "Window pause total not correct.");
+        assertEquals("c", window.getEvents().get(0).getLogEntry(), "Longest pause not correct.");
+        assertEquals(3, window.getEvents().size(), "Offending pause count not correct.");
+    }
+
+    @Test
+    void testPinnedLogEntries() throws IOException {
+        JvmDao jvmDao = new JvmDao();
+        PauseSlo.Budget budget = new PauseSlo.Budget(0, 0, 100000, 1000);
+        jvmDao.setBottleneckThroughputThreshold(90);
+        jvmDao.setPauseSloBudget(budget);
+        String[] logEntries = { "a", "b", "c", "d", "e", "f", "g", "h" };
+        long[] timestamps = { 0, 1000, 1100, 1400, 5000, 5100, 9000, 12000 };
+        int[] durations = { 1000, 1000, 200000, 100000, 1000, 60000, 1000, 1000 };
+        for (int i = 0; i < timestamps.length; i++) {
+            jvmDao.addBlockingEvent(new ParallelScavengeEvent(logEntries[i], timestamps[i], durations[i]));
+        }
+        // Only the reported events keep their log entries
+        BlockingEventColumnsView columns = jvmDao.getBlockingEventColumns();
+        assertEquals("b", columns.getLogEntry(1), "Bottleneck log entry not kept.");
+        assertNull(columns.getLogEntry(0), "Log entry kept.");
+        assertEquals("[b, c, d, ..., e, f]", jvmDao.getGcBottlenecks(90).getLogEntries(null).toString(),
+                "Bottlenecks not correct.");
+        assertEquals("c", jvmDao.getGcPauseSlo(budget).getViolations().get(0).getEvents().get(0).getLogEntry(),
+                "Longest pause not correct.");
+        // Kept log entries are restored
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EventOutputStream out = new EventOutputStream(bytes);
+        jvmDao.write(out);
+        out.flush();
+        JvmDao restoredJvmDao = new JvmDao();
+        restoredJvmDao.read(new EventInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals("[b, c, d, ..., e, f]", restoredJvmDao.getGcBottlenecks(90).getLogEntries(null).toString(),
+                "Restored bottlenecks not correct.");
+        assertEquals("c",
+                restoredJvmDao.getGcPauseSlo(budget).getViolations().get(0).getEvents().get(0).getLogEntry(),
+                "Restored longest pause not correct.");
+        assertEquals("a", restoredJvmDao.getFirstGcEvent().getLogEntry(), "Restored first event not correct.");
+        assertEquals("h", restoredJvmDao.getLastGcEvent().getLogEntry(), "Restored last event not correct.");
+        assertNull(restoredJvmDao.getBlockingEventColumns().getLogEntry(6), "Log entry kept.");
+    }
+
+    @Test
+    void testQuery(@TempDir File directory) {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(new UnifiedG1YoungPauseEvent(
+                "[2.000s][info][gc] GC(1) Pause Young (Normal) (G1 Humongous Allocation) 30M->5M(256M) 5.000ms"));
+        jvmDao.addBlockingEvent(new ParallelScavengeEvent(
+                "0.500: [GC [PSYoungGen: 27808K->632K(28032K)] 160183K->133159K(585088K), 0.0010000 secs]"));
+        jvmDao.addBlockingEvent(new UnifiedG1YoungPauseEvent(
+                "[1.000s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.000ms"));
+        jvmDao.addBlockingEvent(
+                new UnifiedOldEvent("[4.000s][info][gc] GC(3) Pause Full (System.gc()) 50M->10M(256M) 25.000ms"));
+        jvmDao.addBlockingEvent(new ParallelScavengeEvent(
+                "4.500: [GC [PSYoungGen: 27808K->632K(28032K)] 160183K->133159K(585088K), 0.0090000 secs]"));
+        assertQueries(jvmDao);
+        // Same results when events are recreated from the log entries
+        jvmDao.spill(directory);
+        assertQueries(jvmDao);
+    }
+
+    @Test
+    void testQueryEventsKept() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(new ParNewEvent("1.296: [GC 1.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        List<BlockingEvent> events = jvmDao.getBlockingEvents(new BlockingEventQuery());
+        // Recreated once per result, so changes to a returned event are kept
+        assertSame(events.get(0), events.get(0), "Event recreated.");
+        ((ParNewEvent) events.get(0)).setIncrementalMode(true);
+        assertTrue(((ParNewEvent) events.get(0)).isIncrementalMode(), "Event change not kept.");
+        assertEquals(80598, events.get(0).getDurationMicros(), "Duration not correct.");
+        // A new result recreates the event
+        assertNotSame(events.get(0), jvmDao.getBlockingEvents(new BlockingEventQuery()).get(0),
+                "Event not recreated.");
+    }
+
+    @Test
+    void testRollup() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(new ParallelScavengeEvent(
+                "0.500: [GC [PSYoungGen: 27808K->632K(28032K)] 160183K->133159K(585088K), 0.0010000 secs]"));
+        jvmDao.addBlockingEvent(new ParallelScavengeEvent(
+                "1.700: [GC [PSYoungGen: 27808K->632K(28032K)] 150000K->140000K(585088K), 0.0020000 secs]"));
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("[1.708s] JDK17U8 Safepoint \"G1CollectForAllocation\", "
+                + "Time since last: 11990384 ns, Reaching safepoint: 2496 ns, Cleanup: 11042 ns, At safepoint: "
+                + "623787 ns, Total: 637325 ns"));
+        List<Rollup.Bucket> seconds = jvmDao.getRollup(Rollup.Resolution.SECOND).getBuckets();
+        assertEquals(2, seconds.size(), "Bucket count not correct.");
+        assertEquals(0, seconds.get(0).getTimestamp(), "Bucket timestamp not correct.");
+        assertEquals(1000, seconds.get(0).getPauseTotal(), "Pause total not correct.");
+        assertEquals(0, seconds.get(0).getAllocation(), "Allocation not correct.");
+        assertEquals(1000, seconds.get(1).getTimestamp(), "Bucket timestamp not correct.");
+        assertEquals(150000 - 133159, seconds.get(1).getAllocation(), "Allocation not correct.");
+        assertEquals(637, seconds.get(1).getSafepointTotal(), "Safepoint total not correct.");
+        List<Rollup.Bucket> minutes = jvmDao.getRollup(Rollup.Resolution.MINUTE).getBuckets();
+        assertEquals(1, minutes.size(), "Bucket count not correct.");
+        assertEquals(2, minutes.get(0).getPauseCount(), "Pause count not correct.");
+        assertEquals(2000, minutes.get(0).getPauseMax(), "Pause max not correct.");
+        assertEquals(133159, minutes.get(0).getHeapAfterGcMin(), "Heap after GC min not correct.");
+        assertEquals(140000, minutes.get(0).getHeapAfterGcMax(), "Heap after GC max not correct.");
+        jvmDao.cleanup();
+        assertEquals(0, jvmDao.getRollup(Rollup.Resolution.HOUR).size(), "Buckets not cleared.");
+    }
+
+    @Test
+    void testRollupOutOfOrder() throws IOException {
+        String[] logLines = {
+                "0.500: [GC [PSYoungGen: 27808K->632K(28032K)] 160183K->133159K(585088K), 0.0010000 secs]",
+                "1.700: [GC [PSYoungGen: 27808K->632K(28032K)] 150000K->140000K(585088K), 0.0020000 secs]",
+                "2.900: [GC [PSYoungGen: 27808K->632K(28032K)] 170000K->120000K(585088K), 0.0030000 secs]" };
+        String safepoint = "[1.708s] JDK17U8 Safepoint \"G1CollectForAllocation\", Time since last: 11990384 ns, "
+                + "Reaching safepoint: 2496 ns, Cleanup: 11042 ns, At safepoint: 623787 ns, Total: 637325 ns";
+        JvmDao jvmDao = new JvmDao();
+        for (String logLine : logLines) {
+            jvmDao.addBlockingEvent(new ParallelScavengeEvent(logLine));
+        }
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent(safepoint));
+        JvmDao outOfOrderJvmDao = new JvmDao();
+        outOfOrderJvmDao.addBlockingEvent(new ParallelScavengeEvent(logLines[0]));
+        outOfOrderJvmDao.addBlockingEvent(new ParallelScavengeEvent(logLines[2]));
+        outOfOrderJvmDao.addSafepointEvent(new UnifiedSafepointEvent(safepoint));
+        outOfOrderJvmDao.addBlockingEvent(new ParallelScavengeEvent(logLines[1]));
+        String expected = summarize(jvmDao.getRollup(Rollup.Resolution.SECOND));
+        assertEquals(expected, summarize(outOfOrderJvmDao.getRollup(Rollup.Resolution.SECOND)),
+                "Out of order rollup not correct.");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EventOutputStream out = new EventOutputStream(bytes);
+        outOfOrderJvmDao.write(out);
+        out.flush();
+        JvmDao restoredJvmDao = new JvmDao();
+        restoredJvmDao.read(new EventInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(expected, summarize(restoredJvmDao.getRollup(Rollup.Resolution.SECOND)),
+                "Restored rollup not correct.");
+    }
+
+    @Test
+    void testSafepointEventSummaries() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("[0.064s][info][safepoint   ] Safepoint "
+                + "\"G1Concurrent\", Time since last: 1666947 ns, Reaching safepoint: 79150 ns, At safepoint: "
+                + "349999 ns, Total: 429149 ns"));
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("[1.708s] JDK17U8 Safepoint \"G1CollectForAllocation\", "
+                + "Time since last: 11990384 ns, Reaching safepoint: 2496 ns, Cleanup: 11042 ns, At safepoint: "
+                + "623787 ns, Total: 637325 ns"));
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("[2.064s][info][safepoint   ] Safepoint "
+                + "\"G1Concurrent\", Time since last: 1666947 ns, Reaching safepoint: 79150 ns, At safepoint: "
+                + "150000 ns, Total: 229150 ns"));
+        List<SafepointEventSummary> summaries = jvmDao.getSafepointEventSummaries();
+        assertEquals(2, summaries.size(), "Summary count not correct.");
+        // Ordered by total pause time descending
+        assertEquals(Trigger.G1_CONCURRENT, summaries.get(0).getTrigger(), "Trigger not correct.");
+        assertEquals(2, summaries.get(0).getCount(), "Count not correct.");
+        assertEquals(658, summaries.get(0).getPauseTotal(), "Pause total not correct.");
+        assertEquals(429, summaries.get(0).getPauseMax(), "Pause max not correct.");
+        assertEquals(Trigger.G1_COLLECT_FOR_ALLOCATION, summaries.get(1).getTrigger(), "Trigger not correct.");
+        assertEquals(1, summaries.get(1).getCount(), "Count not correct.");
+        assertEquals(637, summaries.get(1).getPauseTotal(), "Pause total not correct.");
+        assertEquals(637, summaries.get(1).getPauseMax(), "Pause max not correct.");
+        assertEquals(2, summaries.get(0).getTimeToSafepointHistogram().getCount(),
+                "Time to safepoint count not correct.");
+        assertEquals(158, summaries.get(0).getTimeToSafepointTotal(), "Time to safepoint total not correct.");
+        assertEquals(79, summaries.get(0).getTimeToSafepointMax(), "Time to safepoint max not correct.");
+        assertEquals(2, summaries.get(1).getTimeToSafepointTotal(), "Time to safepoint total not correct.");
+    }
+
     @Test
     void testSameTimestampOrdering() {
         JvmDao jvmDao = new JvmDao();
@@ -47,4 +358,127 @@ class TestJvmDao {
         assertTrue(events.get(1) instanceof ParNewEvent);
         assertTrue(events.get(2) instanceof SerialOldEvent);
     }
+
+    @Test
+    void testSpill(@TempDir File directory) {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(new SerialOldEvent("3010786.012: [Full GC 3010786.012:"
+                + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
+                + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]"));
+        jvmDao.spill(directory);
+        assertTrue(jvmDao.isSpilled(), "Events not spilled.");
+        jvmDao.addBlockingEvent(new ParNewEvent("3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        assertEquals(2, jvmDao.getBlockingEventCount(), "Event count not correct.");
+        assertEquals(1992451 + 80598, jvmDao.getDurationTotal(), "Duration total not correct.");
+        // Recreated from the columns, in timestamp order
+        List<BlockingEvent> events = jvmDao.getBlockingEvents();
+        assertTrue(events.get(0) instanceof ParNewEvent, "Event not hydrated.");
+        assertTrue(events.get(1) instanceof SerialOldEvent, "Event not hydrated.");
+        assertEquals(3010778296L, jvmDao.getFirstGcEvent().getTimestamp(), "First event not correct.");
+        assertEquals(1, jvmDao.getBlockingEvents(LogEventType.SERIAL_OLD).size(), "Event count not correct.");
+        assertEquals(1, jvmDao.getCmsIncrementalModeCollectorEvents().size(), "Event count not correct.");
+        assertThrows(UnsupportedOperationException.class, () -> events.remove(0));
+    }
+
+    private static void assertQueries(JvmDao jvmDao) {
+        BlockingEventQuery query = new BlockingEventQuery();
+        assertEquals(5, jvmDao.getBlockingEventCount(query), "Event count not correct.");
+        assertEquals(500, jvmDao.getBlockingEvents(query).get(0).getTimestamp(), "Event order not correct.");
+        // Time range
+        query.setTimestampFrom(997);
+        query.setTimestampTo(4500);
+        List<BlockingEvent> events = jvmDao.getBlockingEvents(query);
+        assertEquals(3, events.size(), "Event count not correct.");
+        assertEquals(997, events.get(0).getTimestamp(), "Event order not correct.");
+        assertEquals(3975, events.get(2).getTimestamp(), "Event order not correct.");
+        // Type
+        query = new BlockingEventQuery();
+        query.addEventType(LogEventType.PARALLEL_SCAVENGE);
+        assertEquals(2, jvmDao.getBlockingEventCount(query), "Event count not correct.");
+        query.addEventType(LogEventType.UNIFIED_OLD);
+        assertEquals(3, jvmDao.getBlockingEventCount(query), "Event count not correct.");
+        // Trigger
+        query = new BlockingEventQuery();
+        query.addTrigger(GcTrigger.G1_EVACUATION_PAUSE);
+        query.addTrigger(GcTrigger.SYSTEM_GC);
+        events = jvmDao.getBlockingEvents(query);
+        assertEquals(2, events.size(), "Event count not correct.");
+        assertEquals(997, events.get(0).getTimestamp(), "Event order not correct.");
+        query.addEventType(LogEventType.UNIFIED_G1_YOUNG_PAUSE);
+        assertEquals(1, jvmDao.getBlockingEventCount(query), "Event count not correct.");
+        // Garbage collector
+        query = new BlockingEventQuery();
+        query.addGarbageCollector(GarbageCollector.G1);
+        assertEquals(2, jvmDao.getBlockingEventCount(query), "Event count not correct.");
+        query.addEventType(LogEventType.PARALLEL_SCAVENGE);
+        assertEquals(0, jvmDao.getBlockingEventCount(query), "Event count not correct.");
+        // Duration
+        query = new BlockingEventQuery();
+        query.setDurationMin(3000);
+        query.setDurationMax(9000);
+        assertEquals(3, jvmDao.getBlockingEventCount(query), "Event count not correct.");
+        // Order and page
+        query = new BlockingEventQuery();
+        query.setOrder(BlockingEventQuery.Order.DURATION_DESCENDING);
+        query.setOffset(1);
+        query.setLimit(2);
+        events = jvmDao.getBlockingEvents(query);
+        assertEquals(2, events.size(), "Page size not correct.");
+        assertEquals(9000, events.get(0).getDurationMicros(), "Event order not correct.");
+        assertEquals(5000, events.get(1).getDurationMicros(), "Event order not correct.");
+        assertEquals(5, jvmDao.getBlockingEventCount(query), "Event count not correct.");
+        query.setOrder(BlockingEventQuery.Order.TIMESTAMP_DESCENDING);
+        assertEquals(3975, jvmDao.getBlockingEvents(query).get(0).getTimestamp(), "Event order not correct.");
+        query.setOffset(10);
+        assertTrue(jvmDao.getBlockingEvents(query).isEmpty(), "Page not empty.");
+    }
+
+    @Test
+    void testWorstEvents() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.setWorstEventsSize(1);
+        ParallelScavengeEvent event1 = new ParallelScavengeEvent("1.000: [GC [PSYoungGen: 27808K->632K(28032K)] "
+                + "160183K->133159K(585088K), 0.0300000 secs] [Times: user=0.07 sys=0.01, real=0.03 secs]");
+        ParallelScavengeEvent event2 = new ParallelScavengeEvent("2.000: [GC [PSYoungGen: 27808K->632K(28032K)] "
+                + "160183K->133159K(585088K), 0.1700000 secs] [Times: user=0.10 sys=0.00, real=0.17 secs]");
+        ParallelScavengeEvent event3 = new ParallelScavengeEvent("3.000: [GC [PSYoungGen: 27808K->632K(28032K)] "
+                + "160183K->133159K(585088K), 0.0100000 secs] [Times: user=0.04 sys=0.00, real=0.01 secs]");
+        for (ParallelScavengeEvent event : new ParallelScavengeEvent[] { event1, event2, event3 }) {
+            jvmDao.addBlockingEvent(event);
+            jvmDao.addParallelismEvent(event);
+        }
+        List<TopEvents.Entry<BlockingEvent>> pauses = jvmDao.getWorstPauseEvents();
+        assertEquals(1, pauses.size(), "Worst pause count not correct.");
+        assertEquals(event2, pauses.get(0).getEvent(), "Worst pause not correct.");
+        assertEquals(event1, pauses.get(0).getPrevious(), "Worst pause previous event not correct.");
+        assertEquals(event3, pauses.get(0).getNext(), "Worst pause next event not correct.");
+        assertEquals(event2, jvmDao.getWorstParallelismEvents().get(0).getEvent(), "Worst parallelism not correct.");
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("[0.064s][info][safepoint   ] Safepoint "
+                + "\"G1Concurrent\", Time since last: 1666947 ns, Reaching safepoint: 79150 ns, At safepoint: "
+                + "349999 ns, Total: 429149 ns"));
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("[1.708s] JDK17U8 Safepoint \"G1CollectForAllocation\", "
+                + "Time since last: 11990384 ns, Reaching safepoint: 2496 ns, Cleanup: 11042 ns, At safepoint: "
+                + "623787 ns, Total: 637325 ns"));
+        assertEquals(637, jvmDao.getWorstSafepointEvents().get(0).getKey(), "Worst safepoint not correct.");
+        assertEquals(79, jvmDao.getWorstTimeToSafepointEvents().get(0).getKey(),
+                "Worst time to safepoint not correct.");
+        jvmDao.cleanup();
+        assertTrue(jvmDao.getWorstPauseEvents().isEmpty(), "Worst pauses not cleared.");
+    }
+
+    private static String summarize(Rollup rollup) {
+        StringBuilder summary = new StringBuilder();
+        for (Rollup.Bucket bucket : rollup.getBuckets()) {
+            summary.append(bucket.getTimestamp()).append(' ');
+            summary.append(bucket.getAllocation()).append(' ');
+            summary.append(bucket.getHeapAfterGcMin()).append(' ');
+            summary.append(bucket.getHeapAfterGcMax()).append(' ');
+            summary.append(bucket.getPauseCount()).append(' ');
+            summary.append(bucket.getPauseTotal()).append(' ');
+            summary.append(bucket.getSafepointTotal()).append(' ');
+            summary.append(bucket.getTriggerCounts()).append(Constants.LINE_SEPARATOR);
+        }
+        return summary.toString();
+    }
 }
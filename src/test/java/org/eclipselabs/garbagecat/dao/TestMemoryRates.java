@@ -0,0 +1,73 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.eclipselabs.garbagecat.dao.BlockingEventColumns.NO_DATA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestMemoryRates {
+
+    @Test
+    void testGenerations() {
+        MemoryRates rates = new MemoryRates(1000);
+        rates.add(0, 800, 100, 1000, 400, true);
+        rates.add(500, 600, 50, 1000, 500, true);
+        rates.add(1500, 1100, 0, 1500, 400, true);
+        assertEquals(1550, rates.getAllocation().getTotal(), "Allocation total not correct.");
+        assertEquals(1033, rates.getAllocation().getAverage(), "Allocation rate not correct.");
+        assertEquals(1050, rates.getAllocation().getPeak(), "Allocation rate peak not correct.");
+        assertEquals(1000, rates.getAllocation().getPeakTimestamp(), "Allocation rate peak timestamp not correct.");
+        assertEquals(50, rates.getPromotion().getTotal(), "Promotion total not correct.");
+        assertEquals(33, rates.getPromotion().getAverage(), "Promotion rate not correct.");
+        assertEquals(100, rates.getPromotion().getPeak(), "Promotion rate peak not correct.");
+        assertEquals(0, rates.getPromotion().getPeakTimestamp(), "Promotion rate peak timestamp not correct.");
+        assertEquals(100, rates.getOldGrowth().getTotal(), "Old growth total not correct.");
+        assertEquals(66, rates.getOldGrowth().getAverage(), "Old growth rate not correct.");
+        assertEquals(300, rates.getOldGrowth().getPeak(), "Old growth rate peak not correct.");
+    }
+
+    @Test
+    void testHeapOnly() {
+        MemoryRates rates = new MemoryRates(1000);
+        rates.add(0, NO_DATA, NO_DATA, 100, 50, true);
+        rates.add(200, NO_DATA, NO_DATA, 150, 120, false);
+        rates.add(1000, NO_DATA, NO_DATA, 200, 60, true);
+        assertEquals(180, rates.getAllocation().getTotal(), "Allocation total not correct.");
+        assertEquals(180, rates.getAllocation().getAverage(), "Allocation rate not correct.");
+        assertEquals(500, rates.getAllocation().getPeak(), "Allocation rate peak not correct.");
+        assertEquals(0, rates.getPromotion().getMillis(), "Promotion measured without generation data.");
+        assertEquals(10, rates.getOldGrowth().getAverage(), "Old growth rate not measured between pauses.");
+    }
+
+    @Test
+    void testInvalidBucket() {
+        assertThrows(IllegalArgumentException.class, () -> new MemoryRates(0), "Bucket size 0 not rejected.");
+    }
+
+    @Test
+    void testNoData() {
+        MemoryRates rates = new MemoryRates(1000);
+        rates.add(0, NO_DATA, NO_DATA, NO_DATA, NO_DATA, true);
+        rates.add(1000, NO_DATA, NO_DATA, NO_DATA, NO_DATA, true);
+        assertEquals(0, rates.getAllocation().getMillis(), "Allocation measured without data.");
+        assertEquals(0, rates.getAllocation().getPeak(), "Allocation rate peak not correct.");
+        assertEquals(0, rates.getOldGrowth().getMillis(), "Old growth measured without data.");
+    }
+}
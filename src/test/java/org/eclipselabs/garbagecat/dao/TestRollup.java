@@ -0,0 +1,87 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestRollup {
+
+    @Test
+    void testBuckets() {
+        Rollup rollup = new Rollup(Rollup.Resolution.SECOND);
+        rollup.addPause(100, 5000, 1024, 0, GcTrigger.ALLOCATION_FAILURE);
+        rollup.addPause(900, 3000, 512, 2048, GcTrigger.ALLOCATION_FAILURE);
+        rollup.addPause(2500, 7000, 0, 0, null);
+        rollup.addSafepoint(2600, 8000);
+        List<Rollup.Bucket> buckets = rollup.getBuckets();
+        assertEquals(2, buckets.size(), "Bucket count not correct.");
+        Rollup.Bucket bucket = buckets.get(0);
+        assertEquals(0, bucket.getTimestamp(), "Timestamp not correct.");
+        assertEquals(2, bucket.getPauseCount(), "Pause count not correct.");
+        assertEquals(8000, bucket.getPauseTotal(), "Pause total not correct.");
+        assertEquals(5000, bucket.getPauseMax(), "Pause max not correct.");
+        assertEquals(512, bucket.getHeapAfterGcMin(), "Heap after GC min not correct.");
+        assertEquals(1024, bucket.getHeapAfterGcMax(), "Heap after GC max not correct.");
+        assertEquals(2048, bucket.getAllocation(), "Allocation not correct.");
+        assertEquals(Integer.valueOf(2), bucket.getTriggerCounts().get(GcTrigger.ALLOCATION_FAILURE),
+                "Trigger count not correct.");
+        bucket = buckets.get(1);
+        assertEquals(2000, bucket.getTimestamp(), "Timestamp not correct.");
+        assertEquals(0, bucket.getHeapAfterGcMin(), "Heap after GC min not correct.");
+        assertEquals(8000, bucket.getSafepointTotal(), "Safepoint total not correct.");
+        assertNull(bucket.getTriggerCounts().get(GcTrigger.ALLOCATION_FAILURE), "Trigger count not correct.");
+    }
+
+    @Test
+    void testOutOfOrder() {
+        Rollup rollup = new Rollup(Rollup.Resolution.MINUTE);
+        rollup.addPause(130000, 1000, 0, 0, null);
+        rollup.addPause(10000, 1000, 0, 0, null);
+        rollup.addPause(125000, 1000, 0, 0, null);
+        List<Rollup.Bucket> buckets = rollup.getBuckets();
+        assertEquals(2, buckets.size(), "Bucket count not correct.");
+        assertEquals(0, buckets.get(0).getTimestamp(), "Timestamp not correct.");
+        assertEquals(120000, buckets.get(1).getTimestamp(), "Timestamp not correct.");
+        assertEquals(2, buckets.get(1).getPauseCount(), "Pause count not correct.");
+    }
+
+    @Test
+    void testRange() {
+        Rollup rollup = new Rollup(Rollup.Resolution.SECOND);
+        for (long timestamp = 0; timestamp < 10000; timestamp += 500) {
+            rollup.addPause(timestamp, 1000, 0, 0, null);
+        }
+        List<Rollup.Bucket> buckets = rollup.getBuckets(2500, 5000);
+        assertEquals(3, buckets.size(), "Bucket count not correct.");
+        assertEquals(2000, buckets.get(0).getTimestamp(), "First bucket not correct.");
+        assertEquals(4000, buckets.get(2).getTimestamp(), "Last bucket not correct.");
+        assertEquals(0, rollup.getBuckets(5000, 5000).size(), "Empty range not correct.");
+    }
+
+    @Test
+    void testResolution() {
+        assertEquals(Rollup.Resolution.HOUR, Rollup.Resolution.fromLiteral("1h"), "Resolution not correct.");
+        assertEquals(Rollup.Resolution.SECOND, Rollup.Resolution.fromLiteral("1s"), "Resolution not correct.");
+        assertNull(Rollup.Resolution.fromLiteral("5m"), "Resolution not correct.");
+    }
+}
@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -33,12 +34,17 @@ import java.util.Date;
 import java.util.List;
 
 import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.service.GcManager;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.LinearRegression;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.PauseHistogram;
+import org.eclipselabs.garbagecat.util.PauseSlo;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
 import org.github.joa.JvmOptions;
 import org.github.joa.domain.JvmContext;
 import org.junit.jupiter.api.Test;
@@ -246,6 +252,43 @@ class TestJvmRun {
                 Analysis.INFO_JDK_ANCIENT + " not correct.");
     }
 
+    /**
+     * Test heap occupancy after full collections growing until the heap is full.
+     * 
+     * @throws IOException
+     */
+    @Test
+    void testHeapLeakTrend() throws IOException {
+        File testFile = TestUtil.getFile("dataset103.txt");
+        GcManager gcManager = new GcManager();
+        URI logFileUri = testFile.toURI();
+        List<String> logLines = Files.readAllLines(Paths.get(logFileUri));
+        gcManager.store(logLines, false);
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        jvmRun.doAnalysis();
+        assertEquals(129, jvmRun.getHeapAfterOldCollection().getCount(), "Old collection count not correct.");
+        assertTrue(jvmRun.isHeapLeakTrend(), "Heap leak trend not identified.");
+        assertEquals(new BigDecimal(840), jvmRun.getHeapLeakRate(), "Heap leak rate not correct.");
+        assertEquals(887, jvmRun.getHeapLeakTimeToMaxHeap(), "Time to max heap not correct.");
+        assertTrue(jvmRun.hasAnalysis(Analysis.WARN_HEAP_LEAK_TREND.getKey()),
+                Analysis.WARN_HEAP_LEAK_TREND + " analysis not identified.");
+    }
+
+    @Test
+    void testHeapLeakTrendNot() {
+        JvmRun jvmRun = new JvmRun(0, null);
+        jvmRun.setMaxHeapSpace(kilobytes(1000));
+        LinearRegression heapAfterOldCollection = new LinearRegression();
+        long[] heapAfterGc = { 500, 520, 490, 510, 505, 495 };
+        for (int i = 0; i < heapAfterGc.length; i++) {
+            heapAfterOldCollection.add(i * 60, heapAfterGc[i]);
+        }
+        jvmRun.setHeapAfterOldCollection(heapAfterOldCollection);
+        assertFalse(jvmRun.isHeapLeakTrend(), "Heap leak trend incorrectly identified.");
+        assertNull(jvmRun.getHeapLeakRate(), "Heap leak rate not correct.");
+        assertEquals(-1, jvmRun.getHeapLeakTimeToMaxHeap(), "Time to max heap not correct.");
+    }
+
     /**
      * Test passing JVM options on the command line.
      * 
@@ -401,6 +444,28 @@ class TestJvmRun {
     /**
      * Test percent swap free at threshold.
      */
+    @Test
+    void testPauseSlo() throws IOException {
+        File testFile = TestUtil.getFile("dataset103.txt");
+        GcManager gcManager = new GcManager();
+        URI logFileUri = testFile.toURI();
+        List<String> logLines = Files.readAllLines(Paths.get(logFileUri));
+        gcManager.store(logLines, false);
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        jvmRun.doAnalysis();
+        assertNull(jvmRun.getGcPauseSlo(), "GC pause SLO without a budget.");
+        assertFalse(jvmRun.hasAnalysis(Analysis.WARN_PAUSE_SLO.getKey()),
+                Analysis.WARN_PAUSE_SLO + " analysis incorrectly identified.");
+        gcManager.setPauseSloBudget(PauseSlo.Budget.fromLiteral("total=5000,window=60"));
+        jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        jvmRun.doAnalysis();
+        assertEquals(45, jvmRun.getGcPauseSlo().getWindowCount(), "Window count not correct.");
+        assertEquals(45, jvmRun.getGcPauseSlo().getViolations().size(), "Violation count not correct.");
+        assertEquals(27, jvmRun.getGcPauseSlo().getViolations().get(0).getCount(), "Window pause count not correct.");
+        assertTrue(jvmRun.hasAnalysis(Analysis.WARN_PAUSE_SLO.getKey()),
+                Analysis.WARN_PAUSE_SLO + " analysis not identified.");
+    }
+
     @Test
     void testPercentSwapFreeAtThreshold() {
         String jvmOptions = null;
@@ -881,4 +946,36 @@ class TestJvmRun {
         assertFalse(jvmRun.hasAnalysis(Analysis.WARN_GC_SAFEPOINT_RATIO_JDK17.getKey()),
                 Analysis.WARN_GC_SAFEPOINT_RATIO_JDK17 + " analysis incorrectly identified.");
     }
+
+    @Test
+    void testTimeToSafepoint() {
+        GcManager gcManager = new GcManager();
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        PauseHistogram timeToSafepointHistogram = new PauseHistogram();
+        timeToSafepointHistogram.add(20000);
+        timeToSafepointHistogram.add(15000);
+        List<SafepointEventSummary> summaries = new ArrayList<SafepointEventSummary>();
+        summaries.add(new SafepointEventSummary(Trigger.G1_COLLECT_FOR_ALLOCATION, 2, 100000, 60000,
+                timeToSafepointHistogram));
+        jvmRun.setSafepointEventSummaries(summaries);
+        jvmRun.doAnalysis();
+        assertTrue(jvmRun.hasAnalysis(Analysis.WARN_TIME_TO_SAFEPOINT.getKey()),
+                Analysis.WARN_TIME_TO_SAFEPOINT + " analysis not identified.");
+    }
+
+    @Test
+    void testTimeToSafepointShort() {
+        GcManager gcManager = new GcManager();
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        PauseHistogram timeToSafepointHistogram = new PauseHistogram();
+        timeToSafepointHistogram.add(5000);
+        timeToSafepointHistogram.add(5000);
+        List<SafepointEventSummary> summaries = new ArrayList<SafepointEventSummary>();
+        summaries.add(new SafepointEventSummary(Trigger.G1_COLLECT_FOR_ALLOCATION, 2, 20000, 10000,
+                timeToSafepointHistogram));
+        jvmRun.setSafepointEventSummaries(summaries);
+        jvmRun.doAnalysis();
+        assertFalse(jvmRun.hasAnalysis(Analysis.WARN_TIME_TO_SAFEPOINT.getKey()),
+                Analysis.WARN_TIME_TO_SAFEPOINT + " analysis incorrectly identified.");
+    }
 }
@@ -0,0 +1,111 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestAnalysisCache {
+
+    @Test
+    void testCorruptEntry(@TempDir File directory) throws IOException {
+        AnalysisCache analysisCache = new AnalysisCache(directory, AnalysisCache.DEFAULT_MAX_SIZE);
+        File testFile = TestUtil.getFile("dataset31.txt");
+        String key = analysisCache.key(testFile, "1.0", "");
+        Files.write(new File(directory, key + ".gcat").toPath(), new byte[] { 1, 2, 3 });
+        assertNull(analysisCache.load(key, null), "Corrupt entry loaded.");
+        assertEquals(0, directory.listFiles().length, "Corrupt entry not deleted.");
+    }
+
+    @Test
+    void testEviction(@TempDir File directory) throws IOException {
+        File testFile1 = TestUtil.getFile("dataset31.txt");
+        File testFile2 = TestUtil.getFile("dataset236.txt");
+        File sizingDirectory = new File(directory, "sizing");
+        AnalysisCache sizing = new AnalysisCache(sizingDirectory, AnalysisCache.DEFAULT_MAX_SIZE);
+        String key1 = sizing.key(testFile1, "1.0", "");
+        String key2 = sizing.key(testFile2, "1.0", "");
+        sizing.store(key1, parse(testFile1));
+        sizing.store(key2, parse(testFile2));
+        long maxSize = Math.max(new File(sizingDirectory, key1 + ".gcat").length(),
+                new File(sizingDirectory, key2 + ".gcat").length());
+        // Room for one entry only
+        File cacheDirectory = new File(directory, "cache");
+        AnalysisCache analysisCache = new AnalysisCache(cacheDirectory, maxSize);
+        analysisCache.store(key1, parse(testFile1));
+        assertTrue(new File(cacheDirectory, key1 + ".gcat").setLastModified(System.currentTimeMillis() - 60000),
+                "Last modified not set.");
+        analysisCache.store(key2, parse(testFile2));
+        assertNull(analysisCache.load(key1, null), "Least recently used entry not evicted.");
+        assertNotNull(analysisCache.load(key2, null), "Most recently used entry evicted.");
+    }
+
+    @Test
+    void testKey(@TempDir File directory) throws IOException {
+        AnalysisCache analysisCache = new AnalysisCache(directory, AnalysisCache.DEFAULT_MAX_SIZE);
+        File testFile1 = TestUtil.getFile("dataset31.txt");
+        File testFile2 = TestUtil.getFile("dataset236.txt");
+        String key = analysisCache.key(testFile1, "1.0", "preprocess=true");
+        assertEquals(key, analysisCache.key(testFile1, "1.0", "preprocess=true"), "Key not repeatable.");
+        assertNotEquals(key, analysisCache.key(testFile2, "1.0", "preprocess=true"), "Content not in key.");
+        assertNotEquals(key, analysisCache.key(testFile1, "1.1", "preprocess=true"), "Parser version not in key.");
+        assertNotEquals(key, analysisCache.key(testFile1, "1.0", "preprocess=false"), "Options not in key.");
+    }
+
+    @Test
+    void testStoreLoad(@TempDir File directory) throws IOException {
+        File cacheDirectory = new File(directory, "cache");
+        AnalysisCache analysisCache = new AnalysisCache(cacheDirectory, AnalysisCache.DEFAULT_MAX_SIZE);
+        File testFile = TestUtil.getFile("dataset236.txt");
+        String key = analysisCache.key(testFile, "1.0", "");
+        assertNull(analysisCache.load(key, null), "Entry found in empty cache.");
+        GcManager gcManager = parse(testFile);
+        analysisCache.store(key, gcManager);
+        GcManager cached = analysisCache.load(key, null);
+        assertNotNull(cached, "Entry not found.");
+        // Threshold dependent analysis is redone
+        for (int throughputThreshold : new int[] { 50, 99 }) {
+            JvmRun jvmRun = gcManager.getJvmRun(null, throughputThreshold);
+            JvmRun cachedJvmRun = cached.getJvmRun(null, throughputThreshold);
+            assertEquals(jvmRun.getBlockingEventCount(), cachedJvmRun.getBlockingEventCount(),
+                    "Event count not correct.");
+            assertEquals(jvmRun.getGcBottlenecks(), cachedJvmRun.getGcBottlenecks(), "Bottlenecks not correct.");
+        }
+    }
+
+    private static GcManager parse(File testFile) throws IOException {
+        GcManager gcManager = new GcManager();
+        List<String> logLines = Files.readAllLines(Paths.get(testFile.toURI()));
+        logLines = gcManager.preprocess(logLines, null);
+        gcManager.store(logLines, false);
+        return gcManager;
+    }
+}
@@ -13,21 +13,53 @@
 package org.eclipselabs.garbagecat.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.domain.HeaderEvent;
+import org.eclipselabs.garbagecat.domain.JvmRun;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.jdk.CmsConcurrentEvent;
+import org.eclipselabs.garbagecat.domain.jdk.FooterStatsEvent;
+import org.eclipselabs.garbagecat.domain.jdk.HeaderVmInfoEvent;
+import org.eclipselabs.garbagecat.domain.jdk.HeapEvent;
+import org.eclipselabs.garbagecat.domain.jdk.LogFileEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahStatsEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedFooterStatsEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPrepareMixedEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedHeaderEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedLogging;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedShenandoahStatsEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedYoungEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.ZStatsEvent;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.PauseHistogram;
+import org.eclipselabs.garbagecat.util.TopEvents;
+import org.github.joa.domain.BuiltBy;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -82,6 +114,191 @@ class TestGcManager {
         assertEquals(currentLogLine, preprocessedLogLine, "Preprocessing incorrectly changed log line.");
     }
 
+    /**
+     * Separate <code>GcManager</code>s analyzing different logs on different threads must not share state.
+     * 
+     * @throws Exception
+     */
+    @Test
+    void testConcurrentInstances() throws Exception {
+        String[] datasets = { "dataset31.txt", "dataset236.txt", "dataset266.txt", "dataset280.txt" };
+        List<String> expected = new ArrayList<String>();
+        for (String dataset : datasets) {
+            expected.add(analyze(dataset));
+        }
+        int threads = datasets.length * 2;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < threads; i++) {
+                String dataset = datasets[i % datasets.length];
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        start.await();
+                        return analyze(dataset);
+                    }
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < threads; i++) {
+                assertEquals(expected.get(i % datasets.length), results.get(i).get(),
+                        datasets[i % datasets.length] + " concurrent analysis not correct.");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String analyze(String dataset) throws IOException {
+        File testFile = TestUtil.getFile(dataset);
+        GcManager gcManager = new GcManager();
+        List<String> logLines = Files.readAllLines(Paths.get(testFile.toURI()));
+        logLines = gcManager.preprocess(logLines, null);
+        gcManager.store(logLines, false);
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        StringBuilder analysis = new StringBuilder();
+        analysis.append(jvmRun.getEventTypes()).append(' ');
+        analysis.append(jvmRun.getBlockingEventCount()).append(' ');
+        analysis.append(jvmRun.getStoppedTimeTotal()).append(' ');
+        analysis.append(jvmRun.getUnifiedSafepointTimeTotal());
+        for (SafepointEventSummary summary : jvmRun.getSafepointEventSummaries()) {
+            analysis.append(' ').append(summary.getTrigger()).append('=').append(summary.getCount());
+        }
+        return analysis.toString();
+    }
+
+    /**
+     * Guard against per-call regex evaluation in event getters. Derived values must be computed once at construction:
+     * they must be correct, and they must not change when the log entry is no longer available.
+     * 
+     * @throws Exception
+     */
+    @Test
+    void testDerivedValues() throws Exception {
+        assertDerivedValues(new FooterStatsEvent("GC STATISTICS:"), true);
+        assertDerivedValues(new FooterStatsEvent("Concurrent Reset                 20 us"), false);
+        assertDerivedValues(new HeaderVmInfoEvent("Java HotSpot(TM) 64-Bit Server VM (24.91-b03) for windows-amd64 JRE "
+                + "(1.7.0_91-b15), built on Oct  2 2015 03:26:24 by \"java_re\" with unknown MS VC++:1600"),
+                BuiltBy.JAVA_RE, 7, 91, false);
+        assertDerivedValues(new HeapEvent("Heap"), true);
+        assertDerivedValues(new HeapEvent(" def new generation   total 39680K, used 11177K [0x04800000, 0x07300000, "
+                + "0x19d50000)"), false);
+        assertDerivedValues(new LogFileEvent("2016-10-18 01:50:54 GC log file created /path/to/gc.log"), true);
+        assertDerivedValues(new LogFileEvent("2021-10-09 00:01:02 GC log rotation request has been received. Saved as "
+                + "/path/to/gc.log.2021-10-08_21-57-44.0"), false);
+        assertDerivedValues(new ShenandoahStatsEvent(
+                "All times are wall-clock times, except per-root-class counters, that are sum over"), true);
+        assertDerivedValues(new UnifiedFooterStatsEvent("[2022-10-27T22:37:06.695-0400] GC STATISTICS:"), false, true);
+        assertDerivedValues(new UnifiedFooterStatsEvent("[2024-04-12T13:14:30.227-0400]         1 happened at "
+                + "Evacuation"), false, false);
+        assertDerivedValues(new UnifiedG1YoungPauseEvent("[2021-03-13T03:37:40.047+0530][79853115ms][gc,start] "
+                + "GC(8645) Pause Young (Normal) (GCLocker Initiated GC) To-space exhausted Other: 0.4ms Humongous "
+                + "regions: 18->18 Metaspace: 214096K->214096K(739328K) 8186M->8186M(8192M) 3.471ms User=0.01s "
+                + "Sys=0.00s Real=0.00s"), false, true);
+        assertDerivedValues(new UnifiedG1YoungPrepareMixedEvent("[16.627s][info][gc,start      ] GC(1354) Pause "
+                + "Young (Prepare Mixed) (G1 Evacuation Pause) Other: 0.1ms Humongous regions: 13->13 Metaspace: "
+                + "3801K->3801K(1056768K) 24M->13M(31M) 0.361ms User=0.00s Sys=0.00s Real=0.00s"), false, false);
+        assertDerivedValues(new UnifiedHeaderEvent("[3ms] GC(6) Using Concurrent Mark Sweep"), false, true, false);
+        assertDerivedValues(new UnifiedHeaderEvent("[2022-12-29T10:13:48.750+0000][0.028s] Version: 17.0.5+8-LTS "
+                + "(release)"), false, false, true);
+        assertDerivedValues(new UnifiedSafepointEvent("[2023-01-11T16:09:59.190+0000][19084.729s] Safepoint "
+                + "\"G1TryInitiateConcMark\", Time since last: 720212197 ns, Reaching safepoint: 477437 ns, At "
+                + "safepoint: 119597295 ns, Total: 120074732 ns"), true, 120074732L);
+        assertDerivedValues(new UnifiedShenandoahStatsEvent("[0.437s][info][gc,stats    ] All times are wall-clock "
+                + "times, except per-root-class counters, that are sum over"), false, true);
+        assertDerivedValues(new UnifiedShenandoahStatsEvent("[2024-04-12T13:14:26.319-0400]   Cleanup             "
+                + "               36 us"), false, false);
+        assertDerivedValues(new UnifiedYoungEvent("[0.112s][info][gc             ] GC(3) Pause Young (Allocation "
+                + "Failure) 1M->1M(2M) 0.700ms"), true);
+        assertDerivedValues(new ZStatsEvent("[10.485s] === Garbage Collection Statistics ============================"
+                + "==========================================================================================="), false,
+                true);
+    }
+
+    private static void assertDerivedValues(LogEvent event, Object... expected) throws Exception {
+        assertEquals(Arrays.asList(expected), getDerivedValues(event),
+                event.getName() + " derived value(s) not correct.");
+        Field logEntry = getLogEntryField(event.getClass());
+        logEntry.setAccessible(true);
+        logEntry.set(event, null);
+        assertEquals(Arrays.asList(expected), getDerivedValues(event),
+                event.getName() + " derived value(s) not computed at construction.");
+    }
+
+    private static List<Object> getDerivedValues(LogEvent event) {
+        List<Object> derivedValues = new ArrayList<Object>();
+        if (event instanceof UnifiedLogging) {
+            derivedValues.add(((UnifiedLogging) event).isEndstamp());
+        }
+        if (event instanceof HeaderEvent) {
+            derivedValues.add(((HeaderEvent) event).isHeader());
+        }
+        if (event instanceof HeaderVmInfoEvent) {
+            derivedValues.add(((HeaderVmInfoEvent) event).getBuiltBy());
+            derivedValues.add(((HeaderVmInfoEvent) event).getJdkVersionMajor());
+            derivedValues.add(((HeaderVmInfoEvent) event).getJdkVersionMinor());
+            derivedValues.add(((HeaderVmInfoEvent) event).is32Bit());
+        }
+        if (event instanceof LogFileEvent) {
+            derivedValues.add(((LogFileEvent) event).isCreated());
+        }
+        if (event instanceof UnifiedG1YoungPauseEvent) {
+            derivedValues.add(((UnifiedG1YoungPauseEvent) event).isToSpaceExhausted());
+        }
+        if (event instanceof UnifiedG1YoungPrepareMixedEvent) {
+            derivedValues.add(((UnifiedG1YoungPrepareMixedEvent) event).isToSpaceExhausted());
+        }
+        if (event instanceof UnifiedHeaderEvent) {
+            derivedValues.add(((UnifiedHeaderEvent) event).isGarbageCollector());
+            derivedValues.add(((UnifiedHeaderEvent) event).isVersion());
+        }
+        if (event instanceof UnifiedSafepointEvent) {
+            derivedValues.add(((UnifiedSafepointEvent) event).getDurationNanos());
+        }
+        return derivedValues;
+    }
+
+    private static Field getLogEntryField(Class<?> eventClass) throws NoSuchFieldException {
+        for (Class<?> c = eventClass; c != null; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField("logEntry");
+            } catch (NoSuchFieldException e) {
+                // check superclass
+            }
+        }
+        throw new NoSuchFieldException("logEntry");
+    }
+
+    @Test
+    void testMemoryRatesReordered() throws IOException {
+        List<String> logLines = new ArrayList<String>();
+        for (int i = 0; i < 8; i++) {
+            logLines.add("[" + (i * 30 + 10) + ".000s][info][gc] GC(" + i
+                    + ") Pause Young (Normal) (G1 Evacuation Pause) " + (24 + i * 8) + "M->4M(256M) 3.000ms");
+            logLines.add("[" + (i * 30 + 20) + ".000s][info][gc] GC(" + i + ") Concurrent cleanup " + (18 + i)
+                    + "M->15M(64M) 0.036ms");
+        }
+        // Rotated logging: the second half is first
+        List<String> reorderedLogLines = new ArrayList<String>(logLines.subList(8, 16));
+        reorderedLogLines.addAll(logLines.subList(0, 8));
+        GcManager gcManager = new GcManager();
+        gcManager.store(logLines, false);
+        GcManager reorderedGcManager = new GcManager();
+        reorderedGcManager.store(reorderedLogLines, true);
+        JvmRun jvmRun = gcManager.getJvmRun(null, 90);
+        assertTrue(jvmRun.getAllocationRate().signum() > 0, "Allocation rate not correct.");
+        assertEquals(summarizeMemoryRates(jvmRun), summarizeMemoryRates(reorderedGcManager.getJvmRun(null, 90)),
+                "Reordered memory rates not correct.");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reorderedGcManager.write(out);
+        GcManager restored = new GcManager();
+        restored.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(summarizeMemoryRates(jvmRun), summarizeMemoryRates(restored.getJvmRun(null, 90)),
+                "Restored memory rates not correct.");
+    }
+
     /**
      * Test for NullPointerException.
      * 
@@ -95,4 +312,114 @@ class TestGcManager {
         List<String> logLines = Files.readAllLines(Paths.get(logFileUri));
         logLines = gcManager.preprocess(logLines, null);
     }
+
+    @Test
+    void testPauseHistograms() throws IOException {
+        File testFile = TestUtil.getFile("dataset236.txt");
+        GcManager gcManager = new GcManager();
+        List<String> logLines = Files.readAllLines(Paths.get(testFile.toURI()));
+        logLines = gcManager.preprocess(logLines, null);
+        gcManager.store(logLines, false);
+        JvmRun jvmRun = gcManager.getJvmRun(null, 90);
+        PauseHistogram gcPauseHistogram = jvmRun.getGcPauseHistogram();
+        assertEquals(jvmRun.getBlockingEventCount(), gcPauseHistogram.getCount(), "GC pause count not correct.");
+        assertEquals(jvmRun.getDurationMax(), gcPauseHistogram.getMax(), "GC pause max not correct.");
+        assertEquals(jvmRun.getDurationTotal(), gcPauseHistogram.getTotal(), "GC pause total not correct.");
+        assertTrue(gcPauseHistogram.getPercentile(50) <= gcPauseHistogram.getPercentile(99),
+                "GC pause percentiles not correct.");
+        assertEquals(jvmRun.getUnifiedSafepointEventCount(), jvmRun.getUnifiedSafepointHistogram().getCount(),
+                "Safepoint count not correct.");
+        assertEquals(jvmRun.getStoppedTimeEventCount(), jvmRun.getStoppedTimeHistogram().getCount(),
+                "Stopped time count not correct.");
+    }
+
+    @Test
+    void testStoreStreamed() throws IOException {
+        File testFile = TestUtil.getFile("dataset236.txt");
+        GcManager gcManager = new GcManager();
+        gcManager.store(Files.readAllLines(Paths.get(testFile.toURI())), false);
+        GcManager streamed = new GcManager();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(testFile.toURI()))) {
+            streamed.store(reader.lines().iterator(), false);
+        }
+        assertEquals(summarize(gcManager.getJvmRun(null, 90)), summarize(streamed.getJvmRun(null, 90)),
+                "Streamed analysis not correct.");
+    }
+
+    @Test
+    void testWriteRead() throws IOException {
+        String[] datasets = { "dataset31.txt", "dataset236.txt", "dataset266.txt", "dataset280.txt" };
+        for (String dataset : datasets) {
+            File testFile = TestUtil.getFile(dataset);
+            GcManager gcManager = new GcManager();
+            List<String> logLines = Files.readAllLines(Paths.get(testFile.toURI()));
+            logLines = gcManager.preprocess(logLines, null);
+            gcManager.store(logLines, false);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            gcManager.write(out);
+            GcManager restored = new GcManager();
+            restored.read(new ByteArrayInputStream(out.toByteArray()));
+            assertEquals(summarize(gcManager.getJvmRun(null, 90)), summarize(restored.getJvmRun(null, 90)),
+                    dataset + " restored analysis not correct.");
+        }
+    }
+
+    @Test
+    void testWriteSize() throws IOException {
+        File testFile = TestUtil.getFile("dataset236.txt");
+        GcManager gcManager = new GcManager();
+        List<String> logLines = Files.readAllLines(Paths.get(testFile.toURI()));
+        gcManager.store(logLines, false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        gcManager.write(out);
+        assertTrue(out.size() * 4 < testFile.length(),
+                "Binary size not correct: " + out.size() + " bytes for " + testFile.length() + " bytes of logging.");
+    }
+
+    private static String summarize(JvmRun jvmRun) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(jvmRun.getEventTypes()).append(' ');
+        summary.append(jvmRun.getGcTriggers()).append(' ');
+        for (String[] analysis : jvmRun.getAnalysis()) {
+            summary.append(Arrays.toString(analysis)).append(' ');
+        }
+        summary.append(jvmRun.getAllocationRate()).append(' ');
+        summary.append(jvmRun.getAllocationRatePeak()).append(' ');
+        summary.append(jvmRun.getBlockingEventCount()).append(' ');
+        summary.append(jvmRun.getDurationMax()).append(' ');
+        summary.append(jvmRun.getDurationTotal()).append(' ');
+        summary.append(jvmRun.getGcPauseHistogram().getPercentile(99)).append(' ');
+        summary.append(jvmRun.getMaxHeapSpace()).append(' ');
+        summary.append(jvmRun.getOldGrowthRatePeak()).append(' ');
+        summary.append(jvmRun.getPromotionRatePeak()).append(' ');
+        summary.append(jvmRun.getFirstGcEvent() == null ? null : jvmRun.getFirstGcEvent().getLogEntry()).append(' ');
+        summary.append(jvmRun.getLastGcEvent() == null ? null : jvmRun.getLastGcEvent().getLogEntry()).append(' ');
+        summary.append(jvmRun.getGcBottlenecks()).append(' ');
+        summary.append(jvmRun.getStoppedTimeTotal()).append(' ');
+        summary.append(jvmRun.getStoppedTimeHistogram().getPercentile(99)).append(' ');
+        summary.append(jvmRun.getUnifiedSafepointTimeTotal()).append(' ');
+        summary.append(jvmRun.getUnifiedSafepointHistogram().getPercentile(99)).append(' ');
+        summary.append(jvmRun.getSafepointBottlenecks()).append(' ');
+        summary.append(jvmRun.getJvmOptions().getJvmContext().getVersionMajor()).append(' ');
+        summarize(summary, jvmRun.getWorstParallelismEvents());
+        summarize(summary, jvmRun.getWorstPauseEvents());
+        summarize(summary, jvmRun.getWorstSafepointEvents());
+        summarize(summary, jvmRun.getWorstTimeToSafepointEvents());
+        summary.append(jvmRun.getUnidentifiedLogLines());
+        return summary.toString();
+    }
+
+    private static <T extends LogEvent> void summarize(StringBuilder summary, List<TopEvents.Entry<T>> entries) {
+        for (TopEvents.Entry<T> entry : entries) {
+            summary.append(entry.getKey()).append(' ');
+            summary.append(entry.getEvent().getLogEntry()).append(' ');
+            summary.append(entry.getPrevious() == null ? null : entry.getPrevious().getLogEntry()).append(' ');
+            summary.append(entry.getNext() == null ? null : entry.getNext().getLogEntry()).append(' ');
+        }
+    }
+
+    private static String summarizeMemoryRates(JvmRun jvmRun) {
+        return jvmRun.getAllocationRate() + " " + jvmRun.getAllocationRatePeak() + " " + jvmRun.getOldGrowthRatePeak()
+                + " " + jvmRun.getPromotionRatePeak();
+    }
 }
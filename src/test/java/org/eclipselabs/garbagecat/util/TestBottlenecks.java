@@ -0,0 +1,127 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestBottlenecks {
+
+    private static BlockingEvent event(long millis) {
+        return new ParallelScavengeEvent(millis / 1000 + "." + String.format("%03d", millis % 1000)
+                + ": [GC [PSYoungGen: 27808K->632K(28032K)] 160183K->133159K(585088K), 0.0010000 secs]");
+    }
+
+    /**
+     * Add events at 0, 1000, 1100, 1400, 5000, and 5100 ms, where 1100 and 1400 are a bottleneck with 1000, and 5100 is
+     * a bottleneck with 5000.
+     */
+    private static BlockingEvent[] addEvents(Bottlenecks<BlockingEvent> bottlenecks) {
+        long[] timestamps = { 0, 1000, 1100, 1400, 5000, 5100 };
+        long[] durations = { 1, 1, 200, 100, 1, 100 };
+        BlockingEvent[] events = new BlockingEvent[timestamps.length];
+        for (int i = 0; i < timestamps.length; i++) {
+            events[i] = event(timestamps[i]);
+            bottlenecks.add(timestamps[i], durations[i] * 1000000, events[i]);
+        }
+        return events;
+    }
+
+    @Test
+    void testClear() {
+        Bottlenecks<BlockingEvent> bottlenecks = new Bottlenecks<BlockingEvent>(90);
+        addEvents(bottlenecks);
+        bottlenecks.clear();
+        assertTrue(bottlenecks.isEmpty(), "Bottlenecks not cleared.");
+        assertEquals(0, bottlenecks.getCount(), "Count not cleared.");
+        bottlenecks.add(0, 0, event(0));
+        assertTrue(bottlenecks.isEmpty(), "First event after clear identified as bottleneck.");
+    }
+
+    @Test
+    void testDateStamps() {
+        Bottlenecks<BlockingEvent> bottlenecks = new Bottlenecks<BlockingEvent>(90);
+        BlockingEvent[] events = addEvents(bottlenecks);
+        Date jvmStartDate = GcUtil.parseStartDateTime("2009-09-18 00:00:08.172");
+        List<String> logEntries = bottlenecks.getLogEntries(jvmStartDate);
+        assertNotEquals(events[1].getLogEntry(), logEntries.get(0), "Timestamp not converted.");
+        assertEquals(JdkUtil.convertLogEntryTimestampsToDateStamp(events[1].getLogEntry(), jvmStartDate),
+                logEntries.get(0), "Datestamp not correct.");
+    }
+
+    @Test
+    void testLazy() {
+        Bottlenecks<BlockingEvent> bottlenecks = new Bottlenecks<BlockingEvent>(90);
+        long[] timestamps = { 0, 1000, 1100, 1400, 5000 };
+        long[] durations = { 1, 1, 200, 100, 1 };
+        int[] created = new int[1];
+        for (int i = 0; i < timestamps.length; i++) {
+            long timestamp = timestamps[i];
+            bottlenecks.add(timestamp, durations[i] * 1000000, () -> {
+                created[0]++;
+                return event(timestamp);
+            });
+        }
+        assertEquals(3, created[0], "Events not created only when kept.");
+        assertEquals(3, bottlenecks.getRuns().get(0).size(), "Run size not correct.");
+    }
+
+    @Test
+    void testRuns() {
+        Bottlenecks<BlockingEvent> bottlenecks = new Bottlenecks<BlockingEvent>(90);
+        BlockingEvent[] events = addEvents(bottlenecks);
+        assertEquals(6, bottlenecks.getCount(), "Count not correct.");
+        List<List<BlockingEvent>> runs = bottlenecks.getRuns();
+        assertEquals(2, runs.size(), "Run count not correct.");
+        assertEquals(3, runs.get(0).size(), "First run size not correct.");
+        assertEquals(events[1], runs.get(0).get(0), "Event before first bottleneck not correct.");
+        assertEquals(events[3], runs.get(0).get(2), "Last event of first run not correct.");
+        assertEquals(events[4], runs.get(1).get(0), "Event before second bottleneck not correct.");
+        List<String> logEntries = bottlenecks.getLogEntries(null);
+        assertEquals(6, logEntries.size(), "Log entry count not correct.");
+        assertEquals(events[1].getLogEntry(), logEntries.get(0), "Log entry not correct.");
+        assertEquals(Bottlenecks.RUN_SEPARATOR, logEntries.get(3), "Run separator not correct.");
+        assertEquals(events[5].getLogEntry(), logEntries.get(5), "Log entry not correct.");
+        assertNull(bottlenecks.getTimeWarp(), "Time warp incorrectly identified.");
+    }
+
+    @Test
+    void testTimeWarp() {
+        Bottlenecks<BlockingEvent> bottlenecks = new Bottlenecks<BlockingEvent>(90);
+        BlockingEvent prior = event(3000);
+        BlockingEvent event = event(1000);
+        bottlenecks.add(3000, 0, prior);
+        bottlenecks.add(1000, 0, event);
+        assertNotNull(bottlenecks.getTimeWarp(), "Time warp not identified.");
+        assertTrue(bottlenecks.getTimeWarp().getMessage().contains(prior.getLogEntry())
+                && bottlenecks.getTimeWarp().getMessage().contains(event.getLogEntry()),
+                "Time warp log entries not correct.");
+        bottlenecks.add(5000, 0, event(5000));
+        assertEquals(1, bottlenecks.getCount(), "Event added after time warp.");
+    }
+}
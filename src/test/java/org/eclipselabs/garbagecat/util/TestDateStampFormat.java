@@ -0,0 +1,67 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestDateStampFormat {
+
+    @Test
+    void testFormat() {
+        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        long[] millis = { 0, 999, 1000, 1267198332486L, 1267198332999L, 1267198333000L, 1709251199999L,
+                1709251200000L, 4102444800123L };
+        for (long m : millis) {
+            assertEquals(formatter.format(new Date(m)), DateStampFormat.format(m), "Format not correct: " + m);
+        }
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> DateStampFormat.parse("2010-02-26 09:32:12.486-0600"));
+        assertThrows(IllegalArgumentException.class, () -> DateStampFormat.parse("2010-02-2x09:32:12.486-0600"));
+        assertThrows(IllegalArgumentException.class, () -> DateStampFormat.parse("2010-02-26T09:32:12.486"));
+        assertNull(GcUtil.parseDateStamp("2010-02-26T09:32:12.4x6-0600"), "Invalid datestamp parsed.");
+    }
+
+    @Test
+    void testParse() throws ParseException {
+        SimpleDateFormat parser = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZ");
+        String[] datestamps = { "2010-02-26T09:32:12.486-0600", "2010-02-26T09:32:12.999-0600",
+                "2010-02-26T09:32:13.000+0200", "2010-04-16T12:11:18.979+0200", "2000-01-01T00:00:00.000-0500",
+                "2024-02-29T23:59:59.999+0530", "1999-12-31T23:59:59.001+0000" };
+        for (String datestamp : datestamps) {
+            assertEquals(parser.parse(datestamp).getTime(), DateStampFormat.parse(datestamp),
+                    "Parse not correct: " + datestamp);
+        }
+    }
+
+    @Test
+    void testParseSameSecond() {
+        long first = DateStampFormat.parse("2016-11-22T09:07:01.358+0100");
+        assertEquals(first + 100, DateStampFormat.parse("2016-11-22T09:07:01.458+0100"), "Milliseconds not correct.");
+        assertEquals(first + 3600000, DateStampFormat.parse("2016-11-22T09:07:01.358+0000"), "Offset not correct.");
+    }
+}
@@ -0,0 +1,86 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestLinearRegression {
+
+    @Test
+    void testExactLine() {
+        LinearRegression regression = new LinearRegression();
+        for (int i = 0; i < 5; i++) {
+            regression.add(1000000 + i * 10, 200 + i * 30);
+        }
+        assertEquals(5, regression.getCount(), "Count not correct.");
+        assertEquals(3000, Math.round(regression.getSlope() * 1000), "Slope not correct.");
+        assertEquals(-2999800, Math.round(regression.getIntercept()), "Intercept not correct.");
+        assertEquals(1000040, regression.getMaxX(), "Max x not correct.");
+        assertEquals(320, Math.round(regression.predict(1000040)), "Prediction not correct.");
+        assertEquals(Double.POSITIVE_INFINITY, regression.getSlopeTStatistic(), "t statistic not correct.");
+    }
+
+    @Test
+    void testNoData() {
+        LinearRegression regression = new LinearRegression();
+        regression.add(10, 5);
+        regression.add(10, 7);
+        assertEquals(0, regression.getSlope(), "Slope not correct with one distinct x value.");
+        assertEquals(0, regression.getSlopeTStatistic(), "t statistic not correct with one distinct x value.");
+        assertEquals(6, regression.getIntercept(), "Intercept not correct with one distinct x value.");
+        regression.clear();
+        assertEquals(0, regression.getCount(), "Count not cleared.");
+    }
+
+    @Test
+    void testNoise() {
+        LinearRegression regression = new LinearRegression();
+        double[] y = { 1, 3, 2, 5, 4 };
+        for (int i = 0; i < y.length; i++) {
+            regression.add(i + 1, y[i]);
+        }
+        assertEquals(800, Math.round(regression.getSlope() * 1000), "Slope not correct.");
+        assertEquals(600, Math.round(regression.getIntercept() * 1000), "Intercept not correct.");
+        // Residual sum of squares 3.6, slope standard error sqrt(3.6 / 3 / 10) = 0.3464
+        assertEquals(2309, Math.round(regression.getSlopeTStatistic() * 1000), "t statistic not correct.");
+    }
+
+    @Test
+    void testReadWrite() throws IOException {
+        LinearRegression regression = new LinearRegression();
+        regression.add(1, 1);
+        regression.add(2, 3);
+        regression.add(3, 2);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        regression.write(new DataOutputStream(bytes));
+        LinearRegression copy = new LinearRegression();
+        copy.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        regression.add(4, 5);
+        copy.add(4, 5);
+        assertEquals(regression.getSlope(), copy.getSlope(), "Slope not correct.");
+        assertEquals(regression.getSlopeTStatistic(), copy.getSlopeTStatistic(), "t statistic not correct.");
+        assertEquals(regression.getMaxX(), copy.getMaxX(), "Max x not correct.");
+    }
+}
@@ -0,0 +1,82 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestMutatorUtilization {
+
+    @Test
+    void testClusteredPauses() {
+        long[] timestamps = { 0, 10, 1000 };
+        long[] durations = { 5000, 5000, 1000 };
+        MutatorUtilization mutatorUtilization = new MutatorUtilization(timestamps, durations, timestamps.length);
+        List<MutatorUtilization.Window> windows = mutatorUtilization.getWorstWindows(new long[] { 10, 100, 1000 });
+        assertEquals(3, windows.size(), "Window count not correct.");
+        assertEquals(new BigDecimal("50.00"), windows.get(0).getUtilization(), "10 ms utilization not correct.");
+        assertEquals(0, windows.get(0).getTimestamp(), "10 ms worst window not correct.");
+        assertEquals(new BigDecimal("90.00"), windows.get(1).getUtilization(), "100 ms utilization not correct.");
+        assertEquals(new BigDecimal("99.00"), windows.get(2).getUtilization(), "1000 ms utilization not correct.");
+        assertEquals(10000, windows.get(2).getPauseMicros(), "1000 ms pause time not correct.");
+    }
+
+    @Test
+    void testLastWindow() {
+        long[] timestamps = { 0, 100, 195 };
+        long[] durations = { 1000, 1000, 5000 };
+        MutatorUtilization mutatorUtilization = new MutatorUtilization(timestamps, durations, timestamps.length);
+        MutatorUtilization.Window window = mutatorUtilization.getWorstWindow(10);
+        assertEquals(new BigDecimal("50.00"), window.getUtilization(), "Utilization not correct.");
+        assertEquals(190, window.getTimestamp(), "Worst window not correct.");
+    }
+
+    @Test
+    void testNoPauses() {
+        MutatorUtilization mutatorUtilization = new MutatorUtilization(new long[0], new long[0], 0);
+        assertNull(mutatorUtilization.getWorstWindow(10), "Window not correct.");
+        assertEquals(0, mutatorUtilization.getWorstWindows(MutatorUtilization.DEFAULT_WINDOWS).size(),
+                "Window count not correct.");
+    }
+
+    @Test
+    void testOverlappingPauses() {
+        // A GC pause inside its safepoint is counted once
+        long[] timestamps = { 20, 0, 0 };
+        long[] durations = { 1000, 5000, 6000 };
+        MutatorUtilization mutatorUtilization = new MutatorUtilization(timestamps, durations, timestamps.length);
+        MutatorUtilization.Window window = mutatorUtilization.getWorstWindow(10);
+        assertEquals(new BigDecimal("40.00"), window.getUtilization(), "Utilization not correct.");
+        assertEquals(6000, window.getPauseMicros(), "Pause time not correct.");
+        assertEquals(0, window.getTimestamp(), "Worst window not correct.");
+    }
+
+    @Test
+    void testWindowLongerThanRun() {
+        long[] timestamps = { 0, 500 };
+        long[] durations = { 1000, 1000 };
+        MutatorUtilization mutatorUtilization = new MutatorUtilization(timestamps, durations, timestamps.length);
+        assertEquals(new BigDecimal("99.60"), mutatorUtilization.getWorstWindow(501).getUtilization(),
+                "Utilization not correct.");
+        assertNull(mutatorUtilization.getWorstWindow(1000), "Window not correct.");
+    }
+}
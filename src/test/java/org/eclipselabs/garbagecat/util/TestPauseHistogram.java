@@ -0,0 +1,132 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestPauseHistogram {
+
+    @Test
+    void testAccuracy() {
+        PauseHistogram histogram = new PauseHistogram();
+        for (long i = 1; i <= 100000; i++) {
+            histogram.add(i * 10);
+        }
+        assertEquals(100000, histogram.getCount(), "Count not correct.");
+        assertEquals(1000000, histogram.getMax(), "Max not correct.");
+        assertEquals(50000500000L, histogram.getTotal(), "Total not correct.");
+        double[] percentiles = { 50, 90, 99, 99.9, 99.99 };
+        for (double percentile : percentiles) {
+            long expected = (long) (percentile * 1000) * 10;
+            long actual = histogram.getPercentile(percentile);
+            assertTrue(actual >= expected && actual <= expected + expected / 64,
+                    "p" + percentile + " not correct: " + actual);
+        }
+        assertEquals(1000000, histogram.getPercentile(100), "p100 not correct.");
+        assertEquals(10, histogram.getPercentile(0), "p0 not correct.");
+    }
+
+    @Test
+    void testClear() {
+        PauseHistogram histogram = new PauseHistogram();
+        histogram.add(1234);
+        histogram.clear();
+        assertEquals(0, histogram.getCount(), "Count not correct.");
+        assertEquals(0, histogram.getMax(), "Max not correct.");
+        assertEquals(0, histogram.getPercentile(99), "Percentile not correct.");
+    }
+
+    @Test
+    void testCopy() {
+        PauseHistogram histogram = new PauseHistogram();
+        histogram.add(100);
+        PauseHistogram copy = new PauseHistogram(histogram);
+        histogram.add(200);
+        assertEquals(1, copy.getCount(), "Copy count not correct.");
+        assertEquals(100, copy.getMax(), "Copy max not correct.");
+    }
+
+    @Test
+    void testEmpty() {
+        PauseHistogram histogram = new PauseHistogram();
+        assertEquals(0, histogram.getCount(), "Count not correct.");
+        assertEquals(0, histogram.getPercentile(50), "Percentile not correct.");
+    }
+
+    @Test
+    void testExtremes() {
+        PauseHistogram histogram = new PauseHistogram();
+        histogram.add(-5);
+        histogram.add(Long.MAX_VALUE);
+        assertEquals(0, histogram.getPercentile(50), "p50 not correct.");
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(100), "p100 not correct.");
+    }
+
+    @Test
+    void testInvalidPercentile() {
+        PauseHistogram histogram = new PauseHistogram();
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(100.1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(-1));
+    }
+
+    @Test
+    void testMerge() {
+        PauseHistogram histogram1 = new PauseHistogram();
+        PauseHistogram histogram2 = new PauseHistogram();
+        PauseHistogram all = new PauseHistogram();
+        for (long i = 0; i < 10000; i++) {
+            long value = (i * 7919) % 250000;
+            (i % 2 == 0 ? histogram1 : histogram2).add(value);
+            all.add(value);
+        }
+        histogram1.merge(histogram2);
+        assertEquals(all.getCount(), histogram1.getCount(), "Count not correct.");
+        assertEquals(all.getMax(), histogram1.getMax(), "Max not correct.");
+        assertEquals(all.getTotal(), histogram1.getTotal(), "Total not correct.");
+        assertEquals(all.getPercentile(99.9), histogram1.getPercentile(99.9), "p99.9 not correct.");
+    }
+
+    @Test
+    void testSmallValuesExact() {
+        PauseHistogram histogram = new PauseHistogram();
+        for (long i = 0; i < 100; i++) {
+            histogram.add(i);
+        }
+        assertEquals(49, histogram.getPercentile(50), "p50 not correct.");
+        assertEquals(98, histogram.getPercentile(99), "p99 not correct.");
+    }
+
+    @Test
+    void testUnmodifiable() {
+        PauseHistogram histogram = new PauseHistogram();
+        histogram.add(100);
+        PauseHistogram view = PauseHistogram.unmodifiable(histogram);
+        histogram.add(200000);
+        assertEquals(2, view.getCount(), "View count not correct.");
+        assertEquals(200000, view.getMax(), "View max not correct.");
+        assertEquals(200100, view.getTotal(), "View total not correct.");
+        assertEquals(histogram.getPercentile(99), view.getPercentile(99), "View p99 not correct.");
+        assertEquals(2, new PauseHistogram(view).getCount(), "Copy of view count not correct.");
+        assertThrows(UnsupportedOperationException.class, () -> view.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> view.clear());
+        assertThrows(UnsupportedOperationException.class, () -> view.merge(histogram));
+    }
+}
@@ -0,0 +1,159 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestPauseSlo {
+
+    private static BlockingEvent event(String logEntry, long timestamp, int durationMicros) {
+        return new ParallelScavengeEvent(logEntry, timestamp, durationMicros);
+    }
+
+    @Test
+    void testBudget() {
+        PauseSlo.Budget budget = PauseSlo.Budget.fromLiteral("p99=50,max=200,total=500,window=10");
+        assertEquals(50000, budget.getP99Micros(), "p99 budget not correct.");
+        assertEquals(200000, budget.getMaxMicros(), "Max budget not correct.");
+        assertEquals(500000, budget.getTotalMicros(), "Total budget not correct.");
+        assertEquals(10000, budget.getWindowMillis(), "Window not correct.");
+        budget = PauseSlo.Budget.fromLiteral("max=200");
+        assertEquals(0, budget.getP99Micros(), "p99 budget not correct.");
+        assertEquals(0, budget.getTotalMicros(), "Total budget not correct.");
+        assertEquals(PauseSlo.Budget.DEFAULT_WINDOW_MILLIS, budget.getWindowMillis(), "Default window not correct.");
+        budget = PauseSlo.Budget.fromLiteral("total=500");
+        assertEquals(0, budget.getMaxMicros(), "Max budget not correct.");
+        assertEquals(500000, budget.getTotalMicros(), "Total budget not correct.");
+        assertNull(PauseSlo.Budget.fromLiteral("window=10"),
+                "Budget without a p99, max, or total budget not rejected.");
+        assertNull(PauseSlo.Budget.fromLiteral("p99=50,window=0"), "Zero window not rejected.");
+        assertNull(PauseSlo.Budget.fromLiteral("p99=0.5"), "Fractional budget not rejected.");
+        assertNull(PauseSlo.Budget.fromLiteral("p95=50"), "Unknown budget not rejected.");
+        assertNull(PauseSlo.Budget.fromLiteral(null), "Null budget not rejected.");
+    }
+
+    @Test
+    void testLazy() {
+        PauseSlo<BlockingEvent> pauseSlo = new PauseSlo<BlockingEvent>(new PauseSlo.Budget(10000, 0, 0, 1000));
+        int[] created = new int[1];
+        int[] durations = { 1000, 20000, 2000, 30000 };
+        for (int i = 0; i < durations.length; i++) {
+            int duration = durations[i];
+            pauseSlo.add(i * 100, duration, null, () -> {
+                created[0]++;
+                return event("test", 0, duration);
+            });
+        }
+        pauseSlo.finish();
+        assertEquals(2, created[0], "Events not created only when offending.");
+        assertEquals(30000, pauseSlo.getViolations().get(0).getEvents().get(0).getDurationMicros(),
+                "Longest offending pause not first.");
+    }
+
+    @Test
+    void testMax() {
+        PauseSlo<BlockingEvent> pauseSlo = new PauseSlo<BlockingEvent>(new PauseSlo.Budget(0, 50000, 0, 1000));
+        // Window 0: pauses under the budget, window 1: 2 pauses over it, window 2: a pause equal to it
+        long[] timestamps = { 0, 100, 200, 300, 1000, 1200, 1400, 1600, 2500 };
+        int[] durations = { 40000, 40000, 40000, 40000, 60000, 40000, 60000, 40000, 50000 };
+        for (int i = 0; i < timestamps.length; i++) {
+            BlockingEvent event = event("test" + i, timestamps[i], durations[i]);
+            pauseSlo.add(timestamps[i], durations[i], null, () -> event);
+        }
+        pauseSlo.finish();
+        assertEquals(3, pauseSlo.getWindowCount(), "Window count not correct.");
+        assertEquals(1, pauseSlo.getViolations().size(), "Violation count not correct.");
+        PauseSlo.Window<BlockingEvent> window = pauseSlo.getViolations().get(0);
+        assertEquals(1000, window.getTimestamp(), "Window timestamp not correct.");
+        assertEquals(60000, window.getPauseMax(), "Window pause max not correct.");
+        assertTrue(window.isMaxExceeded(), "Max budget violation not identified.");
+        assertFalse(window.isP99Exceeded(), "p99 budget violation incorrectly identified.");
+        assertFalse(window.isTotalExceeded(), "Total budget violation incorrectly identified.");
+        assertEquals(2, window.getEvents().size(), "Offending pause count not correct.");
+        assertEquals("test4", window.getEvents().get(0).getLogEntry(), "Equal pauses not in timestamp order.");
+        assertEquals("test6", window.getEvents().get(1).getLogEntry(), "Equal pauses not in timestamp order.");
+    }
+
+    @Test
+    void testP99() {
+        PauseSlo<BlockingEvent> pauseSlo = new PauseSlo<BlockingEvent>(new PauseSlo.Budget(10000, 0, 0, 1000));
+        // Window 0: 100 short pauses and 1 long pause, p99 short
+        for (int i = 0; i < 100; i++) {
+            pauseSlo.add(i, 1000, null, () -> event("short", 0, 1000));
+        }
+        pauseSlo.add(500, 50000, null, () -> event("long", 500, 50000));
+        // Window 1: 100 short pauses and 2 long pauses, p99 long
+        for (int i = 0; i < 100; i++) {
+            pauseSlo.add(1000 + i, 1000, null, () -> event("short", 0, 1000));
+        }
+        pauseSlo.add(1500, 50000, null, () -> event("long", 1500, 50000));
+        pauseSlo.add(1600, 60000, null, () -> event("longest", 1600, 60000));
+        pauseSlo.finish();
+        assertEquals(2, pauseSlo.getWindowCount(), "Window count not correct.");
+        assertEquals(1, pauseSlo.getViolations().size(), "Violation count not correct.");
+        PauseSlo.Window<BlockingEvent> window = pauseSlo.getViolations().get(0);
+        assertEquals(1000, window.getTimestamp(), "Window timestamp not correct.");
+        assertEquals(50000, window.getP99(), "Window p99 not correct.");
+        assertEquals(60000, window.getPauseMax(), "Window pause max not correct.");
+        assertTrue(window.isP99Exceeded(), "p99 budget violation not identified.");
+        assertEquals(2, window.getEvents().size(), "Offending pause count not correct.");
+        assertEquals("longest", window.getEvents().get(0).getLogEntry(), "Longest pause not first.");
+        assertEquals(203, pauseSlo.getCount(), "Pause count not correct.");
+    }
+
+    @Test
+    void testTotal() {
+        PauseSlo<BlockingEvent> pauseSlo = new PauseSlo<BlockingEvent>(new PauseSlo.Budget(0, 0, 100000, 1000));
+        long[] timestamps = { 0, 500, 1000, 1500, 1900, 2500 };
+        int[] durations = { 40000, 40000, 40000, 40000, 40000, 90000 };
+        for (int i = 0; i < timestamps.length; i++) {
+            BlockingEvent event = event("test" + i, timestamps[i], durations[i]);
+            pauseSlo.add(timestamps[i], durations[i], null, () -> event);
+        }
+        pauseSlo.finish();
+        assertEquals(3, pauseSlo.getWindowCount(), "Window count not correct.");
+        assertEquals(1, pauseSlo.getViolations().size(), "Violation count not correct.");
+        PauseSlo.Window<BlockingEvent> window = pauseSlo.getViolations().get(0);
+        assertEquals(1000, window.getTimestamp(), "Window timestamp not correct.");
+        assertEquals(3, window.getCount(), "Window pause count not correct.");
+        assertEquals(120000, window.getPauseTotal(), "Window pause total not correct.");
+        assertTrue(window.isTotalExceeded(), "Total budget violation not identified.");
+        assertFalse(window.isMaxExceeded(), "Max budget violation incorrectly identified.");
+        assertFalse(window.isP99Exceeded(), "p99 budget violation incorrectly identified.");
+        assertEquals(3, window.getEvents().size(), "Offending pause count not correct.");
+        assertEquals("test2", window.getEvents().get(0).getLogEntry(), "Equal pauses not in timestamp order.");
+    }
+
+    @Test
+    void testTriggers() {
+        PauseSlo<BlockingEvent> pauseSlo = new PauseSlo<BlockingEvent>(new PauseSlo.Budget(0, 0, 10000, 60000));
+        String[] triggers = { "SYSTEM_GC", "ALLOCATION_FAILURE", null, "ALLOCATION_FAILURE" };
+        for (int i = 0; i < triggers.length; i++) {
+            pauseSlo.add(i * 1000, 5000, triggers[i], () -> event("test", 0, 5000));
+        }
+        pauseSlo.finish();
+        assertEquals("{ALLOCATION_FAILURE=2, SYSTEM_GC=1}",
+                pauseSlo.getViolations().get(0).getTriggerCounts().toString(), "Trigger counts not correct.");
+    }
+}
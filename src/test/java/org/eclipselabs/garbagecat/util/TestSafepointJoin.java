@@ -0,0 +1,106 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestSafepointJoin {
+
+    private static SafepointEvent safepoint(long timestamp, long timeToStopThreads, long timeThreadsStopped) {
+        return new ApplicationStoppedTimeEvent("", timestamp, timeToStopThreads, timeThreadsStopped);
+    }
+
+    @Test
+    void testJoin() {
+        List<SafepointEvent> safepoints = Arrays.asList(safepoint(100, 50, 1000), safepoint(200, 300, 5000),
+                safepoint(300, 20, 800), safepoint(1000, 10, 200));
+        long[] timestamps = { 100, 201, 1000 };
+        long[] durations = { 700, 4000, 150 };
+        SafepointJoin join = new SafepointJoin(timestamps, durations, timestamps.length, safepoints);
+        assertEquals(3, join.getMatchedCount(), "Matched count not correct.");
+        assertEquals(safepoints.get(0), join.getSafepoint(0), "First GC safepoint not correct.");
+        assertEquals(safepoints.get(1), join.getSafepoint(1), "Second GC safepoint not correct.");
+        assertEquals(safepoints.get(3), join.getSafepoint(2), "Third GC safepoint not correct.");
+        assertEquals(300, join.getNonGc(0), "First GC non-GC time not correct.");
+        assertEquals(1000, join.getNonGc(1), "Second GC non-GC time not correct.");
+        assertEquals(300, join.getTimeToSafepoint(1), "Second GC time to safepoint not correct.");
+        assertEquals(1000, join.getNonGcMax(), "Non-GC max not correct.");
+        assertEquals(1350, join.getNonGcTotal(), "Non-GC total not correct.");
+        assertEquals(300, join.getTimeToSafepointMax(), "Time to safepoint max not correct.");
+        assertEquals(360, join.getTimeToSafepointTotal(), "Time to safepoint total not correct.");
+        assertEquals(1, join.getUnmatched().size(), "Unmatched count not correct.");
+        assertEquals(safepoints.get(2), join.getUnmatched().get(0), "Unmatched safepoint not correct.");
+        assertEquals(800, join.getUnmatchedTotal(), "Unmatched total not correct.");
+    }
+
+    @Test
+    void testMultipleGcs() {
+        List<SafepointEvent> safepoints = Arrays.asList(safepoint(100, 0, 10000));
+        long[] timestamps = { 101, 105 };
+        long[] durations = { 3000, 5000 };
+        SafepointJoin join = new SafepointJoin(timestamps, durations, timestamps.length, safepoints);
+        assertEquals(2, join.getMatchedCount(), "Matched count not correct.");
+        assertEquals(2000, join.getNonGc(0), "First GC non-GC time not correct.");
+        assertEquals(2000, join.getNonGc(1), "Second GC non-GC time not correct.");
+        assertEquals(2000, join.getNonGcTotal(), "Non-GC total not counted once per safepoint.");
+    }
+
+    @Test
+    void testNoGc() {
+        List<SafepointEvent> safepoints = Arrays.asList(safepoint(100, 0, 1000));
+        SafepointJoin join = new SafepointJoin(new long[0], new long[0], 0, safepoints);
+        assertEquals(0, join.getMatchedCount(), "Matched count not correct.");
+        assertEquals(1, join.getUnmatched().size(), "Unmatched count not correct.");
+    }
+
+    @Test
+    void testNotTimestamped() {
+        List<SafepointEvent> safepoints = Arrays.asList(safepoint(0, 0, 90000000), safepoint(0, 0, 1000));
+        long[] timestamps = { 4364 };
+        long[] durations = { 33434 };
+        SafepointJoin join = new SafepointJoin(timestamps, durations, timestamps.length, safepoints);
+        assertEquals(0, join.getMatchedCount(), "Matched count not correct.");
+        assertNull(join.getSafepoint(0), "Safepoint not correct.");
+        assertEquals(-1, join.getNonGc(0), "Non-GC time not correct.");
+        assertEquals(0, join.getUnmatched().size(), "Safepoints without timestamps not skipped.");
+    }
+
+    @Test
+    void testUnifiedSafepoint() {
+        String logLine = "[0.068s][info][safepoint   ] Safepoint \"G1CollectForAllocation\", Time since last: "
+                + "3273659 ns, Reaching safepoint: 12838 ns, At safepoint: 704423 ns, Total: 717261 ns";
+        List<SafepointEvent> safepoints = new ArrayList<SafepointEvent>();
+        safepoints.add(new UnifiedSafepointEvent(logLine));
+        // Rounding puts the GC start just before the safepoint start
+        long[] timestamps = { 67 };
+        long[] durations = { 681 };
+        SafepointJoin join = new SafepointJoin(timestamps, durations, timestamps.length, safepoints);
+        assertEquals(1, join.getMatchedCount(), "Matched count not correct.");
+        assertEquals(12, join.getTimeToSafepoint(0), "Time to safepoint not correct.");
+        assertEquals(36, join.getNonGc(0), "Non-GC time not correct.");
+    }
+}
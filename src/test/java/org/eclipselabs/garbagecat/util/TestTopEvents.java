@@ -0,0 +1,122 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestTopEvents {
+
+    private static BlockingEvent event(int second) {
+        return new ParallelScavengeEvent("" + second
+                + ".000: [GC [PSYoungGen: 27808K->632K(28032K)] 160183K->133159K(585088K), 0.0010000 secs]");
+    }
+
+    @Test
+    void testBounded() {
+        TopEvents<BlockingEvent> topEvents = new TopEvents<BlockingEvent>(3);
+        long[] keys = { 5, 1, 9, 3, 7, 2, 8 };
+        for (int i = 0; i < keys.length; i++) {
+            topEvents.add(keys[i], event(i));
+        }
+        List<TopEvents.Entry<BlockingEvent>> entries = topEvents.getEntries();
+        assertEquals(3, entries.size(), "Entry count not correct.");
+        assertEquals(9, entries.get(0).getKey(), "Worst key not correct.");
+        assertEquals(8, entries.get(1).getKey(), "Second key not correct.");
+        assertEquals(7, entries.get(2).getKey(), "Third key not correct.");
+        assertFalse(topEvents.isCandidate(7), "Key not kept incorrectly identified as candidate.");
+        assertTrue(topEvents.isCandidate(10), "Key kept not identified as candidate.");
+    }
+
+    @Test
+    void testClear() {
+        TopEvents<BlockingEvent> topEvents = new TopEvents<BlockingEvent>(2);
+        topEvents.add(1, event(0));
+        topEvents.clear();
+        assertTrue(topEvents.getEntries().isEmpty(), "Entries not cleared.");
+        BlockingEvent event = event(1);
+        topEvents.add(1, event);
+        assertNull(topEvents.getEntries().get(0).getPrevious(), "Previous event not cleared.");
+    }
+
+    @Test
+    void testExplicitNeighbours() {
+        TopEvents<BlockingEvent> topEvents = new TopEvents<BlockingEvent>(1);
+        BlockingEvent previous = event(0);
+        BlockingEvent event = event(1);
+        BlockingEvent next = event(2);
+        topEvents.add(5, event, previous, next);
+        topEvents.add(4, event(3), null, null);
+        TopEvents.Entry<BlockingEvent> entry = topEvents.getEntries().get(0);
+        assertEquals(event, entry.getEvent(), "Event not correct.");
+        assertEquals(previous, entry.getPrevious(), "Previous event not correct.");
+        assertEquals(next, entry.getNext(), "Next event not correct.");
+    }
+
+    @Test
+    void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TopEvents<BlockingEvent>(-1),
+                "Negative size not rejected.");
+    }
+
+    @Test
+    void testStreamingNeighbours() {
+        TopEvents<BlockingEvent> topEvents = new TopEvents<BlockingEvent>(2);
+        BlockingEvent first = event(0);
+        BlockingEvent second = event(1);
+        BlockingEvent third = event(2);
+        BlockingEvent fourth = event(3);
+        topEvents.add(10, first);
+        topEvents.add(1, second);
+        topEvents.add(20, third);
+        List<TopEvents.Entry<BlockingEvent>> entries = topEvents.getEntries();
+        assertEquals(third, entries.get(0).getEvent(), "Worst event not correct.");
+        assertEquals(second, entries.get(0).getPrevious(), "Previous event not correct.");
+        assertNull(entries.get(0).getNext(), "Next event not correct before the next event is added.");
+        assertEquals(first, entries.get(1).getEvent(), "Second worst event not correct.");
+        assertNull(entries.get(1).getPrevious(), "First event previous event not correct.");
+        assertEquals(second, entries.get(1).getNext(), "Next event not correct.");
+        topEvents.add(0, fourth);
+        assertEquals(fourth, topEvents.getEntries().get(0).getNext(), "Next event not filled in.");
+    }
+
+    @Test
+    void testTies() {
+        TopEvents<BlockingEvent> topEvents = new TopEvents<BlockingEvent>(1);
+        BlockingEvent first = event(0);
+        topEvents.add(5, first);
+        topEvents.add(5, event(1));
+        assertEquals(first, topEvents.getEntries().get(0).getEvent(), "Earlier event not kept with equal keys.");
+    }
+
+    @Test
+    void testZeroSize() {
+        TopEvents<BlockingEvent> topEvents = new TopEvents<BlockingEvent>(0);
+        topEvents.add(5, event(0));
+        assertFalse(topEvents.isCandidate(Long.MAX_VALUE), "Key incorrectly identified as candidate.");
+        assertTrue(topEvents.getEntries().isEmpty(), "Entries not empty.");
+    }
+}
@@ -0,0 +1,55 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestGcTrigger {
+
+    @Test
+    void testLiteral() {
+        assertEquals(GcTrigger.ALLOCATION_FAILURE, GcTrigger.getTrigger("Allocation Failure"),
+                "Trigger not identified.");
+        assertEquals(GcTrigger.TO_SPACE_EXHAUSTED, GcTrigger.getTrigger("to-space exhausted"),
+                "Trigger not identified.");
+    }
+
+    @Test
+    void testNull() {
+        assertEquals(GcTrigger.NONE, GcTrigger.getTrigger(null), "Trigger not identified.");
+    }
+
+    @Test
+    void testShenandoahUpdateRefs() {
+        assertEquals(GcTrigger.SHENANDOAH_UPDATE_REFS, GcTrigger.getTrigger("Update Refs"), "Trigger not identified.");
+        assertEquals(GcTrigger.SHENANDOAH_UPDATE_REFS, GcTrigger.getTrigger("update refs"), "Trigger not identified.");
+    }
+
+    @Test
+    void testSystemGc() {
+        assertEquals(GcTrigger.SYSTEM_GC, GcTrigger.getTrigger("System"), "Trigger not identified.");
+        assertEquals(GcTrigger.SYSTEM_GC, GcTrigger.getTrigger("System.gc()"), "Trigger not identified.");
+    }
+
+    @Test
+    void testUnknown() {
+        assertEquals(GcTrigger.UNKNOWN, GcTrigger.getTrigger("Allocation Failure "), "Trigger not identified.");
+        assertEquals(GcTrigger.UNKNOWN, GcTrigger.getTrigger("NONE"), "Trigger not identified.");
+    }
+}
@@ -17,6 +17,7 @@ import static org.eclipselabs.garbagecat.util.Memory.bytes;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -159,6 +160,21 @@ class TestJdkUtil {
                 "Event should have been flagged as a bottleneck.");
     }
 
+    @Test
+    void testBottleneckDetectionPrimitives() {
+        // Same as testBottleneckDetectionWholeNumbers: 50% throughput at the boundary
+        assertFalse(JdkUtil.isBottleneck(11000L, 600000000L, 10000L, 200000000L, 50),
+                "Event incorrectly flagged as a bottleneck.");
+        assertTrue(JdkUtil.isBottleneck(11000L, 600001000L, 10000L, 200000000L, 50),
+                "Event should have been flagged as a bottleneck.");
+        // ~10 years between events does not overflow
+        long interval = 10L * 365 * 24 * 60 * 60 * 1000;
+        assertFalse(JdkUtil.isBottleneck(1000L + interval, 1000000L, 1000L, 1000000L, 90),
+                "Event incorrectly flagged as a bottleneck.");
+        assertThrows(TimeWarpException.class, () -> JdkUtil.isBottleneck(1000L, 0, 3000L, 0, 90),
+                "Bad order not detected.");
+    }
+
     @Test
     void testBottleneckDetectionSafepointEventBadOrder() {
         String previousLogLine = "[2021-10-05T21:41:48.773+0200][24.203s] Entering safepoint region: RevokeBias"
@@ -374,6 +390,15 @@ class TestJdkUtil {
         assertTrue(JdkUtil.isLogLineWithDateStamp(logLine), "Datestamp not found.");
     }
 
+    @Test
+    void testDetermineEventType() {
+        for (JdkUtil.LogEventType eventType : JdkUtil.LogEventType.values()) {
+            assertEquals(eventType, JdkUtil.determineEventType(eventType.toString()),
+                    eventType + " not identified.");
+        }
+        assertNull(JdkUtil.determineEventType("NOT_AN_EVENT"), "Unknown event type identified.");
+    }
+
     @Test
     void testDoubleDateStampOddFormat() {
         String logLine = "2016-10-12T09:53:31.818+02002016-10-12T09:53:31.818+0200: : 290.944: "
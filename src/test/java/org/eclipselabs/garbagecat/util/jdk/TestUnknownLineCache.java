@@ -0,0 +1,130 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2024 Mike Millson                                                                               *
+ *                                                                                                                    *
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.NullEvent;
+import org.eclipselabs.garbagecat.domain.UnknownEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestUnknownLineCache {
+
+    @Test
+    void testBlockingEventNotCached() {
+        String logLine = "[15.086s][info][gc,start     ] GC(1192) Pause Young (Normal) (G1 Evacuation Pause) "
+                + "Humongous regions: 13->13 Metaspace: 3771K->3771K(1056768K) 24M->13M(31M) 0.401ms "
+                + "User=0.00s Sys=0.00s Real=0.00s";
+        UnknownLineCache cache = new UnknownLineCache();
+        LogEvent priorLogEvent = new NullEvent();
+        assertTrue(JdkUtil.parseLogLine(logLine, priorLogEvent, CollectorFamily.UNKNOWN,
+                cache) instanceof UnifiedG1YoungPauseEvent, "Event not identified.");
+        assertTrue(JdkUtil.parseLogLine(logLine, priorLogEvent, CollectorFamily.UNKNOWN,
+                cache) instanceof UnifiedG1YoungPauseEvent, "Event not identified.");
+        assertEquals(0, cache.size(), "Blocking event cached.");
+        assertEquals(0, cache.getHits(), "Hits not correct.");
+        assertEquals(2, cache.getMisses(), "Misses not correct.");
+    }
+
+    @Test
+    void testFilterRebuiltAfterEvictions() {
+        UnknownLineCache cache = new UnknownLineCache(2);
+        LogEvent priorLogEvent = new NullEvent();
+        String[] logLines = { "a", "b", "c", "d", "e" };
+        for (String logLine : logLines) {
+            cache.put(logLine, priorLogEvent, CollectorFamily.UNKNOWN, LogEventType.UNKNOWN);
+        }
+        assertEquals(2, cache.size(), "Cache not bounded.");
+        assertNull(cache.get("a", priorLogEvent, CollectorFamily.UNKNOWN), "Evicted shape found.");
+        assertNull(cache.get("c", priorLogEvent, CollectorFamily.UNKNOWN), "Evicted shape found.");
+        assertEquals(LogEventType.UNKNOWN, cache.get("d", priorLogEvent, CollectorFamily.UNKNOWN),
+                "Shape not found after filter rebuilt.");
+        assertEquals(LogEventType.UNKNOWN, cache.get("e", priorLogEvent, CollectorFamily.UNKNOWN),
+                "Shape not found after filter rebuilt.");
+    }
+
+    @Test
+    void testHexShape() {
+        UnknownLineCache cache = new UnknownLineCache();
+        LogEvent priorLogEvent = new NullEvent();
+        cache.put("thread 0x00007f5c2c0a1b2e at 12:34:56.789", priorLogEvent, CollectorFamily.UNKNOWN,
+                LogEventType.UNKNOWN);
+        assertEquals(LogEventType.UNKNOWN,
+                cache.get("thread 0x00007fffeeddccbb at 01:02:03.004", priorLogEvent, CollectorFamily.UNKNOWN),
+                "Same shape not found.");
+        assertNull(cache.get("thread 0X00007fffeeddccbb at 01:02:03.004", priorLogEvent, CollectorFamily.UNKNOWN),
+                "Different shape found.");
+    }
+
+    @Test
+    void testInvalidMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new UnknownLineCache(0));
+    }
+
+    @Test
+    void testKeyedByCollectorFamilyAndPriorEvent() {
+        UnknownLineCache cache = new UnknownLineCache();
+        cache.put("a", new NullEvent(), CollectorFamily.G1, LogEventType.UNKNOWN);
+        assertNull(cache.get("a", new NullEvent(), CollectorFamily.SERIAL), "Collector family not in key.");
+        assertNull(cache.get("a", new UnknownEvent("b"), CollectorFamily.G1), "Prior event not in key.");
+        assertEquals(LogEventType.UNKNOWN, cache.get("a", new NullEvent(), CollectorFamily.G1),
+                "Shape not cached.");
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvicted() {
+        UnknownLineCache cache = new UnknownLineCache(2);
+        LogEvent priorLogEvent = new NullEvent();
+        cache.put("a", priorLogEvent, CollectorFamily.UNKNOWN, LogEventType.UNKNOWN);
+        cache.put("b", priorLogEvent, CollectorFamily.UNKNOWN, LogEventType.UNKNOWN);
+        cache.get("a", priorLogEvent, CollectorFamily.UNKNOWN);
+        cache.put("c", priorLogEvent, CollectorFamily.UNKNOWN, LogEventType.UNKNOWN);
+        assertEquals(2, cache.size(), "Cache not bounded.");
+        assertEquals(LogEventType.UNKNOWN, cache.get("a", priorLogEvent, CollectorFamily.UNKNOWN),
+                "Recently used shape evicted.");
+        assertNull(cache.get("b", priorLogEvent, CollectorFamily.UNKNOWN), "Least recently used shape not evicted.");
+    }
+
+    @Test
+    void testRepeatedUnknownLine() {
+        UnknownLineCache cache = new UnknownLineCache();
+        LogEvent priorLogEvent = new NullEvent();
+        LogEvent event = JdkUtil.parseLogLine("request 123 completed in 45 ms", priorLogEvent,
+                CollectorFamily.UNKNOWN, cache);
+        assertTrue(event instanceof UnknownEvent, "Event not identified.");
+        event = JdkUtil.parseLogLine("request 987 completed in 65 ms", priorLogEvent, CollectorFamily.UNKNOWN, cache);
+        assertTrue(event instanceof UnknownEvent, "Event not identified.");
+        assertEquals("request 987 completed in 65 ms", event.getLogEntry(), "Log entry not correct.");
+        assertEquals(1, cache.getHits(), "Hits not correct.");
+        assertEquals(1, cache.getMisses(), "Misses not correct.");
+    }
+
+    @Test
+    void testShape() {
+        assertEquals("thread 0x0000000000000000 at 00:00:00.000", UnknownLineCache
+                .getShape("thread 0x00007f5c2c0a1b2e at 12:34:56.789"), "Shape not correct.");
+        assertEquals("request 000 failed", UnknownLineCache.getShape("request 123 failed"), "Shape not correct.");
+        assertEquals("face 00", UnknownLineCache.getShape("face 42"), "Non-hex letters masked.");
+    }
+}
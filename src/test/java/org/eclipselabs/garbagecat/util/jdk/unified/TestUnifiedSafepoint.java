@@ -12,6 +12,7 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util.jdk.unified;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -48,4 +49,23 @@ public class TestUnifiedSafepoint {
             }
         }
     }
+
+    @Test
+    public void testTriggerLiteralIdentity() {
+        UnifiedSafepoint.Trigger[] triggers = UnifiedSafepoint.Trigger.values();
+        for (int i = 0; i < triggers.length; i++) {
+            if (!triggers[i].equals(UnifiedSafepoint.Trigger.UNKNOWN)) {
+                assertEquals(triggers[i], UnifiedSafepoint.getTrigger(UnifiedSafepoint.getTriggerLiteral(triggers[i])),
+                        triggers[i].name() + " literal not identified.");
+            }
+        }
+    }
+
+    @Test
+    public void testTriggerUnknown() {
+        assertEquals(UnifiedSafepoint.Trigger.UNKNOWN, UnifiedSafepoint.getTrigger("NotATrigger"),
+                "Unknown trigger literal not identified.");
+        assertEquals(UnifiedSafepoint.Trigger.UNKNOWN, UnifiedSafepoint.identifyTrigger("NOT_A_TRIGGER"),
+                "Unknown trigger name not identified.");
+    }
 }